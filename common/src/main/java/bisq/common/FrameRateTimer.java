@@ -47,7 +47,10 @@ public class FrameRateTimer implements Timer, Runnable {
             try {
                 long currentTimeMillis = System.currentTimeMillis();
                 if ((currentTimeMillis - startTs) >= interval) {
+                    long ts = System.nanoTime();
                     runnable.run();
+                    // All timers run in one task of the MasterTimer, so we attribute the run time to the timer task
+                    UserThread.getExecutor().recordRunTime(runnable, System.nanoTime() - ts);
                     if (isPeriodically)
                         startTs = currentTimeMillis;
                     else
@@ -0,0 +1,245 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hashed timing wheel which schedules tasks with a resolution of one tick. Scheduling and cancelling only enqueue
+ * the timeout and are O(1). A single daemon thread moves new timeouts into the bucket of their deadline, unlinks
+ * cancelled timeouts from their bucket and on each tick only visits the bucket of the current tick.
+ * Expired tasks are handed to the executor, so they never run on the wheel thread.
+ */
+@Slf4j
+class HashedWheel {
+    // Same resolution as the MasterTimer used by FrameRateTimer
+    static final long TICK_DURATION_MS = MasterTimer.FRAME_INTERVAL_MS;
+    private static final int WHEEL_SIZE = 512;
+
+    private static final HashedWheel INSTANCE = new HashedWheel(TICK_DURATION_MS, WHEEL_SIZE, UserThread::execute);
+
+    static HashedWheel getInstance() {
+        return INSTANCE;
+    }
+
+    static class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+
+        private final HashedWheel wheel;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ST_INIT);
+        // Only accessed by the wheel thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheel wheel, Runnable task, long deadlineNanos) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        void cancel() {
+            if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+                wheel.cancelledTimeouts.add(this);
+            }
+        }
+
+        boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+    }
+
+    private static class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+
+        // Expires all timeouts of this bucket which are due and decrements the rounds of the others
+        void expireTimeouts(long nowNanos, Consumer<Timeout> expiredHandler) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.remainingRounds <= 0 && timeout.deadlineNanos <= nowNanos) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+                        expiredHandler.accept(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+
+    private final long tickDurationNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor executor;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private final long startTimeNanos = System.nanoTime();
+    // Only accessed by the wheel thread
+    private long tick;
+    private Thread workerThread;
+
+    @VisibleForTesting
+    HashedWheel(long tickDurationMs, int wheelSize, Executor executor) {
+        // Power of two so we can use a mask instead of modulo
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.tickDurationNanos = TimeUnit.MILLISECONDS.toNanos(tickDurationMs);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.executor = executor;
+    }
+
+    Timeout schedule(Runnable task, long delayMs) {
+        startIfNecessary();
+        return addTimeout(task, System.nanoTime() - startTimeNanos + TimeUnit.MILLISECONDS.toNanos(Math.max(0, delayMs)));
+    }
+
+    // Expects the deadline relative to the start of the wheel and does not start the wheel thread
+    @VisibleForTesting
+    Timeout addTimeout(Runnable task, long deadlineNanos) {
+        Timeout timeout = new Timeout(this, task, deadlineNanos);
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private synchronized void startIfNecessary() {
+        if (workerThread == null) {
+            workerThread = new Thread(this::run, "HashedWheel");
+            workerThread.setDaemon(true);
+            workerThread.start();
+        }
+    }
+
+    private void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            long nowNanos = waitForNextTick();
+            if (nowNanos < 0) {
+                return;
+            }
+            processTick(nowNanos);
+        }
+    }
+
+    // Expects the time relative to the start of the wheel
+    @VisibleForTesting
+    void processTick(long nowNanos) {
+        processCancelledTimeouts();
+        transferPendingTimeouts();
+        wheel[(int) (tick & mask)].expireTimeouts(nowNanos, this::onExpired);
+        tick++;
+    }
+
+    // Returns the time relative to the start or -1 if interrupted
+    private long waitForNextTick() {
+        long deadline = tickDurationNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTimeNanos;
+            long sleepMs = TimeUnit.NANOSECONDS.toMillis(deadline - now + 999_999);
+            if (sleepMs <= 0) {
+                return now;
+            }
+            try {
+                Thread.sleep(sleepMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+    }
+
+    private void transferPendingTimeouts() {
+        Timeout timeout;
+        while ((timeout = pendingTimeouts.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculatedTick = timeout.deadlineNanos / tickDurationNanos;
+            timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+            // Timeouts which are already due go into the current bucket
+            long targetTick = Math.max(calculatedTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    private void processCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            // The bucket is null if the timeout is still pending
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void onExpired(Timeout timeout) {
+        try {
+            executor.execute(timeout.task);
+        } catch (Throwable t) {
+            log.error("Could not execute expired timer task", t);
+        }
+    }
+}
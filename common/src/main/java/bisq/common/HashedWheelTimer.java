@@ -0,0 +1,104 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.time.Duration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Timer for headless apps backed by a shared hashed timing wheel. Starting and stopping a timer is O(1) and on each
+ * tick only the timers of the current wheel bucket are visited, in contrast to the FrameRateTimer where the
+ * MasterTimer calls all timers on each frame.
+ * The runnable is executed on the user thread. Periodic timers are rescheduled after the runnable has been executed.
+ */
+@Slf4j
+public class HashedWheelTimer implements Timer {
+    private final HashedWheel wheel;
+    private Runnable runnable;
+    private long intervalMs;
+    private boolean isPeriodically;
+    private volatile boolean stopped;
+    private volatile HashedWheel.Timeout timeout;
+
+    public HashedWheelTimer() {
+        this(HashedWheel.getInstance());
+    }
+
+    HashedWheelTimer(HashedWheel wheel) {
+        this.wheel = wheel;
+    }
+
+    @Override
+    public Timer runLater(Duration delay, Runnable runnable) {
+        this.runnable = runnable;
+        intervalMs = delay.toMillis();
+        schedule();
+        return this;
+    }
+
+    @Override
+    public Timer runPeriodically(Duration interval, Runnable runnable) {
+        this.runnable = runnable;
+        intervalMs = interval.toMillis();
+        isPeriodically = true;
+        schedule();
+        return this;
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+        HashedWheel.Timeout timeout = this.timeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void schedule() {
+        timeout = wheel.schedule(this::onTimeout, intervalMs);
+        // stop() might have been called before the timeout was assigned
+        if (stopped) {
+            timeout.cancel();
+        }
+    }
+
+    private void onTimeout() {
+        if (stopped) {
+            return;
+        }
+        try {
+            long ts = System.nanoTime();
+            runnable.run();
+            // The timeout task is a method reference of this class, so we attribute the run time to the timer task
+            UserThread.getExecutor().recordRunTime(runnable, System.nanoTime() - ts);
+        } catch (Throwable t) {
+            log.error("exception in HashedWheelTimer", t);
+            stop();
+            throw t;
+        }
+        if (isPeriodically && !stopped) {
+            schedule();
+        }
+    }
+}
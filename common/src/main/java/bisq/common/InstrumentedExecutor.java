@@ -0,0 +1,203 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import bisq.common.metrics.Histogram;
+import bisq.common.metrics.MetricsRegistry;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Executor which records for the tasks of the wrapped executor the delay between enqueueing and running them, their
+ * run time by source and the number of queued tasks. The source of a task is the class which created the runnable.
+ * The tasks with the highest run time are logged periodically and single slow tasks are logged when they complete.
+ */
+@Slf4j
+public class InstrumentedExecutor implements Executor {
+    private static final long REPORT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long SLOW_TASK_MS = 1000;
+    private static final int REPORT_SIZE = 10;
+    private static final Map<Class<?>, String> SOURCE_BY_CLASS = new ConcurrentHashMap<>();
+
+    @Getter
+    private static class TaskStats {
+        private final String source;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        TaskStats(String source) {
+            this.source = source;
+        }
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @Override
+        public String toString() {
+            return source + ": runs=" + count.sum() +
+                    ", total=" + TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()) + " ms" +
+                    ", max=" + TimeUnit.NANOSECONDS.toMillis(maxNanos.get()) + " ms";
+        }
+    }
+
+    private final String name;
+    private final Executor delegate;
+    private final LongSupplier clock;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Histogram queueDelay;
+    // Stats since the last report
+    private volatile Map<String, TaskStats> taskStatsBySource = new ConcurrentHashMap<>();
+    private final AtomicLong lastReportTime;
+
+    /**
+     * @param name     Name used as prefix of the metrics, e.g. user_thread
+     * @param delegate Executor which runs the tasks
+     */
+    public InstrumentedExecutor(String name, Executor delegate) {
+        this(name, delegate, System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    InstrumentedExecutor(String name, Executor delegate, LongSupplier clock) {
+        this.name = name;
+        this.delegate = delegate;
+        this.clock = clock;
+        lastReportTime = new AtomicLong(clock.getAsLong());
+
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        queueDelay = metricsRegistry.histogram(name + "_queue_delay_us",
+                "Time from scheduling a task on the " + name + " until it starts in microseconds");
+        metricsRegistry.gauge(name + "_queue_depth", "Number of tasks waiting for the " + name, queueDepth::get);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void execute(Runnable command) {
+        // Executors reject null commands at the call site, so we keep that behaviour
+        Objects.requireNonNull(command);
+        long enqueueTime = System.nanoTime();
+        queueDepth.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                long startTime = System.nanoTime();
+                queueDepth.decrementAndGet();
+                queueDelay.record(TimeUnit.NANOSECONDS.toMicros(startTime - enqueueTime));
+                try {
+                    command.run();
+                } finally {
+                    recordRunTime(command, System.nanoTime() - startTime);
+                }
+            });
+        } catch (RuntimeException e) {
+            queueDepth.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Records the run time of a task which was not passed to execute but run inside another task, like the tasks
+     * of timers. The run time is then also contained in the run time of the outer task.
+     */
+    public void recordRunTime(Object task, long nanos) {
+        String source = getSource(task.getClass());
+        taskStatsBySource.computeIfAbsent(source, TaskStats::new).add(nanos);
+        MetricsRegistry.getDefault().histogram(name + "_task_run_time_us",
+                "Run time of tasks on the " + name + " by source in microseconds",
+                "source", source).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (millis >= SLOW_TASK_MS) {
+            log.warn("Slow task on {}: {} took {} ms", name, source, millis);
+        }
+        maybeLogReport();
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return The sources with the highest total run time since the last report
+     */
+    public List<String> getTopTasks(int limit) {
+        return taskStatsBySource.values().stream()
+                .sorted(Comparator.comparingLong((TaskStats e) -> e.getTotalNanos().sum()).reversed())
+                .limit(limit)
+                .map(TaskStats::toString)
+                .collect(Collectors.toList());
+    }
+
+    public String getInfo() {
+        return "Queue depth of " + name + ": " + queueDepth.get() +
+                "; queue delay p50/p99/max: " + queueDelay.getValueAtPercentile(50) + "/" +
+                queueDelay.getValueAtPercentile(99) + "/" + queueDelay.getMax() + " us" +
+                "; tasks with highest run time: " + getTopTasks(REPORT_SIZE);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void maybeLogReport() {
+        long now = clock.getAsLong();
+        long lastReport = lastReportTime.get();
+        if (now - lastReport < REPORT_INTERVAL_MS || !lastReportTime.compareAndSet(lastReport, now)) {
+            return;
+        }
+        log.info("Report of the last {} minutes. {}", TimeUnit.MILLISECONDS.toMinutes(now - lastReport), getInfo());
+        taskStatsBySource = new ConcurrentHashMap<>();
+    }
+
+    @VisibleForTesting
+    static String getSource(Class<?> taskClass) {
+        return SOURCE_BY_CLASS.computeIfAbsent(taskClass, clazz -> {
+            String className = clazz.getName();
+            // Lambdas have names like bisq.common.Foo$$Lambda$123/0x0000000800c0b840
+            int lambdaIndex = className.indexOf("$$Lambda");
+            if (lambdaIndex > 0) {
+                className = className.substring(0, lambdaIndex);
+            }
+            return className.substring(className.lastIndexOf('.') + 1);
+        });
+    }
+}
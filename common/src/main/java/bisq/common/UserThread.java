@@ -24,11 +24,12 @@ import java.time.Duration;
 import java.util.Random;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 
@@ -36,26 +37,43 @@ import lombok.extern.slf4j.Slf4j;
  * Defines which thread is used as user thread. The user thread is the the main thread in the single threaded context.
  * For JavaFX it is usually the Platform::RunLater executor, for a headless application it is any single threaded
  * executor.
- * Additionally sets a timer class so JavaFX and headless applications can set different timers (UITimer for JavaFX
- * otherwise we use the default FrameRateTimer).
+ * Additionally sets a timer factory so JavaFX and headless applications can set different timers (UITimer for JavaFX,
+ * HashedWheelTimer for headless applications, otherwise we use the default FrameRateTimer).
  * <p>
  * Provides also methods for delayed and periodic executions.
  */
 @Slf4j
 public class UserThread {
-    private static Class<? extends Timer> timerClass;
+    private static Supplier<? extends Timer> timerFactory;
+    // Wraps the executor set by the application to record queue delays and run times of the tasks
     @Getter
-    @Setter
-    private static Executor executor;
+    private static InstrumentedExecutor executor;
+
+    public static void setExecutor(Executor executor) {
+        UserThread.executor = new InstrumentedExecutor("user_thread", executor);
+    }
 
     public static void setTimerClass(Class<? extends Timer> timerClass) {
-        UserThread.timerClass = timerClass;
+        // We look up the constructor only once instead of for each timer
+        Constructor<? extends Timer> constructor;
+        try {
+            constructor = timerClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            String message = "Timer class has no default constructor. timerClass=" + timerClass;
+            log.error(message, e);
+            throw new RuntimeException(message);
+        }
+        setTimerFactory(() -> newTimer(constructor));
+    }
+
+    public static void setTimerFactory(Supplier<? extends Timer> timerFactory) {
+        UserThread.timerFactory = timerFactory;
     }
 
     static {
         // If not defined we use same thread as caller thread
-        executor = MoreExecutors.directExecutor();
-        timerClass = FrameRateTimer.class;
+        setExecutor(MoreExecutors.directExecutor());
+        timerFactory = FrameRateTimer::new;
     }
 
     public static void execute(Runnable command) {
@@ -89,10 +107,14 @@ public class UserThread {
     }
 
     private static Timer getTimer() {
+        return timerFactory.get();
+    }
+
+    private static Timer newTimer(Constructor<? extends Timer> constructor) {
         try {
-            return timerClass.getDeclaredConstructor().newInstance();
-        } catch (InstantiationException | NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
-            String message = "Could not instantiate timer bsTimerClass=" + timerClass;
+            return constructor.newInstance();
+        } catch (InstantiationException | InvocationTargetException | IllegalAccessException e) {
+            String message = "Could not instantiate timer bsTimerClass=" + constructor.getDeclaringClass();
             log.error(message, e);
             throw new RuntimeException(message);
         }
@@ -19,10 +19,9 @@ package bisq.common.app;
 
 import com.google.common.base.Joiner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Comparator;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
@@ -31,14 +30,25 @@ import java.util.stream.Collectors;
 import lombok.EqualsAndHashCode;
 import lombok.extern.slf4j.Slf4j;
 
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * hold a set of capabilities and offers appropriate comparison methods.
+ * <p>
+ * The capabilities are stored as a bitmask of the {@link Capability} ordinals, so {@link #containsAll(Capabilities)}
+ * and {@link #contains(Capability)} are a single AND and do not allocate.
  *
  * @author Florian Reimair
  */
 @EqualsAndHashCode
 @Slf4j
 public class Capabilities {
+    private static final Capability[] CAPABILITIES = Capability.values();
+
+    static {
+        checkState(CAPABILITIES.length <= Long.SIZE,
+                "Capabilities supports at most %s capabilities", Long.SIZE);
+    }
 
     /**
      * The global set of capabilities, i.e. the capabilities if the local app.
@@ -50,18 +60,38 @@ public class Capabilities {
     @SuppressWarnings("deprecation")
     private static final Capability MANDATORY_CAPABILITY = Capability.DAO_STATE;
 
-    protected final Set<Capability> capabilities = new HashSet<>();
+    // Bit i is set if the capability with ordinal i is supported
+    private volatile long bits;
+    // Instances created with unmodifiable are shared as constants, so they must not be changed
+    @EqualsAndHashCode.Exclude
+    private final boolean unmodifiable;
 
     public Capabilities(Capability... capabilities) {
         this(Arrays.asList(capabilities));
     }
 
     public Capabilities(Capabilities capabilities) {
-        this(capabilities.capabilities);
+        this(capabilities.bits, false);
     }
 
     public Capabilities(Collection<Capability> capabilities) {
-        this.capabilities.addAll(capabilities);
+        this(toBits(capabilities), false);
+    }
+
+    private Capabilities(long bits, boolean unmodifiable) {
+        this.bits = bits;
+        this.unmodifiable = unmodifiable;
+    }
+
+    /**
+     * Creates capabilities which cannot be changed. Used for the required capabilities of messages and payloads,
+     * which can then be kept in a constant instead of being created at each check.
+     *
+     * @param capabilities  the capabilities
+     * @return a {@link Capabilities} object whose mutators throw an {@link UnsupportedOperationException}
+     */
+    public static Capabilities unmodifiable(Capability... capabilities) {
+        return new Capabilities(toBits(Arrays.asList(capabilities)), true);
     }
 
     public void set(Capability... capabilities) {
@@ -69,41 +99,47 @@ public class Capabilities {
     }
 
     public void set(Capabilities capabilities) {
-        set(capabilities.capabilities);
+        checkModifiable();
+        this.bits = capabilities.bits;
     }
 
     public void set(Collection<Capability> capabilities) {
-        this.capabilities.clear();
-        this.capabilities.addAll(capabilities);
+        checkModifiable();
+        this.bits = toBits(capabilities);
     }
 
     public void addAll(Capability... capabilities) {
-        this.capabilities.addAll(Arrays.asList(capabilities));
+        checkModifiable();
+        this.bits |= toBits(Arrays.asList(capabilities));
     }
 
     public void addAll(Capabilities capabilities) {
+        checkModifiable();
         if (capabilities != null)
-            this.capabilities.addAll(capabilities.capabilities);
+            this.bits |= capabilities.bits;
     }
 
     public boolean containsAll(final Set<Capability> requiredItems) {
-        return capabilities.containsAll(requiredItems);
+        long required = toBits(requiredItems);
+        return (bits & required) == required;
     }
 
     public boolean containsAll(final Capabilities capabilities) {
-        return containsAll(capabilities.capabilities);
+        long required = capabilities.bits;
+        return (bits & required) == required;
     }
 
     public boolean containsAll(Capability... capabilities) {
-        return this.capabilities.containsAll(Arrays.asList(capabilities));
+        long required = toBits(Arrays.asList(capabilities));
+        return (bits & required) == required;
     }
 
     public boolean contains(Capability capability) {
-        return this.capabilities.contains(capability);
+        return (bits & bit(capability)) != 0;
     }
 
     public boolean isEmpty() {
-        return capabilities.isEmpty();
+        return bits == 0;
     }
 
 
@@ -114,7 +150,13 @@ public class Capabilities {
      * @return int list of Capability ordinals
      */
     public static List<Integer> toIntList(Capabilities capabilities) {
-        return capabilities.capabilities.stream().map(Enum::ordinal).sorted().collect(Collectors.toList());
+        long bits = capabilities.bits;
+        List<Integer> result = new ArrayList<>(Long.bitCount(bits));
+        while (bits != 0) {
+            result.add(Long.numberOfTrailingZeros(bits));
+            bits &= bits - 1;
+        }
+        return result;
     }
 
     /**
@@ -124,13 +166,13 @@ public class Capabilities {
      * @return a {@link Capabilities} object
      */
     public static Capabilities fromIntList(List<Integer> capabilities) {
-        return new Capabilities(capabilities.stream()
-                .filter(integer -> integer < Capability.values().length)
-                .filter(integer -> integer >= 0)
-                .map(integer -> Capability.values()[integer])
-                .collect(Collectors.toSet()));
+        long bits = 0;
+        for (Integer ordinal : capabilities) {
+            if (ordinal != null && ordinal >= 0 && ordinal < CAPABILITIES.length)
+                bits |= 1L << ordinal;
+        }
+        return new Capabilities(bits, false);
     }
-
     /**
      *
      * @param list      Comma separated list of Capability ordinals.
@@ -166,7 +208,7 @@ public class Capabilities {
     }
 
     public static boolean hasMandatoryCapability(Capabilities capabilities, Capability mandatoryCapability) {
-        return capabilities.capabilities.stream().anyMatch(c -> c == mandatoryCapability);
+        return capabilities.contains(mandatoryCapability);
     }
 
     @Override
@@ -175,14 +217,13 @@ public class Capabilities {
     }
 
     public String prettyPrint() {
-        return capabilities.stream()
-                .sorted(Comparator.comparingInt(Enum::ordinal))
-                .map(e -> e.name() + " [" + e.ordinal() + "]")
+        return toIntList(this).stream()
+                .map(ordinal -> CAPABILITIES[ordinal].name() + " [" + ordinal + "]")
                 .collect(Collectors.joining(", "));
     }
 
     public int size() {
-        return capabilities.size();
+        return Long.bitCount(bits);
     }
 
     // We return true if our capabilities have less capabilities than the parameter value
@@ -194,8 +235,24 @@ public class Capabilities {
     // Neither would support removal of past capabilities, a use case we never had so far and which might have
     // backward compatibility issues, so we should treat capabilities as an append-only data structure.
     public int findHighestCapability(Capabilities capabilities) {
-        return (int) capabilities.capabilities.stream()
-                .mapToLong(e -> (long) e.ordinal())
+        return toIntList(capabilities).stream()
+                .mapToInt(Integer::intValue)
                 .sum();
     }
+
+    private void checkModifiable() {
+        if (unmodifiable)
+            throw new UnsupportedOperationException("Capabilities are unmodifiable");
+    }
+
+    private static long bit(Capability capability) {
+        return 1L << capability.ordinal();
+    }
+
+    private static long toBits(Collection<Capability> capabilities) {
+        long bits = 0;
+        for (Capability capability : capabilities)
+            bits |= bit(capability);
+        return bits;
+    }
 }
@@ -19,33 +19,67 @@ package bisq.common.file;
 
 import bisq.common.util.Utilities;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import java.io.File;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.Writer;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.ThreadPoolExecutor;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Writes json files to a directory.
+ *
+ * Threaded writes are done by a single writer thread per instance. If a file gets written again before the previous
+ * write has been started only the latest content is written, so a stale version never overwrites a newer one.
+ * Large documents can be streamed with a JsonWriterCallback instead of building the json string first.
+ */
 @Slf4j
 public class JsonFileManager {
     private final static List<JsonFileManager> INSTANCES = new ArrayList<>();
 
+    /**
+     * Writes the json document to the jsonWriter, which uses the same configuration as Utilities.objectToJson.
+     */
+    public interface JsonWriterCallback {
+        void write(JsonWriter jsonWriter) throws IOException;
+    }
+
     public static void shutDownAllInstances() {
         INSTANCES.forEach(JsonFileManager::shutDown);
     }
 
 
     @Nullable
-    private ThreadPoolExecutor executor;
+    private ExecutorService executor;
     private final File dir;
 
+    // Pending writes by file name in the order they got requested. Guarded by this.
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+    // metrics, guarded by this
+    private long numWrites;
+    private long numCoalescedWrites;
+    private long numFailedWrites;
+    private long totalLatencyMs;
+    private long maxLatencyMs;
+    private long totalWriteTimeMs;
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -62,45 +96,162 @@ public class JsonFileManager {
     }
 
     @NotNull
-    protected ThreadPoolExecutor getExecutor() {
+    protected synchronized ExecutorService getExecutor() {
         if (executor == null) {
-            executor = Utilities.getThreadPoolExecutor("JsonFileManagerExecutor", 5, 50, 60);
+            executor = Utilities.getSingleThreadExecutor("JsonFileManager-" + dir.getName());
         }
         return executor;
     }
 
-    public void shutDown() {
+    public synchronized void shutDown() {
         if (executor != null) {
+            // Already requested writes are still done.
             executor.shutdown();
         }
     }
 
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
     public void writeToDiscThreaded(String json, String fileName) {
-        getExecutor().execute(() -> writeToDisc(json, fileName));
+        writeToDiscThreaded(toCallback(json), fileName);
+    }
+
+    public void writeObjectToDiscThreaded(Object object, String fileName) {
+        writeToDiscThreaded(toCallback(object), fileName);
+    }
+
+    public synchronized void writeToDiscThreaded(JsonWriterCallback callback, String fileName) {
+        PendingWrite previous = pendingWrites.put(fileName, new PendingWrite(callback, System.currentTimeMillis()));
+        if (previous != null) {
+            // The writer task of the previous write is still queued and will write the latest content.
+            numCoalescedWrites++;
+            return;
+        }
+        try {
+            getExecutor().execute(() -> writePending(fileName));
+        } catch (RejectedExecutionException e) {
+            pendingWrites.remove(fileName);
+            log.warn("Write of {} rejected as we are shutting down", fileName);
+        }
     }
 
     public void writeToDisc(String json, String fileName) {
+        writeToDisc(toCallback(json), fileName);
+    }
+
+    public void writeObjectToDisc(Object object, String fileName) {
+        writeToDisc(toCallback(object), fileName);
+    }
+
+    public void writeToDisc(JsonWriterCallback callback, String fileName) {
+        long ts = System.currentTimeMillis();
+        boolean success = write(callback, fileName);
+        onWritten(ts, ts, success);
+    }
+
+    public synchronized int getNumPendingWrites() {
+        return pendingWrites.size();
+    }
+
+    public synchronized long getNumWrites() {
+        return numWrites;
+    }
+
+    public synchronized long getNumCoalescedWrites() {
+        return numCoalescedWrites;
+    }
+
+    public synchronized long getNumFailedWrites() {
+        return numFailedWrites;
+    }
+
+    public synchronized long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public synchronized String getMetricsInfo() {
+        return "JsonFileManager " + dir.getName() + ": pending=" + pendingWrites.size() +
+                ", writes=" + numWrites +
+                ", coalesced=" + numCoalescedWrites +
+                ", failed=" + numFailedWrites +
+                ", avgLatencyMs=" + (numWrites == 0 ? 0 : totalLatencyMs / numWrites) +
+                ", maxLatencyMs=" + maxLatencyMs +
+                ", avgWriteTimeMs=" + (numWrites == 0 ? 0 : totalWriteTimeMs / numWrites);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static JsonWriterCallback toCallback(String json) {
+        // The json is already formatted, so we bypass the formatting of the jsonWriter.
+        return jsonWriter -> jsonWriter.jsonValue(json);
+    }
+
+    private static JsonWriterCallback toCallback(Object object) {
+        return jsonWriter -> Utilities.getJsonGson().toJson(object, object.getClass(), jsonWriter);
+    }
+
+    private void writePending(String fileName) {
+        PendingWrite pendingWrite;
+        synchronized (this) {
+            pendingWrite = pendingWrites.remove(fileName);
+        }
+        if (pendingWrite == null) {
+            return;
+        }
+        long ts = System.currentTimeMillis();
+        boolean success = write(pendingWrite.callback, fileName);
+        onWritten(pendingWrite.requestTime, ts, success);
+    }
+
+    private synchronized void onWritten(long requestTime, long startTime, boolean success) {
+        long now = System.currentTimeMillis();
+        numWrites++;
+        if (!success) {
+            numFailedWrites++;
+        }
+        long latencyMs = now - requestTime;
+        totalLatencyMs += latencyMs;
+        maxLatencyMs = Math.max(maxLatencyMs, latencyMs);
+        totalWriteTimeMs += now - startTime;
+        if (log.isDebugEnabled()) {
+            log.debug(getMetricsInfo());
+        }
+    }
+
+    private boolean write(JsonWriterCallback callback, String fileName) {
         File jsonFile = new File(Paths.get(dir.getAbsolutePath(), fileName + ".json").toString());
         File tempFile = null;
-        PrintWriter printWriter = null;
+        Writer writer = null;
         try {
             tempFile = File.createTempFile("temp", null, dir);
             tempFile.deleteOnExit();
 
-            printWriter = new PrintWriter(tempFile);
-            printWriter.println(json);
+            writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8);
+            Gson gson = Utilities.getJsonGson();
+            JsonWriter jsonWriter = gson.newJsonWriter(writer);
+            callback.write(jsonWriter);
+            jsonWriter.flush();
+            writer.write(System.lineSeparator());
 
             // This close call and comment is borrowed from FileManager. Not 100% sure it that is really needed but
             // seems that had fixed in the past and we got reported issues on Windows so that fix might be still
             // required.
             // Close resources before replacing file with temp file because otherwise it causes problems on windows
             // when rename temp file
-            printWriter.close();
+            writer.close();
 
             FileUtil.renameFile(tempFile, jsonFile);
+            return true;
         } catch (Throwable t) {
             log.error("storageFile " + jsonFile.toString());
             t.printStackTrace();
+            return false;
         } finally {
             if (tempFile != null && tempFile.exists()) {
                 log.warn("Temp file still exists after failed save. We will delete it now. storageFile=" + fileName);
@@ -108,8 +259,23 @@ public class JsonFileManager {
                     log.error("Cannot delete temp file.");
             }
 
-            if (printWriter != null)
-                printWriter.close();
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    log.error("Cannot close writer.", e);
+                }
+            }
+        }
+    }
+
+    private static class PendingWrite {
+        private final JsonWriterCallback callback;
+        private final long requestTime;
+
+        PendingWrite(JsonWriterCallback callback, long requestTime) {
+            this.callback = callback;
+            this.requestTime = requestTime;
         }
     }
 }
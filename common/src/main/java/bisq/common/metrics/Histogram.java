@@ -0,0 +1,109 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Distribution of non-negative values like latencies or sizes with a fixed relative precision, similar to an
+ * HdrHistogram. Values below 16 are counted exactly. Larger values are counted in buckets of 1/16 of their power of
+ * two, so percentiles have an error of at most about 6%. Recording is lock free and does not allocate.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int NUM_SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = NUM_SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * NUM_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    Histogram() {
+    }
+
+    public void record(long value) {
+        long nonNegative = Math.max(0, value);
+        counts.incrementAndGet(getBucketIndex(nonNegative));
+        count.increment();
+        sum.add(nonNegative);
+        max.accumulateAndGet(nonNegative, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long numValues = getCount();
+        return numValues == 0 ? 0 : (double) getSum() / numValues;
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100
+     * @return Upper bound of the bucket containing the percentile, capped at the largest recorded value
+     */
+    public long getValueAtPercentile(double percentile) {
+        long numValues = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            numValues += counts.get(i);
+        }
+        if (numValues == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * numValues));
+        long cumulative = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= rank) {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    static int getBucketIndex(long value) {
+        if (value < NUM_SUB_BUCKETS) {
+            return (int) value;
+        }
+        int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highestBit - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - NUM_SUB_BUCKETS;
+        return NUM_SUB_BUCKETS + shift * NUM_SUB_BUCKETS + subBucket;
+    }
+
+    static long getBucketUpperBound(int index) {
+        if (index < NUM_SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - NUM_SUB_BUCKETS) / NUM_SUB_BUCKETS;
+        int subBucket = (index - NUM_SUB_BUCKETS) % NUM_SUB_BUCKETS;
+        return ((long) (NUM_SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events and provides their rate per second, both as exponentially decayed moving averages over 1 and 5
+ * minutes and as the plain average over a sliding window of the last minute.
+ * Rates are updated lazily when the meter is used, so no timer is required.
+ */
+public class Meter {
+    private static final long TICK_INTERVAL_MS = TimeUnit.SECONDS.toMillis(5);
+    private static final int WINDOW_SEC = 60;
+
+    private final LongSupplier clock;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder uncounted = new LongAdder();
+    private final AtomicLong lastTick;
+    private final Ewma oneMinuteRate = new Ewma(1);
+    private final Ewma fiveMinuteRate = new Ewma(5);
+
+    // Counts per second of the sliding window, indexed by the epoch second modulo the window size
+    private final AtomicLongArray windowCounts = new AtomicLongArray(WINDOW_SEC);
+    private final AtomicLongArray windowSeconds = new AtomicLongArray(WINDOW_SEC);
+
+    Meter() {
+        this(System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    Meter(LongSupplier clock) {
+        this.clock = clock;
+        this.lastTick = new AtomicLong(clock.getAsLong());
+    }
+
+    public void mark() {
+        mark(1);
+    }
+
+    public void mark(long value) {
+        long now = clock.getAsLong();
+        tickIfNecessary(now);
+        count.add(value);
+        uncounted.add(value);
+
+        long second = now / 1000;
+        int index = (int) (second % WINDOW_SEC);
+        long bucketSecond = windowSeconds.get(index);
+        if (bucketSecond != second && windowSeconds.compareAndSet(index, bucketSecond, second)) {
+            // We are the first in this second, so we reuse the bucket of the second one window ago
+            windowCounts.set(index, 0);
+        }
+        windowCounts.addAndGet(index, value);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getOneMinuteRate() {
+        tickIfNecessary(clock.getAsLong());
+        return oneMinuteRate.getRatePerSec();
+    }
+
+    public double getFiveMinuteRate() {
+        tickIfNecessary(clock.getAsLong());
+        return fiveMinuteRate.getRatePerSec();
+    }
+
+    /**
+     * @return The average rate per second over the last minute.
+     */
+    public double getWindowRate() {
+        long second = clock.getAsLong() / 1000;
+        long sum = 0;
+        for (int i = 0; i < WINDOW_SEC; i++) {
+            if (second - windowSeconds.get(i) < WINDOW_SEC) {
+                sum += windowCounts.get(i);
+            }
+        }
+        return (double) sum / WINDOW_SEC;
+    }
+
+    private void tickIfNecessary(long now) {
+        long previousTick = lastTick.get();
+        long age = now - previousTick;
+        if (age < TICK_INTERVAL_MS) {
+            return;
+        }
+        long newTick = now - age % TICK_INTERVAL_MS;
+        if (!lastTick.compareAndSet(previousTick, newTick)) {
+            // Another thread does the tick
+            return;
+        }
+        long numTicks = age / TICK_INTERVAL_MS;
+        long numEvents = uncounted.sumThenReset();
+        oneMinuteRate.tick(numEvents);
+        fiveMinuteRate.tick(numEvents);
+        for (long i = 1; i < numTicks; i++) {
+            oneMinuteRate.tick(0);
+            fiveMinuteRate.tick(0);
+        }
+    }
+
+    private static class Ewma {
+        private final double alpha;
+        private volatile boolean initialized;
+        private volatile double ratePerMs;
+
+        Ewma(int minutes) {
+            alpha = 1 - Math.exp(-(double) TICK_INTERVAL_MS / TimeUnit.MINUTES.toMillis(minutes));
+        }
+
+        // Only called by the thread which won the tick
+        void tick(long numEvents) {
+            double instantRate = (double) numEvents / TICK_INTERVAL_MS;
+            if (initialized) {
+                ratePerMs += alpha * (instantRate - ratePerMs);
+            } else {
+                ratePerMs = instantRate;
+                initialized = true;
+            }
+        }
+
+        double getRatePerSec() {
+            return ratePerMs * 1000;
+        }
+    }
+}
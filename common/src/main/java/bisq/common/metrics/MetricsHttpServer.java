@@ -0,0 +1,108 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import bisq.common.config.Config;
+import bisq.common.util.Utilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+
+import java.nio.charset.StandardCharsets;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.concurrent.ExecutorService;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Serves the metrics of a MetricsRegistry in the Prometheus text format at /metrics.
+ * The server only listens on the loopback interface. It is intended to be scraped by a local Prometheus server or
+ * to be exposed through a reverse proxy.
+ */
+@Slf4j
+public class MetricsHttpServer {
+    public static final String PATH = "/metrics";
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Starts a server for the default MetricsRegistry if a port is set.
+     *
+     * @param port Port from the metricsPort option
+     * @return The started server or null if the port is not set or the server could not be started
+     */
+    @Nullable
+    public static MetricsHttpServer startIfEnabled(int port) {
+        if (port == Config.UNSPECIFIED_PORT) {
+            return null;
+        }
+        try {
+            MetricsHttpServer metricsHttpServer = new MetricsHttpServer(port, MetricsRegistry.getDefault());
+            metricsHttpServer.start();
+            return metricsHttpServer;
+        } catch (IOException e) {
+            log.error("Could not start metrics server at port {}", port, e);
+            return null;
+        }
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public MetricsHttpServer(int port, MetricsRegistry metricsRegistry) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(PATH, exchange -> handle(exchange, metricsRegistry));
+        executor = Utilities.getSingleThreadExecutor("MetricsHttpServer");
+        server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+        log.info("Metrics are served at http://{}:{}{}", server.getAddress().getHostString(),
+                server.getAddress().getPort(), PATH);
+    }
+
+    public void shutDown() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void handle(HttpExchange exchange, MetricsRegistry metricsRegistry) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] response = metricsRegistry.toPrometheusText().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(response);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Registry of named metrics which can be exported in the Prometheus text format.
+ * A metric can have one label, e.g. the message type, in which case there is one metric per label value.
+ * Getting a metric which already exists returns the same instance, so callers can look up metrics when they use them
+ * instead of holding references.
+ */
+@Slf4j
+public class MetricsRegistry {
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    private enum Type {
+        COUNTER,
+        METER,
+        HISTOGRAM,
+        GAUGE
+    }
+
+    private static class Family {
+        private final String name;
+        private final String help;
+        private final Type type;
+        @Nullable
+        private final String labelName;
+        private final Map<String, Object> metricsByLabelValue = new ConcurrentHashMap<>();
+
+        Family(String name, String help, Type type, @Nullable String labelName) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+            this.labelName = labelName;
+        }
+    }
+
+    private final Map<String, Family> familiesByName = new ConcurrentHashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public Counter counter(String name, String help) {
+        return getOrCreate(name, help, Type.COUNTER, null, "", Counter::new);
+    }
+
+    public Counter counter(String name, String help, String labelName, String labelValue) {
+        return getOrCreate(name, help, Type.COUNTER, labelName, labelValue, Counter::new);
+    }
+
+    public Meter meter(String name, String help) {
+        return getOrCreate(name, help, Type.METER, null, "", Meter::new);
+    }
+
+    public Meter meter(String name, String help, String labelName, String labelValue) {
+        return getOrCreate(name, help, Type.METER, labelName, labelValue, Meter::new);
+    }
+
+    public Histogram histogram(String name, String help) {
+        return getOrCreate(name, help, Type.HISTOGRAM, null, "", Histogram::new);
+    }
+
+    public Histogram histogram(String name, String help, String labelName, String labelValue) {
+        return getOrCreate(name, help, Type.HISTOGRAM, labelName, labelValue, Histogram::new);
+    }
+
+    // A gauge is read when exported. Registering a gauge again replaces the previous supplier.
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        Family family = getFamily(name, help, Type.GAUGE, null);
+        family.metricsByLabelValue.put("", supplier);
+    }
+
+    public String toPrometheusText() {
+        StringWriter writer = new StringWriter();
+        try {
+            writePrometheusText(writer);
+        } catch (IOException e) {
+            // Not expected with a StringWriter
+            throw new RuntimeException(e);
+        }
+        return writer.toString();
+    }
+
+    public void writePrometheusText(Writer writer) throws IOException {
+        for (Family family : new TreeMap<>(familiesByName).values()) {
+            Map<String, Object> metrics = new TreeMap<>(family.metricsByLabelValue);
+            switch (family.type) {
+                case COUNTER:
+                    writeHeader(writer, family.name, family.help, "counter");
+                    for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+                        writeSample(writer, family.name, family.labelName, entry.getKey(), null, null,
+                                ((Counter) entry.getValue()).getCount());
+                    }
+                    break;
+                case METER:
+                    writeHeader(writer, family.name, family.help, "counter");
+                    for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+                        writeSample(writer, family.name, family.labelName, entry.getKey(), null, null,
+                                ((Meter) entry.getValue()).getCount());
+                    }
+                    writeMeterRates(writer, family, metrics, "_rate1m",
+                            "per second over the last minute, exponentially decayed", Meter::getOneMinuteRate);
+                    writeMeterRates(writer, family, metrics, "_rate5m",
+                            "per second over the last 5 minutes, exponentially decayed", Meter::getFiveMinuteRate);
+                    writeMeterRates(writer, family, metrics, "_rate_window",
+                            "per second in the last minute", Meter::getWindowRate);
+                    break;
+                case HISTOGRAM:
+                    writeHeader(writer, family.name, family.help, "summary");
+                    for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+                        Histogram histogram = (Histogram) entry.getValue();
+                        for (double quantile : QUANTILES) {
+                            writeSample(writer, family.name, family.labelName, entry.getKey(), "quantile",
+                                    String.valueOf(quantile), histogram.getValueAtPercentile(quantile * 100));
+                        }
+                        writeSample(writer, family.name + "_sum", family.labelName, entry.getKey(), null, null,
+                                histogram.getSum());
+                        writeSample(writer, family.name + "_count", family.labelName, entry.getKey(), null, null,
+                                histogram.getCount());
+                    }
+                    writeHeader(writer, family.name + "_max", family.help + " (max)", "gauge");
+                    for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+                        writeSample(writer, family.name + "_max", family.labelName, entry.getKey(), null, null,
+                                ((Histogram) entry.getValue()).getMax());
+                    }
+                    break;
+                case GAUGE:
+                    writeHeader(writer, family.name, family.help, "gauge");
+                    for (Object supplier : metrics.values()) {
+                        double value;
+                        try {
+                            value = ((DoubleSupplier) supplier).getAsDouble();
+                        } catch (Throwable t) {
+                            log.warn("Could not read gauge {}: {}", family.name, t.toString());
+                            continue;
+                        }
+                        writeSample(writer, family.name, null, "", null, null, value);
+                    }
+                    break;
+            }
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrCreate(String name,
+                              String help,
+                              Type type,
+                              @Nullable String labelName,
+                              String labelValue,
+                              Supplier<T> factory) {
+        Family family = getFamily(name, help, type, labelName);
+        return (T) family.metricsByLabelValue.computeIfAbsent(labelValue, k -> factory.get());
+    }
+
+    private Family getFamily(String name, String help, Type type, @Nullable String labelName) {
+        Family family = familiesByName.get(name);
+        if (family == null) {
+            family = familiesByName.computeIfAbsent(name, k -> new Family(name, help, type, labelName));
+        }
+        checkArgument(family.type == type, "Metric %s is already registered as %s", name, family.type);
+        checkArgument(labelName == null ? family.labelName == null : labelName.equals(family.labelName),
+                "Metric %s is already registered with label %s", name, family.labelName);
+        return family;
+    }
+
+    private static void writeMeterRates(Writer writer,
+                                        Family family,
+                                        Map<String, Object> metrics,
+                                        String suffix,
+                                        String description,
+                                        ToDoubleFunction<Meter> rate) throws IOException {
+        String name = family.name.replaceAll("_total$", "") + suffix;
+        writeHeader(writer, name, family.help + ", " + description, "gauge");
+        for (Map.Entry<String, Object> entry : metrics.entrySet()) {
+            writeSample(writer, name, family.labelName, entry.getKey(), null, null,
+                    rate.applyAsDouble((Meter) entry.getValue()));
+        }
+    }
+
+    private static void writeHeader(Writer writer, String name, String help, String type) throws IOException {
+        writer.write("# HELP " + name + " " + help.replace("\\", "\\\\").replace("\n", "\\n") + "\n");
+        writer.write("# TYPE " + name + " " + type + "\n");
+    }
+
+    private static void writeSample(Writer writer,
+                                    String name,
+                                    @Nullable String labelName,
+                                    String labelValue,
+                                    @Nullable String extraLabelName,
+                                    @Nullable String extraLabelValue,
+                                    double value) throws IOException {
+        StringBuilder sb = new StringBuilder(name);
+        if (labelName != null || extraLabelName != null) {
+            sb.append('{');
+            if (labelName != null) {
+                appendLabel(sb, labelName, labelValue);
+            }
+            if (extraLabelName != null) {
+                if (labelName != null) {
+                    sb.append(',');
+                }
+                appendLabel(sb, extraLabelName, extraLabelValue);
+            }
+            sb.append('}');
+        }
+        sb.append(' ');
+        if (value == Math.rint(value) && !Double.isInfinite(value)) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+        writer.write(sb.toString());
+    }
+
+    private static void appendLabel(StringBuilder sb, String labelName, String labelValue) {
+        sb.append(labelName).append("=\"")
+                .append(labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                .append('"');
+    }
+}
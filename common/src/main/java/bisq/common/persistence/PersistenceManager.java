@@ -24,6 +24,7 @@ import bisq.common.config.Config;
 import bisq.common.file.CorruptedStorageFileHandler;
 import bisq.common.file.FileUtil;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.MetricsRegistry;
 import bisq.common.proto.persistable.PersistableEnvelope;
 import bisq.common.proto.persistable.PersistenceProtoResolver;
 import bisq.common.util.Utilities;
@@ -421,6 +422,9 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             if (duration > 100) {
                 log.info("Serializing {} took {} msec", fileName, duration);
             }
+            MetricsRegistry.getDefault().histogram("persistence_serialize_duration_ms",
+                    "Time for serializing a persisted object on the user thread in ms",
+                    "file", fileName).record(duration);
         } catch (Throwable e) {
             log.error("Error in saveToFile toProtoMessage: {}, {}", persistable.getClass().getSimpleName(), fileName);
             e.printStackTrace();
@@ -492,6 +496,9 @@ public class PersistenceManager<T extends PersistableEnvelope> {
             if (duration > 100) {
                 log.info("Writing the serialized {} completed in {} msec", fileName, duration);
             }
+            MetricsRegistry.getDefault().histogram("persistence_write_duration_ms",
+                    "Time for writing a persisted object to disk in ms",
+                    "file", fileName).record(duration);
             persistenceRequested = false;
             if (completeHandler != null) {
                 UserThread.execute(completeHandler);
@@ -17,6 +17,8 @@
 
 package bisq.common.util;
 
+import bisq.common.UserThread;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -27,8 +29,13 @@ public class Profiler {
         long total = runtime.totalMemory() / 1024 / 1024;
         long used = total - free;
 
-        log.info("System report: Used memory: {} MB; Free memory: {} MB; Total memory: {} MB; No. of threads: {}",
-                used, free, total, Thread.activeCount());
+        log.info("System report: Used memory: {} MB; Free memory: {} MB; Total memory: {} MB; No. of threads: {}; {}",
+                used, free, total, Thread.activeCount(), getUserThreadInfo());
+    }
+
+    // Queue depth and delay of the user thread and the tasks which used most of its time recently
+    public static String getUserThreadInfo() {
+        return UserThread.getExecutor().getInfo();
     }
 
     public static long getUsedMemoryInMB() {
@@ -85,14 +85,21 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
 public class Utilities {
+    private static final Gson JSON_GSON = new GsonBuilder()
+            .setExclusionStrategies(new AnnotationExclusionStrategy())
+            /*.excludeFieldsWithModifiers(Modifier.TRANSIENT)*/
+            /*  .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)*/
+            .setPrettyPrinting()
+            .create();
+
     public static String objectToJson(Object object) {
-        Gson gson = new GsonBuilder()
-                .setExclusionStrategies(new AnnotationExclusionStrategy())
-                /*.excludeFieldsWithModifiers(Modifier.TRANSIENT)*/
-                /*  .setFieldNamingPolicy(FieldNamingPolicy.UPPER_CAMEL_CASE)*/
-                .setPrettyPrinting()
-                .create();
-        return gson.toJson(object);
+        return getJsonGson().toJson(object);
+    }
+
+    // The Gson used by objectToJson. Gson is thread safe, so we create it only once. Can be used with a JsonWriter to
+    // stream large json content.
+    public static Gson getJsonGson() {
+        return JSON_GSON;
     }
 
     public static ExecutorService getSingleThreadExecutor(String name) {
@@ -0,0 +1,126 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HashedWheelTest {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final List<String> executed = new ArrayList<>();
+    private final HashedWheel wheel = new HashedWheel(10, 8, Runnable::run);
+    private int tick;
+
+    @Test
+    public void testTimeoutExpiresAtItsTick() {
+        wheel.addTimeout(() -> executed.add("a"), 3 * TICK_NANOS);
+
+        processTicks(3);
+        assertTrue(executed.isEmpty());
+
+        processTicks(1);
+        assertEquals(List.of("a"), executed);
+
+        processTicks(20);
+        assertEquals(1, executed.size());
+    }
+
+    @Test
+    public void testTimeoutBeyondOneRound() {
+        // The wheel has 8 buckets, so this timeout needs 2 more rounds
+        wheel.addTimeout(() -> executed.add("a"), 19 * TICK_NANOS);
+
+        processTicks(19);
+        assertTrue(executed.isEmpty());
+
+        processTicks(1);
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    public void testOverdueTimeoutExpiresAtNextTick() {
+        processTicks(5);
+        wheel.addTimeout(() -> executed.add("a"), TICK_NANOS);
+
+        processTicks(1);
+        assertEquals(List.of("a"), executed);
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotExpire() {
+        HashedWheel.Timeout pending = wheel.addTimeout(() -> executed.add("pending"), 2 * TICK_NANOS);
+        HashedWheel.Timeout scheduled = wheel.addTimeout(() -> executed.add("scheduled"), 3 * TICK_NANOS);
+        wheel.addTimeout(() -> executed.add("other"), 3 * TICK_NANOS);
+        pending.cancel();
+
+        processTicks(1);
+        scheduled.cancel();
+        assertTrue(scheduled.isCancelled());
+
+        processTicks(10);
+        assertEquals(List.of("other"), executed);
+    }
+
+    @Test
+    public void testPeriodicTimer() throws InterruptedException {
+        HashedWheel realTimeWheel = new HashedWheel(10, 8, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(3);
+        Timer timer = new HashedWheelTimer(realTimeWheel).runPeriodically(Duration.ofMillis(20), () -> {
+            count.incrementAndGet();
+            latch.countDown();
+        });
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+
+        timer.stop();
+        int countAfterStop = count.get();
+        Thread.sleep(100);
+        assertEquals(countAfterStop, count.get());
+    }
+
+    @Test
+    public void testStoppedTimerDoesNotRun() throws InterruptedException {
+        HashedWheel realTimeWheel = new HashedWheel(10, 8, Runnable::run);
+        AtomicInteger count = new AtomicInteger();
+        new HashedWheelTimer(realTimeWheel).runLater(Duration.ofMillis(20), count::incrementAndGet).stop();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        new HashedWheelTimer(realTimeWheel).runLater(Duration.ofMillis(40), latch::countDown);
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertEquals(0, count.get());
+    }
+
+    // Simulates the wheel thread which processes a tick once the time has passed the end of that tick
+    private void processTicks(int numTicks) {
+        for (int i = 0; i < numTicks; i++) {
+            tick++;
+            wheel.processTick(tick * TICK_NANOS);
+        }
+    }
+}
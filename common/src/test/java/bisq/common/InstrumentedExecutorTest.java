@@ -0,0 +1,76 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InstrumentedExecutorTest {
+
+    @Test
+    public void testQueueDepth() {
+        List<Runnable> queue = new ArrayList<>();
+        InstrumentedExecutor executor = new InstrumentedExecutor("test_executor", queue::add);
+        executor.execute(() -> {
+        });
+        executor.execute(() -> {
+        });
+        assertEquals(2, executor.getQueueDepth());
+
+        queue.remove(0).run();
+        assertEquals(1, executor.getQueueDepth());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testNullCommandIsRejected() {
+        new InstrumentedExecutor("test_executor", Runnable::run).execute(null);
+    }
+
+    @Test
+    public void testTopTasksBySource() {
+        InstrumentedExecutor executor = new InstrumentedExecutor("test_executor", Runnable::run);
+        Runnable task = () -> {
+        };
+        executor.recordRunTime(task, TimeUnit.MILLISECONDS.toNanos(5));
+        executor.recordRunTime(task, TimeUnit.MILLISECONDS.toNanos(7));
+        executor.recordRunTime(new Object(), TimeUnit.MILLISECONDS.toNanos(20));
+
+        List<String> topTasks = executor.getTopTasks(10);
+        assertEquals(2, topTasks.size());
+        assertEquals("Object: runs=1, total=20 ms, max=20 ms", topTasks.get(0));
+        assertEquals("InstrumentedExecutorTest: runs=2, total=12 ms, max=7 ms", topTasks.get(1));
+    }
+
+    @Test
+    public void testSourceOfLambdaIsDeclaringClass() {
+        Runnable task = () -> {
+        };
+        assertEquals("InstrumentedExecutorTest", InstrumentedExecutor.getSource(task.getClass()));
+        assertTrue(InstrumentedExecutor.getSource(new Runnable() {
+            @Override
+            public void run() {
+            }
+        }.getClass()).startsWith("InstrumentedExecutorTest$"));
+    }
+}
@@ -30,6 +30,7 @@ import static bisq.common.app.Capability.TRADE_STATISTICS_2;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CapabilitiesTest {
 
@@ -108,6 +109,38 @@ public class CapabilitiesTest {
         assertFalse(DUT.containsAll(new Capabilities(SEED_NODE, TRADE_STATISTICS_2)));
     }
 
+    @Test
+    public void testContains() {
+        Capabilities DUT = new Capabilities(TRADE_STATISTICS, Capability.CHUNKED_GET_DATA_RESPONSE);
+
+        assertTrue(DUT.contains(TRADE_STATISTICS));
+        assertTrue(DUT.contains(Capability.CHUNKED_GET_DATA_RESPONSE));
+        assertFalse(DUT.contains(SEED_NODE));
+        assertTrue(DUT.containsAll(TRADE_STATISTICS, Capability.CHUNKED_GET_DATA_RESPONSE));
+        assertFalse(DUT.containsAll(TRADE_STATISTICS, SEED_NODE));
+        assertEquals(2, DUT.size());
+    }
+
+    @Test
+    public void testUnmodifiable() {
+        Capabilities DUT = Capabilities.unmodifiable(Capability.MEDIATION);
+
+        assertEquals(new Capabilities(Capability.MEDIATION), DUT);
+        assertEquals(new Capabilities(Capability.MEDIATION).hashCode(), DUT.hashCode());
+        try {
+            DUT.addAll(SEED_NODE);
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ignore) {
+        }
+        assertEquals(new Capabilities(Capability.MEDIATION), DUT);
+
+        // A copy can be modified
+        Capabilities copy = new Capabilities(DUT);
+        copy.addAll(SEED_NODE);
+        assertTrue(copy.containsAll(DUT));
+        assertFalse(DUT.containsAll(copy));
+    }
+
     @Test
     public void testToIntList() {
         assertEquals(Collections.emptyList(), Capabilities.toIntList(new Capabilities()));
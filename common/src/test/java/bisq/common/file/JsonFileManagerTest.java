@@ -0,0 +1,106 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.file;
+
+import bisq.common.util.Utilities;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import java.io.File;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class JsonFileManagerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private JsonFileManager jsonFileManager;
+
+    @Before
+    public void setUp() {
+        jsonFileManager = new JsonFileManager(temporaryFolder.getRoot());
+    }
+
+    @After
+    public void tearDown() {
+        jsonFileManager.shutDown();
+    }
+
+    @Test
+    public void testWriteObjectMatchesObjectToJson() throws Exception {
+        List<String> list = List.of("a", "b");
+        jsonFileManager.writeObjectToDisc(list, "list");
+
+        assertEquals(Utilities.objectToJson(list) + System.lineSeparator(), read("list"));
+    }
+
+    @Test
+    public void testWriteJsonString() throws Exception {
+        String json = Utilities.objectToJson(List.of(1, 2));
+        jsonFileManager.writeToDisc(json, "json");
+
+        assertEquals(json + System.lineSeparator(), read("json"));
+    }
+
+    @Test
+    public void testThreadedWritesAreCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // Block the writer thread so the following writes of the same file queue up
+        jsonFileManager.writeToDiscThreaded(jsonWriter -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ignore) {
+            }
+            jsonWriter.value("blocking");
+        }, "blocking");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 10; i++) {
+            jsonFileManager.writeObjectToDiscThreaded(i, "counter");
+        }
+        assertEquals(1, jsonFileManager.getNumPendingWrites());
+        assertEquals(9, jsonFileManager.getNumCoalescedWrites());
+
+        release.countDown();
+        long timeout = System.currentTimeMillis() + 5000;
+        while (jsonFileManager.getNumWrites() < 2 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, jsonFileManager.getNumWrites());
+        assertEquals("9" + System.lineSeparator(), read("counter"));
+    }
+
+    private String read(String fileName) throws Exception {
+        File file = new File(temporaryFolder.getRoot(), fileName + ".json");
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
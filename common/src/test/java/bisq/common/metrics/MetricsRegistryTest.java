@@ -0,0 +1,82 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.common.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsRegistryTest {
+
+    @Test
+    public void testSameMetricForSameNameAndLabel() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        Counter counter = metricsRegistry.counter("messages_total", "Messages", "type", "Ping");
+        assertSame(counter, metricsRegistry.counter("messages_total", "Messages", "type", "Ping"));
+        assertEquals(0, metricsRegistry.counter("messages_total", "Messages", "type", "Pong").getCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDifferentTypeForSameNameIsRejected() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("messages_total", "Messages");
+        metricsRegistry.histogram("messages_total", "Messages");
+    }
+
+    @Test
+    public void testPrometheusText() {
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        metricsRegistry.counter("messages_total", "Messages", "type", "Ping").add(3);
+        metricsRegistry.counter("messages_total", "Messages", "type", "Pong\"").inc();
+        metricsRegistry.histogram("latency_ms", "Latency").record(10);
+        metricsRegistry.gauge("connections", "Connections", () -> 7);
+
+        String text = metricsRegistry.toPrometheusText();
+        assertTrue(text.contains("# TYPE messages_total counter\n"));
+        assertTrue(text.contains("messages_total{type=\"Ping\"} 3\n"));
+        assertTrue(text.contains("messages_total{type=\"Pong\\\"\"} 1\n"));
+        assertTrue(text.contains("# TYPE latency_ms summary\n"));
+        assertTrue(text.contains("latency_ms{quantile=\"0.99\"} 10\n"));
+        assertTrue(text.contains("latency_ms_count 1\n"));
+        assertTrue(text.contains("connections 7\n"));
+    }
+
+    @Test
+    public void testMeterRates() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        Meter meter = new Meter(now::get);
+        // 10 events per second for 2 minutes
+        for (int i = 0; i < 120; i++) {
+            meter.mark(10);
+            now.addAndGet(1000);
+        }
+
+        assertEquals(1200, meter.getCount());
+        assertEquals(10, meter.getWindowRate(), 0.5);
+        assertEquals(10, meter.getOneMinuteRate(), 0.5);
+
+        // No events for 2 minutes
+        now.addAndGet(120_000);
+        assertEquals(0, meter.getWindowRate(), 0);
+        assertTrue(meter.getOneMinuteRate() < 2);
+    }
+}
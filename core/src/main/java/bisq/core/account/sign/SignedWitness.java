@@ -61,6 +61,7 @@ public class SignedWitness implements ProcessOncePersistableNetworkPayload, Pers
     }
 
     private static final long TOLERANCE = TimeUnit.DAYS.toMillis(1);
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.SIGNED_ACCOUNT_AGE_WITNESS);
 
     private final VerificationMethod verificationMethod;
     private final byte[] accountAgeWitnessHash;
@@ -152,7 +153,7 @@ public class SignedWitness implements ProcessOncePersistableNetworkPayload, Pers
     // Pre 1.0.1 version don't know the new message type and throw an error which leads to disconnecting the peer.
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.SIGNED_ACCOUNT_AGE_WITNESS);
+        return REQUIRED_CAPABILITIES;
     }
 
     @Override
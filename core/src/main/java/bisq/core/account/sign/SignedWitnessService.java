@@ -18,10 +18,12 @@
 package bisq.core.account.sign;
 
 import bisq.core.account.witness.AccountAgeWitness;
+import bisq.core.filter.Filter;
 import bisq.core.filter.FilterManager;
 import bisq.core.support.dispute.arbitration.arbitrator.ArbitratorManager;
 import bisq.core.user.User;
 
+import bisq.network.crypto.SignatureVerificationService;
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.P2PService;
 import bisq.network.p2p.storage.P2PDataStorage;
@@ -49,10 +51,13 @@ import java.security.SignatureException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -60,15 +65,21 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 public class SignedWitnessService {
     public static final long SIGNER_AGE_DAYS = 30;
     private static final long SIGNER_AGE = SIGNER_AGE_DAYS * ChronoUnit.DAYS.getDuration().toMillis();
     public static final Coin MINIMUM_TRADE_AMOUNT_FOR_SIGNING = Coin.parseCoin("0.0025");
+    // Markers for the memoized signer dates of witnesses which are signers at any time or never.
+    private static final long ALWAYS_SIGNER = Long.MIN_VALUE;
+    private static final long NEVER_SIGNER = Long.MAX_VALUE;
 
     private final KeyRing keyRing;
     private final P2PService p2PService;
@@ -76,6 +87,7 @@ public class SignedWitnessService {
     private final SignedWitnessStorageService signedWitnessStorageService;
     private final User user;
     private final FilterManager filterManager;
+    private final SignatureVerificationService signatureVerificationService;
 
     private final Map<P2PDataStorage.ByteArray, SignedWitness> signedWitnessMap = new HashMap<>();
 
@@ -89,10 +101,22 @@ public class SignedWitnessService {
     private final Map<P2PDataStorage.ByteArray, Set<SignedWitness>> signedWitnessSetByOwnerPubKey = new HashMap<>();
 
     // The signature verification calls are rather expensive and called at filtering the offer book many times,
-    // so we cache the results using the hash as key. The hash is created from the accountAgeWitnessHash and the
-    // signature.
-    private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithDSAKeyResultCache = new HashMap<>();
-    private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithECKeyResultCache = new HashMap<>();
+    // so we cache the results using the hash as key. The hash is created from the accountAgeWitnessHash, the
+    // signature and the signerPubKey. The caches are filled concurrently at startup.
+    // Valid DSA signatures are also remembered across restarts by the signatureVerificationService. EC signatures
+    // depend on the current list of arbitrators, so we keep them only in memory.
+    private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithDSAKeyResultCache = new ConcurrentHashMap<>();
+    private final Map<P2PDataStorage.ByteArray, Boolean> verifySignatureWithECKeyResultCache = new ConcurrentHashMap<>();
+
+    // Walking the signer chains is expensive and the result of a SignedWitness does not depend on the time of the
+    // query, so we memoize the earliest time a SignedWitness (key is its hash) or an AccountAgeWitness (key is its
+    // hash) became a valid signer. Entries are invalidated for the affected part of the trust graph when
+    // SignedWitnesses are added or removed or when the banned signer pubKeys of the filter change.
+    private final Map<P2PDataStorage.ByteArray, Long> signerSinceBySignedWitnessHash = new HashMap<>();
+    private final Map<P2PDataStorage.ByteArray, Long> signerSinceByAccountAgeWitnessHash = new HashMap<>();
+
+    // Used to find the SignedWitnesses which depend on a signer when invalidating the memoized signer dates.
+    private final Map<P2PDataStorage.ByteArray, Set<SignedWitness>> signedWitnessSetBySignerPubKey = new HashMap<>();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -106,13 +130,15 @@ public class SignedWitnessService {
                                 SignedWitnessStorageService signedWitnessStorageService,
                                 AppendOnlyDataStoreService appendOnlyDataStoreService,
                                 User user,
-                                FilterManager filterManager) {
+                                FilterManager filterManager,
+                                SignatureVerificationService signatureVerificationService) {
         this.keyRing = keyRing;
         this.p2PService = p2PService;
         this.arbitratorManager = arbitratorManager;
         this.signedWitnessStorageService = signedWitnessStorageService;
         this.user = user;
         this.filterManager = filterManager;
+        this.signatureVerificationService = signatureVerificationService;
 
         // We need to add that early (before onAllServicesInitialized) as it will be used at startup.
         appendOnlyDataStoreService.addService(signedWitnessStorageService);
@@ -135,6 +161,15 @@ public class SignedWitnessService {
                 addToMap((SignedWitness) e);
         });
 
+        // We verify the peer signatures ahead on the worker pool, so the first queries do not need to do it.
+        signatureVerificationService.verifyAll(getSignedWitnessMapValues().stream()
+                        .filter(signedWitness -> !signedWitness.isSignedByArbitrator())
+                        .collect(Collectors.toList()),
+                this::verifySignatureWithDSAKey);
+
+        filterManager.filterProperty().addListener((observable, oldValue, newValue) ->
+                onBannedSignerPubKeysChanged(getChangedBannedSignerPubKeys(oldValue, newValue)));
+
         if (p2PService.isBootstrapped()) {
             onBootstrapComplete();
         } else {
@@ -336,8 +371,9 @@ public class SignedWitnessService {
 
     private boolean verifySignatureWithECKey(SignedWitness signedWitness) {
         P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(signedWitness.getHash());
-        if (verifySignatureWithECKeyResultCache.containsKey(hash)) {
-            return verifySignatureWithECKeyResultCache.get(hash);
+        Boolean cachedResult = verifySignatureWithECKeyResultCache.get(hash);
+        if (cachedResult != null) {
+            return cachedResult;
         }
         try {
             String message = Utilities.encodeToHex(signedWitness.getAccountAgeWitnessHash());
@@ -362,20 +398,26 @@ public class SignedWitnessService {
 
     private boolean verifySignatureWithDSAKey(SignedWitness signedWitness) {
         P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(signedWitness.getHash());
-        if (verifySignatureWithDSAKeyResultCache.containsKey(hash)) {
-            return verifySignatureWithDSAKeyResultCache.get(hash);
-        }
-        try {
-            PublicKey signaturePubKey = Sig.getPublicKeyFromBytes(signedWitness.getSignerPubKey());
-            Sig.verify(signaturePubKey, signedWitness.getAccountAgeWitnessHash(), signedWitness.getSignature());
-            verifySignatureWithDSAKeyResultCache.put(hash, true);
-            return true;
-        } catch (CryptoException e) {
-            log.warn("verifySignature signedWitness failed. signedWitness={}", signedWitness);
-            log.warn("Caused by ", e);
-            verifySignatureWithDSAKeyResultCache.put(hash, false);
-            return false;
+        Boolean cachedResult = verifySignatureWithDSAKeyResultCache.get(hash);
+        if (cachedResult != null) {
+            return cachedResult;
         }
+        boolean result = signatureVerificationService.verify(hash, () -> {
+            try {
+                PublicKey signaturePubKey = Sig.getPublicKeyFromBytes(signedWitness.getSignerPubKey());
+                if (Sig.verify(signaturePubKey, signedWitness.getAccountAgeWitnessHash(), signedWitness.getSignature())) {
+                    return true;
+                }
+                log.warn("verifySignature signedWitness failed. signedWitness={}", signedWitness);
+                return false;
+            } catch (CryptoException e) {
+                log.warn("verifySignature signedWitness failed. signedWitness={}", signedWitness);
+                log.warn("Caused by ", e);
+                return false;
+            }
+        });
+        verifySignatureWithDSAKeyResultCache.put(hash, result);
+        return result;
     }
 
     public Set<SignedWitness> getSignedWitnessSet(AccountAgeWitness accountAgeWitness) {
@@ -444,7 +486,7 @@ public class SignedWitnessService {
 
     private boolean verifySigner(SignedWitness signedWitness) {
         return getSignedWitnessSetByOwnerPubKey(signedWitness.getWitnessOwnerPubKey(), new Stack<>()).stream()
-                .anyMatch(w -> isValidSignerWitnessInternal(w, signedWitness.getDate(), new Stack<>()));
+                .anyMatch(w -> getSignerSince(w) <= signedWitness.getDate());
     }
 
     /**
@@ -456,15 +498,71 @@ public class SignedWitnessService {
      * @return true if accountAgeWitness is allowed to sign at time, false otherwise.
      */
     private boolean isSignerAccountAgeWitness(AccountAgeWitness accountAgeWitness, long time) {
+        return getSignerSince(accountAgeWitness) <= time;
+    }
+
+    /**
+     * @param accountAgeWitness accountAgeWitness
+     * @return the earliest time at which one of the SignedWitnesses of the accountAgeWitness is a valid signer,
+     * NEVER_SIGNER if there is none.
+     */
+    private long getSignerSince(AccountAgeWitness accountAgeWitness) {
+        P2PDataStorage.ByteArray key = new P2PDataStorage.ByteArray(accountAgeWitness.getHash());
+        Long signerSince = signerSinceByAccountAgeWitnessHash.get(key);
+        if (signerSince == null) {
+            signerSince = NEVER_SIGNER;
+            for (SignedWitness signedWitness : signedWitnessSetByAccountAgeWitnessHash.getOrDefault(key, Collections.emptySet())) {
+                signerSince = Math.min(signerSince, getSignerSince(signedWitness));
+            }
+            signerSinceByAccountAgeWitnessHash.put(key, signerSince);
+        }
+        return signerSince;
+    }
+
+    /**
+     * A SignedWitness signed by an arbitrator is a valid signer at any time, one signed by a peer is a valid signer
+     * SIGNER_AGE after it was signed if the signer chain is valid. The chain itself is verified with the date of the
+     * signedWitness and not with the time of the query, so the result can be memoized.
+     *
+     * @param signedWitness the signedWitness to validate
+     * @return the earliest time at which signedWitness is a valid signer, NEVER_SIGNER if it is never valid.
+     */
+    private long getSignerSince(SignedWitness signedWitness) {
+        P2PDataStorage.ByteArray key = signedWitness.getHashAsByteArray();
+        Long signerSince = signerSinceBySignedWitnessHash.get(key);
+        if (signerSince == null) {
+            signerSince = computeSignerSince(signedWitness);
+            signerSinceBySignedWitnessHash.put(key, signerSince);
+        }
+        return signerSince;
+    }
+
+    private long computeSignerSince(SignedWitness signedWitness) {
+        if (filterManager.isWitnessSignerPubKeyBanned(Utils.HEX.encode(signedWitness.getWitnessOwnerPubKey()))) {
+            return NEVER_SIGNER;
+        }
+        if (!verifySignature(signedWitness)) {
+            return NEVER_SIGNER;
+        }
+        if (signedWitness.isSignedByArbitrator()) {
+            return ALWAYS_SIGNER;
+        }
+        if (signedWitness.getDate() > NEVER_SIGNER - SIGNER_AGE) {
+            return NEVER_SIGNER;
+        }
+        long signerSince = signedWitness.getDate() + SIGNER_AGE;
+        // Same as isValidSignerWitnessInternal with the signedWitness as leaf, except that the date check is
+        // replaced by the returned date.
         Stack<P2PDataStorage.ByteArray> excludedPubKeys = new Stack<>();
-        Set<SignedWitness> signedWitnessSet = getSignedWitnessSet(accountAgeWitness);
-        for (SignedWitness signedWitness : signedWitnessSet) {
-            if (isValidSignerWitnessInternal(signedWitness, time, excludedPubKeys)) {
-                return true;
+        excludedPubKeys.push(new P2PDataStorage.ByteArray(signedWitness.getSignerPubKey()));
+        excludedPubKeys.push(new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey()));
+        Set<SignedWitness> signerSignedWitnessSet = getSignedWitnessSetByOwnerPubKey(signedWitness.getSignerPubKey(), excludedPubKeys);
+        for (SignedWitness signerSignedWitness : signerSignedWitnessSet) {
+            if (isValidSignerWitnessInternal(signerSignedWitness, signedWitness.getDate(), excludedPubKeys)) {
+                return signerSince;
             }
         }
-        // If we have not returned in the loops or they have been empty we have not found a valid signer.
-        return false;
+        return NEVER_SIGNER;
     }
 
     /**
@@ -533,6 +631,12 @@ public class SignedWitnessService {
         P2PDataStorage.ByteArray ownerPubKey = new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey());
         signedWitnessSetByOwnerPubKey.putIfAbsent(ownerPubKey, new HashSet<>());
         signedWitnessSetByOwnerPubKey.get(ownerPubKey).add(signedWitness);
+
+        P2PDataStorage.ByteArray signerPubKey = new P2PDataStorage.ByteArray(signedWitness.getSignerPubKey());
+        signedWitnessSetBySignerPubKey.putIfAbsent(signerPubKey, new HashSet<>());
+        signedWitnessSetBySignerPubKey.get(signerPubKey).add(signedWitness);
+
+        invalidateSignerSince(ownerPubKey);
     }
 
     private void publishSignedWitness(SignedWitness signedWitness) {
@@ -551,6 +655,9 @@ public class SignedWitnessService {
 
     @VisibleForTesting
     public void removeSignedWitness(SignedWitness signedWitness) {
+        P2PDataStorage.ByteArray ownerPubKey = new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey());
+        invalidateSignerSince(ownerPubKey);
+
         signedWitnessMap.remove(signedWitness.getHashAsByteArray());
 
         P2PDataStorage.ByteArray accountAgeWitnessHash = new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash());
@@ -562,7 +669,6 @@ public class SignedWitnessService {
             }
         }
 
-        P2PDataStorage.ByteArray ownerPubKey = new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey());
         if (signedWitnessSetByOwnerPubKey.containsKey(ownerPubKey)) {
             Set<SignedWitness> set = signedWitnessSetByOwnerPubKey.get(ownerPubKey);
             set.remove(signedWitness);
@@ -570,6 +676,72 @@ public class SignedWitnessService {
                 signedWitnessSetByOwnerPubKey.remove(ownerPubKey);
             }
         }
+
+        P2PDataStorage.ByteArray signerPubKey = new P2PDataStorage.ByteArray(signedWitness.getSignerPubKey());
+        if (signedWitnessSetBySignerPubKey.containsKey(signerPubKey)) {
+            Set<SignedWitness> set = signedWitnessSetBySignerPubKey.get(signerPubKey);
+            set.remove(signedWitness);
+            if (set.isEmpty()) {
+                signedWitnessSetBySignerPubKey.remove(signerPubKey);
+            }
+        }
+    }
+
+    @VisibleForTesting
+    void onBannedSignerPubKeysChanged(Collection<String> changedPubKeysAsHex) {
+        changedPubKeysAsHex.forEach(pubKeyAsHex -> {
+            try {
+                invalidateSignerSince(new P2PDataStorage.ByteArray(Utils.HEX.decode(pubKeyAsHex)));
+            } catch (IllegalArgumentException e) {
+                // Such an entry cannot match any encoded pubKey, so it has no effect on the trust graph.
+                log.warn("Ignoring invalid banned signer pubKey {}", pubKeyAsHex);
+            }
+        });
+    }
+
+    private static Set<String> getChangedBannedSignerPubKeys(@Nullable Filter oldFilter, @Nullable Filter newFilter) {
+        Set<String> oldPubKeys = getBannedSignerPubKeys(oldFilter);
+        Set<String> newPubKeys = getBannedSignerPubKeys(newFilter);
+        Set<String> changedPubKeys = new HashSet<>(oldPubKeys);
+        changedPubKeys.addAll(newPubKeys);
+        changedPubKeys.removeIf(pubKey -> oldPubKeys.contains(pubKey) && newPubKeys.contains(pubKey));
+        return changedPubKeys;
+    }
+
+    private static Set<String> getBannedSignerPubKeys(@Nullable Filter filter) {
+        if (filter == null || filter.getBannedAccountWitnessSignerPubKeys() == null) {
+            return Collections.emptySet();
+        }
+        return new HashSet<>(filter.getBannedAccountWitnessSignerPubKeys());
+    }
+
+    // Drops the memoized signer dates of all SignedWitnesses owned by ownerPubKey and of all SignedWitnesses
+    // further down the trust graph, i.e. signed by one of those owners.
+    private void invalidateSignerSince(P2PDataStorage.ByteArray ownerPubKey) {
+        if (signerSinceBySignedWitnessHash.isEmpty() && signerSinceByAccountAgeWitnessHash.isEmpty()) {
+            return;
+        }
+        Set<P2PDataStorage.ByteArray> visited = new HashSet<>();
+        Deque<P2PDataStorage.ByteArray> pending = new ArrayDeque<>();
+        visited.add(ownerPubKey);
+        pending.add(ownerPubKey);
+        while (!pending.isEmpty()) {
+            P2PDataStorage.ByteArray pubKey = pending.poll();
+            signedWitnessSetByOwnerPubKey.getOrDefault(pubKey, Collections.emptySet())
+                    .forEach(this::removeSignerSince);
+            signedWitnessSetBySignerPubKey.getOrDefault(pubKey, Collections.emptySet()).forEach(signedWitness -> {
+                removeSignerSince(signedWitness);
+                P2PDataStorage.ByteArray signedOwnerPubKey = new P2PDataStorage.ByteArray(signedWitness.getWitnessOwnerPubKey());
+                if (visited.add(signedOwnerPubKey)) {
+                    pending.add(signedOwnerPubKey);
+                }
+            });
+        }
+    }
+
+    private void removeSignerSince(SignedWitness signedWitness) {
+        signerSinceBySignedWitnessHash.remove(signedWitness.getHashAsByteArray());
+        signerSinceByAccountAgeWitnessHash.remove(new P2PDataStorage.ByteArray(signedWitness.getAccountAgeWitnessHash()));
     }
 
     // Remove SignedWitnesses that are signed by TRADE that also have an ARBITRATOR signature
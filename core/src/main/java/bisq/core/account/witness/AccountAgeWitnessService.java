@@ -42,6 +42,7 @@ import bisq.core.user.User;
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.P2PService;
 import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
 
 import bisq.common.UserThread;
@@ -70,7 +71,6 @@ import java.time.Clock;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.GregorianCalendar;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -145,11 +145,10 @@ public class AccountAgeWitnessService {
     @Getter
     private final AccountAgeWitnessUtils accountAgeWitnessUtils;
 
-    private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessMap = new HashMap<>();
-
-    // The accountAgeWitnessMap is very large (70k items) and access is a bit expensive. We usually only access less
-    // than 100 items, those who have offers online. So we use a cache for a fast lookup and only if
-    // not found there we use the accountAgeWitnessMap and put then the new item into our cache.
+    // The witnesses in the accountAgeWitnessStorageService are very many (70k items) and the historical ones are kept
+    // in a compact form which creates the witness object at each lookup. We usually only access less than 100 items,
+    // those who have offers online. So we use a cache for a fast lookup and only if not found there we use the
+    // accountAgeWitnessStorageService and put then the new item into our cache.
     private final Map<P2PDataStorage.ByteArray, AccountAgeWitness> accountAgeWitnessCache = new ConcurrentHashMap<>();
 
 
@@ -192,17 +191,8 @@ public class AccountAgeWitnessService {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public void onAllServicesInitialized() {
-        p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload -> {
-            if (payload instanceof AccountAgeWitness)
-                addToMap((AccountAgeWitness) payload);
-        });
-
-        // At startup the P2PDataStorage initializes earlier, otherwise we get the listener called.
-        accountAgeWitnessStorageService.getMapOfAllData().values().stream()
-                .filter(e -> e instanceof AccountAgeWitness)
-                .map(e -> (AccountAgeWitness) e)
-                .forEach(this::addToMap);
-
+        // New witnesses are added to the accountAgeWitnessStorageService by the P2PDataStorage, so we do not need
+        // to keep a copy of all witnesses.
         if (p2PService.isBootstrapped()) {
             onBootStrapped();
         } else {
@@ -242,7 +232,7 @@ public class AccountAgeWitnessService {
 
     @VisibleForTesting
     public void addToMap(AccountAgeWitness accountAgeWitness) {
-        accountAgeWitnessMap.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness);
+        accountAgeWitnessCache.putIfAbsent(accountAgeWitness.getHashAsByteArray(), accountAgeWitness);
     }
 
 
@@ -254,13 +244,13 @@ public class AccountAgeWitnessService {
         AccountAgeWitness accountAgeWitness = getMyWitness(paymentAccountPayload);
         P2PDataStorage.ByteArray hash = accountAgeWitness.getHashAsByteArray();
 
-        // We use first our fast lookup cache. If its in accountAgeWitnessCache it is also in accountAgeWitnessMap
-        // and we do not publish.
+        // We use first our fast lookup cache. If its in accountAgeWitnessCache it is also in the
+        // accountAgeWitnessStorageService and we do not publish.
         if (accountAgeWitnessCache.containsKey(hash)) {
             return;
         }
 
-        if (!accountAgeWitnessMap.containsKey(hash)) {
+        if (!accountAgeWitnessStorageService.getMapOfAllData().containsKey(hash)) {
             p2PService.addPersistableNetworkPayload(accountAgeWitness, false);
         }
     }
@@ -318,8 +308,9 @@ public class AccountAgeWitnessService {
             return Optional.of(accountAgeWitnessCache.get(hashAsByteArray));
         }
 
-        if (accountAgeWitnessMap.containsKey(hashAsByteArray)) {
-            AccountAgeWitness accountAgeWitness = accountAgeWitnessMap.get(hashAsByteArray);
+        PersistableNetworkPayload payload = accountAgeWitnessStorageService.getMapOfAllData().get(hashAsByteArray);
+        if (payload instanceof AccountAgeWitness) {
+            AccountAgeWitness accountAgeWitness = (AccountAgeWitness) payload;
 
             // We add it to our fast lookup cache
             accountAgeWitnessCache.put(hashAsByteArray, accountAgeWitness);
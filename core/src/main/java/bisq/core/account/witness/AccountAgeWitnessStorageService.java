@@ -17,6 +17,7 @@
 
 package bisq.core.account.witness;
 
+import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 import bisq.network.p2p.storage.persistence.HistoricalDataStoreService;
 
@@ -28,6 +29,9 @@ import javax.inject.Named;
 
 import java.io.File;
 
+import java.util.Map;
+import java.util.Optional;
+
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -74,4 +78,16 @@ public class AccountAgeWitnessStorageService extends HistoricalDataStoreService<
     protected AccountAgeWitnessStore createStore() {
         return new AccountAgeWitnessStore();
     }
+
+    // The historical data holds most of the witnesses, so we keep it in a compact form
+    @Override
+    protected Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> createHistoricalSegment(
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> payloads) {
+        Optional<CompactAccountAgeWitnessMap> compactMap = CompactAccountAgeWitnessMap.from(payloads.values());
+        if (compactMap.isPresent()) {
+            return compactMap.get();
+        }
+        log.warn("Historical data contains payloads which are no valid account age witnesses. We do not use a compact map.");
+        return super.createHistoricalSegment(payloads);
+    }
 }
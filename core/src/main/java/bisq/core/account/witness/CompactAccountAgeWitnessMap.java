@@ -0,0 +1,181 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.account.witness;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import com.google.common.primitives.UnsignedBytes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Immutable map of account age witnesses which stores the 20 byte hashes sorted in a single flat array and the dates
+ * in a primitive array. Compared to a map of {@link AccountAgeWitness} objects keyed by {@link P2PDataStorage.ByteArray}
+ * it needs about a quarter of the heap. Lookups use binary search, keys and witnesses are created on access.
+ */
+@Immutable
+class CompactAccountAgeWitnessMap extends AbstractMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> {
+    static final int HASH_LENGTH = 20;
+    private static final Comparator<byte[]> HASH_COMPARATOR = UnsignedBytes.lexicographicalComparator();
+
+    private final byte[] hashes;
+    private final long[] dates;
+    private final Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet = new EntrySetView();
+
+    /**
+     * @param payloads  The payloads to store
+     * @return The compact map or empty if any payload is not an account age witness with a valid hash
+     */
+    static Optional<CompactAccountAgeWitnessMap> from(Collection<PersistableNetworkPayload> payloads) {
+        AccountAgeWitness[] witnesses = new AccountAgeWitness[payloads.size()];
+        int i = 0;
+        for (PersistableNetworkPayload payload : payloads) {
+            if (!(payload instanceof AccountAgeWitness) || payload.getHash().length != HASH_LENGTH) {
+                return Optional.empty();
+            }
+            witnesses[i++] = (AccountAgeWitness) payload;
+        }
+        Arrays.sort(witnesses, Comparator.comparing(AccountAgeWitness::getHash, HASH_COMPARATOR));
+        return Optional.of(new CompactAccountAgeWitnessMap(witnesses));
+    }
+
+    private CompactAccountAgeWitnessMap(AccountAgeWitness[] sortedWitnesses) {
+        hashes = new byte[sortedWitnesses.length * HASH_LENGTH];
+        dates = new long[sortedWitnesses.length];
+        for (int i = 0; i < sortedWitnesses.length; i++) {
+            System.arraycopy(sortedWitnesses[i].getHash(), 0, hashes, i * HASH_LENGTH, HASH_LENGTH);
+            dates[i] = sortedWitnesses[i].getDate();
+        }
+    }
+
+    @Override
+    public PersistableNetworkPayload get(Object key) {
+        int index = indexOf(key);
+        return index >= 0 ? getWitness(index) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return dates.length;
+    }
+
+    @Override
+    public Set<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> entrySet() {
+        return entrySet;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private int indexOf(Object key) {
+        if (!(key instanceof P2PDataStorage.ByteArray)) {
+            return -1;
+        }
+        byte[] hash = ((P2PDataStorage.ByteArray) key).bytes;
+        if (hash.length != HASH_LENGTH) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = dates.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareToHashAt(hash, middle);
+            if (comparison > 0) {
+                low = middle + 1;
+            } else if (comparison < 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private int compareToHashAt(byte[] hash, int index) {
+        int offset = index * HASH_LENGTH;
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            int comparison = UnsignedBytes.compare(hash[i], hashes[offset + i]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    private AccountAgeWitness getWitness(int index) {
+        int offset = index * HASH_LENGTH;
+        return new AccountAgeWitness(Arrays.copyOfRange(hashes, offset, offset + HASH_LENGTH), dates[index]);
+    }
+
+    private class EntrySetView extends AbstractSet<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> {
+        @Override
+        public Iterator<Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload>> iterator() {
+            return new Iterator<>() {
+                private int index;
+
+                @Override
+                public boolean hasNext() {
+                    return index < dates.length;
+                }
+
+                @Override
+                public Entry<P2PDataStorage.ByteArray, PersistableNetworkPayload> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    AccountAgeWitness witness = getWitness(index++);
+                    return new SimpleImmutableEntry<>(new P2PDataStorage.ByteArray(witness.getHash()), witness);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            PersistableNetworkPayload witness = get(entry.getKey());
+            return witness != null && witness.equals(entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return dates.length;
+        }
+    }
+}
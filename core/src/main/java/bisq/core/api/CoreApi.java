@@ -28,7 +28,10 @@ import bisq.core.offer.OpenOffer;
 import bisq.core.payment.PaymentAccount;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.trade.Trade;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
+import bisq.core.trade.statistics.TradeStatisticsCandleService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
 import bisq.common.app.Version;
@@ -52,6 +55,8 @@ import java.util.function.Consumer;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
+import static java.lang.String.format;
+
 /**
  * Provides high level interface to functionality of core Bisq features.
  * E.g. useful for different APIs to access data of different domains of Bisq.
@@ -70,6 +75,7 @@ public class CoreApi {
     private final CoreTradesService coreTradesService;
     private final CoreWalletsService walletsService;
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final TradeStatisticsCandleService tradeStatisticsCandleService;
 
     @Inject
     public CoreApi(Config config,
@@ -80,7 +86,8 @@ public class CoreApi {
                    CorePriceService corePriceService,
                    CoreTradesService coreTradesService,
                    CoreWalletsService walletsService,
-                   TradeStatisticsManager tradeStatisticsManager) {
+                   TradeStatisticsManager tradeStatisticsManager,
+                   TradeStatisticsCandleService tradeStatisticsCandleService) {
         this.config = config;
         this.coreDisputeAgentsService = coreDisputeAgentsService;
         this.coreHelpService = coreHelpService;
@@ -90,6 +97,7 @@ public class CoreApi {
         this.corePriceService = corePriceService;
         this.walletsService = walletsService;
         this.tradeStatisticsManager = tradeStatisticsManager;
+        this.tradeStatisticsCandleService = tradeStatisticsCandleService;
     }
 
     @SuppressWarnings("SameReturnValue")
@@ -357,6 +365,22 @@ public class CoreApi {
         return new ArrayList<>(tradeStatisticsManager.getObservableTradeStatisticsSet());
     }
 
+    public List<TradeStatisticsCandle> getTradeStatisticsCandles(String currencyCode,
+                                                                 String tickUnit,
+                                                                 long fromDate,
+                                                                 long toDate) {
+        TickUnit unit;
+        try {
+            unit = TickUnit.valueOf(tickUnit.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(format("unknown tick unit '%s'", tickUnit));
+        }
+        return tradeStatisticsCandleService.getCandles(currencyCode.isEmpty() ? null : currencyCode.toUpperCase(),
+                unit,
+                fromDate,
+                toDate == 0 ? Long.MAX_VALUE : toDate);
+    }
+
     public int getNumConfirmationsForMostRecentTransaction(String addressString) {
         return walletsService.getNumConfirmationsForMostRecentTransaction(addressString);
     }
@@ -17,6 +17,7 @@
 
 package bisq.core.app;
 
+import bisq.common.HashedWheelTimer;
 import bisq.common.UserThread;
 import bisq.common.app.AppModule;
 import bisq.common.app.Version;
@@ -64,6 +65,7 @@ public class BisqHeadlessAppMain extends BisqExecutable {
                 .setDaemon(true)
                 .build();
         UserThread.setExecutor(Executors.newSingleThreadExecutor(threadFactory));
+        UserThread.setTimerFactory(HashedWheelTimer::new);
     }
 
     @Override
@@ -31,6 +31,7 @@ import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.P2PService;
 import bisq.network.p2p.seed.SeedNodeRepository;
 
+import bisq.common.HashedWheelTimer;
 import bisq.common.UserThread;
 import bisq.common.app.DevEnv;
 import bisq.common.config.Config;
@@ -74,6 +75,7 @@ public abstract class ExecutableForAppWithP2p extends BisqExecutable {
                 .setDaemon(true)
                 .build();
         UserThread.setExecutor(Executors.newSingleThreadExecutor(threadFactory));
+        UserThread.setTimerFactory(HashedWheelTimer::new);
     }
 
     @Override
@@ -6,22 +6,28 @@ import java.io.IOException;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 
 
 
 import monero.common.MoneroError;
+import monero.common.MoneroRpcConnection;
 import monero.wallet.MoneroWalletRpc;
 
 /**
  * Manages monero-wallet-rpc processes bound to ports.
+ *
+ * A process can host different wallets over time. Each wallet gets its own client from {@link #createClient}, which
+ * is released when the wallet is closed so it cannot reach the next wallet hosted by the same process.
  */
 public class MoneroWalletRpcManager {
 
   private static int NUM_ALLOWED_ATTEMPTS = 1; // allow this many attempts to bind to an assigned port
   private Integer startPort;
-  private Map<Integer, MoneroWalletRpc> registeredPorts = new HashMap<Integer, MoneroWalletRpc>();
+  private Map<Integer, MoneroWalletRpc> registeredPorts = new HashMap<Integer, MoneroWalletRpc>(); // clients which started the processes
+  private Map<MoneroWalletRpc, Integer> clientPorts = new IdentityHashMap<MoneroWalletRpc, Integer>();
 
   /**
    * Manage monero-wallet-rpc instances by auto-assigning ports.
@@ -51,7 +57,7 @@ public class MoneroWalletRpcManager {
       if (cmd.indexOf("--rpc-bind-port") >= 0) {
         int port = Integer.valueOf(cmd.indexOf("--rpc-bind-port") + 1);
         MoneroWalletRpc walletRpc = new MoneroWalletRpc(cmd); // starts monero-wallet-rpc process
-        registeredPorts.put(port, walletRpc);
+        synchronized (this) { registeredPorts.put(port, walletRpc); }
         return walletRpc;
       }
 
@@ -67,7 +73,7 @@ public class MoneroWalletRpcManager {
             cmdCopy.add("" + port);
             System.out.println(cmdCopy);
             MoneroWalletRpc walletRpc = new MoneroWalletRpc(cmdCopy); // start monero-wallet-rpc process
-            registeredPorts.put(port, walletRpc);
+            synchronized (this) { registeredPorts.put(port, walletRpc); }
             return walletRpc;
           } catch (Exception e) {
             if (numAttempts >= NUM_ALLOWED_ATTEMPTS) {
@@ -83,26 +89,70 @@ public class MoneroWalletRpcManager {
     }
   }
 
+  /**
+   * Create a new client connected to a running instance of monero-wallet-rpc.
+   *
+   * @param walletRpc the client which started the instance or another client of it
+   * @return a new client connected to the same monero-wallet-rpc instance
+   */
+  public synchronized MoneroWalletRpc createClient(MoneroWalletRpc walletRpc) {
+    int port = getPort(walletRpc);
+    MoneroWalletRpc client = new MoneroWalletRpc(new ClientRpcConnection(registeredPorts.get(port).getRpcConnection()));
+    clientPorts.put(client, port);
+    return client;
+  }
+
+  /**
+   * Release a client created with {@link #createClient}. Requests of the client fail afterwards.
+   *
+   * @param client the client to release
+   * @return the client which started the monero-wallet-rpc instance, which keeps running
+   */
+  public synchronized MoneroWalletRpc releaseClient(MoneroWalletRpc client) {
+    Integer port = clientPorts.remove(client);
+    if (port == null) throw new RuntimeException("MoneroWalletRpc client was not created by this manager");
+    ((ClientRpcConnection) client.getRpcConnection()).release();
+    return registeredPorts.get(port);
+  }
+
   /**
    * Stop an instance of monero-wallet-rpc.
    *
-   * @param walletRpc the client connected to the monero-wallet-rpc instance to stop
+   * @param walletRpc the client which started the monero-wallet-rpc instance to stop or another client of it
    */
   public void stopInstance(MoneroWalletRpc walletRpc) {
-    boolean found = false;
+    int port;
+    MoneroWalletRpc processRpc;
+    synchronized (this) {
+      port = getPort(walletRpc);
+      processRpc = registeredPorts.get(port);
+    }
+    try { walletRpc.stop(); }
+    catch (MoneroError e) {
+      if (processRpc.getProcess() == null) throw e;
+      processRpc.getProcess().destroy(); // instance without open wallet cannot be stopped over rpc
+    }
+    synchronized (this) {
+      clientPorts.entrySet().removeIf(entry -> {
+        if (entry.getValue() != port) return false;
+        ((ClientRpcConnection) entry.getKey().getRpcConnection()).release();
+        return true;
+      });
+      try { unregisterPort(port); }
+      catch (Exception e) { throw new MoneroError(e); }
+    }
+  }
+
+  private int getPort(MoneroWalletRpc walletRpc) {
+    Integer port = clientPorts.get(walletRpc);
+    if (port != null) return port;
     for (Map.Entry<Integer, MoneroWalletRpc> entry : registeredPorts.entrySet()) {
-      if (walletRpc == entry.getValue()) {
-        walletRpc.stop();
-        found = true;
-        try { unregisterPort(entry.getKey()); }
-        catch (Exception e) { throw new MoneroError(e); }
-        break;
-      }
+      if (walletRpc == entry.getValue()) return entry.getKey();
     }
-    if (!found) throw new RuntimeException("MoneroWalletRpc instance not associated with port");
+    throw new RuntimeException("MoneroWalletRpc instance not associated with port");
   }
 
-  private int registerPort() throws IOException {
+  private synchronized int registerPort() throws IOException {
 
     // register next consecutive port
     if (startPort != null) {
@@ -122,7 +172,45 @@ public class MoneroWalletRpcManager {
     }
   }
 
-  private void unregisterPort(int port) {
+  private synchronized void unregisterPort(int port) {
     registeredPorts.remove(port);
   }
+
+  /**
+   * Connection of a client which fails all requests once released.
+   */
+  private static class ClientRpcConnection extends MoneroRpcConnection {
+
+    private volatile boolean released;
+
+    ClientRpcConnection(MoneroRpcConnection connection) {
+      super(connection.getUri(), connection.getUsername(), connection.getPassword());
+    }
+
+    void release() {
+      released = true;
+    }
+
+    @Override
+    public Map<String, Object> sendJsonRequest(String method) {
+      checkNotReleased();
+      return super.sendJsonRequest(method);
+    }
+
+    @Override
+    public Map<String, Object> sendJsonRequest(String method, Object params) {
+      checkNotReleased();
+      return super.sendJsonRequest(method, params);
+    }
+
+    @Override
+    public Map<String, Object> sendPathRequest(String path, Map<String, Object> params) {
+      checkNotReleased();
+      return super.sendPathRequest(path, params);
+    }
+
+    private void checkNotReleased() {
+      if (released) throw new MoneroError("Wallet client was released, its monero-wallet-rpc instance may host another wallet");
+    }
+  }
 }
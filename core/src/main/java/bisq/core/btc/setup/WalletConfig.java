@@ -71,7 +71,13 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import org.slf4j.Logger;
@@ -132,12 +138,14 @@ public class WalletConfig extends AbstractIdleService {
     private static final String MONERO_WALLET_RPC_USERNAME = "rpc_user";
     private static final String MONERO_WALLET_RPC_PASSWORD = "abc123";
     private static final long MONERO_WALLET_SYNC_RATE = 5000l;
+    private static final int MONERO_MAX_IDLE_WALLET_RPC_INSTANCES = 3; // keep this many monero-wallet-rpc processes without open wallet for reuse
 
     protected final NetworkParameters params;
     protected final String filePrefix;
     protected volatile BlockChain vChain;
     protected volatile SPVBlockStore vStore;
     protected volatile MoneroWallet vXmrWallet;
+    private final Deque<MoneroWalletRpc> idleWalletRpcs = new ArrayDeque<>();
     protected volatile Wallet vBtcWallet;
     protected volatile Wallet vBsqWallet;
     protected volatile PeerGroup vPeerGroup;
@@ -286,8 +294,8 @@ public class WalletConfig extends AbstractIdleService {
 
     public MoneroWallet createWallet(MoneroWalletConfig config) {
 
-      // start monero-wallet-rpc instance
-      MoneroWalletRpc walletRpc = startWalletRpcInstance();
+      // start or reuse monero-wallet-rpc instance
+      MoneroWalletRpc walletRpc = acquireWalletRpcInstance();
 
       // create wallet
       try {
@@ -303,8 +311,8 @@ public class WalletConfig extends AbstractIdleService {
 
     public MoneroWallet openWallet(MoneroWalletConfig config) {
 
-      // start monero-wallet-rpc instance
-      MoneroWalletRpc walletRpc = startWalletRpcInstance();
+      // start or reuse monero-wallet-rpc instance
+      MoneroWalletRpc walletRpc = acquireWalletRpcInstance();
 
       // open wallet
       try {
@@ -318,6 +326,16 @@ public class WalletConfig extends AbstractIdleService {
       }
     }
 
+    // every wallet gets its own client, so clients of closed wallets cannot reach the next wallet of a reused process
+    private MoneroWalletRpc acquireWalletRpcInstance() {
+      MoneroWalletRpc walletRpc = null;
+      synchronized (idleWalletRpcs) {
+        if (!idleWalletRpcs.isEmpty()) walletRpc = idleWalletRpcs.pop();
+      }
+      if (walletRpc == null) walletRpc = startWalletRpcInstance();
+      return WalletConfig.MONERO_WALLET_RPC_MANAGER.createClient(walletRpc);
+    }
+
     private MoneroWalletRpc startWalletRpcInstance() {
 
       // check if monero-wallet-rpc exists
@@ -338,6 +356,50 @@ public class WalletConfig extends AbstractIdleService {
       WalletConfig.MONERO_WALLET_RPC_MANAGER.stopInstance((MoneroWalletRpc) walletRpc);
     }
 
+    /**
+     * Close the wallet but keep its monero-wallet-rpc process running to host the next opened or created wallet,
+     * so switching between wallets does not start a new process each time. The client of the closed wallet is
+     * released and fails all further requests.
+     *
+     * @param wallet the wallet to close
+     */
+    public void releaseWallet(MoneroWallet wallet) {
+      MoneroWalletRpc walletRpc = (MoneroWalletRpc) wallet;
+      try {
+        walletRpc.stopSyncing();
+        Map<String, Object> params = new HashMap<String, Object>();
+        params.put("autosave_current", true);
+        walletRpc.getRpcConnection().sendJsonRequest("close_wallet", params);
+      } catch (Exception e) {
+        log.warn("Error closing wallet {}, stopping its monero-wallet-rpc instance: {}", walletRpc.getPath(), e.getMessage());
+        closeWallet(walletRpc);
+        return;
+      }
+      MoneroWalletRpc idleWalletRpc = WalletConfig.MONERO_WALLET_RPC_MANAGER.releaseClient(walletRpc);
+      synchronized (idleWalletRpcs) {
+        if (idleWalletRpcs.size() < MONERO_MAX_IDLE_WALLET_RPC_INSTANCES) {
+          idleWalletRpcs.push(idleWalletRpc);
+          return;
+        }
+      }
+      closeWallet(idleWalletRpc);
+    }
+
+    /**
+     * Stop all monero-wallet-rpc processes which do not host an open wallet.
+     */
+    public void stopIdleWalletRpcInstances() {
+      List<MoneroWalletRpc> walletRpcs;
+      synchronized (idleWalletRpcs) {
+        walletRpcs = new ArrayList<>(idleWalletRpcs);
+        idleWalletRpcs.clear();
+      }
+      for (MoneroWalletRpc walletRpc : walletRpcs) {
+        try { WalletConfig.MONERO_WALLET_RPC_MANAGER.stopInstance(walletRpc); }
+        catch (Exception e) { log.warn("Error stopping idle monero-wallet-rpc instance: {}", e.getMessage()); }
+      }
+    }
+
     @Override
     protected void startUp() throws Exception {
         // Runs in a separate thread.
@@ -0,0 +1,424 @@
+package bisq.core.btc.wallet;
+
+import bisq.core.trade.Trade;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+
+import monero.wallet.MoneroWallet;
+
+/**
+ * Keeps a bounded number of multisig trade wallets open.
+ *
+ * Wallets are kept in least recently used order. When more than the maximum number of wallets are open, or a wallet
+ * has not been used for the idle timeout, the least recently used idle wallet is closed and reopened on demand.
+ * Wallets with registered listeners are never closed by the pool since the listeners would be lost. Wallets which
+ * have been acquired are not closed until they are released again.
+ *
+ * The sync period of each open wallet follows the phase of its trade, so wallets of trades which are waiting on the
+ * trading peer do not poll the daemon as often as wallets of trades which are waiting on the blockchain.
+ *
+ * Opening, closing and syncing wallets calls monero-wallet-rpc and can take seconds, so it is done outside of the
+ * pool's lock. A trade's wallet being opened or closed is tracked by the pool and other callers for the same trade
+ * wait until that is done, while callers for other trades are not blocked.
+ */
+public class XmrMultisigWalletPool {
+  private static final Logger log = LoggerFactory.getLogger(XmrMultisigWalletPool.class);
+
+  public static final int DEFAULT_MAX_OPEN_WALLETS = 10;
+  public static final long DEFAULT_IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(10);
+  private static final long MIN_IDLE_MS_BEFORE_CLOSE = TimeUnit.MINUTES.toMillis(1); // do not close wallets a caller might still be using
+
+  private final Function<String, MoneroWallet> walletOpener;
+  private final Consumer<MoneroWallet> walletCloser;
+  private final int maxOpenWallets;
+  private final long idleTimeoutMs;
+  private final LongSupplier clock;
+
+  // guarded by this
+  private final LinkedHashMap<String, PooledWallet> openWallets = new LinkedHashMap<>(16, 0.75f, true);
+  private final Set<String> openingWallets = new HashSet<>();
+  private final Map<String, PooledWallet> closingWallets = new HashMap<>();
+  private final Map<String, Trade.Phase> tradePhases = new HashMap<>();
+  private final Set<String> closedByPool = new HashSet<>();
+  private boolean shutDown;
+
+  // metrics, guarded by this
+  private long numOpened;
+  private long numReopened;
+  private long numClosed;
+  private long totalOpenTimeMs;
+
+  public XmrMultisigWalletPool(Function<String, MoneroWallet> walletOpener,
+                               Consumer<MoneroWallet> walletCloser) {
+    this(walletOpener, walletCloser, DEFAULT_MAX_OPEN_WALLETS, DEFAULT_IDLE_TIMEOUT_MS, System::currentTimeMillis);
+  }
+
+  XmrMultisigWalletPool(Function<String, MoneroWallet> walletOpener,
+                        Consumer<MoneroWallet> walletCloser,
+                        int maxOpenWallets,
+                        long idleTimeoutMs,
+                        LongSupplier clock) {
+    this.walletOpener = walletOpener;
+    this.walletCloser = walletCloser;
+    this.maxOpenWallets = maxOpenWallets;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+  }
+
+  /**
+   * Get the open multisig wallet of the given trade, opening or creating it if necessary.
+   *
+   * @param tradeId the id of the trade the multisig wallet belongs to
+   * @return the open multisig wallet
+   */
+  public MoneroWallet getOrOpen(String tradeId) {
+    return getOrOpen(tradeId, false);
+  }
+
+  /**
+   * Get the open multisig wallet of the given trade like {@link #getOrOpen(String)} and keep it open until it is
+   * released with {@link #release(String)}. Every call must be followed by exactly one release.
+   *
+   * @param tradeId the id of the trade the multisig wallet belongs to
+   * @return the open multisig wallet
+   */
+  public MoneroWallet acquire(String tradeId) {
+    return getOrOpen(tradeId, true);
+  }
+
+  /**
+   * Release a multisig wallet which has been acquired with {@link #acquire(String)}. The wallet is closed now if
+   * it has been closed while it was held.
+   *
+   * @param tradeId the id of the trade the multisig wallet belongs to
+   */
+  public void release(String tradeId) {
+    PooledWallet pooledWallet;
+    synchronized (this) {
+      pooledWallet = openWallets.get(tradeId);
+      if (pooledWallet == null || pooledWallet.numHolds == 0) return;
+      pooledWallet.lastUsed = clock.getAsLong();
+      if (--pooledWallet.numHolds > 0 || !pooledWallet.closeOnRelease) return;
+      openWallets.remove(tradeId);
+      closingWallets.put(tradeId, pooledWallet);
+    }
+    Map<String, PooledWallet> toClose = new HashMap<>();
+    toClose.put(tradeId, pooledWallet);
+    closeWallets(toClose);
+  }
+
+  private MoneroWallet getOrOpen(String tradeId, boolean hold) {
+    Map<String, PooledWallet> toClose;
+    synchronized (this) {
+      awaitNotOpeningOrClosing(tradeId);
+      if (shutDown) throw new IllegalStateException("Multisig wallet pool is shut down");
+      PooledWallet pooledWallet = openWallets.get(tradeId);
+      if (pooledWallet != null) {
+        pooledWallet.lastUsed = clock.getAsLong();
+        pooledWallet.closeOnRelease = false;
+        if (hold) pooledWallet.numHolds++;
+        return pooledWallet.wallet;
+      }
+
+      // make room before starting another wallet
+      openingWallets.add(tradeId);
+      toClose = removeLeastRecentlyUsed(maxOpenWallets - openingWallets.size());
+    }
+    closeWallets(toClose);
+
+    long ts = clock.getAsLong();
+    MoneroWallet wallet;
+    try {
+      wallet = walletOpener.apply(tradeId);
+    } catch (RuntimeException | Error e) {
+      synchronized (this) {
+        openingWallets.remove(tradeId);
+        notifyAll();
+      }
+      throw e;
+    }
+
+    PooledWallet pooledWallet;
+    synchronized (this) {
+      long now = clock.getAsLong();
+      totalOpenTimeMs += now - ts;
+      numOpened++;
+      if (closedByPool.remove(tradeId)) numReopened++;
+
+      pooledWallet = new PooledWallet(wallet, now);
+      if (hold) pooledWallet.numHolds++;
+      openWallets.put(tradeId, pooledWallet);
+      openingWallets.remove(tradeId);
+      notifyAll();
+      log.info("Opened multisig wallet for trade {} in {} ms. {}", tradeId, now - ts, getMetricsInfo());
+    }
+    applySyncPeriod(tradeId, pooledWallet);
+    return wallet;
+  }
+
+  /**
+   * Set the phase of a trade to adapt the sync period of its multisig wallet.
+   * The multisig wallet is closed when the trade has been completed.
+   *
+   * @param tradeId the id of the trade
+   * @param phase the current phase of the trade
+   */
+  public void setTradePhase(String tradeId, Trade.Phase phase) {
+    if (phase == Trade.Phase.WITHDRAWN) {
+      close(tradeId);
+      return;
+    }
+    PooledWallet pooledWallet;
+    synchronized (this) {
+      tradePhases.put(tradeId, phase);
+      pooledWallet = openWallets.get(tradeId);
+    }
+    if (pooledWallet != null) applySyncPeriod(tradeId, pooledWallet);
+  }
+
+  /**
+   * Close the multisig wallet of a trade if it is open and forget about the trade.
+   * A wallet which is held is closed once it is released.
+   *
+   * @param tradeId the id of the trade
+   */
+  public void close(String tradeId) {
+    PooledWallet pooledWallet;
+    synchronized (this) {
+      awaitNotOpeningOrClosing(tradeId);
+      tradePhases.remove(tradeId);
+      closedByPool.remove(tradeId);
+      pooledWallet = openWallets.get(tradeId);
+      if (pooledWallet == null) return;
+      if (pooledWallet.numHolds > 0) {
+        pooledWallet.closeOnRelease = true;
+        return;
+      }
+      openWallets.remove(tradeId);
+      closingWallets.put(tradeId, pooledWallet);
+    }
+    Map<String, PooledWallet> toClose = new HashMap<>();
+    toClose.put(tradeId, pooledWallet);
+    closeWallets(toClose);
+  }
+
+  /**
+   * Close wallets which have not been used for the idle timeout.
+   */
+  public void closeIdleWallets() {
+    Map<String, PooledWallet> toClose = new LinkedHashMap<>();
+    synchronized (this) {
+      long now = clock.getAsLong();
+      Iterator<Map.Entry<String, PooledWallet>> it = openWallets.entrySet().iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, PooledWallet> entry = it.next();
+        PooledWallet pooledWallet = entry.getValue();
+        if (now - pooledWallet.lastUsed < idleTimeoutMs) break; // iteration is in least recently used order
+        if (!isClosable(pooledWallet, now)) continue;
+        it.remove();
+        closedByPool.add(entry.getKey());
+        closingWallets.put(entry.getKey(), pooledWallet);
+        toClose.put(entry.getKey(), pooledWallet);
+      }
+    }
+    closeWallets(toClose);
+  }
+
+  /**
+   * Shut down the pool and remove all wallets from it without closing them. Wallets which are being opened or closed
+   * are waited for, so every open wallet is returned. The pool cannot be used afterwards.
+   *
+   * @return the wallets which were open
+   */
+  public synchronized List<MoneroWallet> removeAll() {
+    shutDown = true;
+    boolean interrupted = false;
+    while (!openingWallets.isEmpty() || !closingWallets.isEmpty()) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+
+    List<MoneroWallet> wallets = new ArrayList<>();
+    for (PooledWallet pooledWallet : openWallets.values()) wallets.add(pooledWallet.wallet);
+    openWallets.clear();
+    tradePhases.clear();
+    closedByPool.clear();
+    return wallets;
+  }
+
+  public synchronized int getNumOpenWallets() {
+    return openWallets.size();
+  }
+
+  public synchronized long getNumOpened() {
+    return numOpened;
+  }
+
+  public synchronized long getNumReopened() {
+    return numReopened;
+  }
+
+  public synchronized long getNumClosed() {
+    return numClosed;
+  }
+
+  /**
+   * Get the number of sync requests per minute all open wallets send to the daemon in the background.
+   */
+  public synchronized double getSyncRequestsPerMinute() {
+    double requestsPerMinute = 0;
+    for (PooledWallet pooledWallet : openWallets.values()) {
+      long syncPeriodMs = pooledWallet.syncPeriodMs;
+      if (syncPeriodMs > 0) requestsPerMinute += (double) TimeUnit.MINUTES.toMillis(1) / syncPeriodMs;
+    }
+    return requestsPerMinute;
+  }
+
+  public synchronized String getMetricsInfo() {
+    return "Multisig wallet pool: open=" + openWallets.size() +
+            ", max=" + maxOpenWallets +
+            ", opened=" + numOpened +
+            ", reopened=" + numReopened +
+            ", closed=" + numClosed +
+            ", avgOpenTimeMs=" + (numOpened == 0 ? 0 : totalOpenTimeMs / numOpened) +
+            ", syncRequestsPerMinute=" + String.format("%.1f", getSyncRequestsPerMinute());
+  }
+
+  /**
+   * Get the sync period of a multisig wallet for the given trade phase. Wallets are synced often while deposit and
+   * payout transactions are expected to appear and rarely while the trade waits on the payment.
+   *
+   * @param phase the trade phase or null if unknown
+   * @return the sync period in milliseconds
+   */
+  public static long getSyncPeriodMs(Trade.Phase phase) {
+    if (phase == null) return 5000l;
+    switch (phase) {
+      case INIT:
+      case TAKER_FEE_PUBLISHED:
+        return 5000l;
+      case DEPOSIT_PUBLISHED:
+      case FIAT_RECEIVED:
+      case PAYOUT_PUBLISHED:
+        return 10000l;
+      case DEPOSIT_CONFIRMED:
+      case FIAT_SENT:
+      default:
+        return 30000l;
+    }
+  }
+
+  // Called with the lock held. Moves the least recently used closable wallets to the closing wallets until at most
+  // maxRemaining wallets are open. The caller closes the returned wallets after releasing the lock.
+  private Map<String, PooledWallet> removeLeastRecentlyUsed(int maxRemaining) {
+    Map<String, PooledWallet> toClose = new LinkedHashMap<>();
+    long now = clock.getAsLong();
+    Iterator<Map.Entry<String, PooledWallet>> it = openWallets.entrySet().iterator();
+    while (openWallets.size() > maxRemaining && it.hasNext()) {
+      Map.Entry<String, PooledWallet> entry = it.next();
+      if (!isClosable(entry.getValue(), now)) continue;
+      it.remove();
+      closedByPool.add(entry.getKey());
+      closingWallets.put(entry.getKey(), entry.getValue());
+      toClose.put(entry.getKey(), entry.getValue());
+    }
+    if (openWallets.size() > maxRemaining) {
+      log.warn("All {} open multisig wallets are in use, exceeding maximum of {} open wallets", openWallets.size(), maxOpenWallets);
+    }
+    return toClose;
+  }
+
+  // Called with the lock held
+  private void awaitNotOpeningOrClosing(String tradeId) {
+    boolean interrupted = false;
+    while (openingWallets.contains(tradeId) || closingWallets.containsKey(tradeId)) {
+      try {
+        wait();
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) Thread.currentThread().interrupt();
+  }
+
+  // Called with the lock held
+  private boolean isClosable(PooledWallet pooledWallet, long now) {
+    return pooledWallet.numHolds == 0 &&
+            now - pooledWallet.lastUsed >= MIN_IDLE_MS_BEFORE_CLOSE &&
+            pooledWallet.wallet.getListeners().isEmpty();
+  }
+
+  // The wallet is only synced by one caller at a time, and the period is read again inside so the last phase wins
+  private void applySyncPeriod(String tradeId, PooledWallet pooledWallet) {
+    synchronized (pooledWallet) {
+      long syncPeriodMs;
+      synchronized (this) {
+        if (openWallets.get(tradeId) != pooledWallet) return; // closed meanwhile
+        syncPeriodMs = getSyncPeriodMs(tradePhases.get(tradeId));
+      }
+      if (syncPeriodMs == pooledWallet.syncPeriodMs) return;
+      try {
+        pooledWallet.wallet.startSyncing(syncPeriodMs);
+        pooledWallet.syncPeriodMs = syncPeriodMs;
+      } catch (Exception e) {
+        log.warn("Error setting sync period of multisig wallet for trade {}: {}", tradeId, e.getMessage());
+      }
+    }
+  }
+
+  // Must be called without the lock held, the wallets must have been moved to the closing wallets before
+  private void closeWallets(Map<String, PooledWallet> toClose) {
+    if (toClose.isEmpty()) return;
+    for (Map.Entry<String, PooledWallet> entry : toClose.entrySet()) {
+      String tradeId = entry.getKey();
+      try {
+        synchronized (entry.getValue()) {
+          walletCloser.accept(entry.getValue().wallet);
+        }
+        synchronized (this) {
+          numClosed++;
+        }
+        log.info("Closed multisig wallet for trade {}. {}", tradeId, getMetricsInfo());
+      } catch (Exception e) {
+        log.warn("Error closing multisig wallet for trade {}: {}", tradeId, e.getMessage());
+      }
+    }
+    synchronized (this) {
+      toClose.keySet().forEach(closingWallets::remove);
+      notifyAll();
+    }
+  }
+
+  private static class PooledWallet {
+    private final MoneroWallet wallet;
+    private volatile long lastUsed;
+    private volatile long syncPeriodMs;
+    private int numHolds; // guarded by the pool
+    private boolean closeOnRelease; // guarded by the pool
+
+    PooledWallet(MoneroWallet wallet, long lastUsed) {
+      this.wallet = wallet;
+      this.lastUsed = lastUsed;
+    }
+  }
+}
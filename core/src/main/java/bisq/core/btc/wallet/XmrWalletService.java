@@ -5,8 +5,12 @@ import bisq.core.btc.listeners.XmrBalanceListener;
 import bisq.core.btc.model.XmrAddressEntry;
 import bisq.core.btc.model.XmrAddressEntryList;
 import bisq.core.btc.setup.WalletsSetup;
+import bisq.core.trade.Trade;
 import bisq.core.util.ParsingUtils;
 
+import bisq.common.UserThread;
+import bisq.common.util.Utilities;
+
 import org.bitcoinj.core.AddressFormatException;
 import org.bitcoinj.core.Coin;
 import org.bitcoinj.core.InsufficientMoneyException;
@@ -20,11 +24,11 @@ import java.io.File;
 import java.math.BigInteger;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -50,12 +54,14 @@ import monero.wallet.model.MoneroWalletListenerI;
 
 public class XmrWalletService {
   private static final Logger log = LoggerFactory.getLogger(XmrWalletService.class);
+  private static final long MULTISIG_WALLET_IDLE_CHECK_INTERVAL_SEC = 60;
 
   private WalletsSetup walletsSetup;
   private final XmrAddressEntryList addressEntryList;
   protected final CopyOnWriteArraySet<XmrBalanceListener> balanceListeners = new CopyOnWriteArraySet<>();
   protected final CopyOnWriteArraySet<MoneroWalletListenerI> walletListeners = new CopyOnWriteArraySet<>();
-  private Map<String, MoneroWallet> multisigWallets;
+  private final XmrMultisigWalletPool multisigWalletPool;
+  private final ExecutorService multisigWalletPoolExecutor = Utilities.getSingleThreadExecutor("XmrMultisigWalletPool");
 
   @Getter
   private MoneroWallet wallet;
@@ -66,7 +72,8 @@ public class XmrWalletService {
     this.walletsSetup = walletsSetup;
 
     this.addressEntryList = addressEntryList;
-    this.multisigWallets = new HashMap<String, MoneroWallet>();
+    this.multisigWalletPool = new XmrMultisigWalletPool(this::openOrCreateMultisigWallet,
+            wallet -> walletsSetup.getWalletConfig().releaseWallet(wallet));
 
     walletsSetup.addSetupCompletedHandler(() -> {
       wallet = walletsSetup.getXmrWallet();
@@ -82,16 +89,68 @@ public class XmrWalletService {
           notifyBalanceListeners();
         }
       });
+
+      // close idle multisig wallets off the user thread since closing calls monero-wallet-rpc
+      UserThread.runPeriodically(() -> multisigWalletPoolExecutor.execute(multisigWalletPool::closeIdleWallets),
+              MULTISIG_WALLET_IDLE_CHECK_INTERVAL_SEC);
     });
   }
 
   // TODO (woodser): wallet has single password which is passed here?
   // TODO (woodser): test retaking failed trade.  create new multisig wallet or replace?  cannot reuse
   public MoneroWallet getOrCreateMultisigWallet(String tradeId) {
+    return multisigWalletPool.getOrOpen(tradeId);
+  }
+
+  /**
+   * Get the multisig wallet of a trade and keep it open until it is released with releaseMultisigWallet, so it is not
+   * closed while a trade task is still using it.
+   */
+  public MoneroWallet acquireMultisigWallet(String tradeId) {
+    return multisigWalletPool.acquire(tradeId);
+  }
+
+  /**
+   * Release a multisig wallet acquired with acquireMultisigWallet.
+   * Runs off the calling thread since the wallet might get closed which calls monero-wallet-rpc.
+   */
+  public void releaseMultisigWallet(String tradeId) {
+    executeOnMultisigWalletPool(() -> multisigWalletPool.release(tradeId));
+  }
+
+  /**
+   * Adapt the sync period of a trade's multisig wallet to the trade phase and close it once the trade is completed.
+   * Runs off the calling thread since it calls monero-wallet-rpc.
+   */
+  public void onMultisigTradePhaseChanged(String tradeId, Trade.Phase phase) {
+    executeOnMultisigWalletPool(() -> multisigWalletPool.setTradePhase(tradeId, phase));
+  }
+
+  /**
+   * Close the multisig wallet of a trade if it is open. It will be reopened if requested again.
+   * Runs off the calling thread since it calls monero-wallet-rpc.
+   */
+  public void closeMultisigWallet(String tradeId) {
+    executeOnMultisigWalletPool(() -> multisigWalletPool.close(tradeId));
+  }
+
+  public String getMultisigWalletPoolInfo() {
+    return multisigWalletPool.getMetricsInfo();
+  }
+
+  // phase changes are executed in order on the pool's thread
+  private void executeOnMultisigWalletPool(Runnable task) {
+    try {
+      multisigWalletPoolExecutor.execute(task);
+    } catch (RejectedExecutionException e) {
+      log.info("Multisig wallet pool is shut down, ignoring task");
+    }
+  }
+
+  private MoneroWallet openOrCreateMultisigWallet(String tradeId) {
     String path = "xmr_multisig_trade_" + tradeId;
     MoneroWallet multisigWallet = null;
-    if (multisigWallets.containsKey(tradeId)) return multisigWallets.get(tradeId);
-    else if (MoneroUtils.walletExists(new File(walletsSetup.getWalletConfig().directory(), path).getPath())) { // TODO: use monero-wallet-rpc to determine existence?
+    if (MoneroUtils.walletExists(new File(walletsSetup.getWalletConfig().directory(), path).getPath())) { // TODO: use monero-wallet-rpc to determine existence?
       multisigWallet = walletsSetup.getWalletConfig().openWallet(new MoneroWalletConfig()
               .setPath(path)
               .setPassword("abctesting123"));
@@ -100,8 +159,6 @@ public class XmrWalletService {
               .setPath(path)
               .setPassword("abctesting123"));
     }
-    multisigWallets.put(tradeId, multisigWallet);
-    multisigWallet.startSyncing(5000l);
     return multisigWallet;
   }
 
@@ -308,9 +365,8 @@ public class XmrWalletService {
     // collect wallets to shutdown
     List<MoneroWallet> openWallets = new ArrayList<MoneroWallet>();
     if (wallet != null) openWallets.add(wallet);
-    for (String multisigWalletKey : multisigWallets.keySet()) {
-      openWallets.add(multisigWallets.get(multisigWalletKey));
-    }
+    openWallets.addAll(multisigWalletPool.removeAll());
+    multisigWalletPoolExecutor.shutdownNow();
 
     // create shutdown threads
     List<Thread> threads = new ArrayList<Thread>();
@@ -336,6 +392,7 @@ public class XmrWalletService {
       catch (InterruptedException e) { e.printStackTrace(); }
     }
     System.out.println("Done joining threads");
+    walletsSetup.getWalletConfig().stopIdleWalletRpcInstances();
   }
 
   ///////////////////////////////////////////////////////////////////////////////////////////
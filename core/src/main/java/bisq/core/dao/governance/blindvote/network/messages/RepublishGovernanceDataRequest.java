@@ -33,6 +33,7 @@ import lombok.Getter;
 @EqualsAndHashCode(callSuper = true)
 @Getter
 public final class RepublishGovernanceDataRequest extends NetworkEnvelope implements DirectMessage, CapabilityRequiringPayload {
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.DAO_FULL_NODE);
 
     public RepublishGovernanceDataRequest() {
         this(Version.getP2PMessageVersion());
@@ -60,7 +61,7 @@ public final class RepublishGovernanceDataRequest extends NetworkEnvelope implem
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.DAO_FULL_NODE);
+        return REQUIRED_CAPABILITIES;
     }
 
     @Override
@@ -32,6 +32,8 @@ import lombok.Getter;
 @Getter
 public abstract class GetStateHashesRequest extends NetworkEnvelope implements DirectMessage,
         CapabilityRequiringPayload, InitialDataRequest {
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.DAO_STATE);
+
     protected final int height;
     protected final int nonce;
 
@@ -43,7 +45,7 @@ public abstract class GetStateHashesRequest extends NetworkEnvelope implements D
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.DAO_STATE);
+        return REQUIRED_CAPABILITIES;
     }
 
     @Override
@@ -19,8 +19,6 @@ package bisq.core.dao.monitoring.network.messages;
 
 import bisq.core.dao.monitoring.model.DaoStateHash;
 
-import bisq.common.app.Capabilities;
-import bisq.common.app.Capability;
 import bisq.common.app.Version;
 import bisq.common.proto.network.NetworkEnvelope;
 
@@ -54,9 +52,4 @@ public final class NewDaoStateHashMessage extends NewStateHashMessage<DaoStateHa
     public static NetworkEnvelope fromProto(protobuf.NewDaoStateHashMessage proto, int messageVersion) {
         return new NewDaoStateHashMessage(DaoStateHash.fromProto(proto.getStateHash()), messageVersion);
     }
-
-    @Override
-    public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.DAO_STATE);
-    }
 }
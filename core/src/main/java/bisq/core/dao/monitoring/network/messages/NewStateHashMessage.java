@@ -31,6 +31,8 @@ import lombok.Getter;
 @EqualsAndHashCode(callSuper = true)
 @Getter
 public abstract class NewStateHashMessage<T extends StateHash> extends BroadcastMessage implements CapabilityRequiringPayload {
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.DAO_STATE);
+
     protected final T stateHash;
 
     protected NewStateHashMessage(T stateHash, int messageVersion) {
@@ -40,7 +42,7 @@ public abstract class NewStateHashMessage<T extends StateHash> extends Broadcast
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.DAO_STATE);
+        return REQUIRED_CAPABILITIES;
     }
 
     @Override
@@ -151,9 +151,9 @@ public class ExportJsonFilesService implements DaoSetupService {
             JsonBlocks jsonBlocks = new JsonBlocks(daoState.getChainHeight(), jsonBlockList);
 
             ListenableFuture<Void> future = executor.submit(() -> {
-                bsqStateFileManager.writeToDisc(Utilities.objectToJson(jsonBlocks), "blocks");
-                allJsonTxOutputs.forEach(jsonTxOutput -> txOutputFileManager.writeToDisc(Utilities.objectToJson(jsonTxOutput), jsonTxOutput.getId()));
-                jsonTxs.forEach(jsonTx -> txFileManager.writeToDisc(Utilities.objectToJson(jsonTx), jsonTx.getId()));
+                bsqStateFileManager.writeObjectToDisc(jsonBlocks, "blocks");
+                allJsonTxOutputs.forEach(jsonTxOutput -> txOutputFileManager.writeObjectToDisc(jsonTxOutput, jsonTxOutput.getId()));
+                jsonTxs.forEach(jsonTx -> txFileManager.writeObjectToDisc(jsonTx, jsonTx.getId()));
                 return null;
             });
 
@@ -0,0 +1,212 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.PaymentAccountPayload;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * The ban lists of a {@link Filter} compiled into hash sets. The index is built once when a filter gets applied, so
+ * the ban checks done for each message and offer are lookups instead of scans over the lists of the filter.
+ * Instances are immutable and get replaced as a whole when the filter changes.
+ */
+@Slf4j
+final class FilterIndex {
+    static final FilterIndex EMPTY = new FilterIndex(null);
+
+    // Getters of PaymentAccountPayloads by payload class and getter name, resolved at the first check of a class.
+    // An empty accessor means the payload class does not have that getter.
+    private static final Map<Class<?>, Map<String, Optional<Function<PaymentAccountPayload, Object>>>> ACCESSORS =
+            new ConcurrentHashMap<>();
+
+    private final Set<String> bannedOfferIds;
+    private final Set<String> nodeAddressesBannedFromTrading;
+    private final Set<String> nodeAddressesBannedFromNetwork;
+    private final Set<String> bannedAutoConfExplorers;
+    private final Set<String> bannedCurrencies;
+    private final Set<String> bannedPaymentMethods;
+    private final Set<String> bannedAccountWitnessSignerPubKeys;
+    private final Set<String> bannedPrivilegedDevPubKeys;
+    // Case insensitive keys of the banned values by payment method ID and getter name
+    private final Map<String, Map<String, Set<String>>> bannedPaymentAccountValues;
+
+    static FilterIndex of(@Nullable Filter filter) {
+        return filter != null ? new FilterIndex(filter) : EMPTY;
+    }
+
+    private FilterIndex(@Nullable Filter filter) {
+        if (filter == null) {
+            bannedOfferIds = Collections.emptySet();
+            nodeAddressesBannedFromTrading = Collections.emptySet();
+            nodeAddressesBannedFromNetwork = Collections.emptySet();
+            bannedAutoConfExplorers = Collections.emptySet();
+            bannedCurrencies = Collections.emptySet();
+            bannedPaymentMethods = Collections.emptySet();
+            bannedAccountWitnessSignerPubKeys = Collections.emptySet();
+            bannedPrivilegedDevPubKeys = Collections.emptySet();
+            bannedPaymentAccountValues = Collections.emptyMap();
+            return;
+        }
+
+        bannedOfferIds = toSet(filter.getBannedOfferIds());
+        nodeAddressesBannedFromTrading = toSet(filter.getNodeAddressesBannedFromTrading());
+        nodeAddressesBannedFromNetwork = toSet(filter.getNodeAddressesBannedFromNetwork());
+        bannedAutoConfExplorers = toSet(filter.getBannedAutoConfExplorers());
+        bannedCurrencies = toSet(filter.getBannedCurrencies());
+        bannedPaymentMethods = toSet(filter.getBannedPaymentMethods());
+        bannedAccountWitnessSignerPubKeys = toSet(filter.getBannedAccountWitnessSignerPubKeys());
+        bannedPrivilegedDevPubKeys = toSet(filter.getBannedPrivilegedDevPubKeys());
+
+        Map<String, Map<String, Set<String>>> paymentAccountValues = new HashMap<>();
+        if (filter.getBannedPaymentAccounts() != null) {
+            filter.getBannedPaymentAccounts().forEach(paymentAccountFilter ->
+                    paymentAccountValues.computeIfAbsent(paymentAccountFilter.getPaymentMethodId(), k -> new HashMap<>())
+                            .computeIfAbsent(paymentAccountFilter.getGetMethodName(), k -> new HashSet<>())
+                            .add(toCaseInsensitiveKey(paymentAccountFilter.getValue())));
+        }
+        bannedPaymentAccountValues = paymentAccountValues;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean isOfferIdBanned(String offerId) {
+        return bannedOfferIds.contains(offerId);
+    }
+
+    boolean isNodeAddressBanned(NodeAddress nodeAddress) {
+        return nodeAddressesBannedFromTrading.contains(nodeAddress.getFullAddress());
+    }
+
+    boolean isNodeAddressBannedFromNetwork(NodeAddress nodeAddress) {
+        return nodeAddressesBannedFromNetwork.contains(nodeAddress.getFullAddress());
+    }
+
+    boolean isAutoConfExplorerBanned(String address) {
+        return bannedAutoConfExplorers.contains(address);
+    }
+
+    boolean isCurrencyBanned(String currencyCode) {
+        return bannedCurrencies.contains(currencyCode);
+    }
+
+    boolean isPaymentMethodBanned(String paymentMethodId) {
+        return bannedPaymentMethods.contains(paymentMethodId);
+    }
+
+    boolean isWitnessSignerPubKeyBanned(String witnessSignerPubKeyAsHex) {
+        return bannedAccountWitnessSignerPubKeys.contains(witnessSignerPubKeyAsHex);
+    }
+
+    boolean isPrivilegedDevPubKeyBanned(String pubKeyAsHex) {
+        return bannedPrivilegedDevPubKeys.contains(pubKeyAsHex);
+    }
+
+    boolean isPaymentAccountDataBanned(PaymentAccountPayload paymentAccountPayload) {
+        Map<String, Set<String>> valuesByGetMethodName =
+                bannedPaymentAccountValues.get(paymentAccountPayload.getPaymentMethodId());
+        if (valuesByGetMethodName == null) {
+            return false;
+        }
+
+        for (Map.Entry<String, Set<String>> entry : valuesByGetMethodName.entrySet()) {
+            Optional<Function<PaymentAccountPayload, Object>> accessor =
+                    getAccessor(paymentAccountPayload.getClass(), entry.getKey());
+            if (accessor.isEmpty()) {
+                continue;
+            }
+            try {
+                Object value = accessor.get().apply(paymentAccountPayload);
+                if (value instanceof String && entry.getValue().contains(toCaseInsensitiveKey((String) value))) {
+                    return true;
+                }
+            } catch (Throwable e) {
+                log.error(e.getMessage());
+            }
+        }
+        return false;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private static Set<String> toSet(@Nullable Collection<String> values) {
+        return values != null ? new HashSet<>(values) : Collections.emptySet();
+    }
+
+    // Two strings have the same key exactly if they are equal by String.equalsIgnoreCase, which we used to compare
+    // the payment account values before.
+    private static String toCaseInsensitiveKey(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        }
+        return new String(chars);
+    }
+
+    private static Optional<Function<PaymentAccountPayload, Object>> getAccessor(Class<?> payloadClass,
+                                                                                  String getMethodName) {
+        return ACCESSORS.computeIfAbsent(payloadClass, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(getMethodName, k -> createAccessor(payloadClass, getMethodName));
+    }
+
+    private static Optional<Function<PaymentAccountPayload, Object>> createAccessor(Class<?> payloadClass,
+                                                                                     String getMethodName) {
+        try {
+            // We only use getter methods (no args), e.g. getHolderName
+            MethodHandle getter = MethodHandles.publicLookup()
+                    .unreflect(payloadClass.getMethod(getMethodName))
+                    .asType(MethodType.methodType(Object.class, PaymentAccountPayload.class));
+            return Optional.of(paymentAccountPayload -> {
+                try {
+                    return (Object) getter.invokeExact(paymentAccountPayload);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable t) {
+                    throw new RuntimeException(t);
+                }
+            });
+        } catch (Throwable e) {
+            log.error("Could not resolve {} of {}: {}", getMethodName, payloadClass.getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
@@ -64,8 +64,6 @@ import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
-import java.lang.reflect.Method;
-
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -99,6 +97,9 @@ public class FilterManager {
     private final ProvidersRepository providersRepository;
     private final boolean ignoreDevMsg;
     private final ObjectProperty<Filter> filterProperty = new SimpleObjectProperty<>();
+    // Ban checks run for every inbound message and offer, so we use an index of the current filter. It is replaced
+    // as a whole when the filter changes, so checks from other threads always see a consistent state.
+    private volatile FilterIndex filterIndex = FilterIndex.EMPTY;
     private final List<Listener> listeners = new CopyOnWriteArrayList<>();
     private final List<String> publicKeys;
     private ECKey filterSigningKey;
@@ -134,6 +135,9 @@ public class FilterManager {
                         "029340c3e7d4bb0f9e651b5f590b434fecb6175aeaa57145c7804ff05d210e534f",
                         "034dc7530bf66ffd9580aa98031ea9a18ac2d269f7c56c0e71eca06105b9ed69f9");
 
+        // Registered before any other listener so those see the index of the new filter
+        filterProperty.addListener((observable, oldValue, newValue) -> filterIndex = FilterIndex.of(newValue));
+
         networkFilter.setBannedNodeFunction(this::isNodeAddressBannedFromNetwork);
     }
 
@@ -147,11 +151,7 @@ public class FilterManager {
             return;
         }
 
-        p2PService.getP2PDataStorage().getMap().values().stream()
-                .map(ProtectedStorageEntry::getProtectedStoragePayload)
-                .filter(protectedStoragePayload -> protectedStoragePayload instanceof Filter)
-                .map(protectedStoragePayload -> (Filter) protectedStoragePayload)
-                .forEach(this::onFilterAddedFromNetwork);
+        p2PService.getProtectedStoragePayloads(Filter.class).forEach(this::onFilterAddedFromNetwork);
 
         // On mainNet we expect to have received a filter object, if not show a popup to the user to inform the
         // Bisq devs.
@@ -159,7 +159,7 @@ public class FilterManager {
             filterWarningHandler.accept(Res.get("popup.warning.noFilter"));
         }
 
-        p2PService.addHashSetChangedListener(new HashMapChangedListener() {
+        p2PService.addHashSetChangedListener(Filter.class, new HashMapChangedListener() {
             @Override
             public void onAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
                 protectedStorageEntries.stream()
@@ -254,12 +254,7 @@ public class FilterManager {
     }
 
     public boolean isPrivilegedDevPubKeyBanned(String pubKeyAsHex) {
-        Filter filter = getFilter();
-        if (filter == null) {
-            return false;
-        }
-
-        return filter.getBannedPrivilegedDevPubKeys().contains(pubKeyAsHex);
+        return filterIndex.isPrivilegedDevPubKeyBanned(pubKeyAsHex);
     }
 
     public boolean canAddDevFilter(String privKeyString) {
@@ -385,41 +380,27 @@ public class FilterManager {
     }
 
     public boolean isCurrencyBanned(String currencyCode) {
-        return getFilter() != null &&
-                getFilter().getBannedCurrencies() != null &&
-                getFilter().getBannedCurrencies().stream()
-                        .anyMatch(e -> e.equals(currencyCode));
+        return filterIndex.isCurrencyBanned(currencyCode);
     }
 
     public boolean isPaymentMethodBanned(PaymentMethod paymentMethod) {
-        return getFilter() != null &&
-                getFilter().getBannedPaymentMethods() != null &&
-                getFilter().getBannedPaymentMethods().stream()
-                        .anyMatch(e -> e.equals(paymentMethod.getId()));
+        return filterIndex.isPaymentMethodBanned(paymentMethod.getId());
     }
 
     public boolean isOfferIdBanned(String offerId) {
-        return getFilter() != null &&
-                getFilter().getBannedOfferIds().stream()
-                        .anyMatch(e -> e.equals(offerId));
+        return filterIndex.isOfferIdBanned(offerId);
     }
 
     public boolean isNodeAddressBanned(NodeAddress nodeAddress) {
-        return getFilter() != null &&
-                getFilter().getNodeAddressesBannedFromTrading().stream()
-                        .anyMatch(e -> e.equals(nodeAddress.getFullAddress()));
+        return filterIndex.isNodeAddressBanned(nodeAddress);
     }
 
     public boolean isNodeAddressBannedFromNetwork(NodeAddress nodeAddress) {
-        return getFilter() != null &&
-                getFilter().getNodeAddressesBannedFromNetwork().stream()
-                        .anyMatch(e -> e.equals(nodeAddress.getFullAddress()));
+        return filterIndex.isNodeAddressBannedFromNetwork(nodeAddress);
     }
 
     public boolean isAutoConfExplorerBanned(String address) {
-        return getFilter() != null &&
-                getFilter().getBannedAutoConfExplorers().stream()
-                        .anyMatch(e -> e.equals(address));
+        return filterIndex.isAutoConfExplorerBanned(address);
     }
 
     public boolean requireUpdateToNewVersionForTrading() {
@@ -451,28 +432,11 @@ public class FilterManager {
     }
 
     public boolean arePeersPaymentAccountDataBanned(PaymentAccountPayload paymentAccountPayload) {
-        return getFilter() != null &&
-                getFilter().getBannedPaymentAccounts().stream()
-                        .filter(paymentAccountFilter -> paymentAccountFilter.getPaymentMethodId().equals(
-                                paymentAccountPayload.getPaymentMethodId()))
-                        .anyMatch(paymentAccountFilter -> {
-                            try {
-                                Method method = paymentAccountPayload.getClass().getMethod(paymentAccountFilter.getGetMethodName());
-                                // We invoke getter methods (no args), e.g. getHolderName
-                                String valueFromInvoke = (String) method.invoke(paymentAccountPayload);
-                                return valueFromInvoke.equalsIgnoreCase(paymentAccountFilter.getValue());
-                            } catch (Throwable e) {
-                                log.error(e.getMessage());
-                                return false;
-                            }
-                        });
+        return filterIndex.isPaymentAccountDataBanned(paymentAccountPayload);
     }
 
     public boolean isWitnessSignerPubKeyBanned(String witnessSignerPubKeyAsHex) {
-        return getFilter() != null &&
-                getFilter().getBannedAccountWitnessSignerPubKeys() != null &&
-                getFilter().getBannedAccountWitnessSignerPubKeys().stream()
-                        .anyMatch(e -> e.equals(witnessSignerPubKeyAsHex));
+        return filterIndex.isWitnessSignerPubKeyBanned(witnessSignerPubKeyAsHex);
     }
 
 
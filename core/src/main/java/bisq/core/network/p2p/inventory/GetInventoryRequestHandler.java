@@ -37,7 +37,8 @@ import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.network.Statistic;
 import bisq.network.p2p.peers.PeerManager;
 import bisq.network.p2p.storage.P2PDataStorage;
-import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
 
 import bisq.common.app.Version;
 import bisq.common.config.Config;
@@ -61,7 +62,9 @@ import java.lang.management.ManagementFactory;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
-public class GetInventoryRequestHandler implements MessageListener {
+public class GetInventoryRequestHandler implements MessageListener, AppendOnlyDataStoreListener {
+    private static final int MAX_CACHED_VERSIONS = 10;
+
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
     private final P2PDataStorage p2PDataStorage;
@@ -72,6 +75,15 @@ public class GetInventoryRequestHandler implements MessageListener {
     private final FilterManager filterManager;
     private final int maxConnections;
 
+    // Number of append-only payloads by the version of the requester. The historical data does not change and new
+    // payloads are live data which is delivered to all versions, so we only count once per version and increment the
+    // counts when payloads get added.
+    private final Map<String, Map<InventoryItem, Integer>> appendOnlyDataObjectsByVersion = new HashMap<>();
+    // Number of payloads in the append-only store covered by our counts. Payloads added from the initial data
+    // response do not notify the listeners, so if it does not match the store we count again.
+    private int numCountedAppendOnlyPayloads;
+    private final Map<Class<?>, Optional<InventoryItem>> inventoryItemByClass = new HashMap<>();
+
     @Inject
     public GetInventoryRequestHandler(NetworkNode networkNode,
                                       PeerManager peerManager,
@@ -93,6 +105,7 @@ public class GetInventoryRequestHandler implements MessageListener {
         this.maxConnections = maxConnections;
 
         this.networkNode.addMessageListener(this);
+        this.p2PDataStorage.addAppendOnlyDataStoreListener(this);
     }
 
     @Override
@@ -100,14 +113,13 @@ public class GetInventoryRequestHandler implements MessageListener {
         if (networkEnvelope instanceof GetInventoryRequest) {
             // Data
             GetInventoryRequest getInventoryRequest = (GetInventoryRequest) networkEnvelope;
-            Map<InventoryItem, Integer> dataObjects = new HashMap<>();
-            p2PDataStorage.getMapForDataResponse(getInventoryRequest.getVersion()).values().stream()
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
-            p2PDataStorage.getMap().values().stream()
-                    .map(ProtectedStorageEntry::getProtectedStoragePayload)
-                    .map(e -> e.getClass().getSimpleName())
-                    .forEach(className -> addClassNameToMap(dataObjects, className));
+            Map<InventoryItem, Integer> dataObjects = new HashMap<>(getAppendOnlyDataObjects(getInventoryRequest.getVersion()));
+            p2PDataStorage.getNumProtectedStorageEntriesByPayloadClass().forEach((payloadClass, numEntries) -> {
+                Optional<InventoryItem> inventoryItem = getInventoryItem(payloadClass);
+                if (inventoryItem.isPresent()) {
+                    dataObjects.merge(inventoryItem.get(), numEntries, Integer::sum);
+                }
+            });
             Map<InventoryItem, String> inventory = new HashMap<>();
             dataObjects.forEach((key, value) -> inventory.put(key, String.valueOf(value)));
 
@@ -166,17 +178,43 @@ public class GetInventoryRequestHandler implements MessageListener {
         }
     }
 
+    @Override
+    public void onAdded(PersistableNetworkPayload payload) {
+        numCountedAppendOnlyPayloads++;
+        Optional<InventoryItem> inventoryItem = getInventoryItem(payload.getClass());
+        if (inventoryItem.isPresent()) {
+            appendOnlyDataObjectsByVersion.values()
+                    .forEach(dataObjects -> dataObjects.merge(inventoryItem.get(), 1, Integer::sum));
+        }
+    }
+
     public void shutDown() {
         networkNode.removeMessageListener(this);
+        p2PDataStorage.removeAppendOnlyDataStoreListener(this);
     }
 
-    private void addClassNameToMap(Map<InventoryItem, Integer> dataObjects, String className) {
-        Optional<InventoryItem> optionalEnum = Enums.getIfPresent(InventoryItem.class, className);
-        if (optionalEnum.isPresent()) {
-            InventoryItem key = optionalEnum.get();
-            dataObjects.putIfAbsent(key, 0);
-            int prev = dataObjects.get(key);
-            dataObjects.put(key, prev + 1);
+    private Map<InventoryItem, Integer> getAppendOnlyDataObjects(String requestersVersion) {
+        int numAppendOnlyPayloads = p2PDataStorage.getNumAppendOnlyPayloads();
+        if (numAppendOnlyPayloads != numCountedAppendOnlyPayloads ||
+                (!appendOnlyDataObjectsByVersion.containsKey(requestersVersion) &&
+                        appendOnlyDataObjectsByVersion.size() >= MAX_CACHED_VERSIONS)) {
+            appendOnlyDataObjectsByVersion.clear();
+            numCountedAppendOnlyPayloads = numAppendOnlyPayloads;
         }
+        return appendOnlyDataObjectsByVersion.computeIfAbsent(requestersVersion, version -> {
+            Map<InventoryItem, Integer> dataObjects = new HashMap<>();
+            p2PDataStorage.getMapForDataResponse(version).values().forEach(payload -> {
+                Optional<InventoryItem> inventoryItem = getInventoryItem(payload.getClass());
+                if (inventoryItem.isPresent()) {
+                    dataObjects.merge(inventoryItem.get(), 1, Integer::sum);
+                }
+            });
+            return dataObjects;
+        });
+    }
+
+    private Optional<InventoryItem> getInventoryItem(Class<?> payloadClass) {
+        return inventoryItemByClass.computeIfAbsent(payloadClass,
+                clazz -> Enums.getIfPresent(InventoryItem.class, clazz.getSimpleName()));
     }
 }
@@ -58,7 +58,6 @@ import java.util.Map;
 import java.util.Optional;
 
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
@@ -106,7 +105,6 @@ public class Offer implements NetworkPayload, PersistablePayload {
     final transient private StringProperty errorMessageProperty = new SimpleStringProperty();
     @JsonExclude
     @Nullable
-    @Setter
     transient private PriceFeedService priceFeedService;
 
     // Used only as cache
@@ -114,6 +112,12 @@ public class Offer implements NetworkPayload, PersistablePayload {
     @JsonExclude
     transient private String currencyCode;
 
+    // Used only as cache. Price and volumes are valid as long as the price epoch of the priceFeedService is unchanged
+    // and the market price they are based on has not become outdated.
+    @Nullable
+    @JsonExclude
+    transient private volatile PriceCache priceCache;
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Constructor
@@ -142,6 +146,11 @@ public class Offer implements NetworkPayload, PersistablePayload {
     // Availability
     ///////////////////////////////////////////////////////////////////////////////////////////
 
+    public void setPriceFeedService(@Nullable PriceFeedService priceFeedService) {
+        this.priceFeedService = priceFeedService;
+        priceCache = null;
+    }
+
     public void checkOfferAvailability(OfferAvailabilityModel model, ResultHandler resultHandler,
                                        ErrorMessageHandler errorMessageHandler) {
         availabilityProtocol = new OfferAvailabilityProtocol(model,
@@ -165,41 +174,75 @@ public class Offer implements NetworkPayload, PersistablePayload {
 
     @Nullable
     public Price getPrice() {
+        return getPriceCache().price;
+    }
+
+    private PriceCache getPriceCache() {
+        PriceCache cache = priceCache;
+        if (!offerPayload.isUseMarketBasedPrice()) {
+            if (cache == null) {
+                Price price = Price.valueOf(getCurrencyCode(), offerPayload.getPrice());
+                cache = createPriceCache(PriceCache.FIXED_PRICE_EPOCH, price, Long.MAX_VALUE);
+                priceCache = cache;
+            }
+            return cache;
+        }
+
+        checkNotNull(priceFeedService, "priceFeed must not be null");
+        long priceEpoch = priceFeedService.getPriceEpoch();
+        if (cache == null || !cache.isValid(priceEpoch)) {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(getCurrencyCode());
+            Price price = calculateMarketBasedPrice(marketPrice);
+            // Without a price we only get one with a new price epoch
+            long validUntilSec = price != null && marketPrice != null ?
+                    marketPrice.getTimestampSec() + MarketPrice.MARKET_PRICE_MAX_AGE_SEC :
+                    Long.MAX_VALUE;
+            cache = createPriceCache(priceEpoch, price, validUntilSec);
+            priceCache = cache;
+        }
+        return cache;
+    }
+
+    // The volumes are calculated before the cache gets published, so other threads always see them
+    private PriceCache createPriceCache(long priceEpoch, @Nullable Price price, long validUntilSec) {
+        return new PriceCache(priceEpoch,
+                price,
+                validUntilSec,
+                getVolumeByAmount(price, getAmount()),
+                getVolumeByAmount(price, getMinAmount()));
+    }
+
+    @Nullable
+    private Price calculateMarketBasedPrice(@Nullable MarketPrice marketPrice) {
         String currencyCode = getCurrencyCode();
-        if (offerPayload.isUseMarketBasedPrice()) {
-            checkNotNull(priceFeedService, "priceFeed must not be null");
-            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
-            if (marketPrice != null && marketPrice.isRecentExternalPriceAvailable()) {
-                double factor;
-                double marketPriceMargin = offerPayload.getMarketPriceMargin();
-                if (CurrencyUtil.isCryptoCurrency(currencyCode)) {
-                    factor = getDirection() == OfferPayload.Direction.SELL ?
-                            1 - marketPriceMargin : 1 + marketPriceMargin;
-                } else {
-                    factor = getDirection() == OfferPayload.Direction.BUY ?
-                            1 - marketPriceMargin : 1 + marketPriceMargin;
-                }
-                double marketPriceAsDouble = marketPrice.getPrice();
-                double targetPriceAsDouble = marketPriceAsDouble * factor;
-                try {
-                    int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
-                            Altcoin.SMALLEST_UNIT_EXPONENT :
-                            Fiat.SMALLEST_UNIT_EXPONENT;
-                    double scaled = MathUtils.scaleUpByPowerOf10(targetPriceAsDouble, precision);
-                    final long roundedToLong = MathUtils.roundDoubleToLong(scaled);
-                    return Price.valueOf(currencyCode, roundedToLong);
-                } catch (Exception e) {
-                    log.error("Exception at getPrice / parseToFiat: " + e.toString() + "\n" +
-                            "That case should never happen.");
-                    return null;
-                }
+        if (marketPrice != null && marketPrice.isRecentExternalPriceAvailable()) {
+            double factor;
+            double marketPriceMargin = offerPayload.getMarketPriceMargin();
+            if (CurrencyUtil.isCryptoCurrency(currencyCode)) {
+                factor = getDirection() == OfferPayload.Direction.SELL ?
+                        1 - marketPriceMargin : 1 + marketPriceMargin;
             } else {
-                log.trace("We don't have a market price. " +
-                        "That case could only happen if you don't have a price feed.");
+                factor = getDirection() == OfferPayload.Direction.BUY ?
+                        1 - marketPriceMargin : 1 + marketPriceMargin;
+            }
+            double marketPriceAsDouble = marketPrice.getPrice();
+            double targetPriceAsDouble = marketPriceAsDouble * factor;
+            try {
+                int precision = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                        Altcoin.SMALLEST_UNIT_EXPONENT :
+                        Fiat.SMALLEST_UNIT_EXPONENT;
+                double scaled = MathUtils.scaleUpByPowerOf10(targetPriceAsDouble, precision);
+                final long roundedToLong = MathUtils.roundDoubleToLong(scaled);
+                return Price.valueOf(currencyCode, roundedToLong);
+            } catch (Exception e) {
+                log.error("Exception at getPrice / parseToFiat: " + e.toString() + "\n" +
+                        "That case should never happen.");
                 return null;
             }
         } else {
-            return Price.valueOf(currencyCode, offerPayload.getPrice());
+            log.trace("We don't have a market price. " +
+                    "That case could only happen if you don't have a price feed.");
+            return null;
         }
     }
 
@@ -233,7 +276,11 @@ public class Offer implements NetworkPayload, PersistablePayload {
 
     @Nullable
     public Volume getVolumeByAmount(Coin amount) {
-        Price price = getPrice();
+        return getVolumeByAmount(getPrice(), amount);
+    }
+
+    @Nullable
+    private Volume getVolumeByAmount(@Nullable Price price, Coin amount) {
         if (price != null && amount != null) {
             Volume volumeByAmount = price.getVolumeByAmount(amount);
             if (offerPayload.getPaymentMethodId().equals(PaymentMethod.HAL_CASH_ID))
@@ -329,12 +376,12 @@ public class Offer implements NetworkPayload, PersistablePayload {
 
     @Nullable
     public Volume getVolume() {
-        return getVolumeByAmount(getAmount());
+        return getPriceCache().volume;
     }
 
     @Nullable
     public Volume getMinVolume() {
-        return getVolumeByAmount(getMinAmount());
+        return getPriceCache().minVolume;
     }
 
     public boolean isBuyOffer() {
@@ -563,4 +610,34 @@ public class Offer implements NetworkPayload, PersistablePayload {
                 ", offerPayload=" + offerPayload +
                 '}';
     }
+
+    private static class PriceCache {
+        private static final long FIXED_PRICE_EPOCH = -1;
+
+        private final long priceEpoch;
+        @Nullable
+        private final Price price;
+        private final long validUntilSec;
+        @Nullable
+        private final Volume volume;
+        @Nullable
+        private final Volume minVolume;
+
+        PriceCache(long priceEpoch,
+                   @Nullable Price price,
+                   long validUntilSec,
+                   @Nullable Volume volume,
+                   @Nullable Volume minVolume) {
+            this.priceEpoch = priceEpoch;
+            this.price = price;
+            this.validUntilSec = validUntilSec;
+            this.volume = volume;
+            this.minVolume = minVolume;
+        }
+
+        boolean isValid(long currentPriceEpoch) {
+            return priceEpoch == currentPriceEpoch &&
+                    (validUntilSec == Long.MAX_VALUE || System.currentTimeMillis() / 1000 < validUntilSec);
+        }
+    }
 }
@@ -31,7 +31,6 @@ import bisq.common.config.Config;
 import bisq.common.file.JsonFileManager;
 import bisq.common.handlers.ErrorMessageHandler;
 import bisq.common.handlers.ResultHandler;
-import bisq.common.util.Utilities;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -84,7 +83,7 @@ public class OfferBookService {
         this.filterManager = filterManager;
         jsonFileManager = new JsonFileManager(storageDir);
 
-        p2PService.addHashSetChangedListener(new HashMapChangedListener() {
+        p2PService.addHashSetChangedListener(OfferPayload.class, new HashMapChangedListener() {
             @Override
             public void onAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
                 protectedStorageEntries.forEach(protectedStorageEntry -> offerBookChangedListeners.forEach(listener -> {
@@ -150,6 +149,44 @@ public class OfferBookService {
         }
     }
 
+    // The add data messages of all offers get bundled by the Broadcaster and sent in size-capped batches, so
+    // republishing many offers costs by their size, not their number.
+    public void addOffers(List<Offer> offers, ResultHandler resultHandler, ErrorMessageHandler errorMessageHandler) {
+        if (filterManager.requireUpdateToNewVersionForTrading()) {
+            errorMessageHandler.handleErrorMessage(Res.get("popup.warning.mandatoryUpdate.trading"));
+            return;
+        }
+
+        List<String> failedOfferIds = offers.stream()
+                .filter(offer -> !p2PService.addProtectedStorageEntry(offer.getOfferPayload()))
+                .map(Offer::getId)
+                .collect(Collectors.toList());
+        if (failedOfferIds.isEmpty()) {
+            resultHandler.handleResult();
+        } else {
+            errorMessageHandler.handleErrorMessage("Add offer failed for offers " + failedOfferIds);
+        }
+    }
+
+    public void refreshTTLs(List<OfferPayload> offerPayloads,
+                            ResultHandler resultHandler,
+                            ErrorMessageHandler errorMessageHandler) {
+        if (filterManager.requireUpdateToNewVersionForTrading()) {
+            errorMessageHandler.handleErrorMessage(Res.get("popup.warning.mandatoryUpdate.trading"));
+            return;
+        }
+
+        List<String> failedOfferIds = offerPayloads.stream()
+                .filter(offerPayload -> !p2PService.refreshTTL(offerPayload))
+                .map(OfferPayload::getId)
+                .collect(Collectors.toList());
+        if (failedOfferIds.isEmpty()) {
+            resultHandler.handleResult();
+        } else {
+            errorMessageHandler.handleErrorMessage("Refresh TTL failed for offers " + failedOfferIds);
+        }
+    }
+
     public void refreshTTL(OfferPayload offerPayload,
                            ResultHandler resultHandler,
                            ErrorMessageHandler errorMessageHandler) {
@@ -191,10 +228,8 @@ public class OfferBookService {
     }
 
     public List<Offer> getOffers() {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof OfferPayload)
-                .map(data -> {
-                    OfferPayload offerPayload = (OfferPayload) data.getProtectedStoragePayload();
+        return p2PService.getProtectedStoragePayloads(OfferPayload.class).stream()
+                .map(offerPayload -> {
                     Offer offer = new Offer(offerPayload);
                     offer.setPriceFeedService(priceFeedService);
                     return offer;
@@ -244,6 +279,6 @@ public class OfferBookService {
                 })
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(offerForJsonList), "offers_statistics");
+        jsonFileManager.writeObjectToDiscThreaded(offerForJsonList, "offers_statistics");
     }
 }
@@ -25,6 +25,10 @@ import bisq.common.Timer;
 import bisq.common.UserThread;
 import bisq.common.proto.ProtoUtil;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
 import java.util.Date;
 import java.util.Optional;
 
@@ -54,6 +58,7 @@ public final class OpenOffer implements Tradable {
     private final Offer offer;
     @Getter
     private State state;
+    transient private final ObjectProperty<State> stateProperty = new SimpleObjectProperty<>();
     @Getter
     @Setter
     @Nullable
@@ -85,6 +90,7 @@ public final class OpenOffer implements Tradable {
         this.offer = offer;
         this.triggerPrice = triggerPrice;
         state = State.AVAILABLE;
+        stateProperty.set(state);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -99,6 +105,7 @@ public final class OpenOffer implements Tradable {
                       long triggerPrice) {
         this.offer = offer;
         this.state = state;
+        stateProperty.set(state);
         this.arbitratorNodeAddress = arbitratorNodeAddress;
         this.mediatorNodeAddress = mediatorNodeAddress;
         this.refundAgentNodeAddress = refundAgentNodeAddress;
@@ -160,6 +167,12 @@ public final class OpenOffer implements Tradable {
         } else {
             stopTimeout();
         }
+
+        stateProperty.set(state);
+    }
+
+    public ReadOnlyObjectProperty<State> stateProperty() {
+        return stateProperty;
     }
 
     public boolean isDeactivated() {
@@ -901,47 +901,27 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
 
         stopPeriodicRefreshOffersTimer();
 
-        List<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-        processListForRepublishOffers(openOffersList);
-    }
-
-    private void processListForRepublishOffers(List<OpenOffer> list) {
-        if (list.isEmpty()) {
-            return;
-        }
-
-        OpenOffer openOffer = list.remove(0);
-        if (openOffers.contains(openOffer) && !openOffer.isDeactivated()) {
-            // TODO It is not clear yet if it is better for the node and the network to send out all add offer
-            //  messages in one go or to spread it over a delay. With power users who have 100-200 offers that can have
-            //  some significant impact to user experience and the network
-            republishOffer(openOffer, () -> processListForRepublishOffers(list));
-
-           /* republishOffer(openOffer,
-                    () -> UserThread.runAfter(() -> processListForRepublishOffers(list),
-                            30, TimeUnit.MILLISECONDS));*/
-        } else {
-            // If the offer was removed in the meantime or if its deactivated we skip and call
-            // processListForRepublishOffers again with the list where we removed the offer already.
-            processListForRepublishOffers(list);
-        }
+        publishOffers(getActiveOffers());
     }
 
     private void republishOffer(OpenOffer openOffer) {
-        republishOffer(openOffer, null);
+        publishOffers(List.of(openOffer.getOffer()));
     }
 
-    private void republishOffer(OpenOffer openOffer, @Nullable Runnable completeHandler) {
-        offerBookService.addOffer(openOffer.getOffer(),
+    // All offers are added in one go. The Broadcaster bundles the resulting messages into size-capped batches which
+    // are paced by the backpressure of our connections.
+    private void publishOffers(List<Offer> offers) {
+        if (offers.isEmpty()) {
+            return;
+        }
+
+        offerBookService.addOffers(offers,
                 () -> {
                     if (!stopped) {
                         // Refresh means we send only the data needed to refresh the TTL (hash, signature and sequence no.)
                         if (periodicRefreshOffersTimer == null) {
                             startPeriodicRefreshOffersTimer();
                         }
-                        if (completeHandler != null) {
-                            completeHandler.run();
-                        }
                     }
                 },
                 errorMessage -> {
@@ -950,10 +930,6 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
                         stopRetryRepublishOffersTimer();
                         retryRepublishOffersTimer = UserThread.runAfter(OpenOfferManager.this::republishOffers,
                                 RETRY_REPUBLISH_DELAY_SEC);
-
-                        if (completeHandler != null) {
-                            completeHandler.run();
-                        }
                     }
                 });
     }
@@ -977,23 +953,7 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
         if (periodicRefreshOffersTimer == null)
             periodicRefreshOffersTimer = UserThread.runPeriodically(() -> {
                         if (!stopped) {
-                            int size = openOffers.size();
-                            //we clone our list as openOffers might change during our delayed call
-                            final ArrayList<OpenOffer> openOffersList = new ArrayList<>(openOffers.getList());
-                            for (int i = 0; i < size; i++) {
-                                // we delay to avoid reaching throttle limits
-                                // roughly 4 offers per second
-
-                                long delay = 300;
-                                final long minDelay = (i + 1) * delay;
-                                final long maxDelay = (i + 2) * delay;
-                                final OpenOffer openOffer = openOffersList.get(i);
-                                UserThread.runAfterRandomDelay(() -> {
-                                    // we need to check if in the meantime the offer has been removed
-                                    if (openOffers.contains(openOffer) && !openOffer.isDeactivated())
-                                        refreshOffer(openOffer);
-                                }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
-                            }
+                            refreshOffers();
                         } else {
                             log.debug("We have stopped already. We ignore that periodicRefreshOffersTimer.run call.");
                         }
@@ -1004,12 +964,28 @@ public class OpenOfferManager implements PeerManager.Listener, DecryptedDirectMe
             log.trace("periodicRefreshOffersTimer already stated");
     }
 
-    private void refreshOffer(OpenOffer openOffer) {
-        offerBookService.refreshTTL(openOffer.getOffer().getOfferPayload(),
-                () -> log.debug("Successful refreshed TTL for offer"),
+    // We do not need to stagger the refresh messages anymore to avoid reaching throttle limits as the Broadcaster
+    // bundles them into batches.
+    private void refreshOffers() {
+        List<OfferPayload> offerPayloads = getActiveOffers().stream()
+                .map(Offer::getOfferPayload)
+                .collect(Collectors.toList());
+        if (offerPayloads.isEmpty()) {
+            return;
+        }
+
+        offerBookService.refreshTTLs(offerPayloads,
+                () -> log.debug("Successful refreshed TTL for {} offers", offerPayloads.size()),
                 log::warn);
     }
 
+    private List<Offer> getActiveOffers() {
+        return openOffers.getList().stream()
+                .filter(openOffer -> !openOffer.isDeactivated())
+                .map(OpenOffer::getOffer)
+                .collect(Collectors.toList());
+    }
+
     private void restart() {
         log.debug("Restart after connection loss");
         if (retryRepublishOffersTimer == null)
@@ -0,0 +1,108 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.locale.CurrencyUtil;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Trigger prices of the open offers of one currency, split by the direction in which the market price has to cross
+ * the trigger price to deactivate the offer. Allows to look up the offers whose trigger price was crossed by a market
+ * price change in O(log n + k).
+ */
+class TriggerPriceIndex {
+    // We key the offers by their ID as the hashCode of OpenOffer changes with its state
+    // Offers which get triggered if the market price falls below their trigger price
+    private final TreeMap<Long, Map<String, OpenOffer>> triggeredBelow = new TreeMap<>();
+    // Offers which get triggered if the market price rises above their trigger price
+    private final TreeMap<Long, Map<String, OpenOffer>> triggeredAbove = new TreeMap<>();
+
+    static boolean isTriggeredBelow(OpenOffer openOffer) {
+        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(openOffer.getOffer().getCurrencyCode());
+        boolean isSellOffer = openOffer.getOffer().getDirection() == OfferPayload.Direction.SELL;
+        return isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
+    }
+
+    void add(OpenOffer openOffer) {
+        long triggerPrice = openOffer.getTriggerPrice();
+        if (triggerPrice <= 0) {
+            return;
+        }
+
+        getMap(openOffer).computeIfAbsent(triggerPrice, key -> new HashMap<>()).put(openOffer.getId(), openOffer);
+    }
+
+    void remove(OpenOffer openOffer) {
+        long triggerPrice = openOffer.getTriggerPrice();
+        TreeMap<Long, Map<String, OpenOffer>> map = getMap(openOffer);
+        Map<String, OpenOffer> openOffersById = map.get(triggerPrice);
+        if (openOffersById != null) {
+            openOffersById.remove(openOffer.getId());
+            if (openOffersById.isEmpty()) {
+                map.remove(triggerPrice);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return triggeredBelow.isEmpty() && triggeredAbove.isEmpty();
+    }
+
+    /**
+     * @param previousMarketPrice   The market price at the last check or null if there was none
+     * @param marketPrice           The current market price
+     * @return The offers which are triggered at marketPrice but were not triggered at previousMarketPrice. If
+     * previousMarketPrice is null all offers which are triggered at marketPrice.
+     */
+    List<OpenOffer> getCrossedOffers(@Nullable Long previousMarketPrice, long marketPrice) {
+        List<OpenOffer> result = new ArrayList<>();
+
+        // Triggered if marketPrice < triggerPrice
+        if (previousMarketPrice == null) {
+            addAll(triggeredBelow.tailMap(marketPrice, false), result);
+        } else if (marketPrice < previousMarketPrice) {
+            addAll(triggeredBelow.subMap(marketPrice, false, previousMarketPrice, true), result);
+        }
+
+        // Triggered if marketPrice > triggerPrice
+        if (previousMarketPrice == null) {
+            addAll(triggeredAbove.headMap(marketPrice, false), result);
+        } else if (marketPrice > previousMarketPrice) {
+            addAll(triggeredAbove.subMap(previousMarketPrice, true, marketPrice, false), result);
+        }
+        return result;
+    }
+
+    private TreeMap<Long, Map<String, OpenOffer>> getMap(OpenOffer openOffer) {
+        return isTriggeredBelow(openOffer) ? triggeredBelow : triggeredAbove;
+    }
+
+    private static void addAll(NavigableMap<Long, Map<String, OpenOffer>> map, List<OpenOffer> result) {
+        for (Map.Entry<Long, Map<String, OpenOffer>> entry : map.entrySet()) {
+            result.addAll(entry.getValue().values());
+        }
+    }
+}
@@ -34,14 +34,14 @@ import org.bitcoinj.utils.Fiat;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
+import javafx.beans.value.ChangeListener;
+
 import javafx.collections.ListChangeListener;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -55,7 +55,13 @@ public class TriggerPriceService {
     private final OpenOfferManager openOfferManager;
     private final MempoolService mempoolService;
     private final PriceFeedService priceFeedService;
-    private final Map<String, Set<OpenOffer>> openOffersByCurrency = new HashMap<>();
+    private final Map<String, TriggerPriceIndex> triggerPriceIndexByCurrency = new HashMap<>();
+    // Market prices at the last check, scaled to the smallest unit of the currency
+    private final Map<String, Long> lastMarketPriceByCurrency = new HashMap<>();
+    private final Map<String, OpenOffer> openOffersPendingMempoolCheck = new HashMap<>();
+    // Triggered offers whose deactivation failed, we retry at the next price update
+    private final Map<String, OpenOffer> openOffersPendingDeactivation = new HashMap<>();
+    private final Map<String, ChangeListener<OpenOffer.State>> stateListenerByOfferId = new HashMap<>();
 
     @Inject
     public TriggerPriceService(P2PService p2PService,
@@ -97,16 +103,32 @@ public class TriggerPriceService {
         onPriceFeedChanged();
     }
 
+    // We only look at the offers whose trigger price was crossed since the last market price of their currency.
+    // Offers triggered earlier have been deactivated at that time already. Offers which were deactivated when their
+    // trigger price got crossed are checked again when they become available.
     private void onPriceFeedChanged() {
-        openOffersByCurrency.keySet().stream()
-                .map(priceFeedService::getMarketPrice)
-                .filter(Objects::nonNull)
-                .filter(marketPrice -> openOffersByCurrency.containsKey(marketPrice.getCurrencyCode()))
-                .forEach(marketPrice -> {
-                    openOffersByCurrency.get(marketPrice.getCurrencyCode()).stream()
-                            .filter(openOffer -> !openOffer.isDeactivated())
-                            .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
-                });
+        new ArrayList<>(openOffersPendingDeactivation.values()).forEach(openOffer -> {
+            openOffersPendingDeactivation.remove(openOffer.getId());
+            if (!openOffer.isDeactivated()) {
+                checkPriceThreshold(openOffer);
+            }
+        });
+
+        triggerPriceIndexByCurrency.forEach((currencyCode, triggerPriceIndex) -> {
+            MarketPrice marketPrice = priceFeedService.getMarketPrice(currencyCode);
+            if (marketPrice == null) {
+                return;
+            }
+
+            long marketPriceAsLong = getMarketPriceAsLong(marketPrice, currencyCode);
+            Long previousMarketPrice = lastMarketPriceByCurrency.put(currencyCode, marketPriceAsLong);
+            triggerPriceIndex.getCrossedOffers(previousMarketPrice, marketPriceAsLong).stream()
+                    .filter(openOffer -> !openOffer.isDeactivated())
+                    .forEach(openOffer -> checkPriceThreshold(marketPrice, openOffer));
+        });
+
+        // Mempool requests depend on the chain height so we retry them at each price update until we got a result
+        new ArrayList<>(openOffersPendingMempoolCheck.values()).forEach(this::maybeCheckMempool);
     }
 
     public static boolean wasTriggered(MarketPrice marketPrice, OpenOffer openOffer) {
@@ -115,26 +137,31 @@ public class TriggerPriceService {
             return false;
         }
 
-        String currencyCode = openOffer.getOffer().getCurrencyCode();
-        boolean cryptoCurrency = CurrencyUtil.isCryptoCurrency(currencyCode);
-        int smallestUnitExponent = cryptoCurrency ?
-                Altcoin.SMALLEST_UNIT_EXPONENT :
-                Fiat.SMALLEST_UNIT_EXPONENT;
-        long marketPriceAsLong = roundDoubleToLong(
-                scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+        long marketPriceAsLong = getMarketPriceAsLong(marketPrice, openOffer.getOffer().getCurrencyCode());
         long triggerPrice = openOffer.getTriggerPrice();
         if (triggerPrice <= 0) {
             return false;
         }
 
-        OfferPayload.Direction direction = openOffer.getOffer().getDirection();
-        boolean isSellOffer = direction == OfferPayload.Direction.SELL;
-        boolean condition = isSellOffer && !cryptoCurrency || !isSellOffer && cryptoCurrency;
-        return condition ?
+        return TriggerPriceIndex.isTriggeredBelow(openOffer) ?
                 marketPriceAsLong < triggerPrice :
                 marketPriceAsLong > triggerPrice;
     }
 
+    private static long getMarketPriceAsLong(MarketPrice marketPrice, String currencyCode) {
+        int smallestUnitExponent = CurrencyUtil.isCryptoCurrency(currencyCode) ?
+                Altcoin.SMALLEST_UNIT_EXPONENT :
+                Fiat.SMALLEST_UNIT_EXPONENT;
+        return roundDoubleToLong(scaleUpByPowerOf10(marketPrice.getPrice(), smallestUnitExponent));
+    }
+
+    private void checkPriceThreshold(OpenOffer openOffer) {
+        MarketPrice marketPrice = priceFeedService.getMarketPrice(openOffer.getOffer().getCurrencyCode());
+        if (marketPrice != null) {
+            checkPriceThreshold(marketPrice, openOffer);
+        }
+    }
+
     private void checkPriceThreshold(MarketPrice marketPrice, OpenOffer openOffer) {
         if (wasTriggered(marketPrice, openOffer)) {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
@@ -153,49 +180,78 @@ public class TriggerPriceService {
                     MathUtils.scaleDownByPowerOf10(triggerPrice, smallestUnitExponent)
             );
 
+            openOfferManager.deactivateOpenOffer(openOffer,
+                    () -> openOffersPendingDeactivation.remove(openOffer.getId()),
+                    errorMessage -> {
+                        log.warn("Deactivating open offer {} failed, we retry at the next price update. Error: {}",
+                                openOffer.getOffer().getShortId(), errorMessage);
+                        openOffersPendingDeactivation.put(openOffer.getId(), openOffer);
+                    });
+        }
+    }
+
+    private void maybeCheckMempool(OpenOffer openOffer) {
+        if (openOffer.isDeactivated() || openOffer.getState() != OpenOffer.State.AVAILABLE) {
+            return;
+        }
+
+        // check the mempool if it has not been done before
+        if (openOffer.getMempoolStatus() < 0 && mempoolService.canRequestBeMade(openOffer.getOffer().getOfferPayload())) {
+            mempoolService.validateOfferMakerTx(openOffer.getOffer().getOfferPayload(), (txValidator -> {
+                openOffer.setMempoolStatus(txValidator.isFail() ? 0 : 1);
+            }));
+        }
+        // if the mempool indicated failure then deactivate the open offer
+        if (openOffer.getMempoolStatus() == 0) {
+            log.info("Deactivating open offer {} due to mempool validation", openOffer.getOffer().getShortId());
             openOfferManager.deactivateOpenOffer(openOffer, () -> {
             }, errorMessage -> {
             });
-        } else if (openOffer.getState() == OpenOffer.State.AVAILABLE) {
-            // check the mempool if it has not been done before
-            if (openOffer.getMempoolStatus() < 0 && mempoolService.canRequestBeMade(openOffer.getOffer().getOfferPayload())) {
-                mempoolService.validateOfferMakerTx(openOffer.getOffer().getOfferPayload(), (txValidator -> {
-                    openOffer.setMempoolStatus(txValidator.isFail() ? 0 : 1);
-                }));
-            }
-            // if the mempool indicated failure then deactivate the open offer
-            if (openOffer.getMempoolStatus() == 0) {
-                log.info("Deactivating open offer {} due to mempool validation", openOffer.getOffer().getShortId());
-                openOfferManager.deactivateOpenOffer(openOffer, () -> {
-                }, errorMessage -> {
-                });
-            }
+        }
+        if (openOffer.getMempoolStatus() >= 0) {
+            openOffersPendingMempoolCheck.remove(openOffer.getId());
         }
     }
 
     private void onAddedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            openOffersByCurrency.putIfAbsent(currencyCode, new HashSet<>());
-            openOffersByCurrency.get(currencyCode).add(openOffer);
+            triggerPriceIndexByCurrency.computeIfAbsent(currencyCode, key -> new TriggerPriceIndex()).add(openOffer);
+            openOffersPendingMempoolCheck.put(openOffer.getId(), openOffer);
 
-            MarketPrice marketPrice = priceFeedService.getMarketPrice(openOffer.getOffer().getCurrencyCode());
-            if (marketPrice != null) {
-                checkPriceThreshold(marketPrice, openOffer);
-            }
+            // An offer which gets activated again or whose editing got canceled was skipped by the price updates
+            // while it was deactivated, so we check it when it becomes available.
+            ChangeListener<OpenOffer.State> stateListener = (observable, oldValue, newValue) -> {
+                if (newValue == OpenOffer.State.AVAILABLE) {
+                    checkPriceThreshold(openOffer);
+                }
+            };
+            openOffer.stateProperty().addListener(stateListener);
+            stateListenerByOfferId.put(openOffer.getId(), stateListener);
+
+            checkPriceThreshold(openOffer);
+            maybeCheckMempool(openOffer);
         });
     }
 
     private void onRemovedOpenOffers(List<? extends OpenOffer> openOffers) {
         openOffers.forEach(openOffer -> {
             String currencyCode = openOffer.getOffer().getCurrencyCode();
-            if (openOffersByCurrency.containsKey(currencyCode)) {
-                Set<OpenOffer> set = openOffersByCurrency.get(currencyCode);
-                set.remove(openOffer);
-                if (set.isEmpty()) {
-                    openOffersByCurrency.remove(currencyCode);
+            TriggerPriceIndex triggerPriceIndex = triggerPriceIndexByCurrency.get(currencyCode);
+            if (triggerPriceIndex != null) {
+                triggerPriceIndex.remove(openOffer);
+                if (triggerPriceIndex.isEmpty()) {
+                    triggerPriceIndexByCurrency.remove(currencyCode);
+                    lastMarketPriceByCurrency.remove(currencyCode);
                 }
             }
+            openOffersPendingMempoolCheck.remove(openOffer.getId());
+            openOffersPendingDeactivation.remove(openOffer.getId());
+
+            ChangeListener<OpenOffer.State> stateListener = stateListenerByOfferId.remove(openOffer.getId());
+            if (stateListener != null) {
+                openOffer.stateProperty().removeListener(stateListener);
+            }
         });
     }
 }
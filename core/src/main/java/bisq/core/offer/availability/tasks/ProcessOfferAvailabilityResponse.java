@@ -58,6 +58,11 @@ public class ProcessOfferAvailabilityResponse extends Task<OfferAvailabilityMode
             offer.setState(Offer.State.AVAILABLE);
 
             model.setSelectedArbitrator(offerAvailabilityResponse.getArbitrator());
+            // We will send the InitTradeRequest to the arbitrator when the offer gets taken, so we set up the
+            // connection while the user reviews the offer
+            if (offerAvailabilityResponse.getArbitrator() != null) {
+                model.getP2PService().preDial(offerAvailabilityResponse.getArbitrator());
+            }
 
             NodeAddress mediator = offerAvailabilityResponse.getMediator();
             if (mediator == null) {
@@ -47,9 +47,11 @@ import bisq.core.user.UserPayload;
 
 import bisq.network.p2p.mailbox.IgnoredMailboxMap;
 import bisq.network.p2p.mailbox.MailboxMessageList;
+import bisq.network.p2p.peers.getdata.SeedNodeResponseStats;
 import bisq.network.p2p.peers.peerexchange.PeerList;
 import bisq.network.p2p.storage.persistence.RemovedPayloadsMap;
 import bisq.network.p2p.storage.persistence.SequenceNumberMap;
+import bisq.network.p2p.storage.persistence.VerifiedSignaturesMap;
 
 import bisq.common.proto.ProtobufferRuntimeException;
 import bisq.common.proto.network.NetworkProtoResolver;
@@ -145,6 +147,10 @@ public class CorePersistenceProtoResolver extends CoreProtoResolver implements P
                     return IgnoredMailboxMap.fromProto(proto.getIgnoredMailboxMap());
                 case REMOVED_PAYLOADS_MAP:
                     return RemovedPayloadsMap.fromProto(proto.getRemovedPayloadsMap());
+                case VERIFIED_SIGNATURES_MAP:
+                    return VerifiedSignaturesMap.fromProto(proto.getVerifiedSignaturesMap());
+                case SEED_NODE_RESPONSE_STATS:
+                    return SeedNodeResponseStats.fromProto(proto.getSeedNodeResponseStats());
                 default:
                     throw new ProtobufferRuntimeException("Unknown proto message case(PB.PersistableEnvelope). " +
                             "messageCase=" + proto.getMessageCase() + "; proto raw data=" + proto.toString());
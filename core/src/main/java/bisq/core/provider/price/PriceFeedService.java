@@ -49,15 +49,12 @@ import javafx.beans.property.StringProperty;
 
 import java.time.Instant;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
-import java.util.Set;
 import java.util.function.Consumer;
 
 import lombok.extern.slf4j.Slf4j;
@@ -77,6 +74,7 @@ public class PriceFeedService {
     private static final long PERIOD_SEC = 60;
 
     private final Map<String, MarketPrice> cache = new HashMap<>();
+    private final Map<String, TradeStatistics3> latestTradeStatisticsByCurrencyCode = new HashMap<>();
     private PriceProvider priceProvider;
     @Nullable
     private Consumer<Double> priceConsumer;
@@ -85,6 +83,9 @@ public class PriceFeedService {
     private String currencyCode;
     private final StringProperty currencyCodeProperty = new SimpleStringProperty();
     private final IntegerProperty updateCounter = new SimpleIntegerProperty(0);
+    // Incremented at each change of a market price, so values derived from market prices can be cached until the
+    // next change.
+    private volatile long priceEpoch;
     private long epochInMillisAtLastRequest;
     private long retryDelay = 1;
     private long requestTs;
@@ -263,6 +264,7 @@ public class PriceFeedService {
                     MathUtils.scaleDownByPowerOf10(price.getValue(), CurrencyUtil.isCryptoCurrency(currencyCode) ? 8 : 4),
                     0,
                     false));
+            priceEpoch++;
             updateCounter.set(updateCounter.get() + 1);
         }
     }
@@ -297,32 +299,38 @@ public class PriceFeedService {
         return updateCounter;
     }
 
+    public long getPriceEpoch() {
+        return priceEpoch;
+    }
+
     public Date getLastRequestTimeStamp() {
         return new Date(epochInMillisAtLastRequest);
     }
 
-    public void applyLatestBisqMarketPrice(Set<TradeStatistics3> tradeStatisticsSet) {
-        // takes about 10 ms for 5000 items
-        Map<String, List<TradeStatistics3>> mapByCurrencyCode = new HashMap<>();
-        tradeStatisticsSet.forEach(e -> {
-            List<TradeStatistics3> list;
-            String currencyCode = e.getCurrency();
-            if (mapByCurrencyCode.containsKey(currencyCode)) {
-                list = mapByCurrencyCode.get(currencyCode);
-            } else {
-                list = new ArrayList<>();
-                mapByCurrencyCode.put(currencyCode, list);
-            }
-            list.add(e);
-        });
+    /**
+     * Applies the price of the latest trade of each currency. The trades are reduced to the latest one per currency
+     * first, so the price of each currency is set at most once.
+     */
+    public void applyLatestBisqMarketPrice(Collection<TradeStatistics3> tradeStatisticsSet) {
+        Map<String, TradeStatistics3> latestByCurrencyCode = new HashMap<>();
+        tradeStatisticsSet.forEach(tradeStatistics -> latestByCurrencyCode.merge(tradeStatistics.getCurrency(),
+                tradeStatistics,
+                (a, b) -> a.getDateAsLong() >= b.getDateAsLong() ? a : b));
+        latestByCurrencyCode.values().forEach(this::applyLatestBisqMarketPrice);
+    }
 
-        mapByCurrencyCode.values().stream()
-                .filter(list -> !list.isEmpty())
-                .forEach(list -> {
-                    list.sort(Comparator.comparing(TradeStatistics3::getDate));
-                    TradeStatistics3 tradeStatistics = list.get(list.size() - 1);
-                    setBisqMarketPrice(tradeStatistics.getCurrency(), tradeStatistics.getTradePrice());
-                });
+    /**
+     * Applies the price of the trade if it is the latest trade of its currency. We keep the latest trade per currency,
+     * so this is O(1) per new trade statistics object.
+     */
+    public void applyLatestBisqMarketPrice(TradeStatistics3 tradeStatistics) {
+        String currencyCode = tradeStatistics.getCurrency();
+        TradeStatistics3 latestTradeStatistics = latestTradeStatisticsByCurrencyCode.get(currencyCode);
+        if (latestTradeStatistics != null && latestTradeStatistics.getDateAsLong() > tradeStatistics.getDateAsLong()) {
+            return;
+        }
+        latestTradeStatisticsByCurrencyCode.put(currencyCode, tradeStatistics);
+        setBisqMarketPrice(currencyCode, tradeStatistics.getTradePrice());
     }
 
     public Optional<Price> getBsqPrice() {
@@ -413,6 +421,7 @@ public class PriceFeedService {
                     Map<String, MarketPrice> priceMap = result.second;
 
                     cache.putAll(priceMap);
+                    priceEpoch++;
 
                     resultHandler.run();
                 });
@@ -42,9 +42,7 @@ public class ArbitratorService extends DisputeAgentService<Arbitrator> {
 
     @Override
     protected Set<Arbitrator> getDisputeAgentSet(List<String> bannedDisputeAgents) {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof Arbitrator)
-                .map(data -> (Arbitrator) data.getProtectedStoragePayload())
+        return p2PService.getProtectedStoragePayloads(Arbitrator.class).stream()
                 .filter(a -> bannedDisputeAgents == null ||
                         !bannedDisputeAgents.contains(a.getNodeAddress().getFullAddress()))
                 .collect(Collectors.toSet());
@@ -47,9 +47,7 @@ public class MediatorService extends DisputeAgentService<Mediator> {
 
     @Override
     protected Set<Mediator> getDisputeAgentSet(List<String> bannedDisputeAgents) {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof Mediator)
-                .map(data -> (Mediator) data.getProtectedStoragePayload())
+        return p2PService.getProtectedStoragePayloads(Mediator.class).stream()
                 .filter(a -> bannedDisputeAgents == null ||
                         !bannedDisputeAgents.contains(a.getNodeAddress().getFullAddress()))
                 .collect(Collectors.toSet());
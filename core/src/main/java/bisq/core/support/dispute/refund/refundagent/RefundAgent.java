@@ -45,6 +45,7 @@ import javax.annotation.Nullable;
 @Slf4j
 @Getter
 public final class RefundAgent extends DisputeAgent implements CapabilityRequiringPayload {
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.REFUND_AGENT);
 
     public RefundAgent(NodeAddress nodeAddress,
                        PubKeyRing pubKeyRing,
@@ -111,6 +112,6 @@ public final class RefundAgent extends DisputeAgent implements CapabilityRequiri
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.REFUND_AGENT);
+        return REQUIRED_CAPABILITIES;
     }
 }
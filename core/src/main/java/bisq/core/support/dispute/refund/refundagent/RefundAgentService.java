@@ -42,9 +42,7 @@ public class RefundAgentService extends DisputeAgentService<RefundAgent> {
 
     @Override
     protected Set<RefundAgent> getDisputeAgentSet(List<String> bannedDisputeAgents) {
-        return p2PService.getDataMap().values().stream()
-                .filter(data -> data.getProtectedStoragePayload() instanceof RefundAgent)
-                .map(data -> (RefundAgent) data.getProtectedStoragePayload())
+        return p2PService.getProtectedStoragePayloads(RefundAgent.class).stream()
                 .filter(a -> bannedDisputeAgents == null ||
                         !bannedDisputeAgents.contains(a.getNodeAddress().getFullAddress()))
                 .collect(Collectors.toSet());
@@ -320,6 +320,9 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
     private void initTradeAndProtocol(Trade trade, TradeProtocol tradeProtocol) {
         tradeProtocol.initialize(processModelServiceProvider, this, trade.getOffer());
         trade.initialize(processModelServiceProvider);
+        xmrWalletService.onMultisigTradePhaseChanged(trade.getId(), trade.getPhase());
+        trade.statePhaseProperty().addListener((observable, oldValue, newValue) ->
+                xmrWalletService.onMultisigTradePhaseChanged(trade.getId(), newValue));
         requestPersistence();
     }
 
@@ -689,6 +692,7 @@ public class TradeManager implements PersistedDataHost, DecryptedDirectMessageLi
 
         // TODO The address entry should have been removed already. Check and if its the case remove that.
         xmrWalletService.resetAddressEntriesForPendingTrade(trade.getId());
+        xmrWalletService.closeMultisigWallet(trade.getId());
         requestPersistence();
     }
 
@@ -93,7 +93,7 @@ public class ProcessInitMultisigMessage extends TradeTask {
             else if (!multisigParticipant.getMadeMultisigHex().equals(message.getMadeMultisigHex())) throw new RuntimeException("Message's made multisig differs from previous messages");
 
             // get or create multisig wallet // TODO (woodser): ensure multisig wallet is created for first time
-            multisigWallet = processModel.getProvider().getXmrWalletService().getOrCreateMultisigWallet(processModel.getTrade().getId());
+            multisigWallet = getMultisigWallet();
 
             // prepare multisig if applicable
             boolean updateParticipants = false;
@@ -50,7 +50,7 @@ public abstract class SetupDepositTxsListener extends TradeTask {
 
       // fetch relevant trade info
       XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
-      MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+      MoneroWallet multisigWallet = getMultisigWallet();
       System.out.println("Maker prepared deposit tx id: " + processModel.getMakerPreparedDepositTxId());
       System.out.println("Taker prepared deposit tx id: " + processModel.getTakerPreparedDepositTxId());
 
@@ -17,6 +17,7 @@
 
 package bisq.core.trade.protocol.tasks;
 
+import bisq.core.btc.wallet.XmrWalletService;
 import bisq.core.trade.Trade;
 import bisq.core.trade.protocol.ProcessModel;
 
@@ -25,10 +26,16 @@ import bisq.common.taskrunner.TaskRunner;
 
 import lombok.extern.slf4j.Slf4j;
 
+
+
+import monero.wallet.MoneroWallet;
+
 @Slf4j
 public abstract class TradeTask extends Task<Trade> {
     protected final ProcessModel processModel;
     protected final Trade trade;
+    private boolean multisigWalletAcquired;
+    private boolean finished;
 
     protected TradeTask(TaskRunner<Trade> taskHandler, Trade trade) {
         super(taskHandler, trade);
@@ -37,8 +44,23 @@ public abstract class TradeTask extends Task<Trade> {
         processModel = trade.getProcessModel();
     }
 
+    /**
+     * Get the multisig wallet of the trade. It is kept open until the task has completed or failed, as a task might
+     * use the wallet for longer than the wallet pool waits before closing idle wallets.
+     */
+    protected synchronized MoneroWallet getMultisigWallet() {
+        XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
+        if (finished || multisigWalletAcquired) {
+            return walletService.getOrCreateMultisigWallet(trade.getId());
+        }
+        MoneroWallet multisigWallet = walletService.acquireMultisigWallet(trade.getId());
+        multisigWalletAcquired = true;
+        return multisigWallet;
+    }
+
     @Override
     protected void complete() {
+        releaseMultisigWallet();
         processModel.getTradeManager().requestPersistence();
 
         super.complete();
@@ -46,6 +68,7 @@ public abstract class TradeTask extends Task<Trade> {
 
     @Override
     protected void failed() {
+        releaseMultisigWallet();
         trade.setErrorMessage(errorMessage);
         processModel.getTradeManager().requestPersistence();
 
@@ -54,6 +77,7 @@ public abstract class TradeTask extends Task<Trade> {
 
     @Override
     protected void failed(String message) {
+        releaseMultisigWallet();
         appendToErrorMessage(message);
         trade.setErrorMessage(errorMessage);
         processModel.getTradeManager().requestPersistence();
@@ -64,10 +88,19 @@ public abstract class TradeTask extends Task<Trade> {
     @Override
     protected void failed(Throwable t) {
         t.printStackTrace();
+        releaseMultisigWallet();
         appendExceptionToErrorMessage(t);
         trade.setErrorMessage(errorMessage);
         processModel.getTradeManager().requestPersistence();
 
         super.failed();
     }
+
+    private synchronized void releaseMultisigWallet() {
+        finished = true;
+        if (multisigWalletAcquired) {
+            multisigWalletAcquired = false;
+            processModel.getProvider().getXmrWalletService().releaseMultisigWallet(trade.getId());
+        }
+    }
 }
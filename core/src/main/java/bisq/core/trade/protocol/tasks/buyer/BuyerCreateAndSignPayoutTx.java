@@ -17,7 +17,6 @@
 
 package bisq.core.trade.protocol.tasks.buyer;
 
-import bisq.core.btc.wallet.XmrWalletService;
 import bisq.core.offer.Offer;
 import bisq.core.trade.MakerTrade;
 import bisq.core.trade.Trade;
@@ -68,8 +67,7 @@ public class BuyerCreateAndSignPayoutTx extends TradeTask {
             Offer offer = checkNotNull(trade.getOffer(), "offer must not be null");
 
             // gather relevant trade info
-            XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
-            MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+            MoneroWallet multisigWallet = getMultisigWallet();
             String sellerPayoutAddress = processModel.getTradingPeer().getPayoutAddressString();
             String buyerPayoutAddress = trade instanceof MakerTrade ? trade.getContract().getMakerPayoutAddressString() : trade.getContract().getTakerPayoutAddressString();
             Preconditions.checkNotNull(sellerPayoutAddress, "sellerPayoutAddress must not be null");
@@ -57,8 +57,7 @@ public class BuyerProcessPayoutTxPublishedMessage extends TradeTask {
             trade.setTradingPeerNodeAddress(processModel.getTempTradingPeerNodeAddress());
 
             if (trade.getPayoutTx() == null) {
-            	XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
-                MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+                MoneroWallet multisigWallet = getMultisigWallet();
                 List<String> txHashes = multisigWallet.submitMultisigTxHex(message.getSignedMultisigTxHex());
                 trade.setPayoutTx(multisigWallet.getTx(txHashes.get(0)));
                 XmrWalletService.printTxs("payoutTx received from peer", trade.getPayoutTx());
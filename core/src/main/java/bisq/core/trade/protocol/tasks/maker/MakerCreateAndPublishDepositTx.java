@@ -85,7 +85,7 @@ public class MakerCreateAndPublishDepositTx extends TradeTask {
               // collect parameters for transfer to multisig
               XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
               MoneroWallet wallet = walletService.getWallet();
-              MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+              MoneroWallet multisigWallet = getMultisigWallet();
               String multisigAddress = multisigWallet.getPrimaryAddress();
 
               // send deposit tx
@@ -20,7 +20,6 @@ package bisq.core.trade.protocol.tasks.maker;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import bisq.common.taskrunner.TaskRunner;
-import bisq.core.btc.wallet.XmrWalletService;
 import bisq.core.trade.Trade;
 import bisq.core.trade.messages.DepositTxMessage;
 import bisq.core.trade.protocol.tasks.TradeTask;
@@ -55,8 +54,7 @@ public class MakerVerifyTakerDepositTx extends TradeTask {
             if (message.getDepositTxId() == null) throw new RuntimeException("Taker must provide deposit tx id");
             
             // get multisig wallet
-            XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
-            MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());            
+            MoneroWallet multisigWallet = getMultisigWallet();
             
             // wait until wallet sees taker deposit tx
             MoneroTxWallet takerDepositTx = null;
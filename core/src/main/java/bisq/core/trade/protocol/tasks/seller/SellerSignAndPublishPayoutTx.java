@@ -17,7 +17,6 @@
 
 package bisq.core.trade.protocol.tasks.seller;
 
-import bisq.core.btc.wallet.XmrWalletService;
 import bisq.core.offer.Offer;
 import bisq.core.trade.Contract;
 import bisq.core.trade.MakerTrade;
@@ -55,8 +54,7 @@ public class SellerSignAndPublishPayoutTx extends TradeTask {
             runInterceptHook();
 
             // gather relevant trade info
-            XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
-            MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+            MoneroWallet multisigWallet = getMultisigWallet();
             String buyerSignedPayoutTxHex = processModel.getTradingPeer().getSignedPayoutTxHex();
             Contract contract = trade.getContract();
             Offer offer = checkNotNull(trade.getOffer(), "offer must not be null");
@@ -73,7 +73,7 @@ public class FundMultisig extends TradeTask {
       // collect parameters for transfer to multisig
       XmrWalletService walletService = processModel.getProvider().getXmrWalletService();
       MoneroWallet wallet = walletService.getWallet();
-      MoneroWallet multisigWallet = walletService.getOrCreateMultisigWallet(processModel.getTrade().getId());
+      MoneroWallet multisigWallet = getMultisigWallet();
       String multisigAddress = multisigWallet.getPrimaryAddress();
       boolean tradeReserved = trade.getTakerFeeTxId() != null && trade.getState() == Trade.State.TAKER_PUBLISHED_TAKER_FEE_TX;
 
@@ -0,0 +1,71 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Interval of the candles of the trade statistics charts. The ordinal is persisted in the preferences, so new units
+ * must only be added at the end.
+ */
+public enum TickUnit {
+    YEAR,
+    MONTH,
+    WEEK,
+    DAY,
+    HOUR,
+    MINUTE_10;
+
+    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
+
+    /**
+     * @param time  Time in ms since epoch
+     * @return Start of the tick the given time falls into, in ms since epoch
+     */
+    public long getTickStart(long time) {
+        return getTickStart(Instant.ofEpochMilli(time).atZone(ZONE_ID).toLocalDateTime());
+    }
+
+    public long getTickStart(LocalDateTime localDate) {
+        return roundDown(localDate).atZone(ZONE_ID).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime roundDown(LocalDateTime localDate) {
+        switch (this) {
+            case YEAR:
+                return localDate.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+            case MONTH:
+                return localDate.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
+            case WEEK:
+                int dayOfWeek = localDate.getDayOfWeek().getValue();
+                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(localDate, 1 - dayOfWeek);
+                return firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0);
+            case DAY:
+                return localDate.withHour(0).withMinute(0).withSecond(0).withNano(0);
+            case HOUR:
+                return localDate.withMinute(0).withSecond(0).withNano(0);
+            case MINUTE_10:
+                return localDate.withMinute(localDate.getMinute() - localDate.getMinute() % 10).withSecond(0).withNano(0);
+            default:
+                return localDate;
+        }
+    }
+}
@@ -107,6 +107,8 @@ public final class TradeStatistics2 implements ProcessOncePersistableNetworkPayl
     @SuppressWarnings("SpellCheckingInspection")
     public static final String REFUND_AGENT_ADDRESS = "refAddr";
 
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.TRADE_STATISTICS_HASH_UPDATE);
+
     private final OfferPayload.Direction direction;
     private final String baseCurrency;
     private final String counterCurrency;
@@ -289,7 +291,7 @@ public final class TradeStatistics2 implements ProcessOncePersistableNetworkPayl
     // problem of not handling the hashes correctly.
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.TRADE_STATISTICS_HASH_UPDATE);
+        return REQUIRED_CAPABILITIES;
     }
 
 
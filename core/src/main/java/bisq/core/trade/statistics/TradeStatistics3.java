@@ -76,6 +76,8 @@ public final class TradeStatistics3 implements ProcessOncePersistableNetworkPayl
 
     @JsonExclude
     private transient static final ZoneId ZONE_ID = ZoneId.systemDefault();
+    @JsonExclude
+    private transient static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.TRADE_STATISTICS_3);
 
     public static TradeStatistics3 from(Trade trade,
                                         @Nullable String referralId,
@@ -310,7 +312,7 @@ public final class TradeStatistics3 implements ProcessOncePersistableNetworkPayl
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.TRADE_STATISTICS_3);
+        return REQUIRED_CAPABILITIES;
     }
 
     @Override
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.monetary.Altcoin;
+
+import bisq.common.util.MathUtils;
+
+import org.bitcoinj.core.Coin;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import lombok.Value;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Open, high, low, close, median and volume of the trades of one market within one tick.
+ */
+@Value
+public class TradeStatisticsCandle {
+    long tickStart;
+    long open;
+    long close;
+    long high;
+    long low;
+    long averagePrice;
+    long medianPrice;
+    long accumulatedAmount;
+    long accumulatedVolume;
+    long numTrades;
+
+    /**
+     * Aggregates the given trades into a single candle regardless of their dates.
+     */
+    public static TradeStatisticsCandle fromTradeStatistics(long tickStart,
+                                                            Collection<TradeStatistics3> tradeStatistics,
+                                                            boolean isCryptoCurrency) {
+        Builder builder = new Builder(tickStart);
+        tradeStatistics.forEach(builder::add);
+        return builder.build(isCryptoCurrency);
+    }
+
+    /**
+     * Volume weighted average price. For altcoins the price is the inverted price, so amount and volume swap roles.
+     */
+    public static long getAveragePrice(long accumulatedAmount, long accumulatedVolume, boolean isCryptoCurrency) {
+        if (isCryptoCurrency) {
+            double accumulatedAmountAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedAmount, Altcoin.SMALLEST_UNIT_EXPONENT);
+            return MathUtils.roundDoubleToLong(accumulatedAmountAsDouble / (double) accumulatedVolume);
+        } else {
+            double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
+            return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
+        }
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Builder
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Accumulates the trades of a tick as they arrive. The built candle is kept until the next trade is added, and
+     * prices are only sorted when the median is requested after new trades have been added.
+     */
+    @NotThreadSafe
+    static class Builder {
+        private final long tickStart;
+        private long openDate = Long.MAX_VALUE;
+        private long open;
+        private long closeDate = Long.MIN_VALUE;
+        private long close;
+        private long high;
+        private long low;
+        private long accumulatedAmount;
+        private long accumulatedVolume;
+        private long[] prices = new long[4];
+        private int numTrades;
+        private boolean pricesSorted = true;
+        @Nullable
+        private TradeStatisticsCandle candle;
+
+        Builder(long tickStart) {
+            this.tickStart = tickStart;
+        }
+
+        void add(TradeStatistics3 tradeStatistics) {
+            long price = tradeStatistics.getTradePrice().getValue();
+            long date = tradeStatistics.getDateAsLong();
+            if (date < openDate) {
+                openDate = date;
+                open = price;
+            }
+            if (date >= closeDate) {
+                closeDate = date;
+                close = price;
+            }
+            low = numTrades == 0 ? price : Math.min(low, price);
+            high = numTrades == 0 ? price : Math.max(high, price);
+            accumulatedAmount += tradeStatistics.getTradeAmount().getValue();
+            accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
+
+            if (numTrades == prices.length) {
+                prices = Arrays.copyOf(prices, numTrades * 2);
+            }
+            if (numTrades > 0 && price < prices[numTrades - 1]) {
+                pricesSorted = false;
+            }
+            prices[numTrades++] = price;
+            candle = null;
+        }
+
+        TradeStatisticsCandle build(boolean isCryptoCurrency) {
+            if (candle == null) {
+                candle = createCandle(isCryptoCurrency);
+            }
+            return candle;
+        }
+
+        private TradeStatisticsCandle createCandle(boolean isCryptoCurrency) {
+            return new TradeStatisticsCandle(tickStart,
+                    open,
+                    close,
+                    high,
+                    low,
+                    numTrades == 0 ? 0 : getAveragePrice(accumulatedAmount, accumulatedVolume, isCryptoCurrency),
+                    getMedianPrice(),
+                    accumulatedAmount,
+                    accumulatedVolume,
+                    numTrades);
+        }
+
+        private long getMedianPrice() {
+            if (numTrades == 0) {
+                return 0;
+            }
+            if (!pricesSorted) {
+                Arrays.sort(prices, 0, numTrades);
+                pricesSorted = true;
+            }
+            int middle = numTrades / 2;
+            return numTrades % 2 == 1 ?
+                    prices[middle] :
+                    MathUtils.roundDoubleToLong((prices[middle - 1] + prices[middle]) / 2.0);
+        }
+    }
+}
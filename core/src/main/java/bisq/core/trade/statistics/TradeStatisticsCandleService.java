@@ -0,0 +1,153 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.locale.CurrencyUtil;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.Nullable;
+
+/**
+ * Maintains the candles of all markets at every {@link TickUnit}. Trade statistics are added as they arrive, so only
+ * the candles the new trade falls into are updated instead of bucketing the whole history again on each change.
+ *
+ * Besides the candles per currency we keep candles over the trades of all currencies, which are requested by
+ * passing null as currency code.
+ */
+@Singleton
+@Slf4j
+public class TradeStatisticsCandleService {
+    private final Map<String, Series> seriesByCurrencyCode = new HashMap<>();
+    private final Series seriesOfAllCurrencies = new Series(false);
+
+    @Inject
+    public TradeStatisticsCandleService() {
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    public synchronized void add(TradeStatistics3 tradeStatistics) {
+        String currencyCode = tradeStatistics.getCurrency();
+        Series series = seriesByCurrencyCode.computeIfAbsent(currencyCode,
+                code -> new Series(CurrencyUtil.isCryptoCurrency(code)));
+        series.add(tradeStatistics);
+        seriesOfAllCurrencies.add(tradeStatistics);
+    }
+
+    public synchronized void addAll(Collection<TradeStatistics3> tradeStatistics) {
+        long ts = System.currentTimeMillis();
+        tradeStatistics.forEach(this::add);
+        log.info("Adding {} trade statistics to candles took {} ms", tradeStatistics.size(), System.currentTimeMillis() - ts);
+    }
+
+    /**
+     * @param currencyCode  Currency code of the market or null for the trades of all currencies
+     * @param tickUnit      Tick unit of the candle
+     * @param tickStart     Start of the tick as returned by {@link TickUnit#getTickStart(long)}
+     * @return The candle or empty if there were no trades in that tick
+     */
+    public synchronized Optional<TradeStatisticsCandle> getCandle(@Nullable String currencyCode,
+                                                               TickUnit tickUnit,
+                                                               long tickStart) {
+        Series series = getSeries(currencyCode);
+        if (series == null) {
+            return Optional.empty();
+        }
+        TradeStatisticsCandle.Builder builder = series.getCandles(tickUnit).get(tickStart);
+        return builder != null ? Optional.of(builder.build(series.isCryptoCurrency)) : Optional.empty();
+    }
+
+    /**
+     * @param currencyCode  Currency code of the market or null for the trades of all currencies
+     * @param tickUnit      Tick unit of the candles
+     * @param fromDate      Candles starting before that date are excluded
+     * @param toDate        Candles starting at or after that date are excluded
+     * @return The candles with at least one trade, sorted by date
+     */
+    public synchronized List<TradeStatisticsCandle> getCandles(@Nullable String currencyCode,
+                                                            TickUnit tickUnit,
+                                                            long fromDate,
+                                                            long toDate) {
+        List<TradeStatisticsCandle> candles = new ArrayList<>();
+        Series series = getSeries(currencyCode);
+        if (series == null || fromDate >= toDate) {
+            return candles;
+        }
+        series.getCandles(tickUnit).subMap(fromDate, toDate).values()
+                .forEach(builder -> candles.add(builder.build(series.isCryptoCurrency)));
+        return candles;
+    }
+
+    public synchronized Set<String> getCurrencyCodes() {
+        return new HashSet<>(seriesByCurrencyCode.keySet());
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Nullable
+    private Series getSeries(@Nullable String currencyCode) {
+        return currencyCode == null ? seriesOfAllCurrencies : seriesByCurrencyCode.get(currencyCode);
+    }
+
+    private static class Series {
+        private final boolean isCryptoCurrency;
+        private final EnumMap<TickUnit, TreeMap<Long, TradeStatisticsCandle.Builder>> candlesByTickUnit =
+                new EnumMap<>(TickUnit.class);
+
+        Series(boolean isCryptoCurrency) {
+            this.isCryptoCurrency = isCryptoCurrency;
+            for (TickUnit tickUnit : TickUnit.values()) {
+                candlesByTickUnit.put(tickUnit, new TreeMap<>());
+            }
+        }
+
+        void add(TradeStatistics3 tradeStatistics) {
+            LocalDateTime localDateTime = tradeStatistics.getLocalDateTime();
+            candlesByTickUnit.forEach((tickUnit, candles) ->
+                    candles.computeIfAbsent(tickUnit.getTickStart(localDateTime), TradeStatisticsCandle.Builder::new)
+                            .add(tradeStatistics));
+        }
+
+        TreeMap<Long, TradeStatisticsCandle.Builder> getCandles(TickUnit tickUnit) {
+            return candlesByTickUnit.get(tickUnit);
+        }
+    }
+}
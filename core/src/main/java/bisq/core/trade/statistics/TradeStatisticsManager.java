@@ -28,10 +28,15 @@ import bisq.network.p2p.P2PService;
 import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
 
+import bisq.common.Timer;
+import bisq.common.UserThread;
 import bisq.common.config.Config;
 import bisq.common.file.JsonFileManager;
 import bisq.common.util.Utilities;
 
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
+
 import com.google.inject.Inject;
 
 import javax.inject.Named;
@@ -43,8 +48,10 @@ import javafx.collections.ObservableSet;
 import java.time.Instant;
 
 import java.io.File;
+import java.io.IOException;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -57,14 +64,20 @@ import javax.annotation.Nullable;
 @Singleton
 @Slf4j
 public class TradeStatisticsManager {
+    // Trade statistics arrive in bursts, so we wait a bit and write all new ones with one dump.
+    private static final long DUMP_STATISTICS_DELAY_SEC = 5;
+
     private final P2PService p2PService;
     private final PriceFeedService priceFeedService;
     private final TradeStatistics3StorageService tradeStatistics3StorageService;
     private final TradeStatisticsConverter tradeStatisticsConverter;
+    private final TradeStatisticsCandleService tradeStatisticsCandleService;
     private final File storageDir;
     private final boolean dumpStatistics;
     private final ObservableSet<TradeStatistics3> observableTradeStatisticsSet = FXCollections.observableSet();
     private JsonFileManager jsonFileManager;
+    @Nullable
+    private Timer dumpStatisticsTimer;
 
     @Inject
     public TradeStatisticsManager(P2PService p2PService,
@@ -72,12 +85,14 @@ public class TradeStatisticsManager {
                                   TradeStatistics3StorageService tradeStatistics3StorageService,
                                   AppendOnlyDataStoreService appendOnlyDataStoreService,
                                   TradeStatisticsConverter tradeStatisticsConverter,
+                                  TradeStatisticsCandleService tradeStatisticsCandleService,
                                   @Named(Config.STORAGE_DIR) File storageDir,
                                   @Named(Config.DUMP_STATISTICS) boolean dumpStatistics) {
         this.p2PService = p2PService;
         this.priceFeedService = priceFeedService;
         this.tradeStatistics3StorageService = tradeStatistics3StorageService;
         this.tradeStatisticsConverter = tradeStatisticsConverter;
+        this.tradeStatisticsCandleService = tradeStatisticsCandleService;
         this.storageDir = storageDir;
         this.dumpStatistics = dumpStatistics;
 
@@ -87,6 +102,9 @@ public class TradeStatisticsManager {
 
     public void shutDown() {
         tradeStatisticsConverter.shutDown();
+        if (dumpStatisticsTimer != null) {
+            dumpStatisticsTimer.stop();
+        }
         if (jsonFileManager != null) {
             jsonFileManager.shutDown();
         }
@@ -96,11 +114,13 @@ public class TradeStatisticsManager {
         p2PService.getP2PDataStorage().addAppendOnlyDataStoreListener(payload -> {
             if (payload instanceof TradeStatistics3) {
                 TradeStatistics3 tradeStatistics = (TradeStatistics3) payload;
-                if (!tradeStatistics.isValid()) {
+                if (!tradeStatistics.isValid() || observableTradeStatisticsSet.contains(tradeStatistics)) {
                     return;
                 }
+                // Candles need to be updated before listeners of the set get notified
+                tradeStatisticsCandleService.add(tradeStatistics);
                 observableTradeStatisticsSet.add(tradeStatistics);
-                priceFeedService.applyLatestBisqMarketPrice(observableTradeStatisticsSet);
+                priceFeedService.applyLatestBisqMarketPrice(tradeStatistics);
                 maybeDumpStatistics();
             }
         });
@@ -109,9 +129,11 @@ public class TradeStatisticsManager {
                 .filter(e -> e instanceof TradeStatistics3)
                 .map(e -> (TradeStatistics3) e)
                 .filter(TradeStatistics3::isValid)
+                .filter(e -> !observableTradeStatisticsSet.contains(e))
                 .collect(Collectors.toSet());
+        tradeStatisticsCandleService.addAll(set);
         observableTradeStatisticsSet.addAll(set);
-        priceFeedService.applyLatestBisqMarketPrice(observableTradeStatisticsSet);
+        priceFeedService.applyLatestBisqMarketPrice(set);
         maybeDumpStatistics();
     }
 
@@ -120,10 +142,17 @@ public class TradeStatisticsManager {
     }
 
     private void maybeDumpStatistics() {
-        if (!dumpStatistics) {
+        if (!dumpStatistics || dumpStatisticsTimer != null) {
             return;
         }
 
+        dumpStatisticsTimer = UserThread.runAfter(() -> {
+            dumpStatisticsTimer = null;
+            dumpStatistics();
+        }, DUMP_STATISTICS_DELAY_SEC);
+    }
+
+    private void dumpStatistics() {
         if (jsonFileManager == null) {
             jsonFileManager = new JsonFileManager(storageDir);
 
@@ -131,13 +160,13 @@ public class TradeStatisticsManager {
             ArrayList<CurrencyTuple> fiatCurrencyList = CurrencyUtil.getAllSortedFiatCurrencies().stream()
                     .map(e -> new CurrencyTuple(e.getCode(), e.getName(), 8))
                     .collect(Collectors.toCollection(ArrayList::new));
-            jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(fiatCurrencyList), "fiat_currency_list");
+            jsonFileManager.writeObjectToDiscThreaded(fiatCurrencyList, "fiat_currency_list");
 
             ArrayList<CurrencyTuple> cryptoCurrencyList = CurrencyUtil.getAllSortedCryptoCurrencies().stream()
                     .map(e -> new CurrencyTuple(e.getCode(), e.getName(), 8))
                     .collect(Collectors.toCollection(ArrayList::new));
             cryptoCurrencyList.add(0, new CurrencyTuple(Res.getBaseCurrencyCode(), Res.getBaseCurrencyName(), 8));
-            jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(cryptoCurrencyList), "crypto_currency_list");
+            jsonFileManager.writeObjectToDiscThreaded(cryptoCurrencyList, "crypto_currency_list");
 
             Instant yearAgo = Instant.ofEpochSecond(Instant.now().getEpochSecond() - TimeUnit.DAYS.toSeconds(365));
             Set<String> activeCurrencies = observableTradeStatisticsSet.stream()
@@ -149,22 +178,30 @@ public class TradeStatisticsManager {
                     .filter(e -> activeCurrencies.contains(e.code))
                     .map(e -> new CurrencyTuple(e.code, e.name, 8))
                     .collect(Collectors.toCollection(ArrayList::new));
-            jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(activeFiatCurrencyList), "active_fiat_currency_list");
+            jsonFileManager.writeObjectToDiscThreaded(activeFiatCurrencyList, "active_fiat_currency_list");
 
             ArrayList<CurrencyTuple> activeCryptoCurrencyList = cryptoCurrencyList.stream()
                     .filter(e -> activeCurrencies.contains(e.code))
                     .map(e -> new CurrencyTuple(e.code, e.name, 8))
                     .collect(Collectors.toCollection(ArrayList::new));
-            jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(activeCryptoCurrencyList), "active_crypto_currency_list");
+            jsonFileManager.writeObjectToDiscThreaded(activeCryptoCurrencyList, "active_crypto_currency_list");
         }
 
-        List<TradeStatisticsForJson> list = observableTradeStatisticsSet.stream()
-                .map(TradeStatisticsForJson::new)
-                .sorted((o1, o2) -> (Long.compare(o2.tradeDate, o1.tradeDate)))
-                .collect(Collectors.toList());
-        TradeStatisticsForJson[] array = new TradeStatisticsForJson[list.size()];
-        list.toArray(array);
-        jsonFileManager.writeToDiscThreaded(Utilities.objectToJson(array), "trade_statistics");
+        // We only copy the references here, sorting and serializing is done at the writer thread.
+        List<TradeStatistics3> list = new ArrayList<>(observableTradeStatisticsSet);
+        jsonFileManager.writeToDiscThreaded(jsonWriter -> writeTradeStatisticsJson(list, jsonWriter), "trade_statistics");
+    }
+
+    // Writes the same json as Utilities.objectToJson for the array of TradeStatisticsForJson but without building
+    // the array and the json string.
+    private static void writeTradeStatisticsJson(List<TradeStatistics3> list, JsonWriter jsonWriter) throws IOException {
+        list.sort(Comparator.comparingLong(TradeStatistics3::getDateAsLong).reversed());
+        Gson gson = Utilities.getJsonGson();
+        jsonWriter.beginArray();
+        for (TradeStatistics3 tradeStatistics : list) {
+            gson.toJson(new TradeStatisticsForJson(tradeStatistics), TradeStatisticsForJson.class, jsonWriter);
+        }
+        jsonWriter.endArray();
     }
 
     public void maybeRepublishTradeStatistics(Set<Trade> trades,
@@ -22,13 +22,16 @@ import bisq.core.account.witness.AccountAgeWitness;
 import bisq.core.filter.FilterManager;
 import bisq.core.support.dispute.arbitration.arbitrator.ArbitratorManager;
 
+import bisq.network.crypto.SignatureVerificationService;
 import bisq.network.p2p.P2PService;
+import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
 
 import bisq.common.crypto.CryptoException;
 import bisq.common.crypto.KeyRing;
 import bisq.common.crypto.Sig;
+import bisq.common.persistence.PersistenceManager;
 import bisq.common.util.Utilities;
 
 import org.bitcoinj.core.Coin;
@@ -41,7 +44,10 @@ import java.security.KeyPair;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -54,6 +60,7 @@ import static org.mockito.Mockito.*;
 
 public class SignedWitnessServiceTest {
     private SignedWitnessService signedWitnessService;
+    private SignatureVerificationService signatureVerificationService;
     private byte[] account1DataHash;
     private byte[] account2DataHash;
     private byte[] account3DataHash;
@@ -94,7 +101,9 @@ public class SignedWitnessServiceTest {
         keyRing = mock(KeyRing.class);
         p2pService = mock(P2PService.class);
         filterManager = mock(FilterManager.class);
-        signedWitnessService = new SignedWitnessService(keyRing, p2pService, arbitratorManager, null, appendOnlyDataStoreService, null, filterManager);
+        signatureVerificationService = new SignatureVerificationService(mock(PersistenceManager.class));
+        signedWitnessService = new SignedWitnessService(keyRing, p2pService, arbitratorManager, null, appendOnlyDataStoreService, null, filterManager,
+                signatureVerificationService);
         account1DataHash = org.bitcoinj.core.Utils.sha256hash160(new byte[]{1});
         account2DataHash = org.bitcoinj.core.Utils.sha256hash160(new byte[]{2});
         account3DataHash = org.bitcoinj.core.Utils.sha256hash160(new byte[]{3});
@@ -109,8 +118,8 @@ public class SignedWitnessServiceTest {
         peer2KeyPair = Sig.generateKeyPair();
         peer3KeyPair = Sig.generateKeyPair();
         signature1 = arbitrator1Key.signMessage(Utilities.encodeToHex(account1DataHash)).getBytes(Charsets.UTF_8);
-        signature2 = Sig.sign(peer1KeyPair.getPrivate(), Utilities.encodeToHex(account2DataHash).getBytes(Charsets.UTF_8));
-        signature3 = Sig.sign(peer2KeyPair.getPrivate(), Utilities.encodeToHex(account3DataHash).getBytes(Charsets.UTF_8));
+        signature2 = Sig.sign(peer1KeyPair.getPrivate(), account2DataHash);
+        signature3 = Sig.sign(peer2KeyPair.getPrivate(), account3DataHash);
         date1 = getTodayMinusNDays(SIGN_AGE_1);
         date2 = getTodayMinusNDays(SIGN_AGE_2);
         date3 = getTodayMinusNDays(SIGN_AGE_3);
@@ -140,6 +149,25 @@ public class SignedWitnessServiceTest {
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew3));
     }
 
+    @Test
+    public void testIsValidAccountAgeWitnessUpdatedWithSignerChain() {
+        SignedWitness sw1 = new SignedWitness(ARBITRATOR, account1DataHash, signature1, signer1PubKey, witnessOwner1PubKey, date1, tradeAmount1);
+        SignedWitness sw2 = new SignedWitness(TRADE, account2DataHash, signature2, signer2PubKey, witnessOwner2PubKey, date2, tradeAmount2);
+        SignedWitness sw3 = new SignedWitness(TRADE, account3DataHash, signature3, signer3PubKey, witnessOwner3PubKey, date3, tradeAmount3);
+
+        signedWitnessService.addToMap(sw1);
+        signedWitnessService.addToMap(sw3);
+        assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
+
+        // The missing link of the chain arrives after aew3 has been checked
+        signedWitnessService.addToMap(sw2);
+        assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew3));
+
+        signedWitnessService.removeSignedWitness(sw1);
+        assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
+        assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
+    }
+
     @Test
     public void testIsValidAccountAgeWitnessArbitratorSignatureProblem() {
         signature1 = new byte[]{1, 2, 3};
@@ -174,13 +202,29 @@ public class SignedWitnessServiceTest {
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
     }
 
+    @Test
+    public void testTamperedPeerSignatureIsRejectedAndNotRemembered() throws Exception {
+        // A well formed signature of the signer, but over other data than the signed account age witness
+        byte[] tamperedSignature = Sig.sign(peer1KeyPair.getPrivate(), account3DataHash);
+        SignedWitness tampered = new SignedWitness(TRADE, account2DataHash, tamperedSignature, signer2PubKey, witnessOwner2PubKey, date2, tradeAmount2);
+        SignedWitness valid = new SignedWitness(TRADE, account2DataHash, signature2, signer2PubKey, witnessOwner2PubKey, date2, tradeAmount2);
+
+        assertFalse(signedWitnessService.verifySignature(tampered));
+        assertTrue(signedWitnessService.verifySignature(valid));
+
+        // Only the valid signature got stored in the persisted verified signatures, so a failing verification is
+        // not repeated for the valid one but still done for the tampered one.
+        assertFalse(signatureVerificationService.verify(new P2PDataStorage.ByteArray(tampered.getHash()), () -> false));
+        assertTrue(signatureVerificationService.verify(new P2PDataStorage.ByteArray(valid.getHash()), () -> false));
+    }
+
     @Test
     public void testIsValidSelfSignatureOk() throws Exception {
         KeyPair peer1KeyPair = Sig.generateKeyPair();
         signer2PubKey = Sig.getPublicKeyBytes(peer1KeyPair.getPublic());
 
-        signature2 = Sig.sign(peer1KeyPair.getPrivate(), Utilities.encodeToHex(account2DataHash).getBytes(Charsets.UTF_8));
-        signature3 = Sig.sign(peer1KeyPair.getPrivate(), Utilities.encodeToHex(account3DataHash).getBytes(Charsets.UTF_8));
+        signature2 = Sig.sign(peer1KeyPair.getPrivate(), account2DataHash);
+        signature3 = Sig.sign(peer1KeyPair.getPrivate(), account3DataHash);
 
         SignedWitness sw1 = new SignedWitness(ARBITRATOR, account1DataHash, signature1, signer1PubKey, signer2PubKey, date1, tradeAmount1);
         SignedWitness sw2 = new SignedWitness(TRADE, account2DataHash, signature2, signer2PubKey, signer2PubKey, date2, tradeAmount2);
@@ -204,8 +248,8 @@ public class SignedWitnessServiceTest {
         byte[] user1PubKey = Sig.getPublicKeyBytes(peer1KeyPair.getPublic());
         byte[] user2PubKey = Sig.getPublicKeyBytes(peer2KeyPair.getPublic());
 
-        signature2 = Sig.sign(peer1KeyPair.getPrivate(), Utilities.encodeToHex(account2DataHash).getBytes(Charsets.UTF_8));
-        signature3 = Sig.sign(peer2KeyPair.getPrivate(), Utilities.encodeToHex(account3DataHash).getBytes(Charsets.UTF_8));
+        signature2 = Sig.sign(peer1KeyPair.getPrivate(), account2DataHash);
+        signature3 = Sig.sign(peer2KeyPair.getPrivate(), account3DataHash);
 
         SignedWitness sw1 = new SignedWitness(ARBITRATOR, account1DataHash, signature1, signer1PubKey, user1PubKey, date1, tradeAmount1);
         SignedWitness sw2 = new SignedWitness(TRADE, account2DataHash, signature2, user1PubKey, user2PubKey, date2, tradeAmount2);
@@ -271,13 +315,9 @@ public class SignedWitnessServiceTest {
         KeyPair peer2KeyPair = Sig.generateKeyPair();
         KeyPair peer3KeyPair = Sig.generateKeyPair();
 
-        String account1DataHashAsHexString = Utilities.encodeToHex(account1DataHash);
-        String account2DataHashAsHexString = Utilities.encodeToHex(account2DataHash);
-        String account3DataHashAsHexString = Utilities.encodeToHex(account3DataHash);
-
-        byte[] signature1 = Sig.sign(peer3KeyPair.getPrivate(), account1DataHashAsHexString.getBytes(Charsets.UTF_8));
-        byte[] signature2 = Sig.sign(peer1KeyPair.getPrivate(), account2DataHashAsHexString.getBytes(Charsets.UTF_8));
-        byte[] signature3 = Sig.sign(peer2KeyPair.getPrivate(), account3DataHashAsHexString.getBytes(Charsets.UTF_8));
+        byte[] signature1 = Sig.sign(peer3KeyPair.getPrivate(), account1DataHash);
+        byte[] signature2 = Sig.sign(peer1KeyPair.getPrivate(), account2DataHash);
+        byte[] signature3 = Sig.sign(peer2KeyPair.getPrivate(), account3DataHash);
 
         byte[] signer1PubKey = Sig.getPublicKeyBytes(peer3KeyPair.getPublic());
         byte[] signer2PubKey = Sig.getPublicKeyBytes(peer1KeyPair.getPublic());
@@ -328,7 +368,7 @@ public class SignedWitnessServiceTest {
             } else {
                 signerKeyPair = signedKeyPair;
                 signedKeyPair = Sig.generateKeyPair();
-                signature = Sig.sign(signedKeyPair.getPrivate(), accountDataHashAsHexString.getBytes(Charsets.UTF_8));
+                signature = Sig.sign(signedKeyPair.getPrivate(), accountDataHash);
                 signerPubKey = Sig.getPublicKeyBytes(signerKeyPair.getPublic());
             }
             byte[] witnessOwnerPubKey = Sig.getPublicKeyBytes(signedKeyPair.getPublic());
@@ -340,6 +380,10 @@ public class SignedWitnessServiceTest {
     }
 
 
+    private List<String> bannedPubKeysAsHex(byte[]... pubKeys) {
+        return Arrays.stream(pubKeys).map(Utilities::bytesAsHexString).collect(Collectors.toList());
+    }
+
     private long getTodayMinusNDays(long days) {
         return Instant.ofEpochMilli(new Date().getTime()).minus(days, ChronoUnit.DAYS).toEpochMilli();
     }
@@ -398,6 +442,7 @@ public class SignedWitnessServiceTest {
 
         // Second account is banned, first account is still a signer but the other two are no longer signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(true);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner2PubKey));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -405,6 +450,7 @@ public class SignedWitnessServiceTest {
         // First account is banned, no accounts in the tree below it are signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner1PubKey))).thenReturn(true);
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(false);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner1PubKey, witnessOwner2PubKey));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -435,6 +481,7 @@ public class SignedWitnessServiceTest {
 
         // Only second account is banned, first account is still a signer but the other two are no longer signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(true);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner2PubKey));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -442,6 +489,7 @@ public class SignedWitnessServiceTest {
         // Only first account is banned, account2 and account3 are still signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner1PubKey))).thenReturn(true);
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(false);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner1PubKey, witnessOwner2PubKey));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -468,7 +516,7 @@ public class SignedWitnessServiceTest {
 //        signature3 = Sig.sign(peer2KeyPair.getPrivate(), Utilities.encodeToHex(account3DataHash).getBytes(Charsets.UTF_8));
 
         // sw1 also signs sw3 (not supported yet but a possible addition for a more robust system)
-        var signature3p = Sig.sign(peer1KeyPair.getPrivate(), Utilities.encodeToHex(account3DataHash).getBytes(Charsets.UTF_8));
+        var signature3p = Sig.sign(peer1KeyPair.getPrivate(), account3DataHash);
         var signer3pPubKey = witnessOwner1PubKey;
         var date3p = date3;
         var tradeAmount3p = tradeAmount3;
@@ -485,6 +533,7 @@ public class SignedWitnessServiceTest {
 
         // First account is banned, the other two are still signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner1PubKey))).thenReturn(true);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner1PubKey));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -492,6 +541,7 @@ public class SignedWitnessServiceTest {
         // Second account is banned, the other two are still signers
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner1PubKey))).thenReturn(false);
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(true);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner1PubKey, witnessOwner2PubKey));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertTrue(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -499,6 +549,7 @@ public class SignedWitnessServiceTest {
         // First and second account is banned, the third is no longer a signer
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner1PubKey))).thenReturn(true);
         when(filterManager.isWitnessSignerPubKeyBanned(Utilities.bytesAsHexString(witnessOwner2PubKey))).thenReturn(true);
+        signedWitnessService.onBannedSignerPubKeysChanged(bannedPubKeysAsHex(witnessOwner1PubKey, witnessOwner2PubKey));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew1));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew2));
         assertFalse(signedWitnessService.isSignerAccountAgeWitness(aew3));
@@ -0,0 +1,78 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.account.witness;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactAccountAgeWitnessMapTest {
+
+    @Test
+    public void testContainsSameEntriesAsMap() {
+        Random random = new Random(7);
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> map = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            byte[] hash = new byte[CompactAccountAgeWitnessMap.HASH_LENGTH];
+            random.nextBytes(hash);
+            AccountAgeWitness witness = new AccountAgeWitness(hash, random.nextLong());
+            map.put(witness.getHashAsByteArray(), witness);
+        }
+
+        CompactAccountAgeWitnessMap compactMap = CompactAccountAgeWitnessMap.from(map.values()).get();
+
+        assertEquals(map.size(), compactMap.size());
+        map.forEach((hash, witness) -> {
+            assertTrue(compactMap.containsKey(hash));
+            assertEquals(witness, compactMap.get(new P2PDataStorage.ByteArray(hash.bytes.clone())));
+        });
+        assertEquals(map, new HashMap<>(compactMap));
+        assertEquals(map.keySet(), compactMap.keySet());
+
+        byte[] unknownHash = new byte[CompactAccountAgeWitnessMap.HASH_LENGTH];
+        random.nextBytes(unknownHash);
+        assertFalse(compactMap.containsKey(new P2PDataStorage.ByteArray(unknownHash)));
+        assertNull(compactMap.get(new P2PDataStorage.ByteArray(new byte[3])));
+        assertNull(compactMap.get("not a hash"));
+    }
+
+    @Test
+    public void testEmpty() {
+        CompactAccountAgeWitnessMap compactMap = CompactAccountAgeWitnessMap.from(new ArrayList<>()).get();
+        assertTrue(compactMap.isEmpty());
+        assertFalse(compactMap.containsKey(new P2PDataStorage.ByteArray(new byte[CompactAccountAgeWitnessMap.HASH_LENGTH])));
+    }
+
+    @Test
+    public void testRejectsInvalidHash() {
+        List<PersistableNetworkPayload> payloads = List.of(new AccountAgeWitness(new byte[0], 1));
+        assertFalse(CompactAccountAgeWitnessMap.from(payloads).isPresent());
+    }
+}
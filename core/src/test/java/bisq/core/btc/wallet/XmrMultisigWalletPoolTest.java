@@ -0,0 +1,230 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.btc.wallet;
+
+import bisq.core.trade.Trade;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+
+import monero.wallet.MoneroWallet;
+import monero.wallet.model.MoneroWalletListenerI;
+
+public class XmrMultisigWalletPoolTest {
+    private static final long IDLE_TIMEOUT_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private long now;
+    private List<MoneroWallet> closedWallets;
+    private XmrMultisigWalletPool pool;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        closedWallets = new ArrayList<>();
+        pool = new XmrMultisigWalletPool(tradeId -> mock(MoneroWallet.class),
+                closedWallets::add,
+                2,
+                IDLE_TIMEOUT_MS,
+                () -> now);
+    }
+
+    @Test
+    public void testGetOrOpenReturnsOpenWallet() {
+        MoneroWallet wallet = pool.getOrOpen("1");
+        assertSame(wallet, pool.getOrOpen("1"));
+        assertEquals(1, pool.getNumOpened());
+    }
+
+    @Test
+    public void testClosesLeastRecentlyUsedWallet() {
+        MoneroWallet wallet1 = pool.getOrOpen("1");
+        now += TimeUnit.MINUTES.toMillis(2);
+        pool.getOrOpen("2");
+        now += TimeUnit.MINUTES.toMillis(2);
+        pool.getOrOpen("3");
+
+        assertEquals(2, pool.getNumOpenWallets());
+        assertEquals(Collections.singletonList(wallet1), closedWallets);
+
+        MoneroWallet reopened = pool.getOrOpen("1");
+        assertNotSame(wallet1, reopened);
+        assertEquals(1, pool.getNumReopened());
+    }
+
+    @Test
+    public void testDoesNotCloseRecentlyUsedWallet() {
+        pool.getOrOpen("1");
+        pool.getOrOpen("2");
+        pool.getOrOpen("3");
+
+        assertEquals(3, pool.getNumOpenWallets());
+        assertTrue(closedWallets.isEmpty());
+    }
+
+    @Test
+    public void testDoesNotCloseWalletWithListeners() {
+        MoneroWallet wallet1 = pool.getOrOpen("1");
+        when(wallet1.getListeners()).thenReturn(Collections.singleton(mock(MoneroWalletListenerI.class)));
+        now += TimeUnit.MINUTES.toMillis(2);
+        MoneroWallet wallet2 = pool.getOrOpen("2");
+        now += TimeUnit.MINUTES.toMillis(2);
+        pool.getOrOpen("3");
+
+        assertEquals(Collections.singletonList(wallet2), closedWallets);
+    }
+
+    @Test
+    public void testCloseIdleWallets() {
+        MoneroWallet wallet1 = pool.getOrOpen("1");
+        now += IDLE_TIMEOUT_MS / 2;
+        pool.getOrOpen("2");
+        now += IDLE_TIMEOUT_MS / 2;
+        pool.closeIdleWallets();
+
+        assertEquals(Collections.singletonList(wallet1), closedWallets);
+        assertEquals(1, pool.getNumOpenWallets());
+    }
+
+    @Test
+    public void testDoesNotCloseAcquiredWallet() {
+        MoneroWallet wallet = pool.acquire("1");
+        now += 2 * IDLE_TIMEOUT_MS;
+        pool.closeIdleWallets();
+        pool.getOrOpen("2");
+        pool.getOrOpen("3");
+        assertTrue(closedWallets.isEmpty());
+
+        pool.release("1");
+        now += IDLE_TIMEOUT_MS;
+        pool.closeIdleWallets();
+        assertTrue(closedWallets.contains(wallet));
+    }
+
+    @Test
+    public void testCloseOfAcquiredWalletWaitsForRelease() {
+        MoneroWallet wallet = pool.acquire("1");
+        pool.acquire("1");
+        pool.close("1");
+        pool.release("1");
+        assertTrue(closedWallets.isEmpty());
+
+        pool.release("1");
+        assertEquals(Collections.singletonList(wallet), closedWallets);
+        assertEquals(0, pool.getNumOpenWallets());
+    }
+
+    @Test
+    public void testSyncPeriodFollowsTradePhase() {
+        MoneroWallet wallet = pool.getOrOpen("1");
+        verify(wallet).startSyncing(XmrMultisigWalletPool.getSyncPeriodMs(null));
+
+        pool.setTradePhase("1", Trade.Phase.FIAT_SENT);
+        verify(wallet).startSyncing(XmrMultisigWalletPool.getSyncPeriodMs(Trade.Phase.FIAT_SENT));
+        assertEquals(2, pool.getSyncRequestsPerMinute(), 0.001);
+
+        pool.setTradePhase("1", Trade.Phase.WITHDRAWN);
+        assertEquals(Collections.singletonList(wallet), closedWallets);
+        assertEquals(0, pool.getNumOpenWallets());
+    }
+
+    @Test
+    public void testCloseForgetsTradePhase() {
+        pool.setTradePhase("1", Trade.Phase.FIAT_SENT);
+        pool.close("1");
+
+        MoneroWallet wallet = pool.getOrOpen("1");
+        verify(wallet).startSyncing(XmrMultisigWalletPool.getSyncPeriodMs(null));
+    }
+
+    @Test(timeout = 10000)
+    public void testOpeningWalletDoesNotBlockOtherTrades() throws Exception {
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool = new XmrMultisigWalletPool(tradeId -> {
+            if (tradeId.equals("1")) {
+                opening.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return mock(MoneroWallet.class);
+        }, closedWallets::add, 2, IDLE_TIMEOUT_MS, () -> now);
+
+        CompletableFuture<MoneroWallet> wallet1 = CompletableFuture.supplyAsync(() -> pool.getOrOpen("1"));
+        opening.await();
+
+        pool.getOrOpen("2");
+        pool.setTradePhase("2", Trade.Phase.FIAT_SENT);
+        assertEquals(1, pool.getNumOpenWallets());
+        assertFalse(wallet1.isDone());
+
+        release.countDown();
+        assertSame(wallet1.get(), pool.getOrOpen("1"));
+        assertEquals(2, pool.getNumOpened());
+    }
+
+    @Test(timeout = 10000)
+    public void testRemoveAllWaitsForOpeningWallet() throws Exception {
+        CountDownLatch opening = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        pool = new XmrMultisigWalletPool(tradeId -> {
+            opening.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return mock(MoneroWallet.class);
+        }, closedWallets::add, 2, IDLE_TIMEOUT_MS, () -> now);
+
+        CompletableFuture<MoneroWallet> wallet = CompletableFuture.supplyAsync(() -> pool.getOrOpen("1"));
+        opening.await();
+        CompletableFuture<List<MoneroWallet>> removedWallets = CompletableFuture.supplyAsync(pool::removeAll);
+        Thread.sleep(100);
+        assertFalse(removedWallets.isDone());
+
+        release.countDown();
+        assertEquals(Collections.singletonList(wallet.get()), removedWallets.get());
+        try {
+            pool.getOrOpen("2");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ignore) {
+        }
+    }
+}
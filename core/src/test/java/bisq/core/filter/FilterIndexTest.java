@@ -0,0 +1,91 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.filter;
+
+import bisq.core.payment.payload.PaymentMethod;
+import bisq.core.payment.payload.PerfectMoneyAccountPayload;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FilterIndexTest {
+
+    @Test
+    public void testEmptyIndexBansNothing() {
+        FilterIndex index = FilterIndex.of(null);
+
+        assertFalse(index.isOfferIdBanned("offerId"));
+        assertFalse(index.isCurrencyBanned("EUR"));
+        assertFalse(index.isNodeAddressBannedFromNetwork(new NodeAddress("localhost", 9999)));
+        assertFalse(index.isPaymentAccountDataBanned(newPerfectMoneyAccountPayload("123")));
+    }
+
+    @Test
+    public void testBanLists() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedOfferIds()).thenReturn(List.of("offerId"));
+        when(filter.getNodeAddressesBannedFromTrading()).thenReturn(List.of("localhost:9999"));
+        when(filter.getNodeAddressesBannedFromNetwork()).thenReturn(Set.of("localhost:8888"));
+        when(filter.getBannedCurrencies()).thenReturn(List.of("EUR"));
+        // Filters created before the list was added have null here
+        when(filter.getBannedPaymentMethods()).thenReturn(null);
+
+        FilterIndex index = FilterIndex.of(filter);
+
+        assertTrue(index.isOfferIdBanned("offerId"));
+        assertFalse(index.isOfferIdBanned("otherOfferId"));
+        assertTrue(index.isNodeAddressBanned(new NodeAddress("localhost", 9999)));
+        assertFalse(index.isNodeAddressBannedFromNetwork(new NodeAddress("localhost", 9999)));
+        assertTrue(index.isNodeAddressBannedFromNetwork(new NodeAddress("localhost", 8888)));
+        assertTrue(index.isCurrencyBanned("EUR"));
+        assertFalse(index.isCurrencyBanned("USD"));
+        assertFalse(index.isPaymentMethodBanned(PaymentMethod.PERFECT_MONEY_ID));
+    }
+
+    @Test
+    public void testPaymentAccountData() {
+        Filter filter = mock(Filter.class);
+        when(filter.getBannedPaymentAccounts()).thenReturn(List.of(
+                new PaymentAccountFilter(PaymentMethod.PERFECT_MONEY_ID, "getAccountNr", "ABC123"),
+                new PaymentAccountFilter(PaymentMethod.PERFECT_MONEY_ID, "getUnknownField", "XYZ"),
+                new PaymentAccountFilter(PaymentMethod.SEPA_ID, "getAccountNr", "DEF456")));
+
+        FilterIndex index = FilterIndex.of(filter);
+
+        // Values are compared case insensitive
+        assertTrue(index.isPaymentAccountDataBanned(newPerfectMoneyAccountPayload("abc123")));
+        assertFalse(index.isPaymentAccountDataBanned(newPerfectMoneyAccountPayload("abc")));
+        // The value is only banned for the payment method of the filter entry
+        assertFalse(index.isPaymentAccountDataBanned(newPerfectMoneyAccountPayload("DEF456")));
+    }
+
+    private static PerfectMoneyAccountPayload newPerfectMoneyAccountPayload(String accountNr) {
+        PerfectMoneyAccountPayload payload = new PerfectMoneyAccountPayload(PaymentMethod.PERFECT_MONEY_ID, "id");
+        payload.setAccountNr(accountNr);
+        return payload;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.network.p2p.inventory;
+
+import bisq.core.account.witness.AccountAgeWitness;
+import bisq.core.dao.monitoring.BlindVoteStateMonitoringService;
+import bisq.core.dao.monitoring.DaoStateMonitoringService;
+import bisq.core.dao.monitoring.ProposalStateMonitoringService;
+import bisq.core.dao.state.DaoStateService;
+import bisq.core.filter.FilterManager;
+import bisq.core.network.p2p.inventory.messages.GetInventoryRequest;
+import bisq.core.network.p2p.inventory.messages.GetInventoryResponse;
+import bisq.core.network.p2p.inventory.model.InventoryItem;
+
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.PeerManager;
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.mockito.ArgumentCaptor;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GetInventoryRequestHandlerTest {
+    private final Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> appendOnlyStore = new HashMap<>();
+    private NetworkNode networkNode;
+    private P2PDataStorage p2PDataStorage;
+    private Connection connection;
+    private GetInventoryRequestHandler handler;
+    private int numPayloads;
+
+    @Before
+    public void setUp() {
+        networkNode = mock(NetworkNode.class);
+        p2PDataStorage = mock(P2PDataStorage.class);
+        when(p2PDataStorage.getMapForDataResponse(anyString())).thenReturn(appendOnlyStore);
+        when(p2PDataStorage.getNumAppendOnlyPayloads()).thenAnswer(invocation -> appendOnlyStore.size());
+        connection = mock(Connection.class);
+        handler = newHandler();
+    }
+
+    @Test
+    public void testCachedInventoryMatchesRecountAfterAdds() {
+        addToStore();
+        addToStore();
+        assertEquals("2", requestNumAccountAgeWitnesses(handler, "1.5.0"));
+
+        handler.onAdded(addToStore());
+        handler.onAdded(addToStore());
+        handler.onAdded(addToStore());
+
+        assertEquals("5", requestNumAccountAgeWitnesses(handler, "1.5.0"));
+        assertEquals(requestNumAccountAgeWitnesses(newHandler(), "1.5.0"),
+                requestNumAccountAgeWitnesses(handler, "1.5.0"));
+        // The counts got incremented, so we did not need to count again
+        verify(p2PDataStorage, times(2)).getMapForDataResponse("1.5.0");
+    }
+
+    @Test
+    public void testPayloadsAddedWithoutNotificationAreCounted() {
+        addToStore();
+        assertEquals("1", requestNumAccountAgeWitnesses(handler, "1.5.0"));
+
+        // Payloads from the initial data response are added without notifying the listeners
+        addToStore();
+        addToStore();
+
+        assertEquals("3", requestNumAccountAgeWitnesses(handler, "1.5.0"));
+        verify(p2PDataStorage, times(2)).getMapForDataResponse("1.5.0");
+    }
+
+    @Test
+    public void testOnAddedUpdatesAllCachedVersions() {
+        addToStore();
+        requestNumAccountAgeWitnesses(handler, "1.5.0");
+        requestNumAccountAgeWitnesses(handler, "1.6.0");
+
+        handler.onAdded(addToStore());
+
+        assertEquals("2", requestNumAccountAgeWitnesses(handler, "1.5.0"));
+        assertEquals("2", requestNumAccountAgeWitnesses(handler, "1.6.0"));
+        verify(p2PDataStorage, times(1)).getMapForDataResponse("1.5.0");
+        verify(p2PDataStorage, times(1)).getMapForDataResponse("1.6.0");
+    }
+
+    @Test
+    public void testVersionCacheIsClearedWhenFull() {
+        addToStore();
+        for (int i = 0; i < 10; i++) {
+            requestNumAccountAgeWitnesses(handler, "1." + i);
+        }
+        // All 10 versions are cached
+        for (int i = 0; i < 10; i++) {
+            requestNumAccountAgeWitnesses(handler, "1." + i);
+            verify(p2PDataStorage, times(1)).getMapForDataResponse("1." + i);
+        }
+
+        // An 11th version clears the cache, so the other versions get counted again
+        assertEquals("1", requestNumAccountAgeWitnesses(handler, "2.0"));
+        requestNumAccountAgeWitnesses(handler, "1.0");
+        verify(p2PDataStorage, times(2)).getMapForDataResponse("1.0");
+
+        // A cached version is not counted again
+        requestNumAccountAgeWitnesses(handler, "2.0");
+        verify(p2PDataStorage, times(1)).getMapForDataResponse("2.0");
+    }
+
+    private GetInventoryRequestHandler newHandler() {
+        return new GetInventoryRequestHandler(networkNode,
+                mock(PeerManager.class),
+                p2PDataStorage,
+                mock(DaoStateService.class),
+                mock(DaoStateMonitoringService.class),
+                mock(ProposalStateMonitoringService.class),
+                mock(BlindVoteStateMonitoringService.class),
+                mock(FilterManager.class),
+                12);
+    }
+
+    private PersistableNetworkPayload addToStore() {
+        numPayloads++;
+        AccountAgeWitness payload = new AccountAgeWitness(new byte[]{(byte) numPayloads}, numPayloads);
+        appendOnlyStore.put(new P2PDataStorage.ByteArray(payload.getHash()), payload);
+        return payload;
+    }
+
+    private String requestNumAccountAgeWitnesses(GetInventoryRequestHandler handler, String version) {
+        handler.onMessage(new GetInventoryRequest(version), connection);
+        ArgumentCaptor<GetInventoryResponse> captor = ArgumentCaptor.forClass(GetInventoryResponse.class);
+        verify(networkNode, atLeastOnce()).sendMessage(eq(connection), captor.capture());
+        return captor.getValue().getInventory().get(InventoryItem.AccountAgeWitness);
+    }
+}
@@ -17,11 +17,28 @@
 
 package bisq.core.offer;
 
+import bisq.core.monetary.Price;
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import java.time.Instant;
+
 import org.junit.Test;
 
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.marketPriceMargin;
+import static bisq.core.offer.OfferMaker.useMarketBasedPrice;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class OfferTest {
@@ -45,4 +62,39 @@ public class OfferTest {
         Offer offer = new Offer(payload);
         assertTrue(offer.isRange());
     }
+
+    @Test
+    public void testMarketBasedPriceIsCachedForPriceEpoch() {
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        when(priceFeedService.getMarketPrice(anyString()))
+                .thenReturn(new MarketPrice("USD", 100, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.getPriceEpoch()).thenReturn(1L);
+
+        Offer offer = make(btcUsdOffer.but(with(useMarketBasedPrice, true), with(marketPriceMargin, 0.01)));
+        offer.setPriceFeedService(priceFeedService);
+
+        Price price = offer.getPrice();
+        assertEquals(990000, price.getValue());
+        assertSame(price, offer.getPrice());
+        assertSame(offer.getVolume(), offer.getVolume());
+        verify(priceFeedService, times(1)).getMarketPrice(anyString());
+
+        when(priceFeedService.getMarketPrice(anyString()))
+                .thenReturn(new MarketPrice("USD", 200, Instant.now().getEpochSecond(), true));
+        when(priceFeedService.getPriceEpoch()).thenReturn(2L);
+        assertEquals(1980000, offer.getPrice().getValue());
+    }
+
+    @Test
+    public void testOutdatedMarketPriceIsNotCached() {
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        long outdatedTimestamp = Instant.now().getEpochSecond() - MarketPrice.MARKET_PRICE_MAX_AGE_SEC - 1;
+        when(priceFeedService.getMarketPrice(anyString()))
+                .thenReturn(new MarketPrice("USD", 100, outdatedTimestamp, true));
+
+        Offer offer = make(btcUsdOffer.but(with(useMarketBasedPrice, true)));
+        offer.setPriceFeedService(priceFeedService);
+
+        assertNull(offer.getPrice());
+    }
 }
@@ -0,0 +1,199 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.offer;
+
+import bisq.core.provider.mempool.MempoolService;
+import bisq.core.provider.price.MarketPrice;
+import bisq.core.provider.price.PriceFeedService;
+
+import bisq.network.p2p.P2PService;
+
+import bisq.common.handlers.ErrorMessageHandler;
+
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static bisq.core.offer.OfferMaker.btcUsdOffer;
+import static bisq.core.offer.OfferMaker.direction;
+import static bisq.core.offer.OfferMaker.id;
+import static com.natpryce.makeiteasy.MakeItEasy.make;
+import static com.natpryce.makeiteasy.MakeItEasy.with;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TriggerPriceServiceTest {
+    private OpenOfferManager openOfferManager;
+    private ObservableList<OpenOffer> openOffers;
+    private IntegerProperty priceUpdateCounter;
+    private MarketPrice currentMarketPrice;
+
+    @Before
+    public void setUp() {
+        P2PService p2PService = mock(P2PService.class);
+        when(p2PService.isBootstrapped()).thenReturn(true);
+        openOfferManager = mock(OpenOfferManager.class);
+        openOffers = FXCollections.observableArrayList();
+        when(openOfferManager.getObservableList()).thenReturn(openOffers);
+        PriceFeedService priceFeedService = mock(PriceFeedService.class);
+        priceUpdateCounter = new SimpleIntegerProperty();
+        when(priceFeedService.updateCounterProperty()).thenReturn(priceUpdateCounter);
+        when(priceFeedService.getMarketPrice("USD")).thenAnswer(invocation -> currentMarketPrice);
+
+        new TriggerPriceService(p2PService, openOfferManager, mock(MempoolService.class), priceFeedService)
+                .onAllServicesInitialized();
+    }
+
+    private void updateMarketPrice(long priceAsLong) {
+        currentMarketPrice = marketPrice(priceAsLong);
+        priceUpdateCounter.set(priceUpdateCounter.get() + 1);
+    }
+
+    private static OpenOffer openOffer(String offerId, OfferPayload.Direction offerDirection, long triggerPrice) {
+        return new OpenOffer(make(btcUsdOffer.but(with(id, offerId), with(direction, offerDirection))), triggerPrice);
+    }
+
+    private static MarketPrice marketPrice(long priceAsLong) {
+        return new MarketPrice("USD", priceAsLong / 10000d, 0, true);
+    }
+
+    @Test
+    public void testWasTriggered() {
+        OpenOffer sellOffer = openOffer("sell", OfferPayload.Direction.SELL, 500000);
+        assertTrue(TriggerPriceService.wasTriggered(marketPrice(490000), sellOffer));
+        assertFalse(TriggerPriceService.wasTriggered(marketPrice(500000), sellOffer));
+        assertFalse(TriggerPriceService.wasTriggered(marketPrice(510000), sellOffer));
+
+        OpenOffer buyOffer = openOffer("buy", OfferPayload.Direction.BUY, 500000);
+        assertFalse(TriggerPriceService.wasTriggered(marketPrice(490000), buyOffer));
+        assertFalse(TriggerPriceService.wasTriggered(marketPrice(500000), buyOffer));
+        assertTrue(TriggerPriceService.wasTriggered(marketPrice(510000), buyOffer));
+
+        OpenOffer noTriggerOffer = openOffer("none", OfferPayload.Direction.SELL, 0);
+        assertFalse(TriggerPriceService.wasTriggered(marketPrice(490000), noTriggerOffer));
+    }
+
+    @Test
+    public void testGetCrossedOffers() {
+        OpenOffer sellOffer = openOffer("sell", OfferPayload.Direction.SELL, 500000);
+        OpenOffer buyOffer = openOffer("buy", OfferPayload.Direction.BUY, 600000);
+        TriggerPriceIndex index = new TriggerPriceIndex();
+        index.add(sellOffer);
+        index.add(buyOffer);
+        index.add(openOffer("none", OfferPayload.Direction.SELL, 0));
+
+        assertEquals(Collections.singletonList(sellOffer), index.getCrossedOffers(null, 490000));
+        assertEquals(Collections.emptyList(), index.getCrossedOffers(490000, 480000));
+        assertEquals(Collections.singletonList(sellOffer), index.getCrossedOffers(550000, 490000));
+        assertEquals(Collections.emptyList(), index.getCrossedOffers(510000, 500000));
+        assertEquals(Collections.singletonList(buyOffer), index.getCrossedOffers(550000, 610000));
+        assertEquals(Collections.emptyList(), index.getCrossedOffers(550000, 600000));
+
+        index.remove(sellOffer);
+        assertEquals(Collections.emptyList(), index.getCrossedOffers(550000, 490000));
+        index.remove(buyOffer);
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void testGetCrossedOffersMatchesWasTriggered() {
+        Random random = new Random(1);
+        TriggerPriceIndex index = new TriggerPriceIndex();
+        List<OpenOffer> openOffers = Arrays.asList(new OpenOffer[50]);
+        for (int i = 0; i < openOffers.size(); i++) {
+            OfferPayload.Direction offerDirection = i % 2 == 0 ? OfferPayload.Direction.SELL : OfferPayload.Direction.BUY;
+            openOffers.set(i, openOffer(String.valueOf(i), offerDirection, 400000 + random.nextInt(200000)));
+            index.add(openOffers.get(i));
+        }
+
+        long previousPrice = 500000;
+        for (int i = 0; i < 100; i++) {
+            long price = 380000 + random.nextInt(240000);
+            MarketPrice previousMarketPrice = marketPrice(previousPrice);
+            MarketPrice marketPrice = marketPrice(price);
+            Set<OpenOffer> expected = openOffers.stream()
+                    .filter(openOffer -> TriggerPriceService.wasTriggered(marketPrice, openOffer))
+                    .filter(openOffer -> !TriggerPriceService.wasTriggered(previousMarketPrice, openOffer))
+                    .collect(Collectors.toSet());
+            assertEquals(expected, new HashSet<>(index.getCrossedOffers(previousPrice, price)));
+            previousPrice = price;
+        }
+    }
+
+    @Test
+    public void testReactivatedTriggeredOfferIsDeactivatedAgain() {
+        OpenOffer openOffer = openOffer("sell", OfferPayload.Direction.SELL, 500000);
+        updateMarketPrice(510000);
+        openOffers.add(openOffer);
+
+        // The offer is deactivated by the user while the market price crosses its trigger price
+        openOffer.setState(OpenOffer.State.DEACTIVATED);
+        updateMarketPrice(490000);
+        verify(openOfferManager, never()).deactivateOpenOffer(any(), any(), any());
+
+        // Once activated again it gets deactivated without the market price crossing the trigger price again
+        openOffer.setState(OpenOffer.State.AVAILABLE);
+        verify(openOfferManager).deactivateOpenOffer(eq(openOffer), any(), any());
+    }
+
+    @Test
+    public void testFailedDeactivationIsRetried() {
+        doAnswer(invocation -> {
+            ErrorMessageHandler errorMessageHandler = invocation.getArgument(2);
+            errorMessageHandler.handleErrorMessage("error");
+            return null;
+        }).when(openOfferManager).deactivateOpenOffer(any(), any(), any());
+
+        OpenOffer openOffer = openOffer("sell", OfferPayload.Direction.SELL, 500000);
+        updateMarketPrice(510000);
+        openOffers.add(openOffer);
+
+        updateMarketPrice(490000);
+        verify(openOfferManager, times(1)).deactivateOpenOffer(eq(openOffer), any(), any());
+
+        updateMarketPrice(480000);
+        verify(openOfferManager, times(2)).deactivateOpenOffer(eq(openOffer), any(), any());
+
+        // No retry once the offer got removed
+        openOffers.remove(openOffer);
+        updateMarketPrice(470000);
+        verify(openOfferManager, times(2)).deactivateOpenOffer(eq(openOffer), any(), any());
+    }
+}
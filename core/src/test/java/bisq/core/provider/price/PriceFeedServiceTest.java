@@ -0,0 +1,62 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.provider.price;
+
+import bisq.core.provider.ProvidersRepository;
+import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.user.Preferences;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class PriceFeedServiceTest {
+    private final PriceFeedService priceFeedService = new PriceFeedService(mock(PriceHttpClient.class),
+            mock(ProvidersRepository.class),
+            mock(Preferences.class));
+
+    @Test
+    public void testApplyLatestBisqMarketPriceSetsPriceOncePerCurrency() {
+        priceFeedService.applyLatestBisqMarketPrice(List.of(
+                tradeStatistics("USD", 100_0000, 2),
+                tradeStatistics("USD", 300_0000, 3),
+                tradeStatistics("EUR", 200_0000, 1),
+                tradeStatistics("USD", 200_0000, 1)));
+
+        assertEquals(2, priceFeedService.updateCounterProperty().get());
+        assertEquals(2, priceFeedService.getPriceEpoch());
+        assertEquals(300, priceFeedService.getMarketPrice("USD").getPrice(), 0);
+        assertEquals(200, priceFeedService.getMarketPrice("EUR").getPrice(), 0);
+    }
+
+    @Test
+    public void testApplyLatestBisqMarketPriceIgnoresOlderTrades() {
+        priceFeedService.applyLatestBisqMarketPrice(tradeStatistics("USD", 300_0000, 3));
+        priceFeedService.applyLatestBisqMarketPrice(List.of(tradeStatistics("USD", 100_0000, 2)));
+
+        assertEquals(1, priceFeedService.updateCounterProperty().get());
+        assertEquals(300, priceFeedService.getMarketPrice("USD").getPrice(), 0);
+    }
+
+    private static TradeStatistics3 tradeStatistics(String currency, long price, long date) {
+        return new TradeStatistics3(currency, price, 100_000, "SEPA", date, null, null, null);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.core.trade.statistics;
+
+import bisq.core.monetary.Price;
+import bisq.core.payment.payload.PaymentMethod;
+
+import org.bitcoinj.core.Coin;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TradeStatisticsCandleServiceTest {
+    private static final long DAY_START = LocalDateTime.of(2021, 3, 10, 0, 0)
+            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    private static final long HOUR = 3600 * 1000;
+
+    private TradeStatisticsCandleService service;
+
+    @Before
+    public void setUp() {
+        service = new TradeStatisticsCandleService();
+    }
+
+    @Test
+    public void testCandleOfDay() {
+        // added out of order, open and close follow the trade dates
+        service.add(newTradeStatistics("EUR", "580", "1", DAY_START + 3 * HOUR));
+        service.add(newTradeStatistics("EUR", "520", "1", DAY_START + HOUR));
+        service.add(newTradeStatistics("EUR", "600", "1", DAY_START + 2 * HOUR + 1));
+        service.add(newTradeStatistics("EUR", "500", "1", DAY_START + 2 * HOUR));
+
+        TradeStatisticsCandle candle = service.getCandle("EUR", TickUnit.DAY, DAY_START).get();
+        assertEquals(DAY_START, candle.getTickStart());
+        assertEquals(Price.parse("EUR", "520").getValue(), candle.getOpen());
+        assertEquals(Price.parse("EUR", "580").getValue(), candle.getClose());
+        assertEquals(Price.parse("EUR", "600").getValue(), candle.getHigh());
+        assertEquals(Price.parse("EUR", "500").getValue(), candle.getLow());
+        assertEquals(Price.parse("EUR", "550").getValue(), candle.getAveragePrice());
+        assertEquals(Price.parse("EUR", "550").getValue(), candle.getMedianPrice());
+        assertEquals(Coin.parseCoin("4").getValue(), candle.getAccumulatedAmount());
+        assertEquals(Price.parse("EUR", "2200").getValue(), candle.getAccumulatedVolume());
+        assertEquals(4, candle.getNumTrades());
+    }
+
+    @Test
+    public void testCandlesPerTickUnit() {
+        service.add(newTradeStatistics("EUR", "500", "1", DAY_START + HOUR));
+        service.add(newTradeStatistics("EUR", "600", "1", DAY_START + 2 * HOUR));
+
+        assertEquals(2, service.getCandle("EUR", TickUnit.DAY, DAY_START).get().getNumTrades());
+        assertEquals(2, service.getCandle("EUR", TickUnit.MONTH, TickUnit.MONTH.getTickStart(DAY_START)).get().getNumTrades());
+        assertEquals(1, service.getCandle("EUR", TickUnit.HOUR, DAY_START + HOUR).get().getNumTrades());
+        assertEquals(1, service.getCandle("EUR", TickUnit.MINUTE_10, DAY_START + 2 * HOUR).get().getNumTrades());
+        assertFalse(service.getCandle("EUR", TickUnit.HOUR, DAY_START).isPresent());
+        assertFalse(service.getCandle("USD", TickUnit.DAY, DAY_START).isPresent());
+    }
+
+    @Test
+    public void testCandleIsUpdatedByNewTrade() {
+        service.add(newTradeStatistics("EUR", "500", "1", DAY_START + HOUR));
+        Optional<TradeStatisticsCandle> candle = service.getCandle("EUR", TickUnit.DAY, DAY_START);
+        assertEquals(Price.parse("EUR", "500").getValue(), candle.get().getMedianPrice());
+
+        service.add(newTradeStatistics("EUR", "400", "1", DAY_START + 2 * HOUR));
+        candle = service.getCandle("EUR", TickUnit.DAY, DAY_START);
+        assertEquals(Price.parse("EUR", "450").getValue(), candle.get().getMedianPrice());
+        assertEquals(Price.parse("EUR", "400").getValue(), candle.get().getClose());
+        assertEquals(2, candle.get().getNumTrades());
+    }
+
+    @Test
+    public void testCandlesOfAllCurrencies() {
+        service.add(newTradeStatistics("EUR", "500", "1", DAY_START + HOUR));
+        service.add(newTradeStatistics("USD", "600", "1", DAY_START + 2 * HOUR));
+
+        assertEquals(2, service.getCandle(null, TickUnit.DAY, DAY_START).get().getNumTrades());
+        assertEquals(1, service.getCandle("USD", TickUnit.DAY, DAY_START).get().getNumTrades());
+        assertTrue(service.getCurrencyCodes().contains("EUR"));
+        assertTrue(service.getCurrencyCodes().contains("USD"));
+    }
+
+    @Test
+    public void testGetCandlesInRange() {
+        service.add(newTradeStatistics("EUR", "500", "1", DAY_START + HOUR));
+        service.add(newTradeStatistics("EUR", "510", "1", DAY_START + 3 * HOUR));
+        service.add(newTradeStatistics("EUR", "520", "1", DAY_START + 5 * HOUR));
+
+        List<TradeStatisticsCandle> candles = service.getCandles("EUR", TickUnit.HOUR, DAY_START + HOUR, DAY_START + 5 * HOUR);
+        assertEquals(2, candles.size());
+        assertEquals(DAY_START + HOUR, candles.get(0).getTickStart());
+        assertEquals(DAY_START + 3 * HOUR, candles.get(1).getTickStart());
+        assertTrue(service.getCandles("EUR", TickUnit.HOUR, DAY_START + 5 * HOUR, DAY_START).isEmpty());
+    }
+
+    private static TradeStatistics3 newTradeStatistics(String currencyCode, String price, String amount, long date) {
+        return new TradeStatistics3(currencyCode,
+                Price.parse(currencyCode, price).getValue(),
+                Coin.parseCoin(amount).getValue(),
+                PaymentMethod.SEPA_ID,
+                date,
+                null,
+                null,
+                null);
+    }
+}
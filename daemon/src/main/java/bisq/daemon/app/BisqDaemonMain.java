@@ -21,9 +21,11 @@ import bisq.core.app.BisqHeadlessAppMain;
 import bisq.core.app.BisqSetup;
 import bisq.core.app.CoreModule;
 
+import bisq.common.HashedWheelTimer;
 import bisq.common.UserThread;
 import bisq.common.app.AppModule;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.MetricsHttpServer;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
@@ -32,6 +34,8 @@ import java.util.concurrent.ThreadFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 
 
 import bisq.daemon.grpc.GrpcServer;
@@ -40,6 +44,8 @@ import bisq.daemon.grpc.GrpcServer;
 public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.BisqSetupListener {
 
     private GrpcServer grpcServer;
+    @Nullable
+    private MetricsHttpServer metricsHttpServer;
 
     public static void main(String[] args) {
         new BisqDaemonMain().execute(args);
@@ -56,6 +62,7 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
                 .setDaemon(true)
                 .build();
         UserThread.setExecutor(Executors.newSingleThreadExecutor(threadFactory));
+        UserThread.setTimerFactory(HashedWheelTimer::new);
     }
 
     @Override
@@ -104,6 +111,8 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
 
         grpcServer = injector.getInstance(GrpcServer.class);
         grpcServer.start();
+
+        metricsHttpServer = MetricsHttpServer.startIfEnabled(config.metricsPort);
     }
 
     @Override
@@ -111,5 +120,8 @@ public class BisqDaemonMain extends BisqHeadlessAppMain implements BisqSetup.Bis
         super.gracefulShutDown(resultHandler);
 
         grpcServer.shutdown();
+        if (metricsHttpServer != null) {
+            metricsHttpServer.shutDown();
+        }
     }
 }
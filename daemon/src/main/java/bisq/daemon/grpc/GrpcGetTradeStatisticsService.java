@@ -2,7 +2,10 @@ package bisq.daemon.grpc;
 
 import bisq.core.api.CoreApi;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
 
+import bisq.proto.grpc.GetTradeStatisticsCandlesReply;
+import bisq.proto.grpc.GetTradeStatisticsCandlesRequest;
 import bisq.proto.grpc.GetTradeStatisticsReply;
 import bisq.proto.grpc.GetTradeStatisticsRequest;
 
@@ -19,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import static bisq.daemon.grpc.interceptor.GrpcServiceRateMeteringConfig.getCustomRateMeteringInterceptor;
 import static bisq.proto.grpc.GetTradeStatisticsGrpc.GetTradeStatisticsImplBase;
+import static bisq.proto.grpc.GetTradeStatisticsGrpc.getGetTradeStatisticsCandlesMethod;
 import static bisq.proto.grpc.GetTradeStatisticsGrpc.getGetTradeStatisticsMethod;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -55,6 +59,40 @@ class GrpcGetTradeStatisticsService extends GetTradeStatisticsImplBase {
         }
     }
 
+    @Override
+    public void getTradeStatisticsCandles(GetTradeStatisticsCandlesRequest req,
+                                          StreamObserver<GetTradeStatisticsCandlesReply> responseObserver) {
+        try {
+            var candles = coreApi.getTradeStatisticsCandles(req.getCurrencyCode(),
+                    req.getTickUnit(),
+                    req.getFromDate(),
+                    req.getToDate()).stream()
+                    .map(this::toProtoCandle)
+                    .collect(Collectors.toList());
+
+            var reply = GetTradeStatisticsCandlesReply.newBuilder().addAllCandles(candles).build();
+            responseObserver.onNext(reply);
+            responseObserver.onCompleted();
+        } catch (Throwable cause) {
+            exceptionHandler.handleException(log, cause, responseObserver);
+        }
+    }
+
+    private bisq.proto.grpc.TradeStatisticsCandle toProtoCandle(TradeStatisticsCandle candle) {
+        return bisq.proto.grpc.TradeStatisticsCandle.newBuilder()
+                .setTickStart(candle.getTickStart())
+                .setOpen(candle.getOpen())
+                .setClose(candle.getClose())
+                .setHigh(candle.getHigh())
+                .setLow(candle.getLow())
+                .setAveragePrice(candle.getAveragePrice())
+                .setMedianPrice(candle.getMedianPrice())
+                .setAccumulatedAmount(candle.getAccumulatedAmount())
+                .setAccumulatedVolume(candle.getAccumulatedVolume())
+                .setNumTrades(candle.getNumTrades())
+                .build();
+    }
+
     final ServerInterceptor[] interceptors() {
         Optional<ServerInterceptor> rateMeteringInterceptor = rateMeteringInterceptor();
         return rateMeteringInterceptor.map(serverInterceptor ->
@@ -66,6 +104,7 @@ class GrpcGetTradeStatisticsService extends GetTradeStatisticsImplBase {
                 .or(() -> Optional.of(CallRateMeteringInterceptor.valueOf(
                         new HashMap<>() {{
                             put(getGetTradeStatisticsMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
+                            put(getGetTradeStatisticsCandlesMethod().getFullMethodName(), new GrpcCallRateMeter(1, SECONDS));
                         }}
                 )));
     }
@@ -32,16 +32,16 @@ import bisq.core.locale.CryptoCurrency;
 import bisq.core.locale.CurrencyUtil;
 import bisq.core.locale.GlobalSettings;
 import bisq.core.locale.TradeCurrency;
-import bisq.core.monetary.Altcoin;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
+import bisq.core.trade.statistics.TradeStatisticsCandleService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
 
 import bisq.common.util.MathUtils;
 
-import org.bitcoinj.core.Coin;
-
 import com.google.inject.Inject;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -57,23 +57,15 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.collections.SetChangeListener;
 
-import javafx.util.Pair;
-
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -81,23 +73,9 @@ import javax.annotation.Nullable;
 class TradesChartsViewModel extends ActivatableViewModel {
 
     private static final int TAB_INDEX = 2;
-    private static final ZoneId ZONE_ID = ZoneId.systemDefault();
-
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Enum
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
-    public enum TickUnit {
-        YEAR,
-        MONTH,
-        WEEK,
-        DAY,
-        HOUR,
-        MINUTE_10
-    }
 
     private final TradeStatisticsManager tradeStatisticsManager;
+    private final TradeStatisticsCandleService tradeStatisticsCandleService;
     final Preferences preferences;
     private final PriceFeedService priceFeedService;
     private final Navigation navigation;
@@ -111,12 +89,11 @@ class TradesChartsViewModel extends ActivatableViewModel {
     final ObservableList<XYChart.Data<Number, Number>> priceItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeItems = FXCollections.observableArrayList();
     final ObservableList<XYChart.Data<Number, Number>> volumeInUsdItems = FXCollections.observableArrayList();
-    private Map<Long, Pair<Date, Set<TradeStatistics3>>> itemsPerInterval;
+    private Map<Long, Date> tickStartDates;
 
     TickUnit tickUnit;
     final int maxTicks = 90;
     private int selectedTabIndex;
-    final Map<TickUnit, Map<Long, Long>> usdPriceMapsPerTickUnit = new HashMap<>();
     private boolean fillTradeCurrenciesOnActivateCalled;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -124,9 +101,13 @@ class TradesChartsViewModel extends ActivatableViewModel {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     @Inject
-    TradesChartsViewModel(TradeStatisticsManager tradeStatisticsManager, Preferences preferences,
-                          PriceFeedService priceFeedService, Navigation navigation) {
+    TradesChartsViewModel(TradeStatisticsManager tradeStatisticsManager,
+                          TradeStatisticsCandleService tradeStatisticsCandleService,
+                          Preferences preferences,
+                          PriceFeedService priceFeedService,
+                          Navigation navigation) {
         this.tradeStatisticsManager = tradeStatisticsManager;
+        this.tradeStatisticsCandleService = tradeStatisticsCandleService;
         this.preferences = preferences;
         this.priceFeedService = priceFeedService;
         this.navigation = navigation;
@@ -156,7 +137,6 @@ class TradesChartsViewModel extends ActivatableViewModel {
             fillTradeCurrencies();
             fillTradeCurrenciesOnActivateCalled = true;
         }
-        buildUsdPricesPerDay();
         updateSelectedTradeStatistics(getCurrencyCode());
         updateChartData();
         syncPriceFeedCurrency();
@@ -252,83 +232,32 @@ class TradesChartsViewModel extends ActivatableViewModel {
             priceFeedService.setCurrencyCode(selectedTradeCurrencyProperty.get().getCode());
     }
 
-    private void buildUsdPricesPerDay() {
-        if (usdPriceMapsPerTickUnit.isEmpty()) {
-            Map<TickUnit, Map<Long, List<TradeStatistics3>>> dateMapsPerTickUnit = new HashMap<>();
-            for (TickUnit tick : TickUnit.values()) {
-                dateMapsPerTickUnit.put(tick, new HashMap<>());
-            }
-
-            tradeStatisticsManager.getObservableTradeStatisticsSet().stream()
-                    .filter(e -> e.getCurrency().equals("USD"))
-                    .forEach(tradeStatistics -> {
-                        for (TickUnit tick : TickUnit.values()) {
-                            long time = roundToTick(tradeStatistics.getLocalDateTime(), tick).getTime();
-                            Map<Long, List<TradeStatistics3>> map = dateMapsPerTickUnit.get(tick);
-                            map.putIfAbsent(time, new ArrayList<>());
-                            map.get(time).add(tradeStatistics);
-                        }
-                    });
-
-            dateMapsPerTickUnit.forEach((tick, map) -> {
-                HashMap<Long, Long> priceMap = new HashMap<>();
-                map.forEach((date, tradeStatisticsList) -> priceMap.put(date, getAveragePrice(tradeStatisticsList)));
-                usdPriceMapsPerTickUnit.put(tick, priceMap);
-            });
-        }
-    }
-
-    private long getAveragePrice(List<TradeStatistics3> tradeStatisticsList) {
-        long accumulatedAmount = 0;
-        long accumulatedVolume = 0;
-        for (TradeStatistics3 tradeStatistics : tradeStatisticsList) {
-            accumulatedAmount += tradeStatistics.getAmount();
-            accumulatedVolume += tradeStatistics.getTradeVolume().getValue();
-        }
-
-        double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-        return MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
-    }
-
     private void updateChartData() {
-        // Generate date range and create sets for all ticks
-        itemsPerInterval = new HashMap<>();
+        // Generate the start dates of the ticks, the last entry is the current date
+        tickStartDates = new HashMap<>();
         Date time = new Date();
         for (long i = maxTicks + 1; i >= 0; --i) {
-            Pair<Date, Set<TradeStatistics3>> pair = new Pair<>((Date) time.clone(), new HashSet<>());
-            itemsPerInterval.put(i, pair);
+            tickStartDates.put(i, (Date) time.clone());
             // We adjust the time for the next iteration
             time.setTime(time.getTime() - 1);
             time = roundToTick(time, tickUnit);
         }
 
-        // Get all entries for the defined time interval
-        selectedTradeStatistics.forEach(tradeStatistics -> {
-            for (long i = maxTicks; i > 0; --i) {
-                Pair<Date, Set<TradeStatistics3>> pair = itemsPerInterval.get(i);
-                if (tradeStatistics.getDate().after(pair.getKey())) {
-                    pair.getValue().add(tradeStatistics);
-                    break;
-                }
+        String currencyCode = showAllTradeCurrenciesProperty.get() ? null : getCurrencyCode();
+        long averageUsdPrice = 0;
+        List<CandleData> candleDataList = new ArrayList<>();
+        for (long i = 1; i <= maxTicks; i++) {
+            long tickStartDate = tickStartDates.get(i).getTime();
+            // If we don't have a price we take the previous one
+            Optional<TradeStatisticsCandle> usdCandle = tradeStatisticsCandleService.getCandle("USD", tickUnit, tickStartDate);
+            if (usdCandle.isPresent()) {
+                averageUsdPrice = usdCandle.get().getAveragePrice();
             }
-        });
-
-        Map<Long, Long> map = usdPriceMapsPerTickUnit.get(tickUnit);
-        AtomicLong averageUsdPrice = new AtomicLong(0);
-
-        // create CandleData for defined time interval
-        List<CandleData> candleDataList = itemsPerInterval.entrySet().stream()
-                .filter(entry -> entry.getKey() >= 0 && !entry.getValue().getValue().isEmpty())
-                .map(entry -> {
-                    long tickStartDate = entry.getValue().getKey().getTime();
-                    // If we don't have a price we take the previous one
-                    if (map.containsKey(tickStartDate)) {
-                        averageUsdPrice.set(map.get(tickStartDate));
-                    }
-                    return getCandleData(entry.getKey(), entry.getValue().getValue(), averageUsdPrice.get());
-                })
-                .sorted(Comparator.comparingLong(o -> o.tick))
-                .collect(Collectors.toList());
+            Optional<TradeStatisticsCandle> candle = tradeStatisticsCandleService.getCandle(currencyCode, tickUnit, tickStartDate);
+            if (candle.isPresent()) {
+                candleDataList.add(getCandleData(i, candle.get(), averageUsdPrice));
+            }
+        }
 
         priceItems.setAll(candleDataList.stream()
                 .map(e -> new XYChart.Data<Number, Number>(e.tick, e.open, e))
@@ -351,47 +280,18 @@ class TradesChartsViewModel extends ActivatableViewModel {
 
     @VisibleForTesting
     CandleData getCandleData(long tick, Set<TradeStatistics3> set, long averageUsdPrice) {
-        long open = 0;
-        long close = 0;
-        long high = 0;
-        long low = 0;
-        long accumulatedVolume = 0;
-        long accumulatedAmount = 0;
-        long numTrades = set.size();
-        List<Long> tradePrices = new ArrayList<>();
-        for (TradeStatistics3 item : set) {
-            long tradePriceAsLong = item.getTradePrice().getValue();
-            // Previously a check was done which inverted the low and high for cryptocurrencies.
-            low = (low != 0) ? Math.min(low, tradePriceAsLong) : tradePriceAsLong;
-            high = (high != 0) ? Math.max(high, tradePriceAsLong) : tradePriceAsLong;
-
-            accumulatedVolume += item.getTradeVolume().getValue();
-            accumulatedAmount += item.getTradeAmount().getValue();
-            tradePrices.add(tradePriceAsLong);
-        }
-        Collections.sort(tradePrices);
-
-        List<TradeStatistics3> list = new ArrayList<>(set);
-        list.sort(Comparator.comparingLong(TradeStatistics3::getDateAsLong));
-        if (list.size() > 0) {
-            open = list.get(0).getTradePrice().getValue();
-            close = list.get(list.size() - 1).getTradePrice().getValue();
-        }
+        boolean isCryptoCurrency = CurrencyUtil.isCryptoCurrency(getCurrencyCode());
+        return getCandleData(tick, TradeStatisticsCandle.fromTradeStatistics(0, set, isCryptoCurrency), averageUsdPrice);
+    }
 
-        long averagePrice;
-        Long[] prices = new Long[tradePrices.size()];
-        tradePrices.toArray(prices);
-        long medianPrice = MathUtils.getMedian(prices);
-        boolean isBullish;
-        if (CurrencyUtil.isCryptoCurrency(getCurrencyCode())) {
-            isBullish = close < open;
-            double accumulatedAmountAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedAmount, Altcoin.SMALLEST_UNIT_EXPONENT);
-            averagePrice = MathUtils.roundDoubleToLong(accumulatedAmountAsDouble / (double) accumulatedVolume);
-        } else {
-            isBullish = close > open;
-            double accumulatedVolumeAsDouble = MathUtils.scaleUpByPowerOf10((double) accumulatedVolume, Coin.SMALLEST_UNIT_EXPONENT);
-            averagePrice = MathUtils.roundDoubleToLong(accumulatedVolumeAsDouble / (double) accumulatedAmount);
-        }
+    private CandleData getCandleData(long tick, TradeStatisticsCandle candle, long averageUsdPrice) {
+        long open = candle.getOpen();
+        long close = candle.getClose();
+        long accumulatedAmount = candle.getAccumulatedAmount();
+        long accumulatedVolume = candle.getAccumulatedVolume();
+        boolean isCryptoCurrency = CurrencyUtil.isCryptoCurrency(getCurrencyCode());
+        boolean isBullish = isCryptoCurrency ? close < open : close > open;
+        long averagePrice = TradeStatisticsCandle.getAveragePrice(accumulatedAmount, accumulatedVolume, isCryptoCurrency);
 
         Date dateFrom = new Date(getTimeFromTickIndex(tick));
         Date dateTo = new Date(getTimeFromTickIndex(tick + 1));
@@ -404,38 +304,21 @@ class TradesChartsViewModel extends ActivatableViewModel {
         long volumeInUsd = averageUsdPrice * (long) MathUtils.scaleDownByPowerOf10((double) accumulatedAmount, 4);
         // We store USD value without decimals as its only total volume, no precision is needed.
         volumeInUsd = (long) MathUtils.scaleDownByPowerOf10((double) volumeInUsd, 4);
-        return new CandleData(tick, open, close, high, low, averagePrice, medianPrice, accumulatedAmount, accumulatedVolume,
-                numTrades, isBullish, dateString, volumeInUsd);
+        return new CandleData(tick, open, close, candle.getHigh(), candle.getLow(), averagePrice, candle.getMedianPrice(),
+                accumulatedAmount, accumulatedVolume, candle.getNumTrades(), isBullish, dateString, volumeInUsd);
     }
 
     Date roundToTick(Date time, TickUnit tickUnit) {
-        return roundToTick(time.toInstant().atZone(ZONE_ID).toLocalDateTime(), tickUnit);
+        return new Date(tickUnit.getTickStart(time.getTime()));
     }
 
     Date roundToTick(LocalDateTime localDate, TickUnit tickUnit) {
-        switch (tickUnit) {
-            case YEAR:
-                return Date.from(localDate.withMonth(1).withDayOfYear(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case MONTH:
-                return Date.from(localDate.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case WEEK:
-                int dayOfWeek = localDate.getDayOfWeek().getValue();
-                LocalDateTime firstDayOfWeek = ChronoUnit.DAYS.addTo(localDate, 1 - dayOfWeek);
-                return Date.from(firstDayOfWeek.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case DAY:
-                return Date.from(localDate.withHour(0).withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case HOUR:
-                return Date.from(localDate.withMinute(0).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            case MINUTE_10:
-                return Date.from(localDate.withMinute(localDate.getMinute() - localDate.getMinute() % 10).withSecond(0).withNano(0).atZone(ZONE_ID).toInstant());
-            default:
-                return Date.from(localDate.atZone(ZONE_ID).toInstant());
-        }
+        return new Date(tickUnit.getTickStart(localDate));
     }
 
     private long getTimeFromTick(long tick) {
-        if (itemsPerInterval == null || itemsPerInterval.get(tick) == null) return 0;
-        return itemsPerInterval.get(tick).getKey().getTime();
+        if (tickStartDates == null || tickStartDates.get(tick) == null) return 0;
+        return tickStartDates.get(tick).getTime();
     }
 
     long getTimeFromTickIndex(long index) {
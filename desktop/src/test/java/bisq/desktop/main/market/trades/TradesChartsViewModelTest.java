@@ -25,7 +25,9 @@ import bisq.core.monetary.Price;
 import bisq.core.offer.OfferPayload;
 import bisq.core.payment.payload.PaymentMethod;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TickUnit;
 import bisq.core.trade.statistics.TradeStatistics3;
+import bisq.core.trade.statistics.TradeStatisticsCandleService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 import bisq.core.user.Preferences;
 
@@ -103,8 +105,8 @@ public class TradesChartsViewModelTest {
     @Before
     public void setup() throws IOException {
         tradeStatisticsManager = mock(TradeStatisticsManager.class);
-        model = new TradesChartsViewModel(tradeStatisticsManager, mock(Preferences.class), mock(PriceFeedService.class),
-                mock(Navigation.class));
+        model = new TradesChartsViewModel(tradeStatisticsManager, new TradeStatisticsCandleService(),
+                mock(Preferences.class), mock(PriceFeedService.class), mock(Navigation.class));
         dir = File.createTempFile("temp_tests1", "");
         //noinspection ResultOfMethodCallIgnored
         dir.delete();
@@ -163,7 +165,7 @@ public class TradesChartsViewModelTest {
                 null,
                 null));
 
-        CandleData candleData = model.getCandleData(model.roundToTick(now, TradesChartsViewModel.TickUnit.DAY).getTime(), set, 0);
+        CandleData candleData = model.getCandleData(model.roundToTick(now, TickUnit.DAY).getTime(), set, 0);
         assertEquals(open, candleData.open);
         assertEquals(close, candleData.close);
         assertEquals(high, candleData.high);
@@ -228,7 +230,7 @@ public class TradesChartsViewModelTest {
         ObservableSet<TradeStatistics3> tradeStats = FXCollections.observableSet(set);
 
         // Run test for each tick type
-        for (TradesChartsViewModel.TickUnit tick : TradesChartsViewModel.TickUnit.values()) {
+        for (TickUnit tick : TickUnit.values()) {
 /*            new Expectations() {{
                 tradeStatisticsManager.getObservableTradeStatisticsSet();
                 result = tradeStats;
@@ -0,0 +1,177 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.crypto;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+import bisq.network.p2p.storage.persistence.VerifiedSignaturesMap;
+
+import bisq.common.UserThread;
+import bisq.common.persistence.PersistenceManager;
+import bisq.common.proto.persistable.PersistedDataHost;
+import bisq.common.util.Utilities;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verifies signatures in bulk on a worker pool and remembers the hashes of valid signatures across restarts, so the
+ * expensive DSA verifications of data we already know are not repeated at each startup.
+ *
+ * Only successful verifications are remembered. The hash used as key must cover all data the verification depends
+ * on, i.e. the signed data, the signature and the public key.
+ */
+@Singleton
+@Slf4j
+public class SignatureVerificationService implements PersistedDataHost {
+    private static final long MAX_AGE = TimeUnit.DAYS.toMillis(30);
+    // We only refresh the date of a looked up hash once a day to avoid persisting the map at each lookup.
+    private static final long REFRESH_INTERVAL = TimeUnit.DAYS.toMillis(1);
+    private static final int NUM_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final PersistenceManager<VerifiedSignaturesMap> persistenceManager;
+    private final VerifiedSignaturesMap verifiedSignaturesMap = new VerifiedSignaturesMap();
+    private final ListeningExecutorService executor = Utilities.getListeningExecutorService("SignatureVerification",
+            NUM_THREADS, NUM_THREADS, 60, new LinkedBlockingQueue<>());
+    private final AtomicBoolean persistenceRequested = new AtomicBoolean();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Inject
+    public SignatureVerificationService(PersistenceManager<VerifiedSignaturesMap> persistenceManager) {
+        this.persistenceManager = persistenceManager;
+
+        this.persistenceManager.initialize(verifiedSignaturesMap, PersistenceManager.Source.PRIVATE_LOW_PRIO);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PersistedDataHost
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    public void readPersisted(Runnable completeHandler) {
+        long cutOffDate = System.currentTimeMillis() - MAX_AGE;
+        persistenceManager.readPersisted(persisted -> {
+                    persisted.getDateByHashes().entrySet().stream()
+                            .filter(e -> e.getValue() > cutOffDate)
+                            .forEach(e -> verifiedSignaturesMap.getDateByHashes().putIfAbsent(e.getKey(), e.getValue()));
+                    log.info("Read {} verified signature hashes", verifiedSignaturesMap.getDateByHashes().size());
+                    persistenceManager.requestPersistence();
+                    completeHandler.run();
+                },
+                completeHandler);
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Returns true if the signature with the given hash was verified before or if the verification succeeds.
+     * Can be called from any thread.
+     *
+     * @param hash          hash of the signed data, signature and public key
+     * @param verification  the signature verification, only called if the hash is not known as verified
+     * @return true if the signature is valid, false otherwise.
+     */
+    public boolean verify(P2PDataStorage.ByteArray hash, BooleanSupplier verification) {
+        long now = System.currentTimeMillis();
+        Long date = verifiedSignaturesMap.getDateByHashes().get(hash);
+        if (date != null) {
+            if (now - date > REFRESH_INTERVAL) {
+                verifiedSignaturesMap.getDateByHashes().put(hash, now);
+                requestPersistence();
+            }
+            return true;
+        }
+
+        if (!verification.getAsBoolean()) {
+            return false;
+        }
+        verifiedSignaturesMap.getDateByHashes().put(hash, now);
+        requestPersistence();
+        return true;
+    }
+
+    /**
+     * Applies the verification to all items on the worker pool. The verification is expected to store its result
+     * itself, usually by calling verify.
+     *
+     * @param items         the items to verify
+     * @param verification  the verification of one item
+     * @return a future which completes when all items have been verified
+     */
+    public <T> ListenableFuture<List<Object>> verifyAll(Collection<T> items, Consumer<T> verification) {
+        if (items.isEmpty()) {
+            return Futures.immediateFuture(new ArrayList<>());
+        }
+        long ts = System.currentTimeMillis();
+        int batchSize = (items.size() + NUM_THREADS - 1) / NUM_THREADS;
+        List<ListenableFuture<Object>> futures = new ArrayList<>();
+        for (List<T> batch : Iterables.partition(new ArrayList<>(items), batchSize)) {
+            futures.add(executor.submit(() -> {
+                batch.forEach(verification);
+                return null;
+            }));
+        }
+        ListenableFuture<List<Object>> future = Futures.allAsList(futures);
+        future.addListener(() -> log.info("Verifying {} signatures with {} threads took {} ms",
+                items.size(), futures.size(), System.currentTimeMillis() - ts), MoreExecutors.directExecutor());
+        return future;
+    }
+
+    public void shutDown() {
+        executor.shutdownNow();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The PersistenceManager is not thread safe, so we request the persistence on the user thread.
+    private void requestPersistence() {
+        if (persistenceRequested.compareAndSet(false, true)) {
+            UserThread.execute(() -> {
+                persistenceRequested.set(false);
+                persistenceManager.requestPersistence();
+            });
+        }
+    }
+}
@@ -38,6 +38,7 @@ import lombok.Value;
 @EqualsAndHashCode(callSuper = true)
 @Value
 public final class BundleOfEnvelopes extends BroadcastMessage implements ExtendedDataSizePermission, CapabilityRequiringPayload {
+    private static final Capabilities REQUIRED_CAPABILITIES = Capabilities.unmodifiable(Capability.BUNDLE_OF_ENVELOPES);
 
     private final List<NetworkEnvelope> envelopes;
 
@@ -96,6 +97,6 @@ public final class BundleOfEnvelopes extends BroadcastMessage implements Extende
 
     @Override
     public Capabilities getRequiredCapabilities() {
-        return new Capabilities(Capability.BUNDLE_OF_ENVELOPES);
+        return REQUIRED_CAPABILITIES;
     }
 }
@@ -20,4 +20,9 @@ package bisq.network.p2p;
 // Marker interface for initial data response
 public interface InitialDataResponse {
     Class<? extends InitialDataRequest> associatedRequest();
+
+    // A response sent as a sequence of chunks is only complete with the last chunk
+    default boolean hasMoreChunks() {
+        return false;
+    }
 }
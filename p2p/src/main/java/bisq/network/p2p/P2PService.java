@@ -65,6 +65,7 @@ import javafx.beans.property.ReadOnlyIntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleIntegerProperty;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -380,8 +381,10 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
             try {
                 DecryptedMessageWithPubKey decryptedMsg = encryptionService.decryptAndVerify(sealedMsg.getSealedAndSigned());
                 connection.maybeHandleSupportedCapabilitiesMessage(decryptedMsg.getNetworkEnvelope());
-                connection.getPeersNodeAddressOptional().ifPresentOrElse(nodeAddress ->
-                                decryptedDirectMessageListeners.forEach(e -> e.onDirectMessage(decryptedMsg, nodeAddress)),
+                connection.getPeersNodeAddressOptional().ifPresentOrElse(nodeAddress -> {
+                            peerManager.keepConnectionWarm(nodeAddress);
+                            decryptedDirectMessageListeners.forEach(e -> e.onDirectMessage(decryptedMsg, nodeAddress));
+                        },
                         () -> {
                             log.error("peersNodeAddress is expected to be available at onMessage for " +
                                     "processing PrefixedSealedAndSignedMessage.");
@@ -440,6 +443,7 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
             Futures.addCallback(future, new FutureCallback<>() {
                 @Override
                 public void onSuccess(@Nullable Connection connection) {
+                    peerManager.keepConnectionWarm(peersNodeAddress);
                     sendDirectMessageListener.onArrived();
                 }
 
@@ -459,6 +463,15 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
     }
 
 
+    // Sets up a connection to a peer we expect to send direct messages to soon, e.g. a dispute agent of a trade
+    // we are about to take. Does nothing if we are already connected to the peer.
+    public void preDial(NodeAddress peerNodeAddress) {
+        if (isBootstrapped()) {
+            peerManager.preDial(peerNodeAddress);
+        }
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Data storage
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -534,6 +547,11 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
         p2PDataStorage.addHashMapChangedListener(hashMapChangedListener);
     }
 
+    public void addHashSetChangedListener(Class<? extends ProtectedStoragePayload> payloadClass,
+                                          HashMapChangedListener hashMapChangedListener) {
+        p2PDataStorage.addHashMapChangedListener(payloadClass, hashMapChangedListener);
+    }
+
     public void removeHashMapChangedListener(HashMapChangedListener hashMapChangedListener) {
         p2PDataStorage.removeHashMapChangedListener(hashMapChangedListener);
     }
@@ -564,6 +582,10 @@ public class P2PService implements SetupListener, MessageListener, ConnectionLis
         return p2PDataStorage.getMap();
     }
 
+    public <T extends ProtectedStoragePayload> List<T> getProtectedStoragePayloads(Class<T> payloadClass) {
+        return p2PDataStorage.getProtectedStoragePayloads(payloadClass);
+    }
+
     @VisibleForTesting
     public P2PDataStorage getP2PDataStorage() {
         return p2PDataStorage;
@@ -229,7 +229,7 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
         // Only now we start listening and processing. The p2PDataStorage is our cache for data we have received
         // after the hidden service was ready.
         addHashMapChangedListener();
-        onAdded(p2PDataStorage.getMap().values());
+        onAdded(p2PDataStorage.getProtectedStorageEntries(MailboxStoragePayload.class));
         maybeRepublishMailBoxMessages();
     }
 
@@ -273,6 +273,7 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
             Futures.addCallback(future, new FutureCallback<>() {
                 @Override
                 public void onSuccess(@Nullable Connection connection) {
+                    peerManager.keepConnectionWarm(peer);
                     sendMailboxMessageListener.onArrived();
                 }
 
@@ -380,7 +381,7 @@ public class MailboxMessageService implements HashMapChangedListener, PersistedD
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private void addHashMapChangedListener() {
-        p2PDataStorage.addHashMapChangedListener(this);
+        p2PDataStorage.addHashMapChangedListener(MailboxStoragePayload.class, this);
     }
 
     private void processSingleMailboxEntry(Collection<ProtectedMailboxStorageEntry> protectedMailboxStorageEntries) {
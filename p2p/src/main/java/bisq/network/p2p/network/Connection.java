@@ -246,7 +246,9 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             log.debug("Capability for networkEnvelope is required but not supported");
             return;
         }
-        int networkEnvelopeSize = networkEnvelope.toProtoNetworkEnvelope().getSerializedSize();
+        // We serialize the envelope only once for the size check and for writing it
+        EnvelopeFrame frame = EnvelopeFrameCache.get(networkEnvelope);
+        int networkEnvelopeSize = frame.getSerializedSize();
         try {
             // Throttle outbound network_messages
             long now = System.currentTimeMillis();
@@ -258,7 +260,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         networkEnvelope.getClass().getSimpleName());
 
                 // check if BundleOfEnvelopes is supported
-                if (getCapabilities().containsAll(new Capabilities(Capability.BUNDLE_OF_ENVELOPES))) {
+                if (getCapabilities().contains(Capability.BUNDLE_OF_ENVELOPES)) {
                     synchronized (lock) {
                         // check if current envelope fits size
                         // - no? create new envelope
@@ -276,19 +278,14 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                                     synchronized (lock) {
                                         BundleOfEnvelopes bundle = queueOfBundles.poll();
                                         if (bundle != null && !stopped) {
-                                            NetworkEnvelope envelope;
-                                            int msgSize;
-                                            if (bundle.getEnvelopes().size() == 1) {
-                                                envelope = bundle.getEnvelopes().get(0);
-                                                msgSize = envelope.toProtoNetworkEnvelope().getSerializedSize();
-                                            } else {
-                                                envelope = bundle;
-                                                msgSize = networkEnvelopeSize;
-                                            }
+                                            NetworkEnvelope envelope = bundle.getEnvelopes().size() == 1 ?
+                                                    bundle.getEnvelopes().get(0) :
+                                                    bundle;
                                             try {
-                                                protoOutputStream.writeEnvelope(envelope);
+                                                EnvelopeFrame bundleFrame = EnvelopeFrameCache.get(envelope);
+                                                protoOutputStream.writeFrame(bundleFrame);
                                                 UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(envelope, this)));
-                                                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, msgSize));
+                                                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(envelope, System.currentTimeMillis() - ts, bundleFrame.getSerializedSize()));
                                             } catch (Throwable t) {
                                                 log.error("Sending envelope of class {} to address {} " +
                                                                 "failed due {}",
@@ -315,15 +312,67 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
             lastSendTimeStamp = now;
 
             if (!stopped) {
-                protoOutputStream.writeEnvelope(networkEnvelope);
+                protoOutputStream.writeFrame(frame);
+                UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(networkEnvelope, this)));
+                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(networkEnvelope, System.currentTimeMillis() - ts, networkEnvelopeSize));
+            }
+        } catch (Throwable t) {
+            handleException(t);
+        }
+    }
+
+    // Called from various threads
+    // Sends an envelope which was serialized already as it gets sent to several peers. We do not add it to the
+    // throttled bundles as that would require to serialize it again. We do not block the send thread for throttling,
+    // the caller has to wait for getSendFrameDelayMs before sending the next frame.
+    public void sendFrame(EnvelopeFrame frame) {
+        long ts = System.currentTimeMillis();
+        NetworkEnvelope networkEnvelope = frame.getEnvelope();
+        log.debug(">> Send frame of type: {}", networkEnvelope.getClass().getSimpleName());
+
+        if (stopped) {
+            log.debug("called sendFrame but was already stopped");
+            return;
+        }
+
+        if (networkFilter != null &&
+                peersNodeAddressOptional.isPresent() &&
+                networkFilter.isPeerBanned(peersNodeAddressOptional.get())) {
+            reportInvalidRequest(RuleViolation.PEER_BANNED);
+            return;
+        }
+
+        if (!noCapabilityRequiredOrCapabilityIsSupported(networkEnvelope)) {
+            log.debug("Capability for networkEnvelope is required but not supported");
+            return;
+        }
+
+        try {
+            lastSendTimeStamp = Math.max(lastSendTimeStamp, System.currentTimeMillis());
+
+            if (!stopped) {
+                protoOutputStream.writeFrame(frame);
                 UserThread.execute(() -> messageListeners.forEach(e -> e.onMessageSent(networkEnvelope, this)));
-                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(System.currentTimeMillis() - ts, networkEnvelopeSize));
+                UserThread.execute(() -> connectionStatistics.addSendMsgMetrics(networkEnvelope, System.currentTimeMillis() - ts, frame.getSerializedSize()));
             }
         } catch (Throwable t) {
             handleException(t);
         }
     }
 
+    // Time until the throttled outbound messages queued for that connection are expected to be sent. Used as
+    // backpressure signal by senders which can delay their messages.
+    public long getPendingSendDelayMs() {
+        return Math.max(0, lastSendTimeStamp - System.currentTimeMillis());
+    }
+
+    // Time to wait before the next frame can be sent with sendFrame. We wait until the throttled bundles are sent
+    // and keep the min. interval to the last message.
+    public long getSendFrameDelayMs() {
+        return Math.max(getPendingSendDelayMs(),
+                lastSendTimeStamp + getSendMsgThrottleTrigger() - System.currentTimeMillis());
+    }
+
     // TODO: If msg is BundleOfEnvelopes we should check each individual message for capability and filter out those
     //  which fail.
     public boolean noCapabilityRequiredOrCapabilityIsSupported(Proto msg) {
@@ -880,7 +929,7 @@ public class Connection implements HasCapabilities, Runnable, MessageListener {
                         }
 
                         onMessage(networkEnvelope, this);
-                        UserThread.execute(() -> connectionStatistics.addReceivedMsgMetrics(System.currentTimeMillis() - ts, size));
+                        UserThread.execute(() -> connectionStatistics.addReceivedMsgMetrics(networkEnvelope, System.currentTimeMillis() - ts, size));
                     }
                 } catch (InvalidClassException e) {
                     log.error(e.getMessage());
@@ -22,6 +22,7 @@ import bisq.network.p2p.InitialDataRequest;
 import bisq.network.p2p.InitialDataResponse;
 import bisq.network.p2p.NodeAddress;
 
+import bisq.common.metrics.MetricsRegistry;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.util.Utilities;
 
@@ -153,7 +154,8 @@ public class ConnectionStatistics implements MessageListener {
 
         if (networkEnvelope instanceof InitialDataRequest) {
             rrtMap.putIfAbsent(key, System.currentTimeMillis());
-        } else if (networkEnvelope instanceof InitialDataResponse) {
+        } else if (networkEnvelope instanceof InitialDataResponse &&
+                !((InitialDataResponse) networkEnvelope).hasMoreChunks()) {
             String associatedRequest = ((InitialDataResponse) networkEnvelope).associatedRequest().getSimpleName();
             if (rrtMap.containsKey(associatedRequest)) {
                 rrtMap.put(associatedRequest, System.currentTimeMillis() - rrtMap.get(associatedRequest));
@@ -161,13 +163,30 @@ public class ConnectionStatistics implements MessageListener {
         }
     }
 
-    public void addSendMsgMetrics(long timeSpent, int bytes) {
+    public void addSendMsgMetrics(NetworkEnvelope networkEnvelope, long timeSpent, int bytes) {
         this.timeOnSendMsg += timeSpent;
         this.sentBytes += bytes;
+
+        // Aggregated over all connections
+        String type = networkEnvelope.getClass().getSimpleName();
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        metricsRegistry.histogram("p2p_message_send_duration_ms",
+                "Time from the send request until the message was written to the socket in ms",
+                "type", type).record(timeSpent);
+        metricsRegistry.histogram("p2p_message_sent_size_bytes",
+                "Serialized size of sent messages in bytes", "type", type).record(bytes);
     }
 
-    public void addReceivedMsgMetrics(long timeSpent, int bytes) {
+    public void addReceivedMsgMetrics(NetworkEnvelope networkEnvelope, long timeSpent, int bytes) {
         this.timeOnReceivedMsg += timeSpent;
         this.receivedBytes += bytes;
+
+        String type = networkEnvelope.getClass().getSimpleName();
+        MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+        metricsRegistry.histogram("p2p_message_receive_duration_ms",
+                "Time from reading a message until it was passed to the listeners in ms",
+                "type", type).record(timeSpent);
+        metricsRegistry.histogram("p2p_message_received_size_bytes",
+                "Serialized size of received messages in bytes", "type", type).record(bytes);
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import lombok.Getter;
+
+/**
+ * The length-delimited protobuf encoding of a NetworkEnvelope as it is written to the socket. The bytes are never
+ * exposed, so a frame can be shared by all connections we send the envelope to and it gets serialized only once.
+ */
+public final class EnvelopeFrame {
+    @Getter
+    private final NetworkEnvelope envelope;
+    // Size of the serialized envelope without the length prefix, as used for our statistics
+    @Getter
+    private final int serializedSize;
+    private final byte[] bytes;
+
+    public static EnvelopeFrame of(NetworkEnvelope envelope) {
+        return new EnvelopeFrame(envelope, envelope.toProtoNetworkEnvelope());
+    }
+
+    private EnvelopeFrame(NetworkEnvelope envelope, protobuf.NetworkEnvelope proto) {
+        this.envelope = envelope;
+        serializedSize = proto.getSerializedSize();
+        bytes = new byte[CodedOutputStream.computeUInt32SizeNoTag(serializedSize) + serializedSize];
+        try {
+            CodedOutputStream codedOutputStream = CodedOutputStream.newInstance(bytes);
+            codedOutputStream.writeUInt32NoTag(serializedSize);
+            proto.writeTo(codedOutputStream);
+            codedOutputStream.checkNoSpaceLeft();
+        } catch (IOException e) {
+            throw new IllegalStateException("Serializing to a byte array threw an IOException", e);
+        }
+    }
+
+    public int getFrameSize() {
+        return bytes.length;
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(bytes);
+    }
+}
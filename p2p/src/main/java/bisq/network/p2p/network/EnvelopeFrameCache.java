@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.BundleOfEnvelopes;
+
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.MetricsRegistry;
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Memoizes the EnvelopeFrame of each envelope instance, so the size checks before sending and the sends of the same
+ * envelope to several peers use one encoding. Keys are compared by identity and weakly referenced, so an entry is
+ * dropped once its envelope is not used anymore. The total size of the frames is limited by MAX_CACHED_BYTES.
+ * BundleOfEnvelopes instances are not cached as they get mutated while they are queued for sending.
+ */
+public final class EnvelopeFrameCache {
+    private static final long MAX_CACHED_BYTES = 64 * 1024 * 1024;
+
+    private static final Cache<NetworkEnvelope, EnvelopeFrame> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumWeight(MAX_CACHED_BYTES)
+            .<NetworkEnvelope, EnvelopeFrame>weigher((envelope, frame) -> frame.getFrameSize())
+            .build();
+    private static final Counter HITS = MetricsRegistry.getDefault().counter("p2p_envelope_frame_cache_hits_total",
+            "Number of envelope serializations served from the frame cache");
+    private static final Counter MISSES = MetricsRegistry.getDefault().counter("p2p_envelope_frame_cache_misses_total",
+            "Number of envelope serializations not served from the frame cache");
+
+    private EnvelopeFrameCache() {
+    }
+
+    public static EnvelopeFrame get(NetworkEnvelope envelope) {
+        if (envelope instanceof BundleOfEnvelopes) {
+            MISSES.inc();
+            return EnvelopeFrame.of(envelope);
+        }
+
+        EnvelopeFrame frame = CACHE.getIfPresent(envelope);
+        if (frame != null) {
+            HITS.inc();
+            return frame;
+        }
+
+        MISSES.inc();
+        // Concurrent misses for the same envelope might serialize it twice, but we do not block other threads
+        // while serializing large envelopes.
+        frame = EnvelopeFrame.of(envelope);
+        CACHE.put(envelope, frame);
+        return frame;
+    }
+}
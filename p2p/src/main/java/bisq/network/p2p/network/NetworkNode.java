@@ -280,10 +280,19 @@ public abstract class NetworkNode implements MessageListener {
 
     public SettableFuture<Connection> sendMessage(Connection connection, NetworkEnvelope networkEnvelope) {
         // connection.sendMessage might take a bit (compression, write to stream), so we use a thread to not block
+        return send(connection, () -> connection.sendMessage(networkEnvelope));
+    }
+
+    // Sends an already serialized envelope. Used if we send the same envelope to several connections.
+    public SettableFuture<Connection> sendFrame(Connection connection, EnvelopeFrame frame) {
+        return send(connection, () -> connection.sendFrame(frame));
+    }
+
+    private SettableFuture<Connection> send(Connection connection, Runnable sendTask) {
         ListenableFuture<Connection> future = executorService.submit(() -> {
             String id = connection.getPeersNodeAddressOptional().isPresent() ? connection.getPeersNodeAddressOptional().get().getFullAddress() : connection.getUid();
             Thread.currentThread().setName("NetworkNode:SendMessage-to-" + id);
-            connection.sendMessage(networkEnvelope);
+            sendTask.run();
             return connection;
         });
         final SettableFuture<Connection> resultFuture = SettableFuture.create();
@@ -50,6 +50,15 @@ class ProtoOutputStream {
         }
     }
 
+    void writeFrame(EnvelopeFrame frame) {
+        try {
+            writeFrameOrThrow(frame);
+        } catch (IOException e) {
+            log.error("Failed to write frame", e);
+            throw new BisqRuntimeException("Failed to write frame", e);
+        }
+    }
+
     void onConnectionShutdown() {
         try {
             delegate.close();
@@ -59,11 +68,18 @@ class ProtoOutputStream {
     }
 
     private void writeEnvelopeOrThrow(NetworkEnvelope envelope) throws IOException {
-        protobuf.NetworkEnvelope proto = envelope.toProtoNetworkEnvelope();
-        proto.writeDelimitedTo(delegate);
+        writeFrameOrThrow(EnvelopeFrameCache.get(envelope));
+    }
+
+    private void writeFrameOrThrow(EnvelopeFrame frame) throws IOException {
+        frame.writeTo(delegate);
         delegate.flush();
 
-        statistic.addSentBytes(proto.getSerializedSize());
+        onWritten(frame.getEnvelope(), frame.getSerializedSize());
+    }
+
+    private void onWritten(NetworkEnvelope envelope, int serializedSize) {
+        statistic.addSentBytes(serializedSize);
         statistic.addSentMessage(envelope);
 
         if (!(envelope instanceof KeepAliveMessage)) {
@@ -18,6 +18,8 @@
 package bisq.network.p2p.network;
 
 import bisq.common.UserThread;
+import bisq.common.metrics.Meter;
+import bisq.common.metrics.MetricsRegistry;
 import bisq.common.proto.network.NetworkEnvelope;
 import bisq.common.util.Utilities;
 
@@ -59,6 +61,16 @@ public class Statistic {
     private final static LongProperty numTotalReceivedMessages = new SimpleLongProperty(0);
     private final static DoubleProperty numTotalReceivedMessagesPerSec = new SimpleDoubleProperty(0);
 
+    // Live rates of all connections, the properties above are averages since the start of the application
+    private final static Meter sentBytesMeter = MetricsRegistry.getDefault().meter("p2p_sent_bytes_total",
+            "Bytes sent to all peers");
+    private final static Meter receivedBytesMeter = MetricsRegistry.getDefault().meter("p2p_received_bytes_total",
+            "Bytes received from all peers");
+    private final static Meter sentMessagesMeter = MetricsRegistry.getDefault().meter("p2p_sent_messages_total",
+            "Messages sent to all peers");
+    private final static Meter receivedMessagesMeter = MetricsRegistry.getDefault().meter("p2p_received_messages_total",
+            "Messages received from all peers");
+
     static {
         UserThread.runPeriodically(() -> {
             numTotalSentMessages.set(totalSentMessages.values().stream().mapToInt(Integer::intValue).sum());
@@ -154,6 +166,7 @@ public class Statistic {
     }
 
     void addSentBytes(int value) {
+        sentBytesMeter.mark(value);
         UserThread.execute(() -> {
             sentBytes.set(sentBytes.get() + value);
             totalSentBytes.set(totalSentBytes.get() + value);
@@ -161,6 +174,7 @@ public class Statistic {
     }
 
     void addReceivedBytes(int value) {
+        receivedBytesMeter.mark(value);
         UserThread.execute(() -> {
             receivedBytes.set(receivedBytes.get() + value);
             totalReceivedBytes.set(totalReceivedBytes.get() + value);
@@ -170,32 +184,21 @@ public class Statistic {
     // TODO would need msg inspection to get useful information...
     void addReceivedMessage(NetworkEnvelope networkEnvelope) {
         String messageClassName = networkEnvelope.getClass().getSimpleName();
-        int counter = 1;
-        if (receivedMessages.containsKey(messageClassName)) {
-            counter = receivedMessages.get(messageClassName) + 1;
-        }
-        receivedMessages.put(messageClassName, counter);
-
-        counter = 1;
-        if (totalReceivedMessages.containsKey(messageClassName)) {
-            counter = totalReceivedMessages.get(messageClassName) + 1;
-        }
-        totalReceivedMessages.put(messageClassName, counter);
+        // merge is atomic on a ConcurrentHashMap, so we do not lose counts of concurrent connections
+        receivedMessages.merge(messageClassName, 1, Integer::sum);
+        totalReceivedMessages.merge(messageClassName, 1, Integer::sum);
+        receivedMessagesMeter.mark();
+        MetricsRegistry.getDefault().counter("p2p_received_messages_by_type_total",
+                "Messages received from all peers by message type", "type", messageClassName).inc();
     }
 
     void addSentMessage(NetworkEnvelope networkEnvelope) {
         String messageClassName = networkEnvelope.getClass().getSimpleName();
-        int counter = 1;
-        if (sentMessages.containsKey(messageClassName)) {
-            counter = sentMessages.get(messageClassName) + 1;
-        }
-        sentMessages.put(messageClassName, counter);
-
-        counter = 1;
-        if (totalSentMessages.containsKey(messageClassName)) {
-            counter = totalSentMessages.get(messageClassName) + 1;
-        }
-        totalSentMessages.put(messageClassName, counter);
+        sentMessages.merge(messageClassName, 1, Integer::sum);
+        totalSentMessages.merge(messageClassName, 1, Integer::sum);
+        sentMessagesMeter.mark();
+        MetricsRegistry.getDefault().counter("p2p_sent_messages_by_type_total",
+                "Messages sent to all peers by message type", "type", messageClassName).inc();
     }
 
     public void setRoundTripTime(int roundTripTime) {
@@ -44,7 +44,15 @@ class SynchronizedProtoOutputStream extends ProtoOutputStream {
 
     @Override
     void writeEnvelope(NetworkEnvelope envelope) {
-        Future<?> future = executorService.submit(() -> super.writeEnvelope(envelope));
+        awaitWrite(executorService.submit(() -> super.writeEnvelope(envelope)));
+    }
+
+    @Override
+    void writeFrame(EnvelopeFrame frame) {
+        awaitWrite(executorService.submit(() -> super.writeFrame(frame)));
+    }
+
+    private void awaitWrite(Future<?> future) {
         try {
             future.get();
         } catch (InterruptedException e) {
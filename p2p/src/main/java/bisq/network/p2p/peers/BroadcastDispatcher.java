@@ -0,0 +1,199 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers;
+
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.EnvelopeFrame;
+import bisq.network.p2p.network.NetworkNode;
+
+import bisq.common.UserThread;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Sends the frames of all broadcasts through one outbound queue per connection. Each connection has at most one
+ * frame in flight, so a slow peer only delays its own queue and not the broadcasts to other peers. The next frame
+ * of a queue is sent when the previous send has completed. If the connection's send throttle requires a pause we
+ * delay the next frame of that queue with a timer instead of blocking a send thread.
+ * Priority deliveries like the broadcasts at shut down are sent before all normal deliveries of the queue and are
+ * never dropped, as they have to get out before the shut down timeout.
+ * Runs on the user thread.
+ */
+@Slf4j
+class BroadcastDispatcher {
+    // If a peer does not keep up we drop its oldest frames. Those count as failed broadcasts.
+    private static final int MAX_QUEUE_SIZE = 100;
+
+    static class Delivery {
+        private final EnvelopeFrame frame;
+        private final List<Broadcaster.BroadcastRequest> broadcastRequests;
+        private final BroadcastHandler handler;
+        private final boolean priority;
+
+        Delivery(EnvelopeFrame frame, List<Broadcaster.BroadcastRequest> broadcastRequests, BroadcastHandler handler) {
+            this(frame, broadcastRequests, handler, false);
+        }
+
+        Delivery(EnvelopeFrame frame,
+                 List<Broadcaster.BroadcastRequest> broadcastRequests,
+                 BroadcastHandler handler,
+                 boolean priority) {
+            this.frame = frame;
+            this.broadcastRequests = broadcastRequests;
+            this.handler = handler;
+            this.priority = priority;
+        }
+    }
+
+    private static class PeerQueue {
+        private final Connection connection;
+        private final Queue<Delivery> priorityDeliveries = new ArrayDeque<>();
+        private final Queue<Delivery> deliveries = new ArrayDeque<>();
+        private boolean sending;
+
+        private PeerQueue(Connection connection) {
+            this.connection = connection;
+        }
+
+        private Delivery poll() {
+            Delivery delivery = priorityDeliveries.poll();
+            return delivery != null ? delivery : deliveries.poll();
+        }
+
+        private int size() {
+            return priorityDeliveries.size() + deliveries.size();
+        }
+    }
+
+    private final NetworkNode networkNode;
+    private final Map<String, PeerQueue> queueByConnectionUid = new HashMap<>();
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Constructor
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    BroadcastDispatcher(NetworkNode networkNode) {
+        this.networkNode = networkNode;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    void enqueue(Connection connection, Delivery delivery) {
+        PeerQueue queue = queueByConnectionUid.computeIfAbsent(connection.getUid(), uid -> new PeerQueue(connection));
+        if (delivery.priority) {
+            queue.priorityDeliveries.add(delivery);
+        } else {
+            queue.deliveries.add(delivery);
+        }
+        if (queue.deliveries.size() > MAX_QUEUE_SIZE) {
+            Delivery dropped = queue.deliveries.remove();
+            log.warn("Outbound broadcast queue to {} is full. We drop the oldest frame.",
+                    connection.getPeersNodeAddressOptional());
+            if (!dropped.handler.isStopped()) {
+                dropped.handler.onDeliveryFailed(dropped.broadcastRequests);
+            }
+        }
+        if (!queue.sending) {
+            sendNext(queue);
+        }
+    }
+
+    int getNumQueuedFrames() {
+        return queueByConnectionUid.values().stream().mapToInt(PeerQueue::size).sum();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void sendNext(PeerQueue queue) {
+        long delay = queue.connection.getSendFrameDelayMs();
+        if (delay > 0 && queue.size() > 0 && !queue.connection.isStopped()) {
+            queue.sending = true;
+            UserThread.runAfter(() -> {
+                queue.sending = false;
+                sendNext(queue);
+            }, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
+
+        Delivery delivery;
+        // Broadcasts which got completed or cancelled in the meantime do not need to be sent anymore
+        do {
+            delivery = queue.poll();
+        } while (delivery != null && delivery.handler.isStopped());
+
+        if (delivery == null) {
+            queueByConnectionUid.remove(queue.connection.getUid());
+            return;
+        }
+
+        if (queue.connection.isStopped()) {
+            // Connection has died in the meantime. We skip all its frames.
+            delivery.handler.onPeerSkipped();
+            Stream.concat(queue.priorityDeliveries.stream(), queue.deliveries.stream())
+                    .filter(e -> !e.handler.isStopped())
+                    .forEach(e -> e.handler.onPeerSkipped());
+            queueByConnectionUid.remove(queue.connection.getUid());
+            return;
+        }
+
+        queue.sending = true;
+        Delivery finalDelivery = delivery;
+        Futures.addCallback(networkNode.sendFrame(queue.connection, delivery.frame), new FutureCallback<>() {
+            @Override
+            public void onSuccess(Connection connection) {
+                queue.sending = false;
+                if (!finalDelivery.handler.isStopped()) {
+                    finalDelivery.handler.onDelivered(finalDelivery.broadcastRequests);
+                }
+                sendNext(queue);
+            }
+
+            @Override
+            public void onFailure(@NotNull Throwable throwable) {
+                log.warn("Broadcast to {} failed. ErrorMessage={}", queue.connection.getPeersNodeAddressOptional(),
+                        throwable.getMessage());
+                queue.sending = false;
+                if (!finalDelivery.handler.isStopped()) {
+                    finalDelivery.handler.onDeliveryFailed(finalDelivery.broadcastRequests);
+                }
+                sendNext(queue);
+            }
+        }, MoreExecutors.directExecutor());
+    }
+}
@@ -20,28 +20,28 @@ package bisq.network.p2p.peers;
 import bisq.network.p2p.BundleOfEnvelopes;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.EnvelopeFrame;
+import bisq.network.p2p.network.EnvelopeFrameCache;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.storage.messages.BroadcastMessage;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
-
-import com.google.common.util.concurrent.FutureCallback;
-import com.google.common.util.concurrent.Futures;
-import com.google.common.util.concurrent.MoreExecutors;
-import com.google.common.util.concurrent.SettableFuture;
+import bisq.common.util.Tuple2;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.jetbrains.annotations.NotNull;
-
 @Slf4j
 public class BroadcastHandler implements PeerManager.Listener {
     private static final long BASE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(120);
@@ -68,6 +68,7 @@ public class BroadcastHandler implements PeerManager.Listener {
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
+    private final BroadcastDispatcher broadcastDispatcher;
     private final ResultHandler resultHandler;
     private final String uid;
 
@@ -80,9 +81,13 @@ public class BroadcastHandler implements PeerManager.Listener {
     // Constructor
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    BroadcastHandler(NetworkNode networkNode, PeerManager peerManager, ResultHandler resultHandler) {
+    BroadcastHandler(NetworkNode networkNode,
+                     PeerManager peerManager,
+                     BroadcastDispatcher broadcastDispatcher,
+                     ResultHandler resultHandler) {
         this.networkNode = networkNode;
         this.peerManager = peerManager;
+        this.broadcastDispatcher = broadcastDispatcher;
         this.resultHandler = resultHandler;
         uid = UUID.randomUUID().toString();
 
@@ -98,63 +103,52 @@ public class BroadcastHandler implements PeerManager.Listener {
         List<Connection> confirmedConnections = new ArrayList<>(networkNode.getConfirmedConnections());
         Collections.shuffle(confirmedConnections);
 
-        int delay;
         if (shutDownRequested) {
-            delay = 1;
             // We sent to all peers as in case we had offers we want that it gets removed with higher reliability
             numPeersForBroadcast = confirmedConnections.size();
         } else {
             if (requestsContainOwnMessage(broadcastRequests)) {
-                // The broadcastRequests contains at least 1 message we have originated, so we send to all peers and
-                // with shorter delay
+                // The broadcastRequests contains at least 1 message we have originated, so we send to all peers
                 numPeersForBroadcast = confirmedConnections.size();
-                delay = 50;
             } else {
-                // Relay nodes only send to max 7 peers and with longer delay
+                // Relay nodes only send to max 7 peers
                 numPeersForBroadcast = Math.min(7, confirmedConnections.size());
-                delay = 100;
             }
         }
 
-        setupTimeoutHandler(broadcastRequests, delay, shutDownRequested);
+        setupTimeoutHandler(broadcastRequests, shutDownRequested);
 
+        // Most connections get the same requests, so we serialize the message only once per distinct set of
+        // requests and share the frame between those connections. The sets are keyed by the indices of their
+        // requests, so we do not need to hash and compare the messages. A single message has usually been serialized
+        // already by the Broadcaster for splitting the batches.
+        Map<BitSet, Tuple2<List<Broadcaster.BroadcastRequest>, EnvelopeFrame>> frameByRequestIndices = new HashMap<>();
         int iterations = numPeersForBroadcast;
         for (int i = 0; i < iterations; i++) {
-            long minDelay = (i + 1) * delay;
-            long maxDelay = (i + 2) * delay;
             Connection connection = confirmedConnections.get(i);
-            UserThread.runAfterRandomDelay(() -> {
-                if (stopped) {
-                    return;
-                }
-
-                // We use broadcastRequests which have excluded the requests for messages the connection has
-                // originated to avoid sending back the message we received. We also remove messages not satisfying
-                // capability checks.
-                List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection = getBroadcastRequestsForConnection(connection, broadcastRequests);
-
-                // Could be empty list...
-                if (broadcastRequestsForConnection.isEmpty()) {
-                    // We decrease numPeers in that case for making completion checks correct.
-                    if (numPeersForBroadcast > 0) {
-                        numPeersForBroadcast--;
-                    }
-                    checkForCompletion();
-                    return;
-                }
-
-                if (connection.isStopped()) {
-                    // Connection has died in the meantime. We skip it.
-                    // We decrease numPeers in that case for making completion checks correct.
-                    if (numPeersForBroadcast > 0) {
-                        numPeersForBroadcast--;
-                    }
-                    checkForCompletion();
-                    return;
-                }
-
-                sendToPeer(connection, broadcastRequestsForConnection);
-            }, minDelay, maxDelay, TimeUnit.MILLISECONDS);
+
+            // We use broadcastRequests which have excluded the requests for messages the connection has
+            // originated to avoid sending back the message we received. We also remove messages not satisfying
+            // capability checks.
+            BitSet requestIndices = getBroadcastRequestIndicesForConnection(connection, broadcastRequests);
+
+            // Could be empty...
+            if (requestIndices.isEmpty()) {
+                // We decrease numPeers in that case for making completion checks correct.
+                onPeerSkipped();
+                continue;
+            }
+
+            Tuple2<List<Broadcaster.BroadcastRequest>, EnvelopeFrame> requestsAndFrame =
+                    frameByRequestIndices.computeIfAbsent(requestIndices, indices -> {
+                        List<Broadcaster.BroadcastRequest> requests = indices.stream()
+                                .mapToObj(broadcastRequests::get)
+                                .collect(Collectors.toList());
+                        return new Tuple2<>(requests, EnvelopeFrameCache.get(getMessage(requests)));
+                    });
+            // At shut down our frames go ahead of the frames already queued for the connection
+            broadcastDispatcher.enqueue(connection,
+                    new BroadcastDispatcher.Delivery(requestsAndFrame.second, requestsAndFrame.first, this, shutDownRequested));
         }
     }
 
@@ -164,6 +158,35 @@ public class BroadcastHandler implements PeerManager.Listener {
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Called by BroadcastDispatcher
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    void onDelivered(List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection) {
+        numOfCompletedBroadcasts++;
+        maybeNotifyListeners(broadcastRequestsForConnection);
+        checkForCompletion();
+    }
+
+    void onDeliveryFailed(List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection) {
+        numOfFailedBroadcasts++;
+        maybeNotifyListeners(broadcastRequestsForConnection);
+        checkForCompletion();
+    }
+
+    // Called if the connection has died before we could send to it
+    void onPeerSkipped() {
+        if (numPeersForBroadcast > 0) {
+            numPeersForBroadcast--;
+        }
+        checkForCompletion();
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // PeerManager.Listener implementation
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -196,11 +219,9 @@ public class BroadcastHandler implements PeerManager.Listener {
     }
 
     private void setupTimeoutHandler(List<Broadcaster.BroadcastRequest> broadcastRequests,
-                                     int delay,
                                      boolean shutDownRequested) {
         // In case of shutdown we try to complete fast and set a short 1 second timeout
-        long baseTimeoutMs = shutDownRequested ? TimeUnit.SECONDS.toMillis(1) : BASE_TIMEOUT_MS;
-        long timeoutDelay = baseTimeoutMs + delay * (numPeersForBroadcast + 1); // We added 1 in the loop
+        long timeoutDelay = shutDownRequested ? TimeUnit.SECONDS.toMillis(1) : BASE_TIMEOUT_MS;
         timeoutTimer = UserThread.runAfter(() -> {
             if (stopped) {
                 return;
@@ -226,47 +247,20 @@ public class BroadcastHandler implements PeerManager.Listener {
 
     // We exclude the requests containing a message we received from that connection
     // Also we filter out messages which requires a capability but peer does not support it.
-    private List<Broadcaster.BroadcastRequest> getBroadcastRequestsForConnection(Connection connection,
-                                                                                 List<Broadcaster.BroadcastRequest> broadcastRequests) {
-        return broadcastRequests.stream()
-                .filter(broadcastRequest -> !connection.getPeersNodeAddressOptional().isPresent() ||
-                        !connection.getPeersNodeAddressOptional().get().equals(broadcastRequest.getSender()))
-                .filter(broadcastRequest -> connection.noCapabilityRequiredOrCapabilityIsSupported(broadcastRequest.getMessage()))
-                .collect(Collectors.toList());
-    }
-
-    private void sendToPeer(Connection connection, List<Broadcaster.BroadcastRequest> broadcastRequestsForConnection) {
-        // Can be BundleOfEnvelopes or a single BroadcastMessage
-        BroadcastMessage broadcastMessage = getMessage(broadcastRequestsForConnection);
-        SettableFuture<Connection> future = networkNode.sendMessage(connection, broadcastMessage);
-
-        Futures.addCallback(future, new FutureCallback<>() {
-            @Override
-            public void onSuccess(Connection connection) {
-                numOfCompletedBroadcasts++;
-
-                if (stopped) {
-                    return;
-                }
-
-                maybeNotifyListeners(broadcastRequestsForConnection);
-                checkForCompletion();
+    private BitSet getBroadcastRequestIndicesForConnection(Connection connection,
+                                                           List<Broadcaster.BroadcastRequest> broadcastRequests) {
+        BitSet requestIndices = new BitSet(broadcastRequests.size());
+        Optional<NodeAddress> peersNodeAddress = connection.getPeersNodeAddressOptional();
+        for (int i = 0; i < broadcastRequests.size(); i++) {
+            Broadcaster.BroadcastRequest broadcastRequest = broadcastRequests.get(i);
+            if (peersNodeAddress.isPresent() && peersNodeAddress.get().equals(broadcastRequest.getSender())) {
+                continue;
             }
-
-            @Override
-            public void onFailure(@NotNull Throwable throwable) {
-                log.warn("Broadcast to {} failed. ErrorMessage={}", connection.getPeersNodeAddressOptional(),
-                        throwable.getMessage());
-                numOfFailedBroadcasts++;
-
-                if (stopped) {
-                    return;
-                }
-
-                maybeNotifyListeners(broadcastRequestsForConnection);
-                checkForCompletion();
+            if (connection.noCapabilityRequiredOrCapabilityIsSupported(broadcastRequest.getMessage())) {
+                requestIndices.set(i);
             }
-        }, MoreExecutors.directExecutor());
+        }
+        return requestIndices;
     }
 
     private BroadcastMessage getMessage(List<Broadcaster.BroadcastRequest> broadcastRequests) {
@@ -18,6 +18,8 @@
 package bisq.network.p2p.peers;
 
 import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.EnvelopeFrameCache;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.storage.messages.BroadcastMessage;
 
@@ -26,11 +28,14 @@ import bisq.common.UserThread;
 
 import javax.inject.Inject;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 import lombok.Value;
@@ -41,12 +46,19 @@ import org.jetbrains.annotations.Nullable;
 @Slf4j
 public class Broadcaster implements BroadcastHandler.ResultHandler {
     private static final long BROADCAST_INTERVAL_MS = 2000;
+    // We split large bundles so a single broadcast does not occupy our connections for too long. Each batch stays
+    // well below the max. permitted size of a BundleOfEnvelopes.
+    private static final int MAX_BATCH_SIZE_BYTES = 1024 * 1024;
+    private static final long MIN_BATCH_INTERVAL_MS = 200;
+    private static final long MAX_BATCH_INTERVAL_MS = TimeUnit.SECONDS.toMillis(10);
 
     private final NetworkNode networkNode;
     private final PeerManager peerManager;
+    private final BroadcastDispatcher broadcastDispatcher;
     private final Set<BroadcastHandler> broadcastHandlers = new CopyOnWriteArraySet<>();
     private final List<BroadcastRequest> broadcastRequests = new ArrayList<>();
-    private Timer timer;
+    private final Queue<List<BroadcastRequest>> pendingBatches = new ArrayDeque<>();
+    private Timer timer, batchTimer;
     private boolean shutDownRequested;
     private Runnable shutDownResultHandler;
 
@@ -59,12 +71,13 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
     public Broadcaster(NetworkNode networkNode, PeerManager peerManager) {
         this.networkNode = networkNode;
         this.peerManager = peerManager;
+        broadcastDispatcher = new BroadcastDispatcher(networkNode);
     }
 
     public void shutDown(Runnable resultHandler) {
         shutDownRequested = true;
         shutDownResultHandler = resultHandler;
-        if (broadcastRequests.isEmpty()) {
+        if (broadcastRequests.isEmpty() && pendingBatches.isEmpty()) {
             doShutDown();
         } else {
             // We set delay of broadcasts and timeout to very low values,
@@ -82,6 +95,9 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
         if (timer != null) {
             timer.stop();
         }
+        if (batchTimer != null) {
+            batchTimer.stop();
+        }
         shutDownResultHandler.run();
     }
 
@@ -115,13 +131,76 @@ public class Broadcaster implements BroadcastHandler.ResultHandler {
             log.debug("Broadcast bundled requests of {} messages. Message types: {}",
                     broadcastRequests.size(),
                     broadcastRequests.stream().map(e -> e.getMessage().getClass().getSimpleName()).collect(Collectors.toList()));
-            BroadcastHandler broadcastHandler = new BroadcastHandler(networkNode, peerManager, this);
-            broadcastHandlers.add(broadcastHandler);
-            broadcastHandler.broadcast(new ArrayList<>(broadcastRequests), shutDownRequested);
+            List<List<BroadcastRequest>> batches = splitBySize(broadcastRequests,
+                    request -> EnvelopeFrameCache.get(request.getMessage()).getSerializedSize(),
+                    MAX_BATCH_SIZE_BYTES);
+            if (batches.size() > 1) {
+                log.info("Broadcast of {} messages is split into {} batches", broadcastRequests.size(), batches.size());
+            }
+            pendingBatches.addAll(batches);
             broadcastRequests.clear();
 
             timer = null;
         }
+
+        if (shutDownRequested && batchTimer != null) {
+            batchTimer.stop();
+            batchTimer = null;
+        }
+        if (batchTimer == null) {
+            broadcastNextBatch();
+        }
+    }
+
+    private void broadcastNextBatch() {
+        batchTimer = null;
+        List<BroadcastRequest> batch = pendingBatches.poll();
+        if (batch == null) {
+            return;
+        }
+
+        BroadcastHandler broadcastHandler = new BroadcastHandler(networkNode, peerManager, broadcastDispatcher, this);
+        broadcastHandlers.add(broadcastHandler);
+        broadcastHandler.broadcast(batch, shutDownRequested);
+
+        if (pendingBatches.isEmpty()) {
+            return;
+        }
+
+        if (shutDownRequested) {
+            broadcastNextBatch();
+        } else {
+            // We pace the remaining batches by the backpressure of our connections, so we do not queue up more data
+            // than our peers can receive.
+            long maxPendingSendDelay = networkNode.getConfirmedConnections().stream()
+                    .mapToLong(Connection::getPendingSendDelayMs)
+                    .max()
+                    .orElse(0);
+            long delay = Math.min(MAX_BATCH_INTERVAL_MS, MIN_BATCH_INTERVAL_MS + maxPendingSendDelay);
+            batchTimer = UserThread.runAfter(this::broadcastNextBatch, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Splits items into consecutive batches with a total size not exceeding maxBatchSize. An item larger than
+    // maxBatchSize is put into its own batch.
+    static <T> List<List<T>> splitBySize(List<T> items, ToIntFunction<T> sizeFunction, int maxBatchSize) {
+        List<List<T>> batches = new ArrayList<>();
+        List<T> batch = new ArrayList<>();
+        int batchSize = 0;
+        for (T item : items) {
+            int size = sizeFunction.applyAsInt(item);
+            if (!batch.isEmpty() && batchSize + size > maxBatchSize) {
+                batches.add(batch);
+                batch = new ArrayList<>();
+                batchSize = 0;
+            }
+            batch.add(item);
+            batchSize += size;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
     }
 
 
@@ -25,6 +25,7 @@ import bisq.network.p2p.network.InboundConnection;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.network.PeerType;
 import bisq.network.p2p.network.RuleViolation;
+import bisq.network.p2p.peers.keepalive.messages.Ping;
 import bisq.network.p2p.peers.peerexchange.Peer;
 import bisq.network.p2p.peers.peerexchange.PeerList;
 import bisq.network.p2p.seed.SeedNodeRepository;
@@ -37,18 +38,27 @@ import bisq.common.app.Capability;
 import bisq.common.config.Config;
 import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.persistable.PersistedDataHost;
+import bisq.common.util.Utilities;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
@@ -56,6 +66,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -82,6 +93,8 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Age of what we consider connected peers still as live peers
     private static final long MAX_AGE_LIVE_PEERS = TimeUnit.MINUTES.toMillis(30);
     private static final boolean PRINT_REPORTED_PEERS_DETAILS = true;
+    // How long we keep the connection to a peer we exchanged direct messages with warm
+    private static final long WARM_CONNECTION_TTL_MS = TimeUnit.MINUTES.toMillis(10);
     private Timer printStatisticsTimer;
     private boolean shutDownRequested;
 
@@ -113,10 +126,11 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Persistable peerList
     private final PeerList peerList = new PeerList();
     // Peers we got reported from other peers
-    @Getter
-    private final Set<Peer> reportedPeers = new HashSet<>();
+    private final Map<NodeAddress, Peer> reportedPeerByNodeAddress = new HashMap<>();
     // Most recent peers with activity date of last 30 min.
-    private final Set<Peer> latestLivePeers = new HashSet<>();
+    private final Map<NodeAddress, Peer> latestLivePeerByNodeAddress = new HashMap<>();
+    // Expiry of warm connections in the order the peers have been used, so the first one is the least recently used
+    private final Map<NodeAddress, Long> warmConnectionExpiryByNodeAddress = new LinkedHashMap<>();
 
     private Timer checkMaxConnectionsTimer;
     private boolean stopped;
@@ -128,6 +142,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     private int outBoundPeerTrigger;
     private int initialDataExchangeTrigger;
     private int maxConnectionsAbsolute;
+    private int maxWarmConnections;
     @Getter
     private int peakNumConnections;
     @Getter
@@ -199,7 +214,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     @Override
     public void readPersisted(Runnable completeHandler) {
         persistenceManager.readPersisted(persisted -> {
-                    peerList.setAll(persisted.getSet());
+                    peerList.setAll(persisted.getPeers());
                     completeHandler.run();
                 },
                 completeHandler);
@@ -310,10 +325,6 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         return nodeAddress.equals(networkNode.getNodeAddress());
     }
 
-    private boolean isSeedNode(Peer peer) {
-        return seedNodeAddresses.contains(peer.getNodeAddress());
-    }
-
     public boolean isSeedNode(NodeAddress nodeAddress) {
         return seedNodeAddresses.contains(nodeAddress);
     }
@@ -343,22 +354,31 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     // Peer
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    @SuppressWarnings("unused")
+    // We prefer the live peers, then the persisted and then the reported peers
     public Optional<Peer> findPeer(NodeAddress peersNodeAddress) {
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                .findAny();
+        Peer peer = latestLivePeerByNodeAddress.get(peersNodeAddress);
+        if (peer == null) {
+            peer = peerList.find(peersNodeAddress).orElse(null);
+        }
+        if (peer == null) {
+            peer = reportedPeerByNodeAddress.get(peersNodeAddress);
+        }
+        return Optional.ofNullable(peer);
     }
 
     public Set<Peer> getAllPeers() {
         Set<Peer> allPeers = new HashSet<>(getLivePeers());
         allPeers.addAll(getPersistedPeers());
-        allPeers.addAll(reportedPeers);
+        allPeers.addAll(getReportedPeers());
         return allPeers;
     }
 
     public Collection<Peer> getPersistedPeers() {
-        return peerList.getSet();
+        return peerList.getPeers();
+    }
+
+    public Collection<Peer> getReportedPeers() {
+        return Collections.unmodifiableCollection(reportedPeerByNodeAddress.values());
     }
 
     public void addToReportedPeers(Set<Peer> reportedPeersToAdd,
@@ -374,10 +394,11 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
         // We check if the reported msg is not violating our rules
         if (peers.size() <= (MAX_REPORTED_PEERS + maxConnectionsAbsolute + 10)) {
-            reportedPeers.addAll(peers);
+            // Peers we know already keep their entry
+            peers.forEach(peer -> reportedPeerByNodeAddress.putIfAbsent(peer.getNodeAddress(), peer));
             purgeReportedPeersIfExceeds();
 
-            getPersistedPeers().addAll(peers);
+            peers.forEach(peerList::add);
             purgePersistedPeersIfExceeds();
             requestPersistence();
 
@@ -392,30 +413,33 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
     // Delivers the live peers from the last 30 min (MAX_AGE_LIVE_PEERS)
     // We include older peers to avoid risks for network partitioning
-    public Set<Peer> getLivePeers() {
+    public Collection<Peer> getLivePeers() {
         return getLivePeers(null);
     }
 
-    public Set<Peer> getLivePeers(@Nullable NodeAddress excludedNodeAddress) {
-        int oldNumLatestLivePeers = latestLivePeers.size();
+    public Collection<Peer> getLivePeers(@Nullable NodeAddress excludedNodeAddress) {
+        int oldNumLatestLivePeers = latestLivePeerByNodeAddress.size();
 
-        Set<Peer> peers = new HashSet<>(latestLivePeers);
-        Set<Peer> currentLivePeers = getConnectedReportedPeers().stream()
-                .filter(e -> !isSeedNode(e))
-                .filter(e -> !e.getNodeAddress().equals(excludedNodeAddress))
-                .collect(Collectors.toSet());
-        peers.addAll(currentLivePeers);
+        // networkNode.getConfirmedConnections includes:
+        // filter(connection -> connection.getPeersNodeAddressOptional().isPresent())
+        networkNode.getConfirmedConnections().forEach(connection -> {
+            Optional<NodeAddress> peersNodeAddressOptional = connection.getPeersNodeAddressOptional();
+            checkArgument(peersNodeAddressOptional.isPresent()); // getConfirmedConnections delivers only connections where we know the address
+            NodeAddress peersNodeAddress = peersNodeAddressOptional.get();
+            // Connected peers we have already added keep their entry
+            if (!isSeedNode(peersNodeAddress) &&
+                    !peersNodeAddress.equals(excludedNodeAddress) &&
+                    !latestLivePeerByNodeAddress.containsKey(peersNodeAddress)) {
+                latestLivePeerByNodeAddress.put(peersNodeAddress, createConnectedPeer(connection, peersNodeAddress));
+            }
+        });
 
         long maxAge = new Date().getTime() - MAX_AGE_LIVE_PEERS;
-        latestLivePeers.clear();
-        Set<Peer> recentPeers = peers.stream()
-                .filter(peer -> peer.getDateAsLong() > maxAge)
-                .collect(Collectors.toSet());
-        latestLivePeers.addAll(recentPeers);
+        latestLivePeerByNodeAddress.values().removeIf(peer -> peer.getDateAsLong() <= maxAge);
 
-        if (oldNumLatestLivePeers != latestLivePeers.size())
-            log.info("Num of latestLivePeers={}", latestLivePeers.size());
-        return latestLivePeers;
+        if (oldNumLatestLivePeers != latestLivePeerByNodeAddress.size())
+            log.info("Num of latestLivePeers={}", latestLivePeerByNodeAddress.size());
+        return Collections.unmodifiableCollection(latestLivePeerByNodeAddress.values());
     }
 
 
@@ -445,10 +469,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         // inefficient.
         // Also this risk is only for not updated peers, so in case that would be abused for an
         // attack all users have a strong incentive to update ;-).
-        return getAllPeers().stream()
-                .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
-                .findAny()
-                .map(Peer::getCapabilities);
+        return findPeer(nodeAddress).map(Peer::getCapabilities);
     }
 
     private void applyCapabilities(Connection connection, Capabilities newCapabilities) {
@@ -457,8 +478,10 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         }
 
         connection.getPeersNodeAddressOptional().ifPresent(nodeAddress -> {
-            getAllPeers().stream()
-                    .filter(peer -> peer.getNodeAddress().equals(nodeAddress))
+            Stream.of(latestLivePeerByNodeAddress.get(nodeAddress),
+                    peerList.find(nodeAddress).orElse(null),
+                    reportedPeerByNodeAddress.get(nodeAddress))
+                    .filter(Objects::nonNull)
                     .filter(peer -> peer.getCapabilities().hasLess(newCapabilities))
                     .forEach(peer -> peer.setCapabilities(newCapabilities));
         });
@@ -505,9 +528,13 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
 
         log.info("We have too many connections open. " +
                 "Lets try first to remove the inbound connections of type PEER.");
+        // Warm connections are never closed here. Their number is limited by the idle budget of maxWarmConnections,
+        // which stays below all our limits, so we always find other candidates.
+        Set<Connection> warmConnections = getWarmConnections(allConnections);
         List<Connection> candidates = allConnections.stream()
                 .filter(e -> e instanceof InboundConnection)
                 .filter(e -> e.getConnectionState().getPeerType() == PeerType.PEER)
+                .filter(e -> !warmConnections.contains(e))
                 .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
                 .collect(Collectors.toList());
 
@@ -524,6 +551,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                     "Lets try to remove outbound connection of type PEER.", outBoundPeerTrigger);
             candidates = allConnections.stream()
                     .filter(e -> e.getConnectionState().getPeerType() == PeerType.PEER)
+                    .filter(e -> !warmConnections.contains(e))
                     .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
                     .collect(Collectors.toList());
 
@@ -540,6 +568,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                         "Lets try to remove the oldest INITIAL_DATA_EXCHANGE connection.", initialDataExchangeTrigger);
                 candidates = allConnections.stream()
                         .filter(e -> e.getConnectionState().getPeerType() == PeerType.INITIAL_DATA_EXCHANGE)
+                        .filter(e -> !warmConnections.contains(e))
                         .sorted(Comparator.comparingLong(o -> o.getConnectionState().getLastInitialDataMsgTimeStamp()))
                         .collect(Collectors.toList());
 
@@ -552,8 +581,9 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
                         return false;
                     }
 
-                    log.info("We reached abs. max. connections. Lets try to remove ANY connection.");
+                    log.info("We reached abs. max. connections. Lets try to remove ANY connection which is not warm.");
                     candidates = allConnections.stream()
+                            .filter(e -> !warmConnections.contains(e))
                             .sorted(Comparator.comparingLong(o -> o.getStatistic().getLastActivityTimestamp()))
                             .collect(Collectors.toList());
                 }
@@ -598,57 +628,61 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private void removeReportedPeer(Peer reportedPeer) {
-        reportedPeers.remove(reportedPeer);
+        reportedPeerByNodeAddress.remove(reportedPeer.getNodeAddress());
         printReportedPeers();
     }
 
     private void removeReportedPeer(NodeAddress nodeAddress) {
-        List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-        reportedPeersClone.stream()
-                .filter(e -> e.getNodeAddress().equals(nodeAddress))
-                .findAny()
-                .ifPresent(this::removeReportedPeer);
+        Peer reportedPeer = reportedPeerByNodeAddress.get(nodeAddress);
+        if (reportedPeer != null) {
+            removeReportedPeer(reportedPeer);
+        }
     }
 
     private void removeTooOldReportedPeers() {
-        List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-        Set<Peer> reportedPeersToRemove = reportedPeersClone.stream()
-                .filter(reportedPeer -> new Date().getTime() - reportedPeer.getDate().getTime() > MAX_AGE)
-                .collect(Collectors.toSet());
-        reportedPeersToRemove.forEach(this::removeReportedPeer);
+        long now = new Date().getTime();
+        if (reportedPeerByNodeAddress.values().removeIf(reportedPeer -> now - reportedPeer.getDateAsLong() > MAX_AGE)) {
+            printReportedPeers();
+        }
     }
 
 
     private void purgeReportedPeersIfExceeds() {
-        int size = reportedPeers.size();
+        int size = reportedPeerByNodeAddress.size();
         if (size > MAX_REPORTED_PEERS) {
             log.info("We have already {} reported peers which exceeds our limit of {}." +
                     "We remove random peers from the reported peers list.", size, MAX_REPORTED_PEERS);
-            int diff = size - MAX_REPORTED_PEERS;
-            List<Peer> list = new ArrayList<>(reportedPeers);
             // we don't use sorting by lastActivityDate to keep it more random
-            for (int i = 0; i < diff; i++) {
-                if (!list.isEmpty()) {
-                    Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                    removeReportedPeer(toRemove);
-                }
-            }
+            removeRandomPeers(reportedPeerByNodeAddress.values(), size - MAX_REPORTED_PEERS)
+                    .forEach(peer -> reportedPeerByNodeAddress.remove(peer.getNodeAddress()));
+            printReportedPeers();
         } else {
             log.trace("No need to purge reported peers.\n\tWe don't have more then {} reported peers yet.", MAX_REPORTED_PEERS);
         }
     }
 
+    // Picks numPeers random peers. We swap each picked peer to the end of the list so we can remove it in constant time.
+    private static List<Peer> removeRandomPeers(Collection<Peer> peers, int numPeers) {
+        List<Peer> list = new ArrayList<>(peers);
+        List<Peer> removed = new ArrayList<>(numPeers);
+        Random random = new Random();
+        for (int i = 0; i < numPeers && !list.isEmpty(); i++) {
+            Collections.swap(list, random.nextInt(list.size()), list.size() - 1);
+            removed.add(list.remove(list.size() - 1));
+        }
+        return removed;
+    }
+
     private void printReportedPeers() {
-        if (!reportedPeers.isEmpty()) {
+        if (!reportedPeerByNodeAddress.isEmpty()) {
             if (PRINT_REPORTED_PEERS_DETAILS) {
                 StringBuilder result = new StringBuilder("\n\n------------------------------------------------------------\n" +
                         "Collected reported peers:");
-                List<Peer> reportedPeersClone = new ArrayList<>(reportedPeers);
-                reportedPeersClone.forEach(e -> result.append("\n").append(e));
+                reportedPeerByNodeAddress.values().forEach(e -> result.append("\n").append(e));
                 result.append("\n------------------------------------------------------------\n");
                 log.trace(result.toString());
             }
-            log.debug("Number of reported peers: {}", reportedPeers.size());
+            log.debug("Number of reported peers: {}", reportedPeerByNodeAddress.size());
         }
     }
 
@@ -668,8 +702,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private boolean removePersistedPeer(Peer persistedPeer) {
-        if (getPersistedPeers().contains(persistedPeer)) {
-            getPersistedPeers().remove(persistedPeer);
+        if (peerList.remove(persistedPeer)) {
             requestPersistence();
             return true;
         } else {
@@ -688,9 +721,7 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
     }
 
     private Optional<Peer> findPersistedPeer(NodeAddress nodeAddress) {
-        return getPersistedPeers().stream()
-                .filter(e -> e.getNodeAddress().equals(nodeAddress))
-                .findAny();
+        return peerList.find(nodeAddress);
     }
 
     private void removeTooOldPersistedPeers() {
@@ -706,21 +737,97 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         if (size > limit) {
             log.trace("We have already {} persisted peers which exceeds our limit of {}." +
                     "We remove random peers from the persisted peers list.", size, limit);
-            int diff = size - limit;
-            List<Peer> list = new ArrayList<>(getPersistedPeers());
             // we don't use sorting by lastActivityDate to avoid attack vectors and keep it more random
-            for (int i = 0; i < diff; i++) {
-                if (!list.isEmpty()) {
-                    Peer toRemove = list.remove(new Random().nextInt(list.size()));
-                    removePersistedPeer(toRemove);
-                }
-            }
+            removeRandomPeers(getPersistedPeers(), size - limit).forEach(this::removePersistedPeer);
         } else {
             log.trace("No need to purge persisted peers.\n\tWe don't have more then {} persisted peers yet.", MAX_PERSISTED_PEERS);
         }
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Warm connections
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Protects the connection to a peer we exchange direct messages with, like trade peers and dispute agents, from
+     * getting closed when we exceed our connection limits, so that we do not need to create a new Tor circuit for
+     * the next message. The connection stays warm until it has not been used for WARM_CONNECTION_TTL_MS. All warm
+     * connections share the idle budget of maxWarmConnections, which is enforced in checkMaxConnections. If we have
+     * more warm peers than that budget the least recently used peer is removed.
+     */
+    public void keepConnectionWarm(NodeAddress nodeAddress) {
+        if (isSelf(nodeAddress) || isSeedNode(nodeAddress)) {
+            return;
+        }
+        warmConnectionExpiryByNodeAddress.remove(nodeAddress);
+        warmConnectionExpiryByNodeAddress.put(nodeAddress, System.currentTimeMillis() + WARM_CONNECTION_TTL_MS);
+        Iterator<NodeAddress> iterator = warmConnectionExpiryByNodeAddress.keySet().iterator();
+        while (warmConnectionExpiryByNodeAddress.size() > maxWarmConnections && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Keeps the connection to the peer warm and creates an outbound connection if we do not have any connection to
+     * it yet, so the circuit is set up before we send the first message.
+     */
+    public void preDial(NodeAddress nodeAddress) {
+        if (isSelf(nodeAddress) || isSeedNode(nodeAddress)) {
+            return;
+        }
+        keepConnectionWarm(nodeAddress);
+        if (hasConnection(nodeAddress)) {
+            return;
+        }
+
+        log.info("We pre-dial {}", nodeAddress.getFullAddress());
+        // The peer responds with a Pong which we ignore
+        Ping ping = new Ping(new Random().nextInt(), 0);
+        Futures.addCallback(networkNode.sendMessage(nodeAddress, ping),
+                Utilities.failureCallback(throwable -> log.info("Pre-dialing {} failed. {}",
+                        nodeAddress.getFullAddress(), throwable.getMessage())),
+                MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Returns the connections to warm peers which fit into the idle budget of maxWarmConnections. Connections of the
+     * most recently used peers come first. Peers whose connections exceed the budget are not warm anymore, so their
+     * connections get treated like any other connection.
+     */
+    private Set<Connection> getWarmConnections(Collection<Connection> connections) {
+        removeExpiredWarmConnections();
+        List<NodeAddress> mostRecentlyUsedFirst = new ArrayList<>(warmConnectionExpiryByNodeAddress.keySet());
+        Collections.reverse(mostRecentlyUsedFirst);
+        Set<Connection> warmConnections = new HashSet<>();
+        for (NodeAddress nodeAddress : mostRecentlyUsedFirst) {
+            List<Connection> connectionsToPeer = connections.stream()
+                    .filter(connection -> connection.getPeersNodeAddressOptional().filter(nodeAddress::equals).isPresent())
+                    .collect(Collectors.toList());
+            if (warmConnections.size() + connectionsToPeer.size() > maxWarmConnections) {
+                log.info("Connections to {} exceed our idle budget of {} warm connections. We do not keep them warm anymore.",
+                        nodeAddress.getFullAddress(), maxWarmConnections);
+                warmConnectionExpiryByNodeAddress.remove(nodeAddress);
+            } else {
+                warmConnections.addAll(connectionsToPeer);
+            }
+        }
+        return warmConnections;
+    }
+
+    private boolean hasConnection(NodeAddress nodeAddress) {
+        return networkNode.getAllConnections().stream()
+                .anyMatch(connection -> !connection.isStopped() &&
+                        connection.getPeersNodeAddressOptional().filter(nodeAddress::equals).isPresent());
+    }
+
+    private void removeExpiredWarmConnections() {
+        long now = System.currentTimeMillis();
+        warmConnectionExpiryByNodeAddress.values().removeIf(expiry -> expiry <= now);
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Getters
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -755,45 +862,34 @@ public final class PeerManager implements ConnectionListener, PersistedDataHost
         outBoundPeerTrigger = Math.max(4, (int) Math.round(maxConnections * 1.3));                // app node 16; seedNode 26
         initialDataExchangeTrigger = Math.max(8, (int) Math.round(maxConnections * 1.7));         // app node 20; seedNode 34
         maxConnectionsAbsolute = Math.max(12, (int) Math.round(maxConnections * 2.5));            // app node 30; seedNode 50
-    }
-
-    private Set<Peer> getConnectedReportedPeers() {
-        // networkNode.getConfirmedConnections includes:
-        // filter(connection -> connection.getPeersNodeAddressOptional().isPresent())
-        return networkNode.getConfirmedConnections().stream()
-                .map((Connection connection) -> {
-                    Capabilities supportedCapabilities = new Capabilities(connection.getCapabilities());
-                    // If we have a new connection the supportedCapabilities is empty.
-                    // We lookup if we have already stored the supportedCapabilities at the persisted or reported peers
-                    // and if so we use that.
-                    Optional<NodeAddress> peersNodeAddressOptional = connection.getPeersNodeAddressOptional();
-                    checkArgument(peersNodeAddressOptional.isPresent()); // getConfirmedConnections delivers only connections where we know the address
-                    NodeAddress peersNodeAddress = peersNodeAddressOptional.get();
-                    boolean capabilitiesNotFoundInConnection = supportedCapabilities.isEmpty();
-                    if (capabilitiesNotFoundInConnection) {
-                        // If not found in connection we look up if we got the Capabilities set from any of the
-                        // reported or persisted peers
-                        Set<Peer> persistedAndReported = new HashSet<>(getPersistedPeers());
-                        persistedAndReported.addAll(getReportedPeers());
-                        Optional<Peer> candidate = persistedAndReported.stream()
-                                .filter(peer -> peer.getNodeAddress().equals(peersNodeAddress))
-                                .filter(peer -> !peer.getCapabilities().isEmpty())
-                                .findAny();
-                        if (candidate.isPresent()) {
-                            supportedCapabilities = new Capabilities(candidate.get().getCapabilities());
-                        }
-                    }
-                    Peer peer = new Peer(peersNodeAddress, supportedCapabilities);
+        maxWarmConnections = Math.max(2, (int) Math.round(maxConnections * 0.5));                 // app node  6; seedNode 10
+    }
+
+    private Peer createConnectedPeer(Connection connection, NodeAddress peersNodeAddress) {
+        Capabilities supportedCapabilities = new Capabilities(connection.getCapabilities());
+        // If we have a new connection the supportedCapabilities is empty.
+        // We lookup if we have already stored the supportedCapabilities at the persisted or reported peers
+        // and if so we use that.
+        boolean capabilitiesNotFoundInConnection = supportedCapabilities.isEmpty();
+        if (capabilitiesNotFoundInConnection) {
+            Optional<Peer> candidate = Stream.of(peerList.find(peersNodeAddress).orElse(null),
+                    reportedPeerByNodeAddress.get(peersNodeAddress))
+                    .filter(Objects::nonNull)
+                    .filter(peer -> !peer.getCapabilities().isEmpty())
+                    .findAny();
+            if (candidate.isPresent()) {
+                supportedCapabilities = new Capabilities(candidate.get().getCapabilities());
+            }
+        }
+        Peer peer = new Peer(peersNodeAddress, supportedCapabilities);
 
-                    // If we did not found the capability from our own connection we add a listener,
-                    // so once we get a connection with that peer and exchange a message containing the capabilities
-                    // we get set the capabilities.
-                    if (capabilitiesNotFoundInConnection) {
-                        connection.addWeakCapabilitiesListener(peer);
-                    }
-                    return peer;
-                })
-                .collect(Collectors.toSet());
+        // If we did not found the capability from our own connection we add a listener,
+        // so once we get a connection with that peer and exchange a message containing the capabilities
+        // we get set the capabilities.
+        if (capabilitiesNotFoundInConnection) {
+            connection.addWeakCapabilitiesListener(peer);
+        }
+        return peer;
     }
 
     private void stopCheckMaxConnectionsTimer() {
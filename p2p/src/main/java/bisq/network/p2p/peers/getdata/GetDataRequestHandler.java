@@ -26,12 +26,14 @@ import bisq.network.p2p.storage.P2PDataStorage;
 
 import bisq.common.Timer;
 import bisq.common.UserThread;
+import bisq.common.app.Capability;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.SettableFuture;
 
+import java.util.Iterator;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -44,6 +46,8 @@ public class GetDataRequestHandler {
     private static final long TIMEOUT = 180;
 
     private static final int MAX_ENTRIES = 10000;
+    // Used for peers with Capability.CHUNKED_GET_DATA_RESPONSE instead of MAX_ENTRIES
+    private static final int MAX_CHUNK_SIZE = 1024 * 1024;
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Listener
@@ -65,6 +69,7 @@ public class GetDataRequestHandler {
     private final Listener listener;
     private Timer timeoutTimer;
     private boolean stopped;
+    private int numChunksSent;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -88,6 +93,17 @@ public class GetDataRequestHandler {
                 .map(e -> "node address " + e.getFullAddress())
                 .orElseGet(() -> "connection UID " + connection.getUid());
 
+        if (connection.getCapabilities().contains(Capability.CHUNKED_GET_DATA_RESPONSE)) {
+            // The chunks are built one after the other when the previous chunk has been sent, so we do not need to
+            // truncate the response.
+            Iterator<GetDataResponse> chunks = dataStorage.buildGetDataResponseChunks(getDataRequest,
+                    MAX_CHUNK_SIZE,
+                    connection.getCapabilities());
+            sendNextChunk(chunks, connection, connectionInfo);
+            log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
+            return;
+        }
+
         AtomicBoolean wasPersistableNetworkPayloadsTruncated = new AtomicBoolean(false);
         AtomicBoolean wasProtectedStorageEntriesTruncated = new AtomicBoolean(false);
         GetDataResponse getDataResponse = dataStorage.buildGetDataResponse(
@@ -114,14 +130,50 @@ public class GetDataRequestHandler {
                 getDataResponse.getDataSet().size(),
                 getDataResponse.getPersistableNetworkPayloadSet().size());
 
-        if (timeoutTimer == null) {
-            timeoutTimer = UserThread.runAfter(() -> {  // setup before sending to avoid race conditions
-                        String errorMessage = "A timeout occurred for getDataResponse " +
-                                " on connection:" + connection;
-                        handleFault(errorMessage, CloseConnectionReason.SEND_MSG_TIMEOUT, connection);
-                    },
-                    TIMEOUT, TimeUnit.SECONDS);
-        }
+        send(getDataResponse, connection, () -> {
+            cleanup();
+            listener.onComplete();
+        });
+        log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
+    }
+
+    public void stop() {
+        cleanup();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Private
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private void sendNextChunk(Iterator<GetDataResponse> chunks, Connection connection, String connectionInfo) {
+        GetDataResponse chunk = chunks.next();
+        numChunksSent++;
+        log.info("Chunk {} of the getDataResponse to peer with {} contains {} ProtectedStorageEntries and {} PersistableNetworkPayloads",
+                numChunksSent,
+                connectionInfo,
+                chunk.getDataSet().size(),
+                chunk.getPersistableNetworkPayloadSet().size());
+
+        send(chunk, connection, () -> {
+            if (chunks.hasNext()) {
+                sendNextChunk(chunks, connection, connectionInfo);
+            } else {
+                cleanup();
+                listener.onComplete();
+            }
+        });
+    }
+
+    private void send(GetDataResponse getDataResponse, Connection connection, Runnable resultHandler) {
+        // We restart the timeout for each chunk. Setup before sending to avoid race conditions.
+        stopTimeoutTimer();
+        timeoutTimer = UserThread.runAfter(() -> {
+                    String errorMessage = "A timeout occurred for getDataResponse " +
+                            " on connection:" + connection;
+                    handleFault(errorMessage, CloseConnectionReason.SEND_MSG_TIMEOUT, connection);
+                },
+                TIMEOUT, TimeUnit.SECONDS);
 
         SettableFuture<Connection> future = networkNode.sendMessage(connection, getDataResponse);
         Futures.addCallback(future, new FutureCallback<>() {
@@ -130,8 +182,7 @@ public class GetDataRequestHandler {
                 if (!stopped) {
                     log.trace("Send DataResponse to {} succeeded. getDataResponse={}",
                             connection.getPeersNodeAddressOptional(), getDataResponse);
-                    cleanup();
-                    listener.onComplete();
+                    resultHandler.run();
                 } else {
                     log.trace("We have stopped already. We ignore that networkNode.sendMessage.onSuccess call.");
                 }
@@ -149,18 +200,8 @@ public class GetDataRequestHandler {
                 }
             }
         }, MoreExecutors.directExecutor());
-        log.info("handle GetDataRequest took {} ms", System.currentTimeMillis() - ts);
-    }
-
-    public void stop() {
-        cleanup();
     }
 
-
-    ///////////////////////////////////////////////////////////////////////////////////////////
-    // Private
-    ///////////////////////////////////////////////////////////////////////////////////////////
-
     private void handleFault(String errorMessage, CloseConnectionReason closeConnectionReason, Connection connection) {
         if (!stopped) {
             log.info(errorMessage + "\n\tcloseConnectionReason=" + closeConnectionReason);
@@ -173,6 +214,10 @@ public class GetDataRequestHandler {
 
     private void cleanup() {
         stopped = true;
+        stopTimeoutTimer();
+    }
+
+    private void stopTimeoutTimer() {
         if (timeoutTimer != null) {
             timeoutTimer.stop();
             timeoutTimer = null;
@@ -54,7 +54,7 @@ import org.jetbrains.annotations.Nullable;
 
 @Slf4j
 class RequestDataHandler implements MessageListener {
-    private static final long TIMEOUT = 180;
+    static final long TIMEOUT = 180;
 
     private NodeAddress peersNodeAddress;
     private String getDataRequestType;
@@ -73,6 +73,9 @@ class RequestDataHandler implements MessageListener {
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     public interface Listener {
+        // Called when the first GetDataResponse or the first chunk of it arrives, before it gets processed
+        void onFirstResponse();
+
         void onComplete();
 
         @SuppressWarnings("UnusedParameters")
@@ -91,6 +94,9 @@ class RequestDataHandler implements MessageListener {
     private Timer timeoutTimer;
     private final int nonce = new Random().nextInt();
     private boolean stopped;
+    private boolean firstResponseReceived;
+    @Nullable
+    private Connection connection;
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -111,6 +117,14 @@ class RequestDataHandler implements MessageListener {
         cleanup();
     }
 
+    // Closing the connection makes the peer stop sending us the remaining chunks of its response
+    void cancelAndCloseConnection() {
+        cleanup();
+        if (connection != null && !connection.isStopped()) {
+            connection.shutDown(CloseConnectionReason.TOO_MANY_SEED_NODES_CONNECTED);
+        }
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // API
@@ -149,6 +163,7 @@ class RequestDataHandler implements MessageListener {
             Futures.addCallback(future, new FutureCallback<>() {
                 @Override
                 public void onSuccess(Connection connection) {
+                    RequestDataHandler.this.connection = connection;
                     if (!stopped) {
                         log.trace("Send {} to {} succeeded.", getDataRequest, nodeAddress);
                     } else {
@@ -197,12 +212,30 @@ class RequestDataHandler implements MessageListener {
                             return;
                         }
 
-                        dataStorage.processGetDataResponse(getDataResponse,
-                                connection.getPeersNodeAddressOptional().get());
+                        if (!firstResponseReceived) {
+                            firstResponseReceived = true;
+                            listener.onFirstResponse();
+                        }
 
-                        cleanup();
-                        listener.onComplete();
-                        // firstRequest = false;
+                        // We apply each chunk as it arrives and wait for the next one while it gets processed
+                        boolean hasMoreChunks = getDataResponse.hasMoreChunks();
+                        if (hasMoreChunks) {
+                            startChunkTimeoutTimer();
+                        }
+
+                        dataStorage.processGetDataResponse(getDataResponse,
+                                connection.getPeersNodeAddressOptional().get(),
+                                () -> {
+                                    log.info("Processing GetDataResponse{} took {} ms",
+                                            hasMoreChunks ? " chunk" : "", System.currentTimeMillis() - ts1);
+                                    if (hasMoreChunks || stopped) {
+                                        return;
+                                    }
+                                    cleanup();
+                                    listener.onComplete();
+                                    // firstRequest = false;
+                                });
+                        return;
                     } else {
                         log.warn("Nonce not matching. That can happen rarely if we get a response after a canceled " +
                                         "handshake (timeout causes connection close but peer might have sent a msg before " +
@@ -285,6 +318,20 @@ class RequestDataHandler implements MessageListener {
         stopTimeoutTimer();
     }
 
+    private void startChunkTimeoutTimer() {
+        stopTimeoutTimer();
+        NodeAddress nodeAddress = peersNodeAddress;
+        timeoutTimer = UserThread.runAfter(() -> {
+                    if (!stopped) {
+                        String errorMessage = "A timeout occurred at waiting for the next chunk of the " +
+                                "GetDataResponse to our " + getDataRequestType + " from nodeAddress:" + nodeAddress;
+                        log.debug(errorMessage + " / RequestDataHandler=" + RequestDataHandler.this);
+                        handleFault(errorMessage, nodeAddress, CloseConnectionReason.SEND_MSG_TIMEOUT);
+                    }
+                },
+                TIMEOUT);
+    }
+
     private void stopTimeoutTimer() {
         if (timeoutTimer != null) {
             timeoutTimer.stop();
@@ -32,7 +32,9 @@ import bisq.network.p2p.storage.P2PDataStorage;
 import bisq.common.Timer;
 import bisq.common.UserThread;
 import bisq.common.app.Version;
+import bisq.common.persistence.PersistenceManager;
 import bisq.common.proto.network.NetworkEnvelope;
+import bisq.common.proto.persistable.PersistedDataHost;
 
 import javax.inject.Inject;
 
@@ -40,9 +42,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -54,10 +58,11 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 @Slf4j
-public class RequestDataManager implements MessageListener, ConnectionListener, PeerManager.Listener {
+public class RequestDataManager implements MessageListener, ConnectionListener, PeerManager.Listener, PersistedDataHost {
     private static final long RETRY_DELAY_SEC = 10;
     private static final long CLEANUP_TIMER = 120;
-    // How many seeds we request the PreliminaryGetDataRequest from
+    // How many seeds we request the PreliminaryGetDataRequest from. We send the requests at once and use the first
+    // response. The requests to the other seeds get cancelled unless we are a seed node.
     private static int NUM_SEEDS_FOR_PRELIMINARY_REQUEST = 2;
     // how many seeds additional to the first responding PreliminaryGetDataRequest seed we request the GetUpdatedDataRequest from
     private static int NUM_ADDITIONAL_SEEDS_FOR_UPDATE_REQUEST = 1;
@@ -89,6 +94,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     private final NetworkNode networkNode;
     private final P2PDataStorage dataStorage;
     private final PeerManager peerManager;
+    private final PersistenceManager<SeedNodeResponseStats> persistenceManager;
     private final List<NodeAddress> seedNodeAddresses;
 
     // As we use Guice injection we cannot set the listener in our constructor but the P2PService calls the setListener
@@ -98,6 +104,11 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     private final Map<NodeAddress, RequestDataHandler> handlerMap = new HashMap<>();
     private final Map<String, GetDataRequestHandler> getDataRequestHandlers = new HashMap<>();
     private Optional<NodeAddress> nodeAddressOfPreliminaryDataRequest = Optional.empty();
+    // Seed nodes with an open PreliminaryGetDataRequest before we got the first response
+    private final Set<NodeAddress> hedgedPreliminaryRequests = new HashSet<>();
+    private final SeedNodeResponseStats seedNodeResponseStats = new SeedNodeResponseStats();
+    private boolean isSeedNode;
+    private long preliminaryDataRequestTs;
     private Timer retryTimer;
     private boolean dataUpdateRequested;
     private boolean stopped;
@@ -111,10 +122,14 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     public RequestDataManager(NetworkNode networkNode,
                               SeedNodeRepository seedNodeRepository,
                               P2PDataStorage dataStorage,
-                              PeerManager peerManager) {
+                              PeerManager peerManager,
+                              PersistenceManager<SeedNodeResponseStats> persistenceManager) {
         this.networkNode = networkNode;
         this.dataStorage = dataStorage;
         this.peerManager = peerManager;
+        this.persistenceManager = persistenceManager;
+
+        this.persistenceManager.initialize(seedNodeResponseStats, PersistenceManager.Source.PRIVATE_LOW_PRIO);
 
         this.networkNode.addMessageListener(this);
         this.networkNode.addConnectionListener(this);
@@ -128,6 +143,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
             if (myAddress != null) {
                 seedNodeAddresses.remove(myAddress);
                 if (seedNodeRepository.isSeedNode(myAddress)) {
+                    isSeedNode = true;
                     NUM_SEEDS_FOR_PRELIMINARY_REQUEST = 3;
                     NUM_ADDITIONAL_SEEDS_FOR_UPDATE_REQUEST = 2;
                 }
@@ -145,6 +161,21 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     }
 
 
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PersistedDataHost implementation
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Read before the P2P network is started, so the seed nodes for the first request are picked by the persisted stats
+    @Override
+    public void readPersisted(Runnable completeHandler) {
+        persistenceManager.readPersisted(persisted -> {
+                    seedNodeResponseStats.setAll(persisted);
+                    completeHandler.run();
+                },
+                completeHandler);
+    }
+
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -156,19 +187,20 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     }
 
     public void requestPreliminaryData() {
-        ArrayList<NodeAddress> nodeAddresses = new ArrayList<>(seedNodeAddresses);
+        List<NodeAddress> nodeAddresses = seedNodeResponseStats.sortByExpectedResponseTime(seedNodeAddresses);
         if (!nodeAddresses.isEmpty()) {
+            isPreliminaryDataRequest = true;
+            preliminaryDataRequestTs = System.currentTimeMillis();
             ArrayList<NodeAddress> finalNodeAddresses = new ArrayList<>(nodeAddresses);
             final int size = Math.min(NUM_SEEDS_FOR_PRELIMINARY_REQUEST, finalNodeAddresses.size());
+            // We do not stagger the requests as one slow seed would delay our startup otherwise
             for (int i = 0; i < size; i++) {
                 NodeAddress nodeAddress = finalNodeAddresses.get(i);
                 nodeAddresses.remove(nodeAddress);
                 // We clone list to avoid mutable change during iterations
                 List<NodeAddress> remainingNodeAddresses = new ArrayList<>(nodeAddresses);
-                UserThread.runAfter(() -> requestData(nodeAddress, remainingNodeAddresses), (i * 200 + 1), TimeUnit.MILLISECONDS);
+                UserThread.execute(() -> requestData(nodeAddress, remainingNodeAddresses));
             }
-
-            isPreliminaryDataRequest = true;
         } else {
             checkNotNull(listener).onNoSeedNodeAvailable();
         }
@@ -178,7 +210,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
         checkArgument(nodeAddressOfPreliminaryDataRequest.isPresent(), "nodeAddressOfPreliminaryDataRequest must be present");
         dataUpdateRequested = true;
         isPreliminaryDataRequest = false;
-        List<NodeAddress> nodeAddresses = new ArrayList<>(seedNodeAddresses);
+        List<NodeAddress> nodeAddresses = seedNodeResponseStats.sortByExpectedResponseTime(seedNodeAddresses);
         if (!nodeAddresses.isEmpty()) {
             // We use the node we have already connected to to request again
             nodeAddressOfPreliminaryDataRequest.ifPresent(candidate -> {
@@ -322,6 +354,15 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
             if (!handlerMap.containsKey(nodeAddress)) {
                 RequestDataHandler requestDataHandler = new RequestDataHandler(networkNode, dataStorage, peerManager,
                         new RequestDataHandler.Listener() {
+                            @Override
+                            public void onFirstResponse() {
+                                // We pick the first peer which starts to respond, so we do not download and apply
+                                // the chunks of several peers
+                                if (hedgedPreliminaryRequests.contains(nodeAddress)) {
+                                    cancelHedgedPreliminaryRequests(nodeAddress);
+                                }
+                            }
+
                             @Override
                             public void onComplete() {
                                 log.trace("RequestDataHandshake of outbound connection complete. nodeAddress={}",
@@ -330,10 +371,16 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
 
                                 // need to remove before listeners are notified as they cause the update call
                                 handlerMap.remove(nodeAddress);
+                                if (peerManager.isSeedNode(nodeAddress)) {
+                                    seedNodeResponseStats.onResponse(nodeAddress);
+                                    persistenceManager.requestPersistence();
+                                }
 
                                 // 1. We get a response from requestPreliminaryData
                                 if (!nodeAddressOfPreliminaryDataRequest.isPresent()) {
                                     nodeAddressOfPreliminaryDataRequest = Optional.of(nodeAddress);
+                                    log.info("Received preliminary data from {} {} ms after the request",
+                                            nodeAddress.getFullAddress(), System.currentTimeMillis() - preliminaryDataRequestTs);
                                     // We delay because it can be that we get the HS published before we receive the
                                     // preliminary data and the onPreliminaryDataReceived call triggers the
                                     // dataUpdateRequested set to true, so we would also call the onUpdatedDataReceived.
@@ -356,6 +403,11 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
 
                                 peerManager.handleConnectionFault(nodeAddress);
                                 handlerMap.remove(nodeAddress);
+                                hedgedPreliminaryRequests.remove(nodeAddress);
+                                if (peerManager.isSeedNode(nodeAddress)) {
+                                    seedNodeResponseStats.onFailure(nodeAddress);
+                                    persistenceManager.requestPersistence();
+                                }
 
                                 if (!remainingNodeAddresses.isEmpty()) {
                                     log.debug("There are remaining nodes available for requesting data. " +
@@ -387,6 +439,12 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
                             }
                         });
                 handlerMap.put(nodeAddress, requestDataHandler);
+                if (isPreliminaryDataRequest && !nodeAddressOfPreliminaryDataRequest.isPresent()) {
+                    hedgedPreliminaryRequests.add(nodeAddress);
+                }
+                if (peerManager.isSeedNode(nodeAddress)) {
+                    seedNodeResponseStats.onRequestSent(nodeAddress);
+                }
                 requestDataHandler.requestData(nodeAddress, isPreliminaryDataRequest);
             } else {
                 log.warn("We have started already a requestDataHandshake to peer. nodeAddress=" + nodeAddress + "\n" +
@@ -435,6 +493,7 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
                         // 3. Add as last persisted peers sorted by last activity date
                         List<NodeAddress> list = getFilteredList(new ArrayList<>(seedNodeAddresses), new ArrayList<>());
                         Collections.shuffle(list);
+                        list = seedNodeResponseStats.sortByExpectedResponseTime(list);
 
                         List<NodeAddress> filteredReportedPeers = getFilteredNonSeedNodeList(getSortedNodeAddresses(peerManager.getReportedPeers()), list);
                         list.addAll(filteredReportedPeers);
@@ -496,6 +555,29 @@ public class RequestDataManager implements MessageListener, ConnectionListener,
     private void closeAllHandlers() {
         handlerMap.values().forEach(RequestDataHandler::cancel);
         handlerMap.clear();
+        hedgedPreliminaryRequests.clear();
+    }
+
+    // Once we got the preliminary data from one node we do not need to process the responses of the other nodes.
+    // Seed nodes keep the requests open to get the data of several seed nodes.
+    private void cancelHedgedPreliminaryRequests(NodeAddress respondingNodeAddress) {
+        hedgedPreliminaryRequests.remove(respondingNodeAddress);
+        if (!isSeedNode) {
+            hedgedPreliminaryRequests.forEach(nodeAddress -> {
+                RequestDataHandler handler = handlerMap.remove(nodeAddress);
+                if (handler != null) {
+                    handler.cancelAndCloseConnection();
+                    if (peerManager.isSeedNode(nodeAddress)) {
+                        seedNodeResponseStats.onCancelled(nodeAddress);
+                        persistenceManager.requestPersistence();
+                    }
+                    log.info("Cancelled preliminary data request to {} as {} responded first",
+                            nodeAddress.getFullAddress(), respondingNodeAddress.getFullAddress());
+                }
+            });
+        }
+        hedgedPreliminaryRequests.clear();
+        log.info("Seed node response stats:\n{}", seedNodeResponseStats.getInfo());
     }
 
 }
@@ -0,0 +1,192 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.NodeAddress;
+
+import bisq.common.metrics.MetricsRegistry;
+import bisq.common.proto.persistable.PersistableEnvelope;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps a smoothed GetDataResponse time per seed node so that the fastest seed nodes are requested first.
+ * Failures count as a response at the request timeout and requests which got cancelled because another seed node
+ * responded first count with the time until they got cancelled, as the response would have taken at least that long.
+ * Seed nodes we have not requested yet get a default response time, so they get tried before slow seed nodes.
+ * The stats are persisted, so the fastest seed nodes are known already at the first request after a restart.
+ */
+public class SeedNodeResponseStats implements PersistableEnvelope {
+    // Weight of a new sample for the smoothed response time
+    private static final double ALPHA = 0.3;
+    private static final long DEFAULT_RESPONSE_TIME_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final long FAILURE_RESPONSE_TIME_MS = TimeUnit.SECONDS.toMillis(RequestDataHandler.TIMEOUT);
+
+    private static class Stats {
+        private long requestTs;
+        private double smoothedResponseTimeMs = -1;
+        private int numResponses;
+        private int numFailures;
+        private int numCancelled;
+
+        private void addSample(long responseTimeMs) {
+            smoothedResponseTimeMs = smoothedResponseTimeMs < 0 ?
+                    responseTimeMs :
+                    ALPHA * responseTimeMs + (1 - ALPHA) * smoothedResponseTimeMs;
+        }
+    }
+
+    private final LongSupplier clock;
+    private final Map<NodeAddress, Stats> statsByNodeAddress = new HashMap<>();
+
+    public SeedNodeResponseStats() {
+        this(System::currentTimeMillis);
+    }
+
+    @VisibleForTesting
+    SeedNodeResponseStats(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // The time of an open request is not persisted as the request does not survive a restart
+    @Override
+    public protobuf.PersistableEnvelope toProtoMessage() {
+        return protobuf.PersistableEnvelope.newBuilder()
+                .setSeedNodeResponseStats(protobuf.SeedNodeResponseStats.newBuilder()
+                        .addAllEntries(statsByNodeAddress.entrySet().stream()
+                                .map(e -> protobuf.SeedNodeResponseStatsEntry.newBuilder()
+                                        .setNodeAddress(e.getKey().toProtoMessage())
+                                        .setSmoothedResponseTimeMs(e.getValue().smoothedResponseTimeMs)
+                                        .setNumResponses(e.getValue().numResponses)
+                                        .setNumFailures(e.getValue().numFailures)
+                                        .setNumCancelled(e.getValue().numCancelled)
+                                        .build())
+                                .collect(Collectors.toList())))
+                .build();
+    }
+
+    public static SeedNodeResponseStats fromProto(protobuf.SeedNodeResponseStats proto) {
+        SeedNodeResponseStats seedNodeResponseStats = new SeedNodeResponseStats();
+        proto.getEntriesList().forEach(entry -> {
+            Stats stats = seedNodeResponseStats.getStats(NodeAddress.fromProto(entry.getNodeAddress()));
+            stats.smoothedResponseTimeMs = entry.getSmoothedResponseTimeMs();
+            stats.numResponses = entry.getNumResponses();
+            stats.numFailures = entry.getNumFailures();
+            stats.numCancelled = entry.getNumCancelled();
+        });
+        return seedNodeResponseStats;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // API
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    // Takes over the persisted stats of the seed nodes we have not requested yet in this session
+    void setAll(SeedNodeResponseStats persisted) {
+        persisted.statsByNodeAddress.forEach((nodeAddress, persistedStats) -> {
+            Stats stats = getStats(nodeAddress);
+            if (stats.numResponses + stats.numFailures + stats.numCancelled > 0) {
+                return;
+            }
+            stats.smoothedResponseTimeMs = persistedStats.smoothedResponseTimeMs;
+            stats.numResponses = persistedStats.numResponses;
+            stats.numFailures = persistedStats.numFailures;
+            stats.numCancelled = persistedStats.numCancelled;
+        });
+    }
+
+    void onRequestSent(NodeAddress nodeAddress) {
+        getStats(nodeAddress).requestTs = clock.getAsLong();
+    }
+
+    // Returns the response time in ms
+    long onResponse(NodeAddress nodeAddress) {
+        Stats stats = getStats(nodeAddress);
+        long responseTimeMs = clock.getAsLong() - stats.requestTs;
+        stats.addSample(responseTimeMs);
+        stats.numResponses++;
+        MetricsRegistry.getDefault().histogram("p2p_seed_get_data_response_time_ms",
+                "Time until a seed node responded to our GetDataRequest in milliseconds",
+                "seed", nodeAddress.getFullAddress()).record(responseTimeMs);
+        return responseTimeMs;
+    }
+
+    void onFailure(NodeAddress nodeAddress) {
+        Stats stats = getStats(nodeAddress);
+        stats.addSample(FAILURE_RESPONSE_TIME_MS);
+        stats.numFailures++;
+        MetricsRegistry.getDefault().counter("p2p_seed_get_data_failures_total",
+                "Number of failed GetDataRequests to seed nodes",
+                "seed", nodeAddress.getFullAddress()).inc();
+    }
+
+    void onCancelled(NodeAddress nodeAddress) {
+        Stats stats = getStats(nodeAddress);
+        stats.addSample(clock.getAsLong() - stats.requestTs);
+        stats.numCancelled++;
+        MetricsRegistry.getDefault().counter("p2p_seed_get_data_cancelled_total",
+                "Number of GetDataRequests to seed nodes cancelled because another seed node responded first",
+                "seed", nodeAddress.getFullAddress()).inc();
+    }
+
+    long getExpectedResponseTimeMs(NodeAddress nodeAddress) {
+        Stats stats = statsByNodeAddress.get(nodeAddress);
+        return stats == null || stats.smoothedResponseTimeMs < 0 ?
+                DEFAULT_RESPONSE_TIME_MS :
+                Math.round(stats.smoothedResponseTimeMs);
+    }
+
+    // The sort is stable, so the order of the given node addresses is kept for seed nodes with the same expected
+    // response time. That keeps the shuffled order for seed nodes we have not requested yet.
+    List<NodeAddress> sortByExpectedResponseTime(Collection<NodeAddress> nodeAddresses) {
+        List<NodeAddress> list = new ArrayList<>(nodeAddresses);
+        list.sort(Comparator.comparingLong(this::getExpectedResponseTimeMs));
+        return list;
+    }
+
+    String getInfo() {
+        return statsByNodeAddress.entrySet().stream()
+                .map(e -> e.getKey().getFullAddress() +
+                        ": expectedResponseTimeMs=" + getExpectedResponseTimeMs(e.getKey()) +
+                        ", responses=" + e.getValue().numResponses +
+                        ", failures=" + e.getValue().numFailures +
+                        ", cancelled=" + e.getValue().numCancelled)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private Stats getStats(NodeAddress nodeAddress) {
+        return statsByNodeAddress.computeIfAbsent(nodeAddress, k -> new Stats());
+    }
+}
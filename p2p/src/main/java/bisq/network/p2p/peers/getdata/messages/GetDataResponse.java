@@ -34,7 +34,9 @@ import bisq.common.util.Utilities;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
@@ -56,6 +58,11 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
     private final boolean isGetUpdatedDataResponse;
     private final Capabilities supportedCapabilities;
 
+    // Peers with Capability.CHUNKED_GET_DATA_RESPONSE get the response in several chunks. All chunks but the last
+    // one have that flag set.
+    @Getter(AccessLevel.NONE)
+    private final boolean hasMoreChunks;
+
     public GetDataResponse(@NotNull Set<ProtectedStorageEntry> dataSet,
                            @NotNull Set<PersistableNetworkPayload> persistableNetworkPayloadSet,
                            int requestNonce,
@@ -64,6 +71,19 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                 persistableNetworkPayloadSet,
                 requestNonce,
                 isGetUpdatedDataResponse,
+                false);
+    }
+
+    public GetDataResponse(@NotNull Set<ProtectedStorageEntry> dataSet,
+                           @NotNull Set<PersistableNetworkPayload> persistableNetworkPayloadSet,
+                           int requestNonce,
+                           boolean isGetUpdatedDataResponse,
+                           boolean hasMoreChunks) {
+        this(dataSet,
+                persistableNetworkPayloadSet,
+                requestNonce,
+                isGetUpdatedDataResponse,
+                hasMoreChunks,
                 Capabilities.app,
                 Version.getP2PMessageVersion());
     }
@@ -76,6 +96,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                             @NotNull Set<PersistableNetworkPayload> persistableNetworkPayloadSet,
                             int requestNonce,
                             boolean isGetUpdatedDataResponse,
+                            boolean hasMoreChunks,
                             @NotNull Capabilities supportedCapabilities,
                             int messageVersion) {
         super(messageVersion);
@@ -84,6 +105,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
         this.persistableNetworkPayloadSet = persistableNetworkPayloadSet;
         this.requestNonce = requestNonce;
         this.isGetUpdatedDataResponse = isGetUpdatedDataResponse;
+        this.hasMoreChunks = hasMoreChunks;
         this.supportedCapabilities = supportedCapabilities;
     }
 
@@ -105,6 +127,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                         .collect(Collectors.toList()))
                 .setRequestNonce(requestNonce)
                 .setIsGetUpdatedDataResponse(isGetUpdatedDataResponse)
+                .setHasMoreChunks(hasMoreChunks)
                 .addAllSupportedCapabilities(Capabilities.toIntList(supportedCapabilities));
 
         protobuf.NetworkEnvelope proto = getNetworkEnvelopeBuilder()
@@ -126,6 +149,7 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
                 persistableNetworkPayloadSet,
                 proto.getRequestNonce(),
                 proto.getIsGetUpdatedDataResponse(),
+                proto.getHasMoreChunks(),
                 Capabilities.fromIntList(proto.getSupportedCapabilitiesList()),
                 messageVersion);
     }
@@ -134,4 +158,9 @@ public final class GetDataResponse extends NetworkEnvelope implements SupportedC
     public Class<? extends InitialDataRequest> associatedRequest() {
         return isGetUpdatedDataResponse ? GetUpdatedDataRequest.class : PreliminaryGetDataRequest.class;
     }
+
+    @Override
+    public boolean hasMoreChunks() {
+        return hasMoreChunks;
+    }
 }
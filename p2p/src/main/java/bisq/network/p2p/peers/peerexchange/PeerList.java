@@ -17,59 +17,79 @@
 
 package bisq.network.p2p.peers.peerexchange;
 
+import bisq.network.p2p.NodeAddress;
+
 import bisq.common.proto.persistable.PersistableEnvelope;
 
 import com.google.protobuf.Message;
 
 import java.util.Collection;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @EqualsAndHashCode
 public class PeerList implements PersistableEnvelope {
-    @Getter
-    private final Set<Peer> set = new HashSet<>();
+    // Peers are equal if their node addresses are equal, so we keep them by node address for cheap lookups
+    private final Map<NodeAddress, Peer> peerByNodeAddress = new HashMap<>();
 
     public PeerList() {
     }
 
-    public PeerList(Set<Peer> set) {
-        setAll(set);
+    public PeerList(Collection<Peer> peers) {
+        setAll(peers);
     }
 
     public int size() {
-        return set.size();
+        return peerByNodeAddress.size();
     }
 
     @Override
     public Message toProtoMessage() {
         return protobuf.PersistableEnvelope.newBuilder()
                 .setPeerList(protobuf.PeerList.newBuilder()
-                        .addAllPeer(set.stream().map(Peer::toProtoMessage).collect(Collectors.toList())))
+                        .addAllPeer(peerByNodeAddress.values().stream().map(Peer::toProtoMessage).collect(Collectors.toList())))
                 .build();
     }
 
     public static PeerList fromProto(protobuf.PeerList proto) {
         return new PeerList(proto.getPeerList().stream()
                 .map(Peer::fromProto)
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toList()));
+    }
+
+    public Collection<Peer> getPeers() {
+        return Collections.unmodifiableCollection(peerByNodeAddress.values());
+    }
+
+    public Optional<Peer> find(NodeAddress nodeAddress) {
+        return Optional.ofNullable(peerByNodeAddress.get(nodeAddress));
+    }
+
+    // An already contained peer is not replaced
+    public void add(Peer peer) {
+        peerByNodeAddress.putIfAbsent(peer.getNodeAddress(), peer);
+    }
+
+    public boolean remove(Peer peer) {
+        return peerByNodeAddress.remove(peer.getNodeAddress(), peer);
     }
 
     public void setAll(Collection<Peer> collection) {
-        this.set.clear();
-        this.set.addAll(collection);
+        this.peerByNodeAddress.clear();
+        collection.forEach(this::add);
     }
 
     @Override
     public String toString() {
         return "PeerList{" +
-                "\n     set=" + set +
+                "\n     peers=" + peerByNodeAddress.values() +
                 "\n}";
     }
 }
@@ -0,0 +1,164 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
+
+import bisq.common.app.Capabilities;
+import bisq.common.metrics.Counter;
+import bisq.common.metrics.MetricsRegistry;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.UnsignedBytes;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import lombok.EqualsAndHashCode;
+
+import javax.annotation.Nullable;
+
+/**
+ * Caches the filtered payloads of one type for GetDataResponses. Many requests which arrive at the same time at a
+ * seed node carry the same version and excluded keys, so we filter the store only once for those.
+ *
+ * Results are only valid for the epoch of the store they got filtered from. P2PDataStorage increases the epoch at
+ * each change of the store, which invalidates all cached results. The cached sets share the payload instances with
+ * the store, so the memory budget is defined as the total number of cached references.
+ */
+class GetDataResponseCache<T> {
+    private final Cache<Key, Result<T>> cache;
+    private final Counter hits;
+    private final Counter misses;
+    private long epoch;
+
+    GetDataResponseCache(String payloadType, long maxCachedEntries) {
+        cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxCachedEntries)
+                .<Key, Result<T>>weigher((key, result) -> result.payloads.size())
+                .build();
+        hits = MetricsRegistry.getDefault().counter("p2p_get_data_response_cache_hits_total",
+                "Number of GetDataResponses built from cached filter results", "type", payloadType);
+        misses = MetricsRegistry.getDefault().counter("p2p_get_data_response_cache_misses_total",
+                "Number of GetDataResponses which required to filter the store", "type", payloadType);
+    }
+
+    /**
+     * Returns the cached result for the key if it was filtered in the given store epoch, otherwise the result of
+     * the filter function which is then added to the cache.
+     */
+    synchronized Set<T> get(Key key,
+                            long storeEpoch,
+                            AtomicBoolean outTruncated,
+                            Function<AtomicBoolean, Set<T>> filter) {
+        if (storeEpoch != epoch) {
+            cache.invalidateAll();
+            epoch = storeEpoch;
+        }
+
+        Result<T> result = cache.getIfPresent(key);
+        if (result != null) {
+            hits.inc();
+        } else {
+            misses.inc();
+            AtomicBoolean truncated = new AtomicBoolean(false);
+            result = new Result<>(filter.apply(truncated), truncated.get());
+            cache.put(key, result);
+        }
+
+        if (result.truncated) {
+            outTruncated.set(true);
+        }
+        return result.payloads;
+    }
+
+    @VisibleForTesting
+    synchronized long size() {
+        return cache.size();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Key
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    /**
+     * Everything the filtering depends on. The excluded keys are represented by the SHA-256 hash of the sorted keys,
+     * so a peer cannot craft a different set of excluded keys which hits the cached result of another set.
+     */
+    @EqualsAndHashCode
+    static final class Key {
+        @Nullable
+        private final String version;
+        private final int maxEntries;
+        private final Capabilities peerCapabilities;
+        private final byte[] excludedKeysHash;
+
+        static Key of(GetDataRequest getDataRequest, int maxEntries, Capabilities peerCapabilities) {
+            return new Key(getDataRequest.getVersion(),
+                    maxEntries,
+                    new Capabilities(peerCapabilities),
+                    hash(getDataRequest.getExcludedKeys()));
+        }
+
+        private Key(@Nullable String version,
+                    int maxEntries,
+                    Capabilities peerCapabilities,
+                    byte[] excludedKeysHash) {
+            this.version = version;
+            this.maxEntries = maxEntries;
+            this.peerCapabilities = peerCapabilities;
+            this.excludedKeysHash = excludedKeysHash;
+        }
+
+        // Each key is prefixed with its length so the concatenation of the sorted keys is unambiguous
+        private static byte[] hash(Set<byte[]> excludedKeys) {
+            byte[][] sortedKeys = excludedKeys.toArray(new byte[0][]);
+            Arrays.sort(sortedKeys, UnsignedBytes.lexicographicalComparator());
+            MessageDigest digest;
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException(e);
+            }
+            for (byte[] key : sortedKeys) {
+                digest.update(Ints.toByteArray(key.length));
+                digest.update(key);
+            }
+            return digest.digest();
+        }
+    }
+
+    private static final class Result<T> {
+        private final Set<T> payloads;
+        private final boolean truncated;
+
+        private Result(Set<T> payloads, boolean truncated) {
+            this.payloads = payloads;
+            this.truncated = truncated;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.storage.payload.PersistableNetworkPayload;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Splits a GetDataResponse into chunks of about maxChunkSize bytes. A chunk is built only when it is requested by
+ * consuming the next entries of the given iterators, so neither the whole response nor its serialized form has to
+ * be kept in memory. The ProtectedStorageEntries come first, so the requester can show the offers before it got the
+ * remaining data.
+ *
+ * There is always at least one chunk, which is empty if there is nothing to deliver.
+ */
+class GetDataResponseChunks implements Iterator<GetDataResponse> {
+    private final Iterator<ProtectedStorageEntry> protectedStorageEntries;
+    private final Iterator<PersistableNetworkPayload> persistableNetworkPayloads;
+    private final int requestNonce;
+    private final boolean isGetUpdatedDataResponse;
+    private final int maxChunkSize;
+
+    private boolean hasNext = true;
+
+    GetDataResponseChunks(Iterator<ProtectedStorageEntry> protectedStorageEntries,
+                          Iterator<PersistableNetworkPayload> persistableNetworkPayloads,
+                          int requestNonce,
+                          boolean isGetUpdatedDataResponse,
+                          int maxChunkSize) {
+        this.protectedStorageEntries = protectedStorageEntries;
+        this.persistableNetworkPayloads = persistableNetworkPayloads;
+        this.requestNonce = requestNonce;
+        this.isGetUpdatedDataResponse = isGetUpdatedDataResponse;
+        checkArgument(maxChunkSize > 0, "maxChunkSize must be positive");
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public GetDataResponse next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+
+        // A chunk exceeds maxChunkSize by at most one entry
+        int size = 0;
+        Set<ProtectedStorageEntry> dataSet = new HashSet<>();
+        while (size < maxChunkSize && protectedStorageEntries.hasNext()) {
+            ProtectedStorageEntry protectedStorageEntry = protectedStorageEntries.next();
+            size += protectedStorageEntry.toProtoMessage().getSerializedSize();
+            dataSet.add(protectedStorageEntry);
+        }
+
+        Set<PersistableNetworkPayload> persistableNetworkPayloadSet = new HashSet<>();
+        while (size < maxChunkSize && persistableNetworkPayloads.hasNext()) {
+            PersistableNetworkPayload persistableNetworkPayload = persistableNetworkPayloads.next();
+            size += persistableNetworkPayload.toProtoMessage().getSerializedSize();
+            persistableNetworkPayloadSet.add(persistableNetworkPayload);
+        }
+
+        hasNext = protectedStorageEntries.hasNext() || persistableNetworkPayloads.hasNext();
+        return new GetDataResponse(dataSet,
+                persistableNetworkPayloadSet,
+                requestNonce,
+                isGetUpdatedDataResponse,
+                hasNext);
+    }
+}
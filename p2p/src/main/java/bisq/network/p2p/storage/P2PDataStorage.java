@@ -17,6 +17,7 @@
 
 package bisq.network.p2p.storage;
 
+import bisq.network.crypto.SignatureVerificationService;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.network.CloseConnectionReason;
 import bisq.network.p2p.network.Connection;
@@ -48,6 +49,7 @@ import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
 import bisq.network.p2p.storage.payload.RequiresOwnerIsOnlinePayload;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreListener;
 import bisq.network.p2p.storage.persistence.AppendOnlyDataStoreService;
+import bisq.network.p2p.storage.persistence.CompositeMapView;
 import bisq.network.p2p.storage.persistence.HistoricalDataStoreService;
 import bisq.network.p2p.storage.persistence.PersistableNetworkPayloadStore;
 import bisq.network.p2p.storage.persistence.ProtectedDataStoreService;
@@ -77,7 +79,13 @@ import com.google.inject.name.Named;
 import javax.inject.Inject;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.SettableFuture;
 
 import org.fxmisc.easybind.EasyBind;
 import org.fxmisc.easybind.monadic.MonadicBinding;
@@ -98,23 +106,27 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.Nullable;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 @Slf4j
 public class P2PDataStorage implements MessageListener, ConnectionListener, PersistedDataHost {
     /**
@@ -126,16 +138,35 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     @VisibleForTesting
     public static final int CHECK_TTL_INTERVAL_SEC = 60;
 
+    // Memory budget of each GetDataResponseCache as number of cached payload references
+    private static final long MAX_CACHED_RESPONSE_ENTRIES = 500_000;
+
     private boolean initialRequestApplied = false;
+    // Completes when the last GetDataResponse passed to processGetDataResponse has been applied
+    private ListenableFuture<?> lastGetDataResponseApplied = Futures.immediateFuture(null);
 
     private final Broadcaster broadcaster;
     private final AppendOnlyDataStoreService appendOnlyDataStoreService;
     private final ProtectedDataStoreService protectedDataStoreService;
     private final ResourceDataStoreService resourceDataStoreService;
 
-    @Getter
     private final Map<ByteArray, ProtectedStorageEntry> map = new ConcurrentHashMap<>();
+    // Increased at each change of the map or the appendOnlyDataStoreService to invalidate the cached filter results
+    // for GetDataResponses
+    private long protectedStorageEntriesEpoch;
+    private long persistableNetworkPayloadsEpoch;
+    private final GetDataResponseCache<ProtectedStorageEntry> protectedStorageEntryResponseCache =
+            new GetDataResponseCache<>("ProtectedStorageEntry", MAX_CACHED_RESPONSE_ENTRIES);
+    private final GetDataResponseCache<PersistableNetworkPayload> persistableNetworkPayloadResponseCache =
+            new GetDataResponseCache<>("PersistableNetworkPayload", MAX_CACHED_RESPONSE_ENTRIES);
+    // Read-only view of the map for consumers. All changes go through putToMap and removeFromMap so that the
+    // entries indexed by the class of their payload are kept in sync with the map.
+    private final Map<ByteArray, ProtectedStorageEntry> unmodifiableMap = Collections.unmodifiableMap(map);
+    private final Map<Class<? extends ProtectedStoragePayload>, Map<ByteArray, ProtectedStorageEntry>> mapByPayloadClass =
+            new ConcurrentHashMap<>();
     private final Set<HashMapChangedListener> hashMapChangedListeners = new CopyOnWriteArraySet<>();
+    private final Map<HashMapChangedListener, Class<? extends ProtectedStoragePayload>> payloadClassByHashMapChangedListener =
+            new ConcurrentHashMap<>();
     private Timer removeExpiredEntriesTimer;
 
     private final PersistenceManager<SequenceNumberMap> persistenceManager;
@@ -145,6 +176,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
     private final Set<AppendOnlyDataStoreListener> appendOnlyDataStoreListeners = new CopyOnWriteArraySet<>();
     private final RemovedPayloadsService removedPayloadsService;
+    private final SignatureVerificationService signatureVerificationService;
     private final Clock clock;
 
     /// The maximum number of items that must exist in the SequenceNumberMap before it is scheduled for a purge
@@ -167,6 +199,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                           ResourceDataStoreService resourceDataStoreService,
                           PersistenceManager<SequenceNumberMap> persistenceManager,
                           RemovedPayloadsService removedPayloadsService,
+                          SignatureVerificationService signatureVerificationService,
                           Clock clock,
                           @Named("MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE") int maxSequenceNumberBeforePurge) {
         this.broadcaster = broadcaster;
@@ -175,6 +208,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         this.resourceDataStoreService = resourceDataStoreService;
         this.persistenceManager = persistenceManager;
         this.removedPayloadsService = removedPayloadsService;
+        this.signatureVerificationService = signatureVerificationService;
         this.clock = clock;
         this.maxSequenceNumberMapSizeBeforePurge = maxSequenceNumberBeforePurge;
 
@@ -225,7 +259,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         appendOnlyDataStoreService.readFromResources(postFix, () -> appendOnlyDataStoreServiceReady.set(true));
         protectedDataStoreService.readFromResources(postFix, () -> {
-            map.putAll(protectedDataStoreService.getMap());
+            protectedDataStoreService.getMap().forEach(this::putToMap);
             protectedDataStoreServiceReady.set(true);
         });
         resourceDataStoreService.readFromResources(postFix, () -> resourceDataStoreServiceReady.set(true));
@@ -238,7 +272,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         protectedDataStoreService.readFromResourcesSync(postFix);
         resourceDataStoreService.readFromResourcesSync(postFix);
 
-        map.putAll(protectedDataStoreService.getMap());
+        protectedDataStoreService.getMap().forEach(this::putToMap);
     }
 
     // We get added mailbox message data from MailboxMessageService. We want to add those early so we can get it added
@@ -246,7 +280,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     public void addProtectedMailboxStorageEntryToMap(ProtectedStorageEntry protectedStorageEntry) {
         ProtectedStoragePayload protectedStoragePayload = protectedStorageEntry.getProtectedStoragePayload();
         ByteArray hashOfPayload = get32ByteHashAsByteArray(protectedStoragePayload);
-        map.put(hashOfPayload, protectedStorageEntry);
+        putToMap(hashOfPayload, protectedStorageEntry);
         log.trace("## addProtectedMailboxStorageEntryToMap hashOfPayload={}, map={}", hashOfPayload, printMap());
     }
 
@@ -303,45 +337,62 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             AtomicBoolean wasProtectedStorageEntriesTruncated,
             Capabilities peerCapabilities) {
 
-        Set<P2PDataStorage.ByteArray> excludedKeysAsByteArray =
-                P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys());
+        // Requests with the same version, excluded keys and capabilities get the same filter results as long as the
+        // stores do not change, so we filter only once for those.
+        GetDataResponseCache.Key cacheKey = GetDataResponseCache.Key.of(getDataRequest, maxEntriesPerType, peerCapabilities);
+        Supplier<Set<ByteArray>> excludedKeysAsByteArray = Suppliers.memoize(() ->
+                P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys()));
+
+        Set<PersistableNetworkPayload> filteredPersistableNetworkPayloads = persistableNetworkPayloadResponseCache.get(
+                cacheKey,
+                persistableNetworkPayloadsEpoch,
+                wasPersistableNetworkPayloadsTruncated,
+                outTruncated -> {
+                    // Pre v 1.4.0 requests do not have set the requesters version field so it is null.
+                    // The methods in HistoricalDataStoreService will return all historical data in that case.
+                    // mapForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
+                    // maps of the remaining appendOnlyDataStoreServices.
+                    Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
+                    Set<PersistableNetworkPayload> filteredPayloads =
+                            filterKnownHashes(
+                                    mapForDataResponse,
+                                    Function.identity(),
+                                    excludedKeysAsByteArray.get(),
+                                    peerCapabilities,
+                                    maxEntriesPerType,
+                                    outTruncated);
+                    log.info("{} PersistableNetworkPayload entries remained after filtered by excluded keys. " +
+                                    "Original map had {} entries.",
+                            filteredPayloads.size(), mapForDataResponse.size());
+                    log.trace("## buildGetDataResponse filteredPersistableNetworkPayloadHashes={}",
+                            filteredPayloads.stream()
+                                    .map(e -> Utilities.encodeToHex(e.getHash()))
+                                    .toArray());
+                    return filteredPayloads;
+                });
 
-        // Pre v 1.4.0 requests do not have set the requesters version field so it is null.
-        // The methods in HistoricalDataStoreService will return all historical data in that case.
-        // mapForDataResponse contains the filtered by version data from HistoricalDataStoreService as well as all other
-        // maps of the remaining appendOnlyDataStoreServices.
-        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
-        Set<PersistableNetworkPayload> filteredPersistableNetworkPayloads =
-                filterKnownHashes(
-                        mapForDataResponse,
-                        Function.identity(),
-                        excludedKeysAsByteArray,
-                        peerCapabilities,
-                        maxEntriesPerType,
-                        wasPersistableNetworkPayloadsTruncated);
-        log.info("{} PersistableNetworkPayload entries remained after filtered by excluded keys. " +
-                        "Original map had {} entries.",
-                filteredPersistableNetworkPayloads.size(), mapForDataResponse.size());
-        log.trace("## buildGetDataResponse filteredPersistableNetworkPayloadHashes={}",
-                filteredPersistableNetworkPayloads.stream()
-                        .map(e -> Utilities.encodeToHex(e.getHash()))
-                        .toArray());
-
-        Set<ProtectedStorageEntry> filteredProtectedStorageEntries =
-                filterKnownHashes(
-                        map,
-                        ProtectedStorageEntry::getProtectedStoragePayload,
-                        excludedKeysAsByteArray,
-                        peerCapabilities,
-                        maxEntriesPerType,
-                        wasProtectedStorageEntriesTruncated);
-        log.info("{} ProtectedStorageEntry entries remained after filtered by excluded keys. " +
-                        "Original map had {} entries.",
-                filteredProtectedStorageEntries.size(), map.size());
-        log.trace("## buildGetDataResponse filteredProtectedStorageEntryHashes={}",
-                filteredProtectedStorageEntries.stream()
-                        .map(e -> get32ByteHashAsByteArray((e.getProtectedStoragePayload())))
-                        .toArray());
+        Set<ProtectedStorageEntry> filteredProtectedStorageEntries = protectedStorageEntryResponseCache.get(
+                cacheKey,
+                protectedStorageEntriesEpoch,
+                wasProtectedStorageEntriesTruncated,
+                outTruncated -> {
+                    Set<ProtectedStorageEntry> filteredEntries =
+                            filterKnownHashes(
+                                    map,
+                                    ProtectedStorageEntry::getProtectedStoragePayload,
+                                    excludedKeysAsByteArray.get(),
+                                    peerCapabilities,
+                                    maxEntriesPerType,
+                                    outTruncated);
+                    log.info("{} ProtectedStorageEntry entries remained after filtered by excluded keys. " +
+                                    "Original map had {} entries.",
+                            filteredEntries.size(), map.size());
+                    log.trace("## buildGetDataResponse filteredProtectedStorageEntryHashes={}",
+                            filteredEntries.stream()
+                                    .map(e -> get32ByteHashAsByteArray((e.getProtectedStoragePayload())))
+                                    .toArray());
+                    return filteredEntries;
+                });
 
         return new GetDataResponse(
                 filteredProtectedStorageEntries,
@@ -350,13 +401,39 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 getDataRequest instanceof GetUpdatedDataRequest);
     }
 
+    /**
+     * Returns the Payloads known locally, but not remotely, as a sequence of GetDataResponse chunks which get built
+     * only when they are requested. In contrast to buildGetDataResponse the entries do not get truncated.
+     */
+    public Iterator<GetDataResponse> buildGetDataResponseChunks(GetDataRequest getDataRequest,
+                                                                int maxChunkSize,
+                                                                Capabilities peerCapabilities) {
+        Set<P2PDataStorage.ByteArray> excludedKeysAsByteArray =
+                P2PDataStorage.ByteArray.convertBytesSetToByteArraySet(getDataRequest.getExcludedKeys());
+        Map<ByteArray, PersistableNetworkPayload> mapForDataResponse = getMapForDataResponse(getDataRequest.getVersion());
+        return new GetDataResponseChunks(
+                filterKnownHashesLazily(
+                        map,
+                        ProtectedStorageEntry::getProtectedStoragePayload,
+                        excludedKeysAsByteArray,
+                        peerCapabilities),
+                filterKnownHashesLazily(
+                        mapForDataResponse,
+                        Function.identity(),
+                        excludedKeysAsByteArray,
+                        peerCapabilities),
+                getDataRequest.getNonce(),
+                getDataRequest instanceof GetUpdatedDataRequest,
+                maxChunkSize);
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // Utils for collecting the exclude hashes
     ///////////////////////////////////////////////////////////////////////////////////////////
 
     private Map<ByteArray, PersistableNetworkPayload> getMapForDataRequest() {
-        Map<ByteArray, PersistableNetworkPayload> map = new HashMap<>();
+        List<Map<ByteArray, PersistableNetworkPayload>> maps = new ArrayList<>();
         appendOnlyDataStoreService.getServices()
                 .forEach(service -> {
                     Map<ByteArray, PersistableNetworkPayload> serviceMap;
@@ -368,15 +445,16 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                     } else {
                         serviceMap = service.getMap();
                     }
-                    map.putAll(serviceMap);
+                    maps.add(serviceMap);
                     log.info("We added {} entries from {} to the excluded key set of our request",
                             serviceMap.size(), service.getClass().getSimpleName());
                 });
-        return map;
+        return new CompositeMapView<>(maps);
     }
 
+    // The services hold different payload types, so we can combine their maps in a read-only view without copying
     public Map<ByteArray, PersistableNetworkPayload> getMapForDataResponse(String requestersVersion) {
-        Map<ByteArray, PersistableNetworkPayload> map = new HashMap<>();
+        List<Map<ByteArray, PersistableNetworkPayload>> maps = new ArrayList<>();
         appendOnlyDataStoreService.getServices()
                 .forEach(service -> {
                     Map<ByteArray, PersistableNetworkPayload> serviceMap;
@@ -386,11 +464,11 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                     } else {
                         serviceMap = service.getMap();
                     }
-                    map.putAll(serviceMap);
+                    maps.add(serviceMap);
                     log.info("We added {} entries from {} to be filtered by excluded keys",
                             serviceMap.size(), service.getClass().getSimpleName());
                 });
-        return map;
+        return new CompositeMapView<>(maps);
     }
 
     /**
@@ -408,23 +486,10 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         log.info("Num knownHashes {}", knownHashes.size());
 
         Set<Map.Entry<ByteArray, T>> entries = toFilter.entrySet();
-        List<T> dateSortedTruncatablePayloads = entries.stream()
-                .filter(entry -> entry.getValue() instanceof DateSortedTruncatablePayload)
-                .filter(entry -> !knownHashes.contains(entry.getKey()))
-                .map(Map.Entry::getValue)
-                .filter(payload -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(payload)))
-                .sorted(Comparator.comparing(payload -> ((DateSortedTruncatablePayload) payload).getDate()))
-                .collect(Collectors.toList());
-        log.info("Num filtered dateSortedTruncatablePayloads {}", dateSortedTruncatablePayloads.size());
-        if (!dateSortedTruncatablePayloads.isEmpty()) {
-            int maxItems = ((DateSortedTruncatablePayload) dateSortedTruncatablePayloads.get(0)).maxItems();
-            if (dateSortedTruncatablePayloads.size() > maxItems) {
-                int fromIndex = dateSortedTruncatablePayloads.size() - maxItems;
-                int toIndex = dateSortedTruncatablePayloads.size();
-                dateSortedTruncatablePayloads = dateSortedTruncatablePayloads.subList(fromIndex, toIndex);
-                log.info("Num truncated dateSortedTruncatablePayloads {}", dateSortedTruncatablePayloads.size());
-            }
-        }
+        List<T> dateSortedTruncatablePayloads = getNewestDateSortedTruncatablePayloads(toFilter,
+                objToPayload,
+                knownHashes,
+                peerCapabilities);
 
         List<T> filteredResults = entries.stream()
                 .filter(entry -> !(entry.getValue() instanceof DateSortedTruncatablePayload))
@@ -449,6 +514,54 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         return new HashSet<>(filteredResults);
     }
 
+    /**
+     * Lazy variant of filterKnownHashes without truncation of the entries. The DateSortedTruncatablePayloads are
+     * collected only once all other entries have been consumed.
+     */
+    static private <T extends NetworkPayload> Iterator<T> filterKnownHashesLazily(
+            Map<ByteArray, T> toFilter,
+            Function<T, ? extends NetworkPayload> objToPayload,
+            Set<ByteArray> knownHashes,
+            Capabilities peerCapabilities) {
+        Iterator<T> filteredPayloads = Iterators.transform(
+                Iterators.filter(toFilter.entrySet().iterator(),
+                        entry -> !(entry.getValue() instanceof DateSortedTruncatablePayload) &&
+                                !knownHashes.contains(entry.getKey()) &&
+                                shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(entry.getValue()))),
+                Map.Entry::getValue);
+        List<Supplier<Iterator<T>>> parts = List.of(
+                () -> filteredPayloads,
+                () -> getNewestDateSortedTruncatablePayloads(toFilter, objToPayload, knownHashes, peerCapabilities)
+                        .iterator());
+        return Iterators.concat(Iterators.transform(parts.iterator(), Supplier::get));
+    }
+
+    // DateSortedTruncatablePayloads are limited to the newest maxItems entries
+    static private <T extends NetworkPayload> List<T> getNewestDateSortedTruncatablePayloads(
+            Map<ByteArray, T> toFilter,
+            Function<T, ? extends NetworkPayload> objToPayload,
+            Set<ByteArray> knownHashes,
+            Capabilities peerCapabilities) {
+        List<T> dateSortedTruncatablePayloads = toFilter.entrySet().stream()
+                .filter(entry -> entry.getValue() instanceof DateSortedTruncatablePayload)
+                .filter(entry -> !knownHashes.contains(entry.getKey()))
+                .map(Map.Entry::getValue)
+                .filter(payload -> shouldTransmitPayloadToPeer(peerCapabilities, objToPayload.apply(payload)))
+                .sorted(Comparator.comparing(payload -> ((DateSortedTruncatablePayload) payload).getDate()))
+                .collect(Collectors.toList());
+        log.info("Num filtered dateSortedTruncatablePayloads {}", dateSortedTruncatablePayloads.size());
+        if (!dateSortedTruncatablePayloads.isEmpty()) {
+            int maxItems = ((DateSortedTruncatablePayload) dateSortedTruncatablePayloads.get(0)).maxItems();
+            if (dateSortedTruncatablePayloads.size() > maxItems) {
+                int fromIndex = dateSortedTruncatablePayloads.size() - maxItems;
+                int toIndex = dateSortedTruncatablePayloads.size();
+                dateSortedTruncatablePayloads = dateSortedTruncatablePayloads.subList(fromIndex, toIndex);
+                log.info("Num truncated dateSortedTruncatablePayloads {}", dateSortedTruncatablePayloads.size());
+            }
+        }
+        return dateSortedTruncatablePayloads;
+    }
+
 
     private Set<byte[]> getKeysAsByteSet(Map<ByteArray, ? extends PersistablePayload> map) {
         return map.keySet().stream()
@@ -483,12 +596,39 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     /**
      * Processes a GetDataResponse message and updates internal state. Does not broadcast updates to the P2P network
      * or domain listeners.
+     *
+     * The signatures of the protectedStorageEntries are verified on the worker pool of the
+     * signatureVerificationService, the response is applied on the user thread once that is done. Responses are
+     * applied in the order they have been passed in.
+     *
+     * @param completeHandler called on the user thread after the response has been applied
      */
-    public void processGetDataResponse(GetDataResponse getDataResponse, NodeAddress sender) {
+    public void processGetDataResponse(GetDataResponse getDataResponse,
+                                       NodeAddress sender,
+                                       Runnable completeHandler) {
+        Set<ProtectedStorageEntry> dataSet = getDataResponse.getDataSet();
+        long ts = this.clock.millis();
+        ListenableFuture<?> signaturesVerified = verifySignatures(dataSet);
+        ListenableFuture<?> previousResponseApplied = lastGetDataResponseApplied;
+        SettableFuture<Void> responseApplied = SettableFuture.create();
+        lastGetDataResponseApplied = responseApplied;
+        Futures.whenAllComplete(signaturesVerified, previousResponseApplied).run(() -> {
+            log.info("Verifying signatures of {} protectedStorageEntries took {} ms.",
+                    dataSet.size(), this.clock.millis() - ts);
+            try {
+                applyGetDataResponse(getDataResponse, sender);
+            } finally {
+                responseApplied.set(null);
+            }
+            completeHandler.run();
+        }, UserThread::execute);
+    }
+
+    private void applyGetDataResponse(GetDataResponse getDataResponse, NodeAddress sender) {
         final Set<ProtectedStorageEntry> dataSet = getDataResponse.getDataSet();
         Set<PersistableNetworkPayload> persistableNetworkPayloadSet = getDataResponse.getPersistableNetworkPayloadSet();
 
-        long ts2 = System.currentTimeMillis();
+        long ts2 = this.clock.millis();
         dataSet.forEach(e -> {
             // We don't broadcast here (last param) as we are only connected to the seed node and would be pointless
             addProtectedStorageEntry(e, sender, null, false);
@@ -520,10 +660,32 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // We only process PersistableNetworkPayloads implementing ProcessOncePersistableNetworkPayload once. It can cause performance
         // issues and since the data is rarely out of sync it is not worth it to apply them from multiple peers during
-        // startup.
-        initialRequestApplied = true;
+        // startup. If the response is sent in chunks we wait for the last chunk.
+        if (!getDataResponse.hasMoreChunks()) {
+            initialRequestApplied = true;
+        }
+    }
+
+    // We verify the signatures on the worker pool of the signatureVerificationService. The entries keep the result,
+    // so the add operations do not verify them again. If it fails the add operations verify the signatures themselves.
+    // The returned future does not fail.
+    private ListenableFuture<?> verifySignatures(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+        try {
+            return Futures.catching(signatureVerificationService.verifyAll(protectedStorageEntries,
+                    e -> e.verifySignature(signatureVerificationService)),
+                    Throwable.class,
+                    throwable -> {
+                        log.error("Verifying signatures of protectedStorageEntries failed", throwable);
+                        return null;
+                    },
+                    MoreExecutors.directExecutor());
+        } catch (RejectedExecutionException e) {
+            log.warn("Signature verification is shut down. The add operations verify the signatures themselves.");
+            return Futures.immediateFuture(null);
+        }
     }
 
+
     ///////////////////////////////////////////////////////////////////////////////////////////
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -531,6 +693,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
     public void shutDown() {
         if (removeExpiredEntriesTimer != null)
             removeExpiredEntriesTimer.stop();
+        signatureVerificationService.shutDown();
     }
 
     @VisibleForTesting
@@ -572,6 +735,11 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         return appendOnlyDataStoreService.getMap();
     }
 
+    // Sum of the map sizes of the services, so it does not iterate the data.
+    public int getNumAppendOnlyPayloads() {
+        return appendOnlyDataStoreService.getMap().size();
+    }
+
 
     ///////////////////////////////////////////////////////////////////////////////////////////
     // MessageListener implementation
@@ -694,7 +862,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
 
         // Add the payload and publish the state update to the appendOnlyDataStoreListeners
         if (!payloadHashAlreadyInStore) {
-            appendOnlyDataStoreService.put(hashAsByteArray, payload);
+            putToAppendOnlyDataStore(hashAsByteArray, payload);
             appendOnlyDataStoreListeners.forEach(e -> e.onAdded(payload));
         }
 
@@ -714,7 +882,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         byte[] hash = payload.getHash();
         if (payload.verifyHashSize()) {
             ByteArray hashAsByteArray = new ByteArray(hash);
-            appendOnlyDataStoreService.put(hashAsByteArray, payload);
+            putToAppendOnlyDataStore(hashAsByteArray, payload);
         } else {
             log.warn("We got a hash exceeding our permitted size");
         }
@@ -788,8 +956,8 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
         }
 
         // This is an updated entry. Record it and signal listeners.
-        map.put(hashOfPayload, protectedStorageEntry);
-        hashMapChangedListeners.forEach(e -> e.onAdded(Collections.singletonList(protectedStorageEntry)));
+        putToMap(hashOfPayload, protectedStorageEntry);
+        notifyAdded(Collections.singletonList(protectedStorageEntry));
 
         // Record the updated sequence number and persist it. Higher delay so we can batch more items.
         sequenceNumberMap.put(hashOfPayload, new MapValue(protectedStorageEntry.getSequenceNumber(), this.clock.millis()));
@@ -877,7 +1045,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             return false;
 
         // Update the hash map with the updated entry
-        map.put(hashOfPayload, updatedEntry);
+        putToMap(hashOfPayload, updatedEntry);
 
         // Record the latest sequence number and persist it
         sequenceNumberMap.put(hashOfPayload, new MapValue(updatedEntry.getSequenceNumber(), this.clock.millis()));
@@ -990,12 +1158,79 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
                 storageSignaturePubKey.getPublic(), sequenceNumber, signature, receiversPublicKey, this.clock);
     }
 
+    /**
+     * @return Read-only view of all ProtectedStorageEntries by the hash of their payload.
+     */
+    public Map<ByteArray, ProtectedStorageEntry> getMap() {
+        return unmodifiableMap;
+    }
+
+    /**
+     * Returns the ProtectedStorageEntries with a payload of the given class or one of its subclasses. Only the entries
+     * of matching payload classes are visited, so it is cheaper than filtering all values of getMap().
+     *
+     * @param payloadClass Class of the payloads, can be an interface like MailboxStoragePayload
+     * @return Read-only collection of the matching ProtectedStorageEntries
+     */
+    public Collection<ProtectedStorageEntry> getProtectedStorageEntries(Class<? extends ProtectedStoragePayload> payloadClass) {
+        Map<ByteArray, ProtectedStorageEntry> entriesOfPayloadClass = mapByPayloadClass.get(payloadClass);
+        List<ProtectedStorageEntry> result = null;
+        for (Map.Entry<Class<? extends ProtectedStoragePayload>, Map<ByteArray, ProtectedStorageEntry>> entry : mapByPayloadClass.entrySet()) {
+            if (entry.getValue() == entriesOfPayloadClass || !payloadClass.isAssignableFrom(entry.getKey()))
+                continue;
+
+            // There are subclasses of the payloadClass, so we need to combine the entries.
+            if (result == null)
+                result = entriesOfPayloadClass != null ? new ArrayList<>(entriesOfPayloadClass.values()) : new ArrayList<>();
+            result.addAll(entry.getValue().values());
+        }
+
+        if (result != null)
+            return Collections.unmodifiableList(result);
+        return entriesOfPayloadClass != null ?
+                Collections.unmodifiableCollection(entriesOfPayloadClass.values()) :
+                Collections.emptyList();
+    }
+
+    /**
+     * @return Number of ProtectedStorageEntries by the concrete class of their payload.
+     */
+    public Map<Class<? extends ProtectedStoragePayload>, Integer> getNumProtectedStorageEntriesByPayloadClass() {
+        Map<Class<? extends ProtectedStoragePayload>, Integer> result = new HashMap<>();
+        mapByPayloadClass.forEach((payloadClass, entries) -> {
+            if (!entries.isEmpty())
+                result.put(payloadClass, entries.size());
+        });
+        return result;
+    }
+
+    public <T extends ProtectedStoragePayload> List<T> getProtectedStoragePayloads(Class<T> payloadClass) {
+        return getProtectedStorageEntries(payloadClass).stream()
+                .map(ProtectedStorageEntry::getProtectedStoragePayload)
+                .map(payloadClass::cast)
+                .collect(Collectors.toList());
+    }
+
     public void addHashMapChangedListener(HashMapChangedListener hashMapChangedListener) {
         hashMapChangedListeners.add(hashMapChangedListener);
     }
 
+    /**
+     * Adds a listener which only gets called with the added or removed ProtectedStorageEntries with a payload of the
+     * given class or one of its subclasses. It is not called if a change does not contain any of those entries.
+     * A listener can only be registered for a single payload class.
+     */
+    public void addHashMapChangedListener(Class<? extends ProtectedStoragePayload> payloadClass,
+                                          HashMapChangedListener hashMapChangedListener) {
+        Class<? extends ProtectedStoragePayload> registeredPayloadClass =
+                payloadClassByHashMapChangedListener.putIfAbsent(hashMapChangedListener, payloadClass);
+        checkArgument(registeredPayloadClass == null,
+                "HashMapChangedListener is already registered for " + registeredPayloadClass);
+    }
+
     public void removeHashMapChangedListener(HashMapChangedListener hashMapChangedListener) {
         hashMapChangedListeners.remove(hashMapChangedListener);
+        payloadClassByHashMapChangedListener.remove(hashMapChangedListener);
     }
 
     public void addAppendOnlyDataStoreListener(AppendOnlyDataStoreListener listener) {
@@ -1024,7 +1259,7 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             ProtectedStorageEntry protectedStorageEntry = entry.getValue();
 
             log.trace("## removeFromMapAndDataStore: hashOfPayload={}, map before remove={}", hashOfPayload, printMap());
-            map.remove(hashOfPayload);
+            removeFromMap(hashOfPayload);
             log.trace("## removeFromMapAndDataStore: map after remove={}", printMap());
 
             // We inform listeners even the entry was not found in our map
@@ -1038,7 +1273,68 @@ public class P2PDataStorage implements MessageListener, ConnectionListener, Pers
             }
         });
 
-        hashMapChangedListeners.forEach(e -> e.onRemoved(removedProtectedStorageEntries));
+        notifyRemoved(removedProtectedStorageEntries);
+    }
+
+    private void putToAppendOnlyDataStore(ByteArray hashOfPayload, PersistableNetworkPayload payload) {
+        appendOnlyDataStoreService.put(hashOfPayload, payload);
+        persistableNetworkPayloadsEpoch++;
+    }
+
+    private void putToMap(ByteArray hashOfPayload, ProtectedStorageEntry protectedStorageEntry) {
+        ProtectedStorageEntry previous = map.put(hashOfPayload, protectedStorageEntry);
+        protectedStorageEntriesEpoch++;
+        Class<? extends ProtectedStoragePayload> payloadClass = protectedStorageEntry.getProtectedStoragePayload().getClass();
+        if (previous != null && previous.getProtectedStoragePayload().getClass() != payloadClass)
+            removeFromMapByPayloadClass(hashOfPayload, previous);
+        mapByPayloadClass.computeIfAbsent(payloadClass, k -> new ConcurrentHashMap<>()).put(hashOfPayload, protectedStorageEntry);
+    }
+
+    private void removeFromMap(ByteArray hashOfPayload) {
+        ProtectedStorageEntry removed = map.remove(hashOfPayload);
+        if (removed != null) {
+            protectedStorageEntriesEpoch++;
+            removeFromMapByPayloadClass(hashOfPayload, removed);
+        }
+    }
+
+    private void removeFromMapByPayloadClass(ByteArray hashOfPayload, ProtectedStorageEntry protectedStorageEntry) {
+        Map<ByteArray, ProtectedStorageEntry> entriesOfPayloadClass =
+                mapByPayloadClass.get(protectedStorageEntry.getProtectedStoragePayload().getClass());
+        if (entriesOfPayloadClass != null)
+            entriesOfPayloadClass.remove(hashOfPayload);
+    }
+
+    private void notifyAdded(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+        hashMapChangedListeners.forEach(e -> e.onAdded(protectedStorageEntries));
+        payloadClassByHashMapChangedListener.forEach((listener, payloadClass) -> {
+            Collection<ProtectedStorageEntry> entriesOfPayloadClass = filterByPayloadClass(protectedStorageEntries, payloadClass);
+            if (!entriesOfPayloadClass.isEmpty())
+                listener.onAdded(entriesOfPayloadClass);
+        });
+    }
+
+    private void notifyRemoved(Collection<ProtectedStorageEntry> protectedStorageEntries) {
+        hashMapChangedListeners.forEach(e -> e.onRemoved(protectedStorageEntries));
+        payloadClassByHashMapChangedListener.forEach((listener, payloadClass) -> {
+            Collection<ProtectedStorageEntry> entriesOfPayloadClass = filterByPayloadClass(protectedStorageEntries, payloadClass);
+            if (!entriesOfPayloadClass.isEmpty())
+                listener.onRemoved(entriesOfPayloadClass);
+        });
+    }
+
+    private static Collection<ProtectedStorageEntry> filterByPayloadClass(Collection<ProtectedStorageEntry> protectedStorageEntries,
+                                                                          Class<? extends ProtectedStoragePayload> payloadClass) {
+        if (protectedStorageEntries.size() == 1) {
+            // Most changes contain a single entry, so we avoid the stream in that case.
+            ProtectedStorageEntry protectedStorageEntry = protectedStorageEntries.iterator().next();
+            return payloadClass.isInstance(protectedStorageEntry.getProtectedStoragePayload()) ?
+                    protectedStorageEntries :
+                    Collections.emptyList();
+        }
+        return protectedStorageEntries.stream()
+                .filter(e -> payloadClass.isInstance(e.getProtectedStoragePayload()))
+                .collect(Collectors.toList());
     }
 
     private boolean hasSequenceNrIncreased(int newSequenceNumber, ByteArray hashOfData) {
@@ -17,9 +17,11 @@
 
 package bisq.network.p2p.storage.payload;
 
+import bisq.network.crypto.SignatureVerificationService;
 import bisq.network.p2p.storage.P2PDataStorage;
 
 import bisq.common.crypto.CryptoException;
+import bisq.common.crypto.Hash;
 import bisq.common.crypto.Sig;
 import bisq.common.proto.network.NetworkPayload;
 import bisq.common.proto.network.NetworkProtoResolver;
@@ -35,6 +37,7 @@ import java.security.PublicKey;
 
 import java.time.Clock;
 
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -51,6 +54,9 @@ public class ProtectedStorageEntry implements NetworkPayload, PersistablePayload
     private final int sequenceNumber;
     private final byte[] signature;
     private long creationTimeStamp;
+    // All data covered by the signature is final, so we can keep the result of the signature verification.
+    @Getter(AccessLevel.NONE)
+    transient private volatile Boolean signatureValid;
 
     public ProtectedStorageEntry(@NotNull ProtectedStoragePayload protectedStoragePayload,
                                  @NotNull PublicKey ownerPubKey,
@@ -199,14 +205,38 @@ public class ProtectedStorageEntry implements NetworkPayload, PersistablePayload
         return result;
     }
 
+    /*
+     * Verifies the signature using the cache of the signatureVerificationService, so signatures which have been
+     * verified before are not verified again. Used to verify entries in bulk ahead of the add operation.
+     */
+    public boolean verifySignature(SignatureVerificationService signatureVerificationService) {
+        if (signatureValid == null) {
+            byte[] hashOfDataAndSeqNr = getHashOfDataAndSeqNr();
+            byte[] data = Utilities.concatenateByteArrays(hashOfDataAndSeqNr, this.ownerPubKeyBytes);
+            data = Utilities.concatenateByteArrays(data, this.signature);
+            signatureValid = signatureVerificationService.verify(new P2PDataStorage.ByteArray(Hash.getSha256Hash(data)),
+                    () -> verifySignature(hashOfDataAndSeqNr));
+        }
+        return signatureValid;
+    }
+
     /*
      * Returns true if the signature for the Entry is valid for the payload, sequence number, and ownerPubKey
      */
     boolean isSignatureValid() {
-        try {
-            byte[] hashOfDataAndSeqNr = P2PDataStorage.get32ByteHash(
-                    new P2PDataStorage.DataAndSeqNrPair(this.protectedStoragePayload, this.sequenceNumber));
+        if (signatureValid == null) {
+            signatureValid = verifySignature(getHashOfDataAndSeqNr());
+        }
+        return signatureValid;
+    }
 
+    private byte[] getHashOfDataAndSeqNr() {
+        return P2PDataStorage.get32ByteHash(
+                new P2PDataStorage.DataAndSeqNrPair(this.protectedStoragePayload, this.sequenceNumber));
+    }
+
+    private boolean verifySignature(byte[] hashOfDataAndSeqNr) {
+        try {
             boolean result = Sig.verify(this.ownerPubKey, hashOfDataAndSeqNr, this.signature);
 
             if (!result)
@@ -0,0 +1,142 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage.persistence;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only view over several maps with disjoint key sets. Lookups and iteration go directly to the underlying maps,
+ * so changes of the underlying maps are visible and no entries get copied.
+ *
+ * As the key sets are expected to be disjoint, the size is the sum of the sizes of the underlying maps. Iteration is
+ * weakly consistent if the underlying maps support concurrent modification.
+ */
+public class CompositeMapView<K, V> extends AbstractMap<K, V> {
+    private final List<Map<K, ? extends V>> maps;
+    private final Set<Entry<K, V>> entrySet = new EntrySetView();
+    private final Set<K> keySet = new KeySetView();
+
+    public CompositeMapView(List<? extends Map<K, ? extends V>> maps) {
+        this.maps = ImmutableList.copyOf(maps);
+    }
+
+    @Override
+    public V get(Object key) {
+        for (Map<K, ? extends V> map : maps) {
+            V value = map.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        for (Map<K, ? extends V> map : maps) {
+            if (map.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Map<K, ? extends V> map : maps) {
+            size += map.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Map<K, ? extends V> map : maps) {
+            if (!map.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return keySet;
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // Views
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private class EntrySetView extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return Iterators.unmodifiableIterator(Iterators.concat(Iterators.transform(maps.iterator(),
+                    map -> Iterators.transform(map.entrySet().iterator(),
+                            entry -> new SimpleImmutableEntry<K, V>(entry.getKey(), entry.getValue())))));
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            V value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        @Override
+        public int size() {
+            return CompositeMapView.this.size();
+        }
+    }
+
+    private class KeySetView extends AbstractSet<K> {
+        @Override
+        public Iterator<K> iterator() {
+            return Iterators.unmodifiableIterator(Iterators.concat(Iterators.transform(maps.iterator(),
+                    map -> map.keySet().iterator())));
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public int size() {
+            return CompositeMapView.this.size();
+        }
+    }
+}
@@ -28,7 +28,9 @@ import com.google.common.collect.ImmutableMap;
 
 import java.io.File;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -42,9 +44,10 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Slf4j
 public abstract class HistoricalDataStoreService<T extends PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> extends MapStoreService<T, PersistableNetworkPayload> {
-    private ImmutableMap<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion;
-    // Cache to avoid that we have to recreate the historical data at each request
-    private ImmutableMap<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads;
+    // Historical data per version. Each segment only contains the entries not contained in a segment of an older
+    // version, so the segments and the live data have disjoint keys and can be combined without copying.
+    private ImmutableMap<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> segmentsByVersion = ImmutableMap.of();
+    private Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads = ImmutableMap.of();
 
 
     ///////////////////////////////////////////////////////////////////////////////////////////
@@ -60,36 +63,37 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
     // API
     ///////////////////////////////////////////////////////////////////////////////////////////
 
-    // We give back a map of our live map and all historical maps newer than the requested version.
+    // We give back a read-only view of our live map and all historical maps newer than the requested version.
     // If requestersVersion is null we return all historical data.
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapSinceVersion(String requestersVersion) {
         // We add all our live data
-        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>(store.getMap());
+        List<Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> maps = new ArrayList<>();
+        maps.add(getMapOfLiveData());
 
         // If we have a store with a newer version than the requesters version we will add those as well.
-        storesByVersion.entrySet().stream()
-                .filter(entry -> {
-                    // Old nodes not sending the version will get delivered all data
-                    if (requestersVersion == null) {
-                        log.info("The requester did not send a version. This is expected for not updated nodes.");
-                        return true;
-                    }
-
-                    // Otherwise we only add data if the requesters version is older then
-                    // the version of the particular store.
-                    String storeVersion = entry.getKey();
-                    boolean newVersion = Version.isNewVersion(storeVersion, requestersVersion);
-                    String details = newVersion ?
-                            "As our historical store is a newer version we add the data to our result map." :
-                            "As the requester version is not older as our historical store we do not " +
-                                    "add the data to the result map.";
-                    log.info("The requester had version {}. Our historical data store has version {}.\n{}",
-                            requestersVersion, storeVersion, details);
-                    return newVersion;
-                })
-                .map(e -> e.getValue().getMap())
-                .forEach(result::putAll);
+        segmentsByVersion.forEach((storeVersion, segment) -> {
+            // Old nodes not sending the version will get delivered all data
+            if (requestersVersion == null) {
+                log.info("The requester did not send a version. This is expected for not updated nodes.");
+                maps.add(segment);
+                return;
+            }
+
+            // Otherwise we only add data if the requesters version is older then
+            // the version of the particular store.
+            boolean newVersion = Version.isNewVersion(storeVersion, requestersVersion);
+            String details = newVersion ?
+                    "As our historical store is a newer version we add the data to our result map." :
+                    "As the requester version is not older as our historical store we do not " +
+                            "add the data to the result map.";
+            log.info("The requester had version {}. Our historical data store has version {}.\n{}",
+                    requestersVersion, storeVersion, details);
+            if (newVersion) {
+                maps.add(segment);
+            }
+        });
 
+        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new CompositeMapView<>(maps);
         log.info("We found {} entries since requesters version {}",
                 result.size(), requestersVersion);
         return result;
@@ -99,10 +103,9 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
         return store.getMap();
     }
 
+    // Read-only view of the live and historical data
     public Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> getMapOfAllData() {
-        Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> result = new HashMap<>(getMapOfLiveData());
-        result.putAll(allHistoricalPayloads);
-        return result;
+        return new CompositeMapView<>(List.of(getMapOfLiveData(), allHistoricalPayloads));
     }
 
 
@@ -149,18 +152,15 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
                     getFileName(), getMapOfLiveData().size());
 
             // Now we add our historical data stores.
-            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads = new HashMap<>();
             Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion = new HashMap<>();
             AtomicInteger numFiles = new AtomicInteger(Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.size());
             Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.forEach(version -> readHistoricalStoreFromResources(version,
                     postFix,
-                    allHistoricalPayloads,
                     storesByVersion,
                     () -> {
                         if (numFiles.decrementAndGet() == 0) {
-                            // At last iteration we set the immutable map
-                            this.allHistoricalPayloads = ImmutableMap.copyOf(allHistoricalPayloads);
-                            this.storesByVersion = ImmutableMap.copyOf(storesByVersion);
+                            // At last iteration we set the immutable maps
+                            setHistoricalSegments(storesByVersion);
                             completeHandler.run();
                         }
                     }));
@@ -174,7 +174,6 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
 
     private void readHistoricalStoreFromResources(String version,
                                                   String postFix,
-                                                  Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> allHistoricalPayloads,
                                                   Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion,
                                                   Runnable completeHandler) {
 
@@ -184,7 +183,6 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
         // If resource file does not exist we do not create a new store as it would never get filled.
         persistenceManager.readPersisted(fileName, persisted -> {
                     storesByVersion.put(version, persisted);
-                    allHistoricalPayloads.putAll(persisted.getMap());
                     log.info("We have read from {} {} historical items.", fileName, persisted.getMap().size());
                     pruneStore(persisted, version);
                     completeHandler.run();
@@ -192,6 +190,33 @@ public abstract class HistoricalDataStoreService<T extends PersistableNetworkPay
                 completeHandler::run);
     }
 
+    /**
+     * Creates the immutable map holding the historical data of one version. Subclasses can override it to use a more
+     * compact representation than a map of payload objects.
+     */
+    protected Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> createHistoricalSegment(
+            Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> payloads) {
+        return ImmutableMap.copyOf(payloads);
+    }
+
+    private void setHistoricalSegments(Map<String, PersistableNetworkPayloadStore<? extends PersistableNetworkPayload>> storesByVersion) {
+        ImmutableMap.Builder<String, Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> segmentsByVersion = ImmutableMap.builder();
+        List<Map<P2PDataStorage.ByteArray, PersistableNetworkPayload>> segments = new ArrayList<>();
+        // Versions are iterated from old to new
+        Version.HISTORICAL_RESOURCE_FILE_VERSION_TAGS.stream()
+                .filter(storesByVersion::containsKey)
+                .forEach(version -> {
+                    Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> olderSegments = new CompositeMapView<>(segments);
+                    Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> payloads = new HashMap<>(storesByVersion.get(version).getMap());
+                    payloads.keySet().removeIf(olderSegments::containsKey);
+                    Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> segment = createHistoricalSegment(payloads);
+                    segmentsByVersion.put(version, segment);
+                    segments.add(segment);
+                });
+        this.segmentsByVersion = segmentsByVersion.build();
+        this.allHistoricalPayloads = new CompositeMapView<>(segments);
+    }
+
     private void pruneStore(PersistableNetworkPayloadStore<? extends PersistableNetworkPayload> historicalStore,
                             String version) {
         Map<P2PDataStorage.ByteArray, PersistableNetworkPayload> mapOfLiveData = getMapOfLiveData();
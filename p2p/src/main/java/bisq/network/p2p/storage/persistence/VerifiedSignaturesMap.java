@@ -0,0 +1,77 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage.persistence;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import bisq.common.proto.persistable.PersistableEnvelope;
+import bisq.common.util.Utilities;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * Hashes of successfully verified signatures with the date when they were verified or looked up the last time.
+ * The map is accessed concurrently by the signature verification worker threads.
+ */
+public class VerifiedSignaturesMap implements PersistableEnvelope {
+    @Getter
+    private final Map<P2PDataStorage.ByteArray, Long> dateByHashes;
+
+    public VerifiedSignaturesMap() {
+        this.dateByHashes = new ConcurrentHashMap<>();
+    }
+
+
+    ///////////////////////////////////////////////////////////////////////////////////////////
+    // PROTO BUFFER
+    ///////////////////////////////////////////////////////////////////////////////////////////
+
+    private VerifiedSignaturesMap(Map<P2PDataStorage.ByteArray, Long> dateByHashes) {
+        this.dateByHashes = dateByHashes;
+    }
+
+    // As in RemovedPayloadsMap we use the hex string of the hash as key as protobuf maps do not support bytes keys.
+    @Override
+    public protobuf.PersistableEnvelope toProtoMessage() {
+        protobuf.VerifiedSignaturesMap.Builder builder = protobuf.VerifiedSignaturesMap.newBuilder()
+                .putAllDateByHashes(dateByHashes.entrySet().stream()
+                        .collect(Collectors.toMap(e -> Utilities.encodeToHex(e.getKey().bytes),
+                                Map.Entry::getValue)));
+        return protobuf.PersistableEnvelope.newBuilder()
+                .setVerifiedSignaturesMap(builder)
+                .build();
+    }
+
+    public static VerifiedSignaturesMap fromProto(protobuf.VerifiedSignaturesMap proto) {
+        Map<P2PDataStorage.ByteArray, Long> dateByHashes = proto.getDateByHashesMap().entrySet().stream()
+                .collect(Collectors.toConcurrentMap(e -> new P2PDataStorage.ByteArray(Utilities.decodeFromHex(e.getKey())),
+                        Map.Entry::getValue));
+        return new VerifiedSignaturesMap(dateByHashes);
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedSignaturesMap{" +
+                "\n     dateByHashes.size()=" + dateByHashes.size() +
+                "\n}";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.crypto;
+
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import bisq.common.persistence.PersistenceManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SignatureVerificationServiceTest {
+    private SignatureVerificationService signatureVerificationService;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        signatureVerificationService = new SignatureVerificationService(mock(PersistenceManager.class));
+    }
+
+    @Test
+    public void testValidSignatureIsVerifiedOnce() {
+        AtomicInteger numVerifications = new AtomicInteger();
+        P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(new byte[]{1});
+
+        assertTrue(signatureVerificationService.verify(hash, () -> numVerifications.incrementAndGet() > 0));
+        assertTrue(signatureVerificationService.verify(hash, () -> numVerifications.incrementAndGet() > 0));
+        assertEquals(1, numVerifications.get());
+    }
+
+    @Test
+    public void testInvalidSignatureIsNotRemembered() {
+        AtomicInteger numVerifications = new AtomicInteger();
+        P2PDataStorage.ByteArray hash = new P2PDataStorage.ByteArray(new byte[]{1});
+
+        assertFalse(signatureVerificationService.verify(hash, () -> numVerifications.incrementAndGet() < 0));
+        assertFalse(signatureVerificationService.verify(hash, () -> numVerifications.incrementAndGet() < 0));
+        assertEquals(2, numVerifications.get());
+    }
+
+    @Test
+    public void testVerifyAll() throws Exception {
+        List<P2PDataStorage.ByteArray> hashes = IntStream.range(0, 1000)
+                .mapToObj(i -> new P2PDataStorage.ByteArray(new byte[]{(byte) (i >> 8), (byte) i}))
+                .collect(Collectors.toList());
+        AtomicInteger numVerifications = new AtomicInteger();
+
+        signatureVerificationService.verifyAll(hashes,
+                hash -> signatureVerificationService.verify(hash, () -> numVerifications.incrementAndGet() > 0)).get();
+        assertEquals(hashes.size(), numVerifications.get());
+
+        hashes.forEach(hash -> assertTrue(signatureVerificationService.verify(hash, () -> false)));
+        assertEquals(hashes.size(), numVerifications.get());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.mocks;
+
+import bisq.common.FrameRateTimer;
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import java.time.Duration;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * Timer which only records its action, so tests can check whether it was stopped and run it when they want.
+ */
+public class MockTimer implements Timer {
+    @Getter
+    private Runnable action;
+    @Getter
+    private boolean stopped;
+
+    /**
+     * Makes the UserThread create MockTimers and adds them to the given list.
+     * Call {@link #reset()} after the test.
+     */
+    public static void install(List<MockTimer> timers) {
+        UserThread.setTimerFactory(() -> {
+            MockTimer timer = new MockTimer();
+            timers.add(timer);
+            return timer;
+        });
+    }
+
+    public static void reset() {
+        UserThread.setTimerFactory(FrameRateTimer::new);
+    }
+
+    @Override
+    public Timer runLater(Duration delay, Runnable action) {
+        this.action = action;
+        return this;
+    }
+
+    @Override
+    public Timer runPeriodically(Duration interval, Runnable runnable) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void stop() {
+        stopped = true;
+    }
+
+    public void run() {
+        action.run();
+    }
+}
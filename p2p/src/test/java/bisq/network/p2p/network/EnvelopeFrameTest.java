@@ -0,0 +1,70 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.network;
+
+import bisq.network.p2p.BundleOfEnvelopes;
+import bisq.network.p2p.peers.keepalive.messages.Ping;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class EnvelopeFrameTest {
+
+    @Test
+    public void testFrameIsLengthDelimitedProto() throws IOException {
+        Ping ping = new Ping(42, 100);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ping.toProtoNetworkEnvelope().writeDelimitedTo(expected);
+
+        EnvelopeFrame frame = EnvelopeFrame.of(ping);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        frame.writeTo(actual);
+
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+        assertEquals(expected.size(), frame.getFrameSize());
+        assertEquals(ping.toProtoNetworkEnvelope().getSerializedSize(), frame.getSerializedSize());
+    }
+
+    @Test
+    public void testCacheReturnsSameFrameForSameEnvelope() {
+        Ping ping = new Ping(42, 100);
+        EnvelopeFrame frame = EnvelopeFrameCache.get(ping);
+
+        assertSame(frame, EnvelopeFrameCache.get(ping));
+        assertNotSame(frame, EnvelopeFrameCache.get(new Ping(42, 100)));
+    }
+
+    @Test
+    public void testCacheDoesNotCacheBundles() {
+        BundleOfEnvelopes bundle = new BundleOfEnvelopes();
+        bundle.add(new Ping(42, 100));
+        EnvelopeFrame frame = EnvelopeFrameCache.get(bundle);
+
+        bundle.add(new Ping(43, 100));
+        EnvelopeFrame updatedFrame = EnvelopeFrameCache.get(bundle);
+        assertEquals(bundle.toProtoNetworkEnvelope().getSerializedSize(), updatedFrame.getSerializedSize());
+        assertNotSame(frame, updatedFrame);
+    }
+}
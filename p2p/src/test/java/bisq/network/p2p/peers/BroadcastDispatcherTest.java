@@ -0,0 +1,198 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers;
+
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.EnvelopeFrame;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.keepalive.messages.Ping;
+
+import bisq.common.FrameRateTimer;
+import bisq.common.Timer;
+import bisq.common.UserThread;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.time.Duration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BroadcastDispatcherTest {
+    private final List<SettableFuture<Connection>> pendingSends = new ArrayList<>();
+    private final List<EnvelopeFrame> sentFrames = new ArrayList<>();
+    private final List<Runnable> scheduledTimers = new ArrayList<>();
+    private NetworkNode networkNode;
+    private BroadcastDispatcher dispatcher;
+
+    @Before
+    public void setUp() {
+        networkNode = mock(NetworkNode.class);
+        when(networkNode.sendFrame(any(), any())).thenAnswer(invocation -> {
+            SettableFuture<Connection> future = SettableFuture.create();
+            pendingSends.add(future);
+            sentFrames.add(invocation.getArgument(1));
+            return future;
+        });
+        dispatcher = new BroadcastDispatcher(networkNode);
+        UserThread.setTimerFactory(() -> new Timer() {
+            @Override
+            public Timer runLater(Duration delay, Runnable action) {
+                scheduledTimers.add(action);
+                return this;
+            }
+
+            @Override
+            public Timer runPeriodically(Duration interval, Runnable runnable) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void stop() {
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        UserThread.setTimerFactory(FrameRateTimer::new);
+    }
+
+    @Test
+    public void testOneFrameInFlightPerConnection() {
+        Connection connection1 = mockConnection("1");
+        Connection connection2 = mockConnection("2");
+        BroadcastHandler handler = mock(BroadcastHandler.class);
+        EnvelopeFrame frame1 = EnvelopeFrame.of(new Ping(1, 0));
+        EnvelopeFrame frame2 = EnvelopeFrame.of(new Ping(2, 0));
+
+        dispatcher.enqueue(connection1, delivery(frame1, handler));
+        dispatcher.enqueue(connection1, delivery(frame2, handler));
+        dispatcher.enqueue(connection2, delivery(frame1, handler));
+
+        // The second frame to connection1 waits for the first one
+        assertEquals(List.of(frame1, frame1), sentFrames);
+        assertEquals(1, dispatcher.getNumQueuedFrames());
+
+        pendingSends.get(0).set(connection1);
+        assertEquals(List.of(frame1, frame1, frame2), sentFrames);
+        verify(handler, times(1)).onDelivered(any());
+
+        pendingSends.get(1).setException(new RuntimeException("test"));
+        verify(handler, times(1)).onDeliveryFailed(any());
+        assertEquals(0, dispatcher.getNumQueuedFrames());
+    }
+
+    @Test
+    public void testFramesOfStoppedHandlerAreNotSent() {
+        Connection connection = mockConnection("1");
+        BroadcastHandler handler = mock(BroadcastHandler.class);
+        BroadcastHandler stoppedHandler = mock(BroadcastHandler.class);
+        EnvelopeFrame frame1 = EnvelopeFrame.of(new Ping(1, 0));
+        EnvelopeFrame frame2 = EnvelopeFrame.of(new Ping(2, 0));
+        EnvelopeFrame frame3 = EnvelopeFrame.of(new Ping(3, 0));
+
+        dispatcher.enqueue(connection, delivery(frame1, handler));
+        dispatcher.enqueue(connection, delivery(frame2, stoppedHandler));
+        dispatcher.enqueue(connection, delivery(frame3, handler));
+        when(stoppedHandler.isStopped()).thenReturn(true);
+
+        pendingSends.get(0).set(connection);
+        assertEquals(List.of(frame1, frame3), sentFrames);
+        verify(stoppedHandler, never()).onDelivered(any());
+    }
+
+    @Test
+    public void testStoppedConnectionIsSkipped() {
+        Connection connection = mockConnection("1");
+        when(connection.isStopped()).thenReturn(true);
+        BroadcastHandler handler = mock(BroadcastHandler.class);
+
+        dispatcher.enqueue(connection, delivery(EnvelopeFrame.of(new Ping(1, 0)), handler));
+
+        assertEquals(Collections.emptyList(), sentFrames);
+        verify(handler, times(1)).onPeerSkipped();
+    }
+
+    @Test
+    public void testPriorityFramesAreSentFirstAndNotDropped() {
+        Connection connection = mockConnection("1");
+        BroadcastHandler handler = mock(BroadcastHandler.class);
+        BroadcastHandler shutDownHandler = mock(BroadcastHandler.class);
+        EnvelopeFrame frame = EnvelopeFrame.of(new Ping(1, 0));
+        EnvelopeFrame shutDownFrame = EnvelopeFrame.of(new Ping(2, 0));
+
+        // One frame in flight and a full queue
+        for (int i = 0; i <= 100; i++) {
+            dispatcher.enqueue(connection, delivery(frame, handler));
+        }
+        dispatcher.enqueue(connection,
+                new BroadcastDispatcher.Delivery(shutDownFrame, Collections.emptyList(), shutDownHandler, true));
+        dispatcher.enqueue(connection, delivery(frame, handler));
+
+        verify(shutDownHandler, never()).onDeliveryFailed(any());
+        verify(handler, times(1)).onDeliveryFailed(any());
+
+        pendingSends.get(0).set(connection);
+        assertEquals(List.of(frame, shutDownFrame), sentFrames);
+    }
+
+    @Test
+    public void testThrottledConnectionDelaysNextFrame() {
+        Connection connection = mockConnection("1");
+        BroadcastHandler handler = mock(BroadcastHandler.class);
+        EnvelopeFrame frame1 = EnvelopeFrame.of(new Ping(1, 0));
+        EnvelopeFrame frame2 = EnvelopeFrame.of(new Ping(2, 0));
+
+        dispatcher.enqueue(connection, delivery(frame1, handler));
+        dispatcher.enqueue(connection, delivery(frame2, handler));
+        when(connection.getSendFrameDelayMs()).thenReturn(20L);
+        pendingSends.get(0).set(connection);
+
+        // The second frame waits for the timer and not on a send thread
+        assertEquals(List.of(frame1), sentFrames);
+        assertEquals(1, scheduledTimers.size());
+
+        when(connection.getSendFrameDelayMs()).thenReturn(0L);
+        scheduledTimers.get(0).run();
+        assertEquals(List.of(frame1, frame2), sentFrames);
+    }
+
+    private Connection mockConnection(String uid) {
+        Connection connection = mock(Connection.class);
+        when(connection.getUid()).thenReturn(uid);
+        return connection;
+    }
+
+    private BroadcastDispatcher.Delivery delivery(EnvelopeFrame frame, BroadcastHandler handler) {
+        return new BroadcastDispatcher.Delivery(frame, Collections.emptyList(), handler);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BroadcasterTest {
+
+    @Test
+    public void testSplitBySize_emptyList() {
+        List<List<Integer>> batches = Broadcaster.splitBySize(Collections.emptyList(), Integer::intValue, 10);
+        assertEquals(Collections.emptyList(), batches);
+    }
+
+    @Test
+    public void testSplitBySize_fitsInOneBatch() {
+        List<List<Integer>> batches = Broadcaster.splitBySize(Arrays.asList(3, 3, 4), Integer::intValue, 10);
+        assertEquals(Collections.singletonList(Arrays.asList(3, 3, 4)), batches);
+    }
+
+    @Test
+    public void testSplitBySize_splitsAtMaxSize() {
+        List<List<Integer>> batches = Broadcaster.splitBySize(Arrays.asList(4, 4, 4, 4, 4), Integer::intValue, 10);
+        assertEquals(Arrays.asList(Arrays.asList(4, 4), Arrays.asList(4, 4), Collections.singletonList(4)), batches);
+    }
+
+    @Test
+    public void testSplitBySize_oversizedItemGetsOwnBatch() {
+        List<List<Integer>> batches = Broadcaster.splitBySize(Arrays.asList(2, 20, 2), Integer::intValue, 10);
+        assertEquals(Arrays.asList(Collections.singletonList(2), Collections.singletonList(20), Collections.singletonList(2)), batches);
+    }
+}
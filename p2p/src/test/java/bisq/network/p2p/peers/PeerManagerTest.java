@@ -18,15 +18,25 @@
 package bisq.network.p2p.peers;
 
 import bisq.network.p2p.MockNode;
+import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.network.CloseConnectionReason;
 import bisq.network.p2p.network.Connection;
 import bisq.network.p2p.network.InboundConnection;
 import bisq.network.p2p.network.PeerType;
+import bisq.network.p2p.network.RuleViolation;
+import bisq.network.p2p.peers.peerexchange.Peer;
+
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
 
 import java.io.IOException;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.junit.After;
@@ -39,20 +49,25 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class PeerManagerTest {
     private MockNode node;
     private int maxConnectionsPeer;
     private int maxConnectionsNonDirect;
+    private int maxConnectionsAbsolute;
 
     @Before
     public void setUp() throws IOException {
         node = new MockNode(2);
         maxConnectionsPeer = Math.max(4, (int) Math.round(node.getMaxConnections() * 1.3));
         maxConnectionsNonDirect = Math.max(8, (int) Math.round(node.getMaxConnections() * 1.7));
+        maxConnectionsAbsolute = Math.max(12, (int) Math.round(node.getMaxConnections() * 2.5));
     }
 
     @After
@@ -73,6 +88,54 @@ public class PeerManagerTest {
                 verify(connection, never()).shutDown(eq(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN), isA(Runnable.class)));
     }
 
+    @Test
+    public void testCheckMaxConnectionsKeepsWarmConnections() {
+        for (int i = 0; i < maxConnectionsAbsolute + 1; i++) {
+            node.addOutboundConnection(PeerType.DIRECT_MSG_PEER);
+        }
+        List<Connection> connections = new ArrayList<>(node.getNetworkNode().getAllConnections());
+        // The warm connection is the oldest one, so it would be closed first if it was not warm
+        Connection warmConnection = connections.remove(0);
+        NodeAddress tradePeer = new NodeAddress("localhost", 9999);
+        when(warmConnection.getPeersNodeAddressOptional()).thenReturn(Optional.of(tradePeer));
+        when(warmConnection.getStatistic().getLastActivityTimestamp()).thenReturn(0L);
+        node.getPeerManager().keepConnectionWarm(tradePeer);
+
+        assertTrue(node.getPeerManager().checkMaxConnections());
+
+        verify(warmConnection, never()).shutDown(
+                eq(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN),
+                isA(Runnable.class));
+        assertEquals(1, connections.stream().filter(PeerManagerTest::wasShutDown).count());
+    }
+
+    @Test
+    public void testCheckMaxConnectionsEnforcesWarmConnectionBudget() {
+        for (int i = 0; i < maxConnectionsAbsolute + 1; i++) {
+            node.addOutboundConnection(PeerType.DIRECT_MSG_PEER);
+        }
+        List<Connection> connections = new ArrayList<>(node.getNetworkNode().getAllConnections());
+        NodeAddress oldTradePeer = new NodeAddress("localhost", 9998);
+        NodeAddress tradePeer = new NodeAddress("localhost", 9999);
+        List<Connection> oldTradePeerConnections = List.of(connections.get(0), connections.get(1));
+        Connection tradePeerConnection = connections.get(2);
+        oldTradePeerConnections.forEach(connection ->
+                when(connection.getPeersNodeAddressOptional()).thenReturn(Optional.of(oldTradePeer)));
+        when(tradePeerConnection.getPeersNodeAddressOptional()).thenReturn(Optional.of(tradePeer));
+        connections.subList(0, 3).forEach(connection ->
+                when(connection.getStatistic().getLastActivityTimestamp()).thenReturn(0L));
+        // Both peers are warm but their 3 connections exceed the idle budget of 2 warm connections
+        node.getPeerManager().keepConnectionWarm(oldTradePeer);
+        node.getPeerManager().keepConnectionWarm(tradePeer);
+
+        assertTrue(node.getPeerManager().checkMaxConnections());
+
+        verify(tradePeerConnection, never()).shutDown(
+                eq(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN),
+                isA(Runnable.class));
+        assertEquals(1, oldTradePeerConnections.stream().filter(PeerManagerTest::wasShutDown).count());
+    }
+
     @Test
     public void testCheckMaxConnectionsExceededWithInboundPeers() throws InterruptedException {
         for (int i = 0; i < 3; i++) {
@@ -194,4 +257,42 @@ public class PeerManagerTest {
         node.getNetworkNode().getAllConnections().forEach(connection ->
                 verify(connection, never()).shutDown(eq(CloseConnectionReason.TOO_MANY_CONNECTIONS_OPEN), isA(Runnable.class)));
     }
+
+    // Simulates a node which gets reported thousands of peers and looks up the capabilities of many of them, as it
+    // happens at peer exchange and broadcast target selection. The lookups must not scan all peers.
+    @Test(timeout = 10000)
+    public void testReportedPeersSimulationWithThousandsOfPeers() {
+        PeerManager peerManager = node.getPeerManager();
+        Connection connection = mock(Connection.class);
+        Capabilities capabilities = new Capabilities(Capability.MEDIATION);
+        int numRounds = 20;
+        int numPeersPerRound = 1000;
+        for (int round = 0; round < numRounds; round++) {
+            Set<Peer> reportedPeers = new HashSet<>();
+            for (int i = 0; i < numPeersPerRound; i++) {
+                reportedPeers.add(new Peer(new NodeAddress("peer" + (round * numPeersPerRound + i) + ".onion", 9999),
+                        capabilities));
+            }
+            peerManager.addToReportedPeers(reportedPeers, connection, new Capabilities());
+        }
+
+        assertEquals(1000, peerManager.getReportedPeers().size());
+        assertEquals(500, peerManager.getPersistedPeers().size());
+        verify(connection, never()).reportInvalidRequest(isA(RuleViolation.class));
+
+        List<NodeAddress> nodeAddresses = new ArrayList<>();
+        peerManager.getReportedPeers().forEach(peer -> nodeAddresses.add(peer.getNodeAddress()));
+        for (int i = 0; i < 100; i++) {
+            nodeAddresses.forEach(nodeAddress -> {
+                assertTrue(peerManager.findPeer(nodeAddress).isPresent());
+                assertTrue(peerManager.peerHasCapability(nodeAddress, Capability.MEDIATION));
+            });
+        }
+        assertFalse(peerManager.findPeer(new NodeAddress("unknown.onion", 9999)).isPresent());
+    }
+
+    private static boolean wasShutDown(Connection connection) {
+        return mockingDetails(connection).getInvocations().stream()
+                .anyMatch(invocation -> invocation.getMethod().getName().equals("shutDown"));
+    }
 }
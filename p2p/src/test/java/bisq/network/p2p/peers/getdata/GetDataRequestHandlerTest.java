@@ -0,0 +1,152 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.mocks.MockTimer;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.getdata.messages.GetDataRequest;
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import bisq.common.app.Capabilities;
+import bisq.common.app.Capability;
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GetDataRequestHandlerTest {
+    private final List<SettableFuture<Connection>> pendingSends = new ArrayList<>();
+    private final List<NetworkEnvelope> sentMessages = new ArrayList<>();
+    private final List<MockTimer> timers = new ArrayList<>();
+    private final GetDataResponse chunk1 = chunk(true);
+    private final GetDataResponse chunk2 = chunk(true);
+    private final GetDataResponse chunk3 = chunk(false);
+    private Connection connection;
+    private GetDataRequestHandler.Listener listener;
+    private GetDataRequestHandler handler;
+
+    @Before
+    public void setUp() {
+        NetworkNode networkNode = mock(NetworkNode.class);
+        when(networkNode.sendMessage(any(Connection.class), any(NetworkEnvelope.class))).thenAnswer(invocation -> {
+            SettableFuture<Connection> future = SettableFuture.create();
+            pendingSends.add(future);
+            sentMessages.add(invocation.getArgument(1));
+            return future;
+        });
+        P2PDataStorage dataStorage = mock(P2PDataStorage.class);
+        when(dataStorage.buildGetDataResponseChunks(any(), anyInt(), any()))
+                .thenReturn(List.of(chunk1, chunk2, chunk3).iterator());
+        connection = mock(Connection.class);
+        when(connection.getUid()).thenReturn("1");
+        when(connection.getPeersNodeAddressOptional()).thenReturn(Optional.empty());
+        when(connection.getCapabilities()).thenReturn(new Capabilities(Capability.CHUNKED_GET_DATA_RESPONSE));
+        listener = mock(GetDataRequestHandler.Listener.class);
+        handler = new GetDataRequestHandler(networkNode, dataStorage, listener);
+        MockTimer.install(timers);
+    }
+
+    @After
+    public void tearDown() {
+        MockTimer.reset();
+    }
+
+    @Test
+    public void testNextChunkIsSentAfterPreviousOneSucceeded() {
+        handler.handle(mock(GetDataRequest.class), connection);
+        assertEquals(List.of(chunk1), sentMessages);
+
+        pendingSends.get(0).set(connection);
+        assertEquals(List.of(chunk1, chunk2), sentMessages);
+
+        pendingSends.get(1).set(connection);
+        assertEquals(List.of(chunk1, chunk2, chunk3), sentMessages);
+        verify(listener, never()).onComplete();
+
+        pendingSends.get(2).set(connection);
+        verify(listener).onComplete();
+        verify(listener, never()).onFault(anyString(), any());
+    }
+
+    @Test
+    public void testTimeoutRestartsForEachChunk() {
+        handler.handle(mock(GetDataRequest.class), connection);
+        assertEquals(1, timers.size());
+
+        pendingSends.get(0).set(connection);
+        assertEquals(2, timers.size());
+        assertTrue(timers.get(0).isStopped());
+        assertFalse(timers.get(1).isStopped());
+
+        pendingSends.get(1).set(connection);
+        pendingSends.get(2).set(connection);
+        assertEquals(3, timers.size());
+        assertTrue(timers.get(2).isStopped());
+    }
+
+    @Test
+    public void testTimeoutOfChunkRaisesFault() {
+        handler.handle(mock(GetDataRequest.class), connection);
+        pendingSends.get(0).set(connection);
+
+        timers.get(1).run();
+        verify(listener).onFault(anyString(), any());
+
+        // A late success must not continue with the remaining chunks
+        pendingSends.get(1).set(connection);
+        assertEquals(List.of(chunk1, chunk2), sentMessages);
+        verify(listener, never()).onComplete();
+    }
+
+    @Test
+    public void testFailedChunkStopsSending() {
+        handler.handle(mock(GetDataRequest.class), connection);
+        pendingSends.get(0).setException(new IOException());
+
+        verify(listener).onFault(anyString(), any());
+        assertEquals(List.of(chunk1), sentMessages);
+        assertTrue(timers.get(0).isStopped());
+    }
+
+    private static GetDataResponse chunk(boolean hasMoreChunks) {
+        return new GetDataResponse(new HashSet<>(), new HashSet<>(), 1, false, hasMoreChunks);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.NodeAddress;
+import bisq.network.p2p.mocks.MockTimer;
+import bisq.network.p2p.network.CloseConnectionReason;
+import bisq.network.p2p.network.Connection;
+import bisq.network.p2p.network.NetworkNode;
+import bisq.network.p2p.peers.PeerManager;
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
+import bisq.network.p2p.peers.getdata.messages.PreliminaryGetDataRequest;
+import bisq.network.p2p.storage.P2PDataStorage;
+
+import bisq.common.proto.network.NetworkEnvelope;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RequestDataHandlerTest {
+    private final NodeAddress peer = new NodeAddress("localhost", 8001);
+    private final List<Runnable> processedHandlers = new ArrayList<>();
+    private final List<MockTimer> timers = new ArrayList<>();
+    private final SettableFuture<Connection> sendFuture = SettableFuture.create();
+    private int nonce;
+    private NetworkNode networkNode;
+    private PeerManager peerManager;
+    private Connection connection;
+    private RequestDataHandler.Listener listener;
+    private RequestDataHandler handler;
+
+    @Before
+    public void setUp() {
+        networkNode = mock(NetworkNode.class);
+        when(networkNode.sendMessage(any(NodeAddress.class), any(NetworkEnvelope.class)))
+                .thenReturn(sendFuture);
+        P2PDataStorage dataStorage = mock(P2PDataStorage.class);
+        when(dataStorage.buildPreliminaryGetDataRequest(anyInt())).thenAnswer(invocation -> {
+            nonce = invocation.getArgument(0);
+            return new PreliminaryGetDataRequest(nonce, new HashSet<>());
+        });
+        doAnswer(invocation -> processedHandlers.add(invocation.getArgument(2)))
+                .when(dataStorage).processGetDataResponse(any(), any(), any());
+        peerManager = mock(PeerManager.class);
+        connection = mock(Connection.class);
+        when(connection.getPeersNodeAddressOptional()).thenReturn(Optional.of(peer));
+        listener = mock(RequestDataHandler.Listener.class);
+        handler = new RequestDataHandler(networkNode, dataStorage, peerManager, listener);
+        MockTimer.install(timers);
+    }
+
+    @After
+    public void tearDown() {
+        MockTimer.reset();
+    }
+
+    @Test
+    public void testCompletesOnlyAfterLastChunkWasProcessed() {
+        handler.requestData(peer, true);
+
+        handler.onMessage(chunk(true), connection);
+        processedHandlers.get(0).run();
+        verify(listener, never()).onComplete();
+
+        handler.onMessage(chunk(false), connection);
+        verify(listener, never()).onComplete();
+
+        processedHandlers.get(1).run();
+        verify(listener).onComplete();
+        verify(networkNode).removeMessageListener(handler);
+    }
+
+    @Test
+    public void testFirstResponseIsReportedBeforeProcessing() {
+        doAnswer(invocation -> {
+            assertTrue(processedHandlers.isEmpty());
+            return null;
+        }).when(listener).onFirstResponse();
+        handler.requestData(peer, true);
+
+        handler.onMessage(chunk(true), connection);
+        handler.onMessage(chunk(false), connection);
+
+        verify(listener).onFirstResponse();
+        assertEquals(2, processedHandlers.size());
+    }
+
+    @Test
+    public void testCancelAndCloseConnectionStopsChunks() {
+        handler.requestData(peer, true);
+        sendFuture.set(connection);
+
+        handler.cancelAndCloseConnection();
+        verify(connection).shutDown(CloseConnectionReason.TOO_MANY_SEED_NODES_CONNECTED);
+
+        handler.onMessage(chunk(true), connection);
+        assertTrue(processedHandlers.isEmpty());
+        verify(listener, never()).onFirstResponse();
+    }
+
+    @Test
+    public void testChunkTimeoutRestartsForEachChunk() {
+        handler.requestData(peer, true);
+        assertEquals(1, timers.size());
+
+        handler.onMessage(chunk(true), connection);
+        assertTrue(timers.get(0).isStopped());
+        assertEquals(2, timers.size());
+
+        handler.onMessage(chunk(true), connection);
+        assertTrue(timers.get(1).isStopped());
+        assertEquals(3, timers.size());
+        assertFalse(timers.get(2).isStopped());
+
+        // No timer is needed after the last chunk
+        handler.onMessage(chunk(false), connection);
+        assertTrue(timers.get(2).isStopped());
+        assertEquals(3, timers.size());
+    }
+
+    @Test
+    public void testMissingChunkRaisesFault() {
+        handler.requestData(peer, true);
+        handler.onMessage(chunk(true), connection);
+        processedHandlers.get(0).run();
+
+        timers.get(1).run();
+        verify(listener).onFault(anyString(), isNull());
+        verify(peerManager).handleConnectionFault(peer);
+
+        // A late last chunk is ignored
+        handler.onMessage(chunk(false), connection);
+        assertEquals(1, processedHandlers.size());
+        verify(listener, never()).onComplete();
+    }
+
+    private GetDataResponse chunk(boolean hasMoreChunks) {
+        return new GetDataResponse(new HashSet<>(), new HashSet<>(), nonce, false, hasMoreChunks);
+    }
+}
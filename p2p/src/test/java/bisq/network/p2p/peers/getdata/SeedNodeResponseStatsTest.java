@@ -0,0 +1,95 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.peers.getdata;
+
+import bisq.network.p2p.NodeAddress;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class SeedNodeResponseStatsTest {
+    private final NodeAddress seed1 = new NodeAddress("localhost", 8001);
+    private final NodeAddress seed2 = new NodeAddress("localhost", 8002);
+    private final NodeAddress seed3 = new NodeAddress("localhost", 8003);
+    private long now;
+    private final SeedNodeResponseStats stats = new SeedNodeResponseStats(() -> now);
+
+    @Test
+    public void testUnknownSeedsKeepTheirOrder() {
+        assertEquals(List.of(seed3, seed1, seed2), stats.sortByExpectedResponseTime(List.of(seed3, seed1, seed2)));
+    }
+
+    @Test
+    public void testFastSeedsFirstAndFailedSeedsLast() {
+        stats.onRequestSent(seed1);
+        stats.onRequestSent(seed2);
+        stats.onRequestSent(seed3);
+        now += 2000;
+        assertEquals(2000, stats.onResponse(seed2));
+        stats.onCancelled(seed3);
+        stats.onFailure(seed1);
+
+        assertEquals(2000, stats.getExpectedResponseTimeMs(seed2));
+        assertEquals(2000, stats.getExpectedResponseTimeMs(seed3));
+        assertEquals(List.of(seed2, seed3, seed1), stats.sortByExpectedResponseTime(List.of(seed1, seed2, seed3)));
+    }
+
+    @Test
+    public void testResponseTimeIsSmoothed() {
+        stats.onRequestSent(seed1);
+        now += 1000;
+        stats.onResponse(seed1);
+
+        stats.onRequestSent(seed1);
+        now += 11000;
+        stats.onResponse(seed1);
+
+        assertEquals(4000, stats.getExpectedResponseTimeMs(seed1));
+    }
+
+    @Test
+    public void testPersistedStatsAreRestored() {
+        stats.onRequestSent(seed1);
+        stats.onRequestSent(seed2);
+        now += 2000;
+        stats.onResponse(seed2);
+        stats.onFailure(seed1);
+
+        SeedNodeResponseStats restored = new SeedNodeResponseStats(() -> now);
+        restored.setAll(SeedNodeResponseStats.fromProto(stats.toProtoMessage().getSeedNodeResponseStats()));
+
+        assertEquals(2000, restored.getExpectedResponseTimeMs(seed2));
+        assertEquals(List.of(seed2, seed3, seed1), restored.sortByExpectedResponseTime(List.of(seed1, seed2, seed3)));
+    }
+
+    @Test
+    public void testPersistedStatsDoNotOverrideStatsOfThisSession() {
+        stats.onRequestSent(seed1);
+        now += 2000;
+        stats.onResponse(seed1);
+
+        SeedNodeResponseStats persisted = new SeedNodeResponseStats(() -> now);
+        persisted.onFailure(seed1);
+        stats.setAll(persisted);
+
+        assertEquals(2000, stats.getExpectedResponseTimeMs(seed1));
+    }
+}
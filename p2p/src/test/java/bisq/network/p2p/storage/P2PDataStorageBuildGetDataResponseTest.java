@@ -34,6 +34,7 @@ import bisq.common.app.Capabilities;
 import bisq.common.app.Capability;
 import bisq.common.crypto.Sig;
 
+import com.google.protobuf.ByteString;
 import com.google.protobuf.Message;
 
 import java.security.KeyPair;
@@ -41,6 +42,7 @@ import java.security.NoSuchAlgorithmException;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -95,6 +97,20 @@ public class P2PDataStorageBuildGetDataResponseTest {
             }
         }
 
+        static class SerializablePNPStub extends PersistableNetworkPayloadStub {
+            SerializablePNPStub(byte[] hash) {
+                super(hash);
+            }
+
+            @Override
+            public protobuf.PersistableNetworkPayload toProtoMessage() {
+                return protobuf.PersistableNetworkPayload.newBuilder()
+                        .setAccountAgeWitness(protobuf.AccountAgeWitness.newBuilder()
+                                .setHash(ByteString.copyFrom(getHash())))
+                        .build();
+            }
+        }
+
         /**
          * Generates a unique ProtectedStorageEntry that is valid for add. This is used to initialize P2PDataStorage state
          * so the tests can validate the correct behavior. Adds of identical payloads with different sequence numbers
@@ -462,6 +478,115 @@ public class P2PDataStorageBuildGetDataResponseTest {
             Assert.assertTrue(getDataResponse.getPersistableNetworkPayloadSet().isEmpty());
             Assert.assertTrue(getDataResponse.getDataSet().contains(onlyLocal));
         }
+
+        // TESTCASE: Given two identical GetDataRequests, the second response reuses the filtered payloads until the
+        // store changes
+        @Test
+        public void buildGetDataResponse_identicalRequestsUseCacheUntilStoreChanges() {
+            PersistableNetworkPayload onlyLocal1 = new PersistableNetworkPayloadStub(new byte[]{1});
+            PersistableNetworkPayload onlyLocal2 = new PersistableNetworkPayloadStub(new byte[]{2});
+
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal1, this.localNodeAddress, false);
+
+            Capabilities peerCapabilities = new Capabilities();
+            GetDataResponse getDataResponse1 = this.testState.mockedStorage.buildGetDataResponse(
+                    this.buildGetDataRequest(1, new HashSet<>()), 10, new AtomicBoolean(false),
+                    new AtomicBoolean(false), peerCapabilities);
+            GetDataResponse getDataResponse2 = this.testState.mockedStorage.buildGetDataResponse(
+                    this.buildGetDataRequest(2, new HashSet<>()), 10, new AtomicBoolean(false),
+                    new AtomicBoolean(false), peerCapabilities);
+
+            Assert.assertEquals(2, getDataResponse2.getRequestNonce());
+            Assert.assertSame(getDataResponse1.getPersistableNetworkPayloadSet(),
+                    getDataResponse2.getPersistableNetworkPayloadSet());
+
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal2, this.localNodeAddress, false);
+
+            GetDataResponse getDataResponse3 = this.testState.mockedStorage.buildGetDataResponse(
+                    this.buildGetDataRequest(3, new HashSet<>()), 10, new AtomicBoolean(false),
+                    new AtomicBoolean(false), peerCapabilities);
+
+            Assert.assertEquals(2, getDataResponse3.getPersistableNetworkPayloadSet().size());
+            Assert.assertTrue(getDataResponse3.getPersistableNetworkPayloadSet().contains(onlyLocal2));
+        }
+
+        // TESTCASE: Given two GetDataRequests with different excluded keys, the second response is not taken from
+        // the cached response of the first one even if the keys have the same weak hash
+        @Test
+        public void buildGetDataResponse_differentExcludedKeysDoNotShareCache() {
+            // 31 * 0 + 31 == 31 * 1 + 0
+            PersistableNetworkPayload onlyLocal1 = new PersistableNetworkPayloadStub(new byte[]{0, 31});
+            PersistableNetworkPayload onlyLocal2 = new PersistableNetworkPayloadStub(new byte[]{1, 0});
+
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal1, this.localNodeAddress, false);
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal2, this.localNodeAddress, false);
+
+            Capabilities peerCapabilities = new Capabilities();
+            GetDataResponse getDataResponse1 = this.testState.mockedStorage.buildGetDataResponse(
+                    this.buildGetDataRequest(1, new HashSet<>(Collections.singletonList(onlyLocal1.getHash()))),
+                    10, new AtomicBoolean(false), new AtomicBoolean(false), peerCapabilities);
+            GetDataResponse getDataResponse2 = this.testState.mockedStorage.buildGetDataResponse(
+                    this.buildGetDataRequest(2, new HashSet<>(Collections.singletonList(onlyLocal2.getHash()))),
+                    10, new AtomicBoolean(false), new AtomicBoolean(false), peerCapabilities);
+
+            Assert.assertEquals(Collections.singleton(onlyLocal2), getDataResponse1.getPersistableNetworkPayloadSet());
+            Assert.assertEquals(Collections.singleton(onlyLocal1), getDataResponse2.getPersistableNetworkPayloadSet());
+        }
+
+        // TESTCASE: Given a GetDataRequest w/o unknown data, a single empty chunk is sent back
+        @Test
+        public void buildGetDataResponseChunks_noDataSendsEmptyChunk() {
+            GetDataRequest getDataRequest =
+                    this.buildGetDataRequest(1, new HashSet<>());
+
+            Iterator<GetDataResponse> chunks = this.testState.mockedStorage.buildGetDataResponseChunks(
+                    getDataRequest, 1, new Capabilities());
+
+            GetDataResponse chunk = chunks.next();
+            Assert.assertFalse(chunk.hasMoreChunks());
+            Assert.assertEquals(1, chunk.getRequestNonce());
+            Assert.assertEquals(getDataRequest instanceof GetUpdatedDataRequest, chunk.isGetUpdatedDataResponse());
+            Assert.assertTrue(chunk.getPersistableNetworkPayloadSet().isEmpty());
+            Assert.assertTrue(chunk.getDataSet().isEmpty());
+            Assert.assertFalse(chunks.hasNext());
+        }
+
+        // TESTCASE: Given a GetDataRequest w/o known PNPs, send them back in chunks without truncation
+        @Test
+        public void buildGetDataResponseChunks_unknownPNPSendBackInChunks() {
+            PersistableNetworkPayload onlyLocal1 = new SerializablePNPStub(new byte[]{1});
+            PersistableNetworkPayload onlyLocal2 = new SerializablePNPStub(new byte[]{2});
+
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal1, this.localNodeAddress, false);
+            this.testState.mockedStorage.addPersistableNetworkPayload(
+                    onlyLocal2, this.localNodeAddress, false);
+
+            GetDataRequest getDataRequest =
+                    this.buildGetDataRequest(1, new HashSet<>());
+
+            // Each chunk exceeds the max. size with its first entry
+            Iterator<GetDataResponse> chunks = this.testState.mockedStorage.buildGetDataResponseChunks(
+                    getDataRequest, 1, new Capabilities());
+
+            GetDataResponse chunk1 = chunks.next();
+            Assert.assertTrue(chunk1.hasMoreChunks());
+            Assert.assertEquals(1, chunk1.getPersistableNetworkPayloadSet().size());
+
+            GetDataResponse chunk2 = chunks.next();
+            Assert.assertFalse(chunk2.hasMoreChunks());
+            Assert.assertEquals(1, chunk2.getPersistableNetworkPayloadSet().size());
+            Assert.assertFalse(chunks.hasNext());
+
+            Set<PersistableNetworkPayload> received = new HashSet<>(chunk1.getPersistableNetworkPayloadSet());
+            received.addAll(chunk2.getPersistableNetworkPayloadSet());
+            Assert.assertTrue(received.contains(onlyLocal1));
+            Assert.assertTrue(received.contains(onlyLocal2));
+        }
     }
 
     public static class P2PDataStorageBuildGetDataResponseTestPreliminary extends P2PDataStorageBuildGetDataResponseTestBase {
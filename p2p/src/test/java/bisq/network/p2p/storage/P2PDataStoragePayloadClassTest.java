@@ -0,0 +1,134 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage;
+
+import bisq.network.p2p.TestUtils;
+import bisq.network.p2p.storage.mocks.ExpirableProtectedStoragePayloadStub;
+import bisq.network.p2p.storage.mocks.PersistableExpirableProtectedStoragePayloadStub;
+import bisq.network.p2p.storage.mocks.ProtectedStoragePayloadStub;
+import bisq.network.p2p.storage.payload.ProtectedStorageEntry;
+import bisq.network.p2p.storage.payload.ProtectedStoragePayload;
+
+import bisq.common.crypto.CryptoException;
+
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests of the ProtectedStorageEntries indexed by the class of their payload.
+ */
+public class P2PDataStoragePayloadClassTest {
+    private TestState testState;
+    // The hash of the payload stubs is derived from the owner key, so each payload needs its own keys.
+    private KeyPair expirableOwnerKeys;
+    private KeyPair persistableOwnerKeys;
+
+    @Before
+    public void setUp() throws NoSuchAlgorithmException {
+        this.testState = new TestState();
+        this.expirableOwnerKeys = TestUtils.generateKeyPair();
+        this.persistableOwnerKeys = TestUtils.generateKeyPair();
+    }
+
+    private ProtectedStorageEntry add(ProtectedStoragePayload protectedStoragePayload, KeyPair ownerKeys)
+            throws CryptoException {
+        ProtectedStorageEntry protectedStorageEntry =
+                this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, ownerKeys);
+        Assert.assertTrue(this.testState.mockedStorage.addProtectedStorageEntry(protectedStorageEntry, TestState.getTestNodeAddress(), null));
+        return protectedStorageEntry;
+    }
+
+    // TESTCASE: Entries are returned by the class of their payload including subclasses
+    @Test
+    public void getProtectedStorageEntries_ByPayloadClass() throws CryptoException {
+        ProtectedStorageEntry expirableEntry = add(new ExpirableProtectedStoragePayloadStub(this.expirableOwnerKeys.getPublic()), this.expirableOwnerKeys);
+        ProtectedStorageEntry persistableEntry = add(new PersistableExpirableProtectedStoragePayloadStub(this.persistableOwnerKeys.getPublic()), this.persistableOwnerKeys);
+
+        Assert.assertEquals(Collections.singleton(persistableEntry),
+                new HashSet<>(this.testState.mockedStorage.getProtectedStorageEntries(PersistableExpirableProtectedStoragePayloadStub.class)));
+        Assert.assertEquals(Set.of(expirableEntry, persistableEntry),
+                new HashSet<>(this.testState.mockedStorage.getProtectedStorageEntries(ExpirableProtectedStoragePayloadStub.class)));
+        Assert.assertEquals(Set.of(expirableEntry, persistableEntry),
+                new HashSet<>(this.testState.mockedStorage.getProtectedStorageEntries(ProtectedStoragePayload.class)));
+        Assert.assertEquals(2, this.testState.mockedStorage.getProtectedStoragePayloads(ProtectedStoragePayloadStub.class).size());
+    }
+
+    // TESTCASE: Removed entries are no longer returned by the class of their payload
+    @Test
+    public void getProtectedStorageEntries_AfterRemove() throws CryptoException {
+        ProtectedStoragePayload protectedStoragePayload = new ExpirableProtectedStoragePayloadStub(this.expirableOwnerKeys.getPublic());
+        add(protectedStoragePayload, this.expirableOwnerKeys);
+
+        ProtectedStorageEntry toRemove = this.testState.mockedStorage.getProtectedStorageEntry(protectedStoragePayload, this.expirableOwnerKeys);
+        Assert.assertTrue(this.testState.mockedStorage.remove(toRemove, TestState.getTestNodeAddress()));
+
+        Assert.assertTrue(this.testState.mockedStorage.getProtectedStorageEntries(ExpirableProtectedStoragePayloadStub.class).isEmpty());
+        Assert.assertTrue(this.testState.mockedStorage.getMap().isEmpty());
+    }
+
+    // TESTCASE: Listeners for a payload class only get notified about entries of that class
+    @Test
+    public void addHashMapChangedListener_ByPayloadClass() throws CryptoException {
+        HashMapChangedListener listener = mock(HashMapChangedListener.class);
+        this.testState.mockedStorage.addHashMapChangedListener(PersistableExpirableProtectedStoragePayloadStub.class, listener);
+
+        ProtectedStoragePayload expirablePayload = new ExpirableProtectedStoragePayloadStub(this.expirableOwnerKeys.getPublic());
+        add(expirablePayload, this.expirableOwnerKeys);
+        verify(listener, never()).onAdded(any());
+
+        ProtectedStorageEntry persistableEntry = add(new PersistableExpirableProtectedStoragePayloadStub(this.persistableOwnerKeys.getPublic()), this.persistableOwnerKeys);
+        verify(listener).onAdded(Collections.singletonList(persistableEntry));
+
+        ProtectedStorageEntry toRemove = this.testState.mockedStorage.getProtectedStorageEntry(expirablePayload, this.expirableOwnerKeys);
+        Assert.assertTrue(this.testState.mockedStorage.remove(toRemove, TestState.getTestNodeAddress()));
+        verify(listener, never()).onRemoved(any());
+    }
+
+    // TESTCASE: A listener registered for a payload class cannot be registered again
+    @Test
+    public void addHashMapChangedListener_RegisteredTwice() throws CryptoException {
+        HashMapChangedListener listener = mock(HashMapChangedListener.class);
+        this.testState.mockedStorage.addHashMapChangedListener(PersistableExpirableProtectedStoragePayloadStub.class, listener);
+
+        try {
+            this.testState.mockedStorage.addHashMapChangedListener(ExpirableProtectedStoragePayloadStub.class, listener);
+            Assert.fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ignore) {
+        }
+
+        // The first registration is kept
+        add(new ExpirableProtectedStoragePayloadStub(this.expirableOwnerKeys.getPublic()), this.expirableOwnerKeys);
+        verify(listener, never()).onAdded(any());
+
+        ProtectedStorageEntry persistableEntry = add(new PersistableExpirableProtectedStoragePayloadStub(this.persistableOwnerKeys.getPublic()), this.persistableOwnerKeys);
+        verify(listener).onAdded(Collections.singletonList(persistableEntry));
+    }
+}
@@ -115,7 +115,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(persistableNetworkPayload);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(persistableNetworkPayload);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, persistableNetworkPayload, true, true, false);
     }
@@ -128,7 +128,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(persistableNetworkPayload);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(persistableNetworkPayload);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, persistableNetworkPayload, false, false, false);
     }
@@ -143,7 +143,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(persistableNetworkPayload);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(persistableNetworkPayload);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, persistableNetworkPayload, false, false, false);
     }
@@ -156,7 +156,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(persistableNetworkPayload);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(persistableNetworkPayload);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, persistableNetworkPayload, true, false, false);
     }
@@ -171,7 +171,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(persistableNetworkPayload);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(persistableNetworkPayload);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, persistableNetworkPayload, false, false, false);
     }
@@ -183,14 +183,14 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(addFromFirstProcess);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(addFromFirstProcess);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, addFromFirstProcess, true, true, false);
 
         PersistableNetworkPayload addFromSecondProcess = new PersistableNetworkPayloadStub(new byte[] { 2 });
         getDataResponse = buildGetDataResponse(addFromSecondProcess);
         beforeState = this.testState.saveTestState(addFromSecondProcess);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, addFromSecondProcess, true, true, false);
     }
@@ -202,14 +202,14 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(addFromFirstProcess);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(addFromFirstProcess);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, addFromFirstProcess, true, false, false);
 
         PersistableNetworkPayload addFromSecondProcess = new LazyPersistableNetworkPayloadStub(new byte[] { 2 });
         getDataResponse = buildGetDataResponse(addFromSecondProcess);
         beforeState = this.testState.saveTestState(addFromSecondProcess);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyPersistableAdd(
                 beforeState, addFromSecondProcess, false, false, false);
     }
@@ -222,7 +222,7 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(protectedStorageEntry);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(protectedStorageEntry);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyProtectedStorageAdd(
                 beforeState, protectedStorageEntry, true, true, false, true);
     }
@@ -235,7 +235,7 @@ public class P2PDataStorageProcessGetDataResponse {
 
         GetDataResponse getDataResponse = buildGetDataResponse(protectedStorageEntry);
 
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         TestState.SavedTestState beforeState = this.testState.saveTestState(protectedStorageEntry);
         this.testState.verifyProtectedStorageAdd(
                 beforeState, protectedStorageEntry, false, false, false, false);
@@ -249,14 +249,14 @@ public class P2PDataStorageProcessGetDataResponse {
         GetDataResponse getDataResponse = buildGetDataResponse(protectedStorageEntry);
 
         TestState.SavedTestState beforeState = this.testState.saveTestState(protectedStorageEntry);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyProtectedStorageAdd(
                 beforeState, protectedStorageEntry, true, true, false, true);
 
         protectedStorageEntry = getProtectedStorageEntryForAdd();
         getDataResponse = buildGetDataResponse(protectedStorageEntry);
         beforeState = this.testState.saveTestState(protectedStorageEntry);
-        this.testState.mockedStorage.processGetDataResponse(getDataResponse, this.peerNodeAddress);
+        this.testState.processGetDataResponse(getDataResponse, this.peerNodeAddress);
         this.testState.verifyProtectedStorageAdd(
                 beforeState, protectedStorageEntry, true, true, false, true);
     }
@@ -17,9 +17,11 @@
 
 package bisq.network.p2p.storage;
 
+import bisq.network.crypto.SignatureVerificationService;
 import bisq.network.p2p.NodeAddress;
 import bisq.network.p2p.network.NetworkNode;
 import bisq.network.p2p.peers.Broadcaster;
+import bisq.network.p2p.peers.getdata.messages.GetDataResponse;
 import bisq.network.p2p.storage.messages.AddDataMessage;
 import bisq.network.p2p.storage.messages.AddPersistableNetworkPayloadMessage;
 import bisq.network.p2p.storage.messages.BroadcastMessage;
@@ -49,6 +51,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.mockito.ArgumentCaptor;
@@ -88,6 +91,7 @@ public class TestState {
                 this.protectedDataStoreService, mock(ResourceDataStoreService.class),
                 this.mockSeqNrPersistenceManager,
                 removedPayloadsService,
+                new SignatureVerificationService(mock(PersistenceManager.class)),
                 this.clockFake,
                 MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE);
 
@@ -145,6 +149,7 @@ public class TestState {
                 mock(ResourceDataStoreService.class),
                 sequenceNrMapPersistenceManager,
                 removedPayloadsService,
+                new SignatureVerificationService(mock(PersistenceManager.class)),
                 clock,
                 MAX_SEQUENCE_NUMBER_MAP_SIZE_BEFORE_PURGE);
 
@@ -168,6 +173,17 @@ public class TestState {
         this.clockFake.increment(TimeUnit.HOURS.toMillis(1));
     }
 
+    // Signatures are verified on a worker pool, so we wait until the response has been applied
+    void processGetDataResponse(GetDataResponse getDataResponse, NodeAddress sender) {
+        CompletableFuture<Void> processed = new CompletableFuture<>();
+        this.mockedStorage.processGetDataResponse(getDataResponse, sender, () -> processed.complete(null));
+        try {
+            processed.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
     public static NodeAddress getTestNodeAddress() {
         return new NodeAddress("address", 8080);
     }
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Bisq.
+ *
+ * Bisq is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at
+ * your option) any later version.
+ *
+ * Bisq is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU Affero General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Bisq. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package bisq.network.p2p.storage.persistence;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompositeMapViewTest {
+    private Map<String, Integer> first;
+    private Map<String, Integer> second;
+    private Map<String, Integer> view;
+
+    @Before
+    public void setUp() {
+        first = new HashMap<>(Map.of("a", 1, "b", 2));
+        second = new HashMap<>(Map.of("c", 3));
+        view = new CompositeMapView<>(List.of(first, second));
+    }
+
+    @Test
+    public void testLookup() {
+        assertEquals(Integer.valueOf(1), view.get("a"));
+        assertEquals(Integer.valueOf(3), view.get("c"));
+        assertNull(view.get("d"));
+        assertTrue(view.containsKey("c"));
+        assertTrue(view.keySet().contains("b"));
+        assertFalse(view.keySet().contains("d"));
+        assertTrue(view.entrySet().contains(Map.entry("c", 3)));
+        assertFalse(view.entrySet().contains(Map.entry("c", 4)));
+    }
+
+    @Test
+    public void testIteration() {
+        assertEquals(3, view.size());
+        assertEquals(Set.of("a", "b", "c"), new HashSet<>(view.keySet()));
+        assertEquals(Set.of(1, 2, 3), new HashSet<>(view.values()));
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), new HashMap<>(view));
+        assertEquals(Map.of("a", 1, "b", 2, "c", 3), view);
+    }
+
+    @Test
+    public void testReflectsChangesOfUnderlyingMaps() {
+        second.put("d", 4);
+        first.remove("a");
+
+        assertEquals(3, view.size());
+        assertEquals(Integer.valueOf(4), view.get("d"));
+        assertFalse(view.containsKey("a"));
+
+        first.clear();
+        second.clear();
+        assertTrue(view.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testIsReadOnly() {
+        view.put("d", 4);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testKeySetIsReadOnly() {
+        Iterator<String> iterator = view.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+    }
+}
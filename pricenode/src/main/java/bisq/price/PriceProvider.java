@@ -18,6 +18,7 @@
 package bisq.price;
 
 import bisq.common.UserThread;
+import bisq.common.metrics.MetricsRegistry;
 
 import org.springframework.context.SmartLifecycle;
 
@@ -58,6 +59,7 @@ public abstract class PriceProvider<T> implements SmartLifecycle, Supplier<T> {
             try {
                 refresh();
             } catch (Throwable t) {
+                onRefreshFailed();
                 log.warn("initial refresh failed", t);
             }
         }, 1, TimeUnit.MILLISECONDS);
@@ -68,6 +70,7 @@ public abstract class PriceProvider<T> implements SmartLifecycle, Supplier<T> {
                 try {
                     refresh();
                 } catch (Throwable t) {
+                    onRefreshFailed();
                     // we only log scheduled calls to refresh that fail to ensure that
                     // the application does *not* halt, assuming the failure is temporary
                     // and on the side of the upstream price provider, eg. BitcoinAverage
@@ -82,11 +85,21 @@ public abstract class PriceProvider<T> implements SmartLifecycle, Supplier<T> {
 
         cachedResult = doGet();
 
-        log.info("refresh took {} ms.", (System.currentTimeMillis() - ts));
+        long duration = System.currentTimeMillis() - ts;
+        log.info("refresh took {} ms.", duration);
+        MetricsRegistry.getDefault().histogram("pricenode_refresh_duration_ms",
+                "Duration of refreshing the data of a provider in ms",
+                "provider", getClass().getSimpleName()).record(duration);
 
         onRefresh();
     }
 
+    private void onRefreshFailed() {
+        MetricsRegistry.getDefault().counter("pricenode_refresh_failures_total",
+                "Number of failed refreshes of the data of a provider",
+                "provider", getClass().getSimpleName()).inc();
+    }
+
     protected abstract T doGet();
 
     protected void onRefresh() {
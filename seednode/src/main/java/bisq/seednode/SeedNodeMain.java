@@ -38,18 +38,23 @@ import bisq.common.app.DevEnv;
 import bisq.common.config.BaseCurrencyNetwork;
 import bisq.common.config.Config;
 import bisq.common.handlers.ResultHandler;
+import bisq.common.metrics.MetricsHttpServer;
 
 import com.google.inject.Key;
 import com.google.inject.name.Names;
 
 import lombok.extern.slf4j.Slf4j;
 
+import javax.annotation.Nullable;
+
 @Slf4j
 public class SeedNodeMain extends ExecutableForAppWithP2p {
     private static final long CHECK_CONNECTION_LOSS_SEC = 30;
     private static final String VERSION = "1.6.2";
     private SeedNode seedNode;
     private Timer checkConnectionLossTime;
+    @Nullable
+    private MetricsHttpServer metricsHttpServer;
 
     public SeedNodeMain() {
         super("Bisq Seednode", "bisq-seednode", "bisq_seednode", VERSION);
@@ -127,6 +132,8 @@ public class SeedNodeMain extends ExecutableForAppWithP2p {
 
         seedNode.startApplication();
 
+        metricsHttpServer = MetricsHttpServer.startIfEnabled(config.metricsPort);
+
         injector.getInstance(P2PService.class).addP2PServiceListener(new P2PServiceListener() {
             @Override
             public void onDataReceived() {
@@ -200,6 +207,9 @@ public class SeedNodeMain extends ExecutableForAppWithP2p {
     @Override
     public void gracefulShutDown(ResultHandler resultHandler) {
         seedNode.shutDown();
+        if (metricsHttpServer != null) {
+            metricsHttpServer.shutDown();
+        }
         super.gracefulShutDown(resultHandler);
     }
 }
@@ -21,13 +21,25 @@ import bisq.core.app.misc.AppSetup;
 import bisq.core.app.misc.AppSetupWithP2PAndDAO;
 import bisq.core.offer.OfferBookService;
 import bisq.core.provider.price.PriceFeedService;
+import bisq.core.trade.statistics.TickUnit;
+import bisq.core.trade.statistics.TradeStatisticsCandle;
+import bisq.core.trade.statistics.TradeStatisticsCandleService;
 import bisq.core.trade.statistics.TradeStatisticsManager;
 
 import bisq.network.p2p.BootstrapListener;
 import bisq.network.p2p.P2PService;
 
+import bisq.common.UserThread;
+import bisq.common.config.Config;
+import bisq.common.file.JsonFileManager;
+
 import com.google.inject.Injector;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,7 +51,9 @@ public class Statistics {
     private OfferBookService offerBookService; // pin to not get GC'ed
     private PriceFeedService priceFeedService;
     private TradeStatisticsManager tradeStatisticsManager;
+    private TradeStatisticsCandleService tradeStatisticsCandleService;
     private P2PService p2pService;
+    private JsonFileManager jsonFileManager;
     private AppSetup appSetup;
 
     public Statistics() {
@@ -50,6 +64,8 @@ public class Statistics {
         offerBookService = injector.getInstance(OfferBookService.class);
         priceFeedService = injector.getInstance(PriceFeedService.class);
         tradeStatisticsManager = injector.getInstance(TradeStatisticsManager.class);
+        tradeStatisticsCandleService = injector.getInstance(TradeStatisticsCandleService.class);
+        Config config = injector.getInstance(Config.class);
 
         // We need the price feed for market based offers
         priceFeedService.setCurrencyCode("USD");
@@ -62,10 +78,25 @@ public class Statistics {
                         (errorMessage, throwable) -> log.warn("Exception at requestPriceFeed: " + throwable.getMessage()));
 
                 tradeStatisticsManager.onAllServicesInitialized();
+
+                if (config.dumpStatistics) {
+                    jsonFileManager = new JsonFileManager(config.storageDir);
+                    dumpDailyCandles();
+                    UserThread.runPeriodically(this::dumpDailyCandles, 10, TimeUnit.MINUTES);
+                }
             }
         });
 
         appSetup = injector.getInstance(AppSetupWithP2PAndDAO.class);
         appSetup.start();
     }
+
+    // The candles are maintained incrementally by the TradeStatisticsCandleService, so we only read them here
+    private void dumpDailyCandles() {
+        Map<String, List<TradeStatisticsCandle>> candlesByCurrencyCode = new TreeMap<>();
+        tradeStatisticsCandleService.getCurrencyCodes().forEach(currencyCode ->
+                candlesByCurrencyCode.put(currencyCode,
+                        tradeStatisticsCandleService.getCandles(currencyCode, TickUnit.DAY, 0, Long.MAX_VALUE)));
+        jsonFileManager.writeObjectToDiscThreaded(candlesByCurrencyCode, "trade_statistics_candles_day");
+    }
 }